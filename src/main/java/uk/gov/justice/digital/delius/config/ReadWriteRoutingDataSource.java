@@ -0,0 +1,52 @@
+package uk.gov.justice.digital.delius.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Hands out connections from a separate pool to read only transactions, so slow reads can not use up the connections
+ * needed by writes and can be pointed at a standby database. Only routes correctly when wrapped in a
+ * {@link LazyConnectionDataSourceProxy}, which holds off fetching the connection until the transaction has begun and
+ * is known to be read only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    enum Route {
+        READ_WRITE,
+        READ_ONLY
+    }
+
+    private final HikariDataSource readWriteDataSource;
+    private final HikariDataSource readOnlyDataSource;
+
+    public ReadWriteRoutingDataSource(HikariDataSource readWriteDataSource, HikariDataSource readOnlyDataSource) {
+        this.readWriteDataSource = readWriteDataSource;
+        this.readOnlyDataSource = readOnlyDataSource;
+        setTargetDataSources(Map.of(Route.READ_WRITE, readWriteDataSource, Route.READ_ONLY, readOnlyDataSource));
+        setDefaultTargetDataSource(readWriteDataSource);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READ_ONLY : Route.READ_WRITE;
+    }
+
+    /**
+     * Removes a connection from the pool it was borrowed from instead of returning it. Must be called on the thread that
+     * borrowed the connection, during the same transaction, so the same pool is chosen.
+     */
+    public void evictConnection(Connection connection) {
+        ((HikariDataSource) determineTargetDataSource()).evictConnection(connection);
+    }
+
+    @Override
+    public void destroy() {
+        readOnlyDataSource.close();
+        readWriteDataSource.close();
+    }
+}
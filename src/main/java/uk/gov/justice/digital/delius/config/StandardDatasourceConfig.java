@@ -1,13 +1,20 @@
 package uk.gov.justice.digital.delius.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
@@ -15,6 +22,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 import java.util.HashMap;
+import java.util.Optional;
 
 @Configuration
 @EnableJpaRepositories(
@@ -42,6 +50,10 @@ public class StandardDatasourceConfig {
                 env.getProperty("hibernate.hbm2ddl.auto"));
         properties.put("hibernate.dialect",
                 env.getProperty("hibernate.dialect"));
+        properties.put("hibernate.jdbc.batch_size",
+                env.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size"));
+        properties.put("hibernate.order_inserts",
+                env.getProperty("spring.jpa.properties.hibernate.order_inserts"));
         em.setJpaPropertyMap(properties);
 
         return em;
@@ -49,8 +61,47 @@ public class StandardDatasourceConfig {
 
     @Primary
     @Bean
-    public DataSource standardDataSource(DataSourceProperties dataSourceProperties) {
-        return dataSourceProperties.initializeDataSourceBuilder().build();
+    public DataSource standardDataSource(DataSourceProperties dataSourceProperties, ObjectProvider<ReadWriteRoutingDataSource> standardRoutingDataSource) {
+        return Optional.ofNullable(standardRoutingDataSource.getIfAvailable())
+                .<DataSource>map(LazyConnectionDataSourceProxy::new)
+                .orElseGet(() -> dataSourceProperties.initializeDataSourceBuilder().build());
+    }
+
+    /**
+     * Separate pools for read only and read write transactions, only when delius.datasource.read-only.enabled is set.
+     * The pools are not beans of their own so connections are only ever taken through the router.
+     */
+    @Bean
+    @ConditionalOnProperty("delius.datasource.read-only.enabled")
+    public ReadWriteRoutingDataSource standardRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                ObjectProvider<MeterRegistry> meterRegistry,
+                                                                @Value("${delius.datasource.read-write.maximum-pool-size:10}") int readWritePoolSize,
+                                                                @Value("${delius.datasource.read-only.url:${spring.datasource.url}}") String readOnlyUrl,
+                                                                @Value("${delius.datasource.read-only.username:${spring.datasource.username:}}") String readOnlyUsername,
+                                                                @Value("${delius.datasource.read-only.password:${spring.datasource.password:}}") String readOnlyPassword,
+                                                                @Value("${delius.datasource.read-only.maximum-pool-size:10}") int readOnlyPoolSize) {
+        final var readWriteDataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        readWriteDataSource.setPoolName("standard-read-write");
+        readWriteDataSource.setMaximumPoolSize(readWritePoolSize);
+
+        final var readOnlyDataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(readOnlyUrl)
+                .username(readOnlyUsername)
+                .password(readOnlyPassword)
+                .build();
+        readOnlyDataSource.setPoolName("standard-read-only");
+        readOnlyDataSource.setMaximumPoolSize(readOnlyPoolSize);
+        readOnlyDataSource.setReadOnly(true);
+
+        // published as hikaricp.* meters tagged with each pool name
+        meterRegistry.ifAvailable(registry -> {
+            readWriteDataSource.setMetricRegistry(registry);
+            readOnlyDataSource.setMetricRegistry(registry);
+        });
+
+        return new ReadWriteRoutingDataSource(readWriteDataSource, readOnlyDataSource);
     }
 
     @Primary
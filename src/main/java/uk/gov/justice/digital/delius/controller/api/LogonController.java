@@ -1,6 +1,5 @@
 package uk.gov.justice.digital.delius.controller.api;
 
-import com.google.common.collect.ImmutableList;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
@@ -8,21 +7,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
-import uk.gov.justice.digital.delius.jpa.national.entity.ProbationArea;
-import uk.gov.justice.digital.delius.jwt.Jwt;
-import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
-import uk.gov.justice.digital.delius.service.wrapper.UserRepositoryWrapper;
-import uk.gov.justice.digital.delius.user.UserData;
+import uk.gov.justice.digital.delius.service.LogonService;
 
 import javax.naming.InvalidNameException;
 import javax.naming.NameNotFoundException;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
@@ -32,16 +21,11 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 @Slf4j
 @Api(description = "Obtain JWT token", tags = "Logon as user")
 public class LogonController {
-    private static final List<String> SYSTEM_USERS = ImmutableList.of(CurrentUserSupplier.NATIONAL_USER, CurrentUserSupplier.API_USER);
-    private final Jwt jwt;
-    private final LdapRepository ldapRepository;
-    private final UserRepositoryWrapper userRepositoryWrapper;
+    private final LogonService logonService;
 
     @Autowired
-    public LogonController(Jwt jwt, LdapRepository ldapRepository, UserRepositoryWrapper userRepositoryWrapper) {
-        this.jwt = jwt;
-        this.ldapRepository = ldapRepository;
-        this.userRepositoryWrapper = userRepositoryWrapper;
+    public LogonController(LogonService logonService) {
+        this.logonService = logonService;
     }
 
     private ResponseEntity<String> notFound() {
@@ -52,29 +36,13 @@ public class LogonController {
     @ApiResponses(value = {
             @ApiResponse(code = 404, message = "User lookup: not found")
     })
-    @Transactional
     public ResponseEntity<String> getToken(final @RequestBody String distinguishedName) {
 
         log.info("Legacy login request for {}", distinguishedName);
 
-        Optional<String> maybeUid = SYSTEM_USERS.contains(distinguishedName) ? Optional.of(distinguishedName) : ldapRepository.getDeliusUid(distinguishedName);
-
-        return maybeUid.map(uid ->
-                new ResponseEntity<>(jwt.buildToken(UserData.builder()
-                        .distinguishedName(distinguishedName)
-                        .uid(uid)
-                        .probationAreaCodes(probationAreaCodesOf(uid))
-                        .build()), HttpStatus.OK)).orElse(notFound());
-    }
-
-    private List<String> probationAreaCodesOf(String uid) {
-        return Optional.ofNullable(
-                userRepositoryWrapper
-                        .getUser(uid)
-                        .getProbationAreas())
-                .map(probationAreas -> probationAreas.stream()
-                        .map(ProbationArea::getCode)
-                        .collect(Collectors.toList())).orElse(Collections.emptyList());
+        return logonService.tokenFor(distinguishedName)
+                .map(token -> new ResponseEntity<>(token, HttpStatus.OK))
+                .orElse(notFound());
     }
 
     @ExceptionHandler(InvalidNameException.class)
@@ -10,7 +10,6 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -21,6 +20,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import uk.gov.justice.digital.delius.data.api.AccessLimitation;
 import uk.gov.justice.digital.delius.data.api.Count;
 import uk.gov.justice.digital.delius.data.api.DocumentMeta;
@@ -228,31 +228,31 @@ public class OffenderController {
 
     @RequestMapping(value = "/offenders/crn/{crn}/documents/{documentId}", method = RequestMethod.GET)
     @JwtValidation
-    public ResponseEntity<Resource> getOffenderDocumentByCrn(final @RequestHeader HttpHeaders httpHeaders,
+    public ResponseEntity<StreamingResponseBody> getOffenderDocumentByCrn(final @RequestHeader HttpHeaders httpHeaders,
                                                              final @PathVariable("crn") String crn,
                                                              final @PathVariable("documentId") String documentId) {
-        return alfrescoService.getDocument(documentId, crn);
+        return alfrescoService.getDocument(documentId, crn, httpHeaders);
     }
 
     @RequestMapping(value = "/offenders/offenderId/{offenderId}/documents/{documentId}", method = RequestMethod.GET)
     @JwtValidation
-    public ResponseEntity<Resource> getOffenderDocumentByOffenderId(final @RequestHeader HttpHeaders httpHeaders,
+    public ResponseEntity<StreamingResponseBody> getOffenderDocumentByOffenderId(final @RequestHeader HttpHeaders httpHeaders,
                                                                     final @PathVariable("offenderId") Long offenderId,
                                                                     final @PathVariable("documentId") String documentId
     ) {
         return offenderService.crnOf(offenderId)
-                .map(crn -> alfrescoService.getDocument(documentId, crn))
+                .map(crn -> alfrescoService.getDocument(documentId, crn, httpHeaders))
                 .orElse(new ResponseEntity<>(NOT_FOUND));
     }
 
     @RequestMapping(value = "/offenders/nomsNumber/{nomsNumber}/documents/{documentId}", method = RequestMethod.GET)
     @JwtValidation
-    public ResponseEntity<Resource> getOffenderDocumentByOffenderId(final @RequestHeader HttpHeaders httpHeaders,
+    public ResponseEntity<StreamingResponseBody> getOffenderDocumentByOffenderId(final @RequestHeader HttpHeaders httpHeaders,
                                                                     final @PathVariable("nomsNumber") String nomsNumber,
                                                                     final @PathVariable("documentId") String documentId
     ) {
         return offenderService.crnOf(nomsNumber)
-                .map(crn -> alfrescoService.getDocument(documentId, crn))
+                .map(crn -> alfrescoService.getDocument(documentId, crn, httpHeaders))
                 .orElse(new ResponseEntity<>(NOT_FOUND));
     }
 
@@ -374,10 +374,10 @@ public class OffenderController {
 
     @RequestMapping(value = "/documents/{documentId}", method = RequestMethod.GET)
     @JwtValidation
-    public ResponseEntity<Resource> getDocumentById(final @RequestHeader HttpHeaders httpHeaders,
+    public ResponseEntity<StreamingResponseBody> getDocumentById(final @RequestHeader HttpHeaders httpHeaders,
                                                     final @PathVariable("documentId") String documentId
     ) {
-        return alfrescoService.getDocument(documentId);
+        return alfrescoService.getDocument(documentId, httpHeaders);
     }
 
     @RequestMapping(value = "/offenders/nomsNumber/{nomsNumber}/responsibleOfficers", method = RequestMethod.GET)
@@ -1,9 +1,14 @@
 package uk.gov.justice.digital.delius.controller.api;
 
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -45,4 +50,29 @@ public class StaffController
                 .map(managedOffenders -> new ResponseEntity<>(managedOffenders ,OK))
                 .orElse(new ResponseEntity<>(NOT_FOUND));
     }
+
+    @RequestMapping(value = "/staff/staffCode/{staffCode}/managedOffenders/paged", method = RequestMethod.GET)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "A page of the managed offenders for a staff officer"),
+            @ApiResponse(code = 400, message = "The requested sort property is not sortable"),
+            @ApiResponse(code = 401, message = "Request is missing Authorization header (no JWT)"),
+            @ApiResponse(code = 403, message = "The requesting user was restricted from access", response = AccessLimitation.class),
+            @ApiResponse(code = 404, message = "The requested staffCode was not found")
+    })
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "page", dataType = "java.lang.Integer", paramType = "query",
+                    value = "Results page you want to retrieve (0..N)", example = "0", defaultValue = "0"),
+            @ApiImplicitParam(name = "size", dataType = "java.lang.Integer", paramType = "query",
+                    value = "Number of records per page.", example = "10", defaultValue = "10"),
+            @ApiImplicitParam(name = "sort", dataType = "java.lang.String", paramType = "query", example = "offenderSurname,asc",
+                    value = "Sort column and direction, one of offenderId, nomsNumber, crnNumber, offenderSurname, omStartDate or omEndDate. Multiple sort params allowed.")})
+    @JwtValidation
+    public ResponseEntity<Page<ManagedOffender>> getPageOfManagedOffendersByStaffCode(final @RequestHeader HttpHeaders httpHeaders,
+                                                                                      final @PathVariable("staffCode") String staffCode,
+                                                                                      final @RequestParam(name="current", required=false, defaultValue="false") boolean current,
+                                                                                      final @PageableDefault Pageable pageable) {
+        return staffService.getManagedOffendersByStaffCode(staffCode, current, pageable)
+                .map(managedOffenders -> new ResponseEntity<>(managedOffenders, OK))
+                .orElse(new ResponseEntity<>(NOT_FOUND));
+    }
 }
@@ -15,14 +15,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.controller.advice.ErrorResponse;
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceBasicWrapper;
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceMinimalWrapper;
+import uk.gov.justice.digital.delius.jpa.standard.repository.CourtAppearanceListingRepository.Position;
 import uk.gov.justice.digital.delius.service.CourtAppearanceService;
 import uk.gov.justice.digital.delius.service.OffenderService;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @RestController
@@ -39,7 +42,8 @@ public class CourtAppearancesResource {
         this.offenderService = offenderService;
     }
 
-    @ApiOperation(value = "Returns all court appearances on and after the given date.")
+    @ApiOperation(value = "Returns court appearances on and after the given date ordered by appearance date then court appearance id.",
+        notes = "Read in pages by passing size, then the appearanceDate and courtAppearanceId of the last appearance received as afterAppearanceDate and afterCourtAppearanceId. There are no more appearances when fewer than size are returned.")
     @ApiResponses(
         value = {
             @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
@@ -47,8 +51,20 @@ public class CourtAppearancesResource {
         })
     @GetMapping(value = "/courtAppearances")
     public CourtAppearanceMinimalWrapper getCourtAppearances(@ApiParam(name = "fromDate", value = "Return court appearances from the given date. Defaults to today if not provided.", example = "2019-03-02")
-                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("fromDate") Optional<LocalDate> fromDate) {
-        final var courtAppearances = courtAppearanceService.courtAppearances(fromDate.orElse(LocalDate.now()));
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("fromDate") Optional<LocalDate> fromDate,
+                                                             @ApiParam(name = "toDate", value = "Return court appearances up to and including the given date. Defaults to no limit if not provided.", example = "2019-03-09")
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("toDate") Optional<LocalDate> toDate,
+                                                             @ApiParam(name = "afterAppearanceDate", value = "Appearance date of the last court appearance received", example = "2019-03-02T10:00:00")
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("afterAppearanceDate") Optional<LocalDateTime> afterAppearanceDate,
+                                                             @ApiParam(name = "afterCourtAppearanceId", value = "Id of the last court appearance received", example = "2500316926")
+                                                             final @RequestParam("afterCourtAppearanceId") Optional<Long> afterCourtAppearanceId,
+                                                             @ApiParam(name = "size", value = "The most court appearances to return. Defaults to all of them if not provided.", example = "500")
+                                                             final @RequestParam("size") Optional<Integer> size) {
+        if (afterAppearanceDate.isPresent() != afterCourtAppearanceId.isPresent()) {
+            throw new BadRequestException("afterAppearanceDate and afterCourtAppearanceId must be provided together");
+        }
+        final var after = afterAppearanceDate.flatMap(date -> afterCourtAppearanceId.map(id -> new Position(date, id)));
+        final var courtAppearances = courtAppearanceService.courtAppearances(fromDate.orElse(LocalDate.now()), toDate, after, size);
         return new CourtAppearanceMinimalWrapper(courtAppearances);
     }
 
@@ -14,12 +14,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.justice.digital.delius.data.api.Custody;
+import uk.gov.justice.digital.delius.data.api.CustodyUpdate;
+import uk.gov.justice.digital.delius.data.api.CustodyUpdateResult;
 import uk.gov.justice.digital.delius.data.api.IDs;
 import uk.gov.justice.digital.delius.data.api.OffenderRecalledNotification;
 import uk.gov.justice.digital.delius.data.api.OffenderReleasedNotification;
 import uk.gov.justice.digital.delius.data.api.UpdateCustody;
 import uk.gov.justice.digital.delius.data.api.UpdateCustodyBookingNumber;
 import uk.gov.justice.digital.delius.data.api.UpdateOffenderNomsNumber;
+import uk.gov.justice.digital.delius.service.BulkCustodyUpdateService;
 import uk.gov.justice.digital.delius.service.CustodyService;
 import uk.gov.justice.digital.delius.service.OffenderIdentifierService;
 
@@ -34,10 +37,12 @@ import java.util.List;
 public class CustodyResource {
     private final CustodyService custodyService;
     private final OffenderIdentifierService offenderIdentifierService;
+    private final BulkCustodyUpdateService bulkCustodyUpdateService;
 
-    public CustodyResource(CustodyService custodyService, OffenderIdentifierService offenderIdentifierService) {
+    public CustodyResource(CustodyService custodyService, OffenderIdentifierService offenderIdentifierService, BulkCustodyUpdateService bulkCustodyUpdateService) {
         this.custodyService = custodyService;
         this.offenderIdentifierService = offenderIdentifierService;
+        this.bulkCustodyUpdateService = bulkCustodyUpdateService;
     }
 
     @RequestMapping(value = "offenders/nomsNumber/{nomsNumber}/custody/bookingNumber/{bookingNumber}", method = RequestMethod.PUT, consumes = "application/json")
@@ -148,4 +153,18 @@ public class CustodyResource {
         return custodyService.offenderReleased(nomsNumber, releasedNotification);
     }
 
+    @RequestMapping(value = "offenders/custody", method = RequestMethod.POST, consumes = "application/json")
+    @ApiResponses(value = {
+        @ApiResponse(code = 400, message = "Too many custody changes in one request"),
+        @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_CUSTODY_UPDATE")
+    })
+    @ApiOperation(value = "Makes many custody changes at once, each as the matching single change endpoint would make it",
+        notes = "At most 1000 changes can be made in one request. Each change succeeds or fails on its own and a result is returned for each, in the order requested. " +
+            "Changes for the same offender are applied in the order given.")
+    public List<CustodyUpdateResult> updateCustodies(final @RequestBody List<CustodyUpdate> custodyUpdates) {
+        log.info("Call to updateCustodies with {} changes", custodyUpdates.size());
+
+        return bulkCustodyUpdateService.updateCustodies(custodyUpdates);
+    }
+
 }
@@ -18,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.advice.ErrorResponse;
 import uk.gov.justice.digital.delius.jpa.dao.OffenderDelta;
 import uk.gov.justice.digital.delius.service.OffenderDeltaService;
@@ -33,11 +34,12 @@ import java.util.List;
 @AllArgsConstructor
 @PreAuthorize("hasRole('ROLE_PROBATION_OFFENDER_EVENTS')")
 public class OffenderDeltaControllerSecure {
+    private static final int MAX_DELTAS_PER_PAGE = 1000;
 
     private final OffenderDeltaService offenderDeltaService;
 
     @ApiOperation(
-            value = "Returns a list of offender IDs which have be inserted/updated or deleted")
+            value = "Returns a page of offender IDs which have be inserted/updated or deleted, in offender delta ID order")
     @ApiResponses(
             value = {
                     @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
@@ -45,9 +47,15 @@ public class OffenderDeltaControllerSecure {
                     @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
             })
     @GetMapping(value = "/offenderDeltaIds")
-    public List<OffenderDelta> getOffenderDeltas() {
-        log.info("Call to getOffenderDeltas");
-        return offenderDeltaService.findAll();
+    public List<OffenderDelta> getOffenderDeltas(@ApiParam(name = "after", value = "Only return deltas after this offender delta ID, normally the last one from the previous page", example = "341256")
+                                                 final @RequestParam(name = "after", required = false, defaultValue = "0") long after,
+                                                 @ApiParam(name = "limit", value = "Maximum number of deltas to return", example = "1000")
+                                                 final @RequestParam(name = "limit", required = false, defaultValue = "1000") int limit) {
+        log.info("Call to getOffenderDeltas after {} limit {}", after, limit);
+        if (limit < 1 || limit > MAX_DELTAS_PER_PAGE) {
+            throw new BadRequestException(String.format("limit must be between 1 and %d", MAX_DELTAS_PER_PAGE));
+        }
+        return offenderDeltaService.findAll(after, limit);
     }
 
     @ApiOperation(
@@ -0,0 +1,119 @@
+package uk.gov.justice.digital.delius.controller.secure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.annotations.Authorization;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uk.gov.justice.digital.delius.controller.NotFoundException;
+import uk.gov.justice.digital.delius.controller.advice.ErrorResponse;
+import uk.gov.justice.digital.delius.data.api.Contact;
+import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiers;
+import uk.gov.justice.digital.delius.data.filters.OffenderFilter;
+import uk.gov.justice.digital.delius.helpers.NdJson;
+import uk.gov.justice.digital.delius.jpa.filters.ContactFilter;
+import uk.gov.justice.digital.delius.service.ContactService;
+import uk.gov.justice.digital.delius.service.OffenderService;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Api(tags = "Core offender", authorizations = {@Authorization("ROLE_COMMUNITY")})
+@RestController
+@Slf4j
+@RequestMapping(value = "secure", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@AllArgsConstructor
+@PreAuthorize("hasRole('ROLE_COMMUNITY')")
+@Validated
+public class OffenderExportResource {
+    private final OffenderService offenderService;
+    private final ContactService contactService;
+    private final ObjectMapper objectMapper;
+
+    @ApiOperation(
+            value = "Streams the identifiers of every offender that matches the supplied filter as newline delimited JSON in offenderId order",
+            notes = "Intended for bulk reconciliation. Unlike /offenders/primaryIdentifiers no total is calculated. " +
+                    "An interrupted export can be resumed by passing the last offenderId received as the after parameter")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+                    @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+            })
+    @GetMapping(value = "/offenders/primaryIdentifiers/export")
+    public StreamingResponseBody exportOffenderIds(
+            @ApiParam(value = "Optionally specify an offender filter") final OffenderFilter filter,
+            @ApiParam(name = "after", value = "Only return offenders with an offenderId greater than this", example = "2500343964")
+            @RequestParam(name = "after", required = false, defaultValue = "0") @PositiveOrZero final long afterOffenderId) {
+        log.info("Call to exportOffenderIds after {}", afterOffenderId);
+        return NdJson.<PrimaryIdentifiers>streamOf(objectMapper, consumer -> offenderService.exportPrimaryIdentifiers(filter, afterOffenderId, consumer));
+    }
+
+    @ApiOperation(
+            value = "Streams the contacts for an offender by CRN as newline delimited JSON in the order they were created",
+            notes = "Returns the same contacts as /offenders/nomsNumber/{nomsNumber}/contacts but written as they are read, so is suitable for the full contact history of an offender",
+            tags = "Contact and attendance")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+                    @ApiResponse(code = 404, message = "Offender does not exist", response = ErrorResponse.class),
+                    @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+            })
+    @GetMapping(value = "/offenders/crn/{crn}/contacts/export")
+    public StreamingResponseBody exportOffenderContactsByCrn(
+            @ApiParam(name = "crn", value = "CRN for the offender", example = "X320741", required = true) @NotNull @PathVariable("crn") final String crn,
+            @RequestParam(value = "contactTypes", required = false) final Optional<List<String>> contactTypes,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @RequestParam(value = "from", required = false) final Optional<LocalDateTime> from,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @RequestParam(value = "to", required = false) final Optional<LocalDateTime> to) {
+        return offenderService.offenderIdOfCrn(crn)
+                .map(offenderId -> exportContactsOf(offenderId, contactTypes, from, to))
+                .orElseThrow(() -> new NotFoundException(String.format("Offender with crn %s not found", crn)));
+    }
+
+    @ApiOperation(
+            value = "Streams the contacts for an offender by NOMS number as newline delimited JSON in the order they were created",
+            notes = "Returns the same contacts as /offenders/nomsNumber/{nomsNumber}/contacts but written as they are read, so is suitable for the full contact history of an offender",
+            tags = "Contact and attendance")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+                    @ApiResponse(code = 404, message = "Offender does not exist", response = ErrorResponse.class),
+                    @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+            })
+    @GetMapping(value = "/offenders/nomsNumber/{nomsNumber}/contacts/export")
+    public StreamingResponseBody exportOffenderContactsByNomsNumber(
+            @ApiParam(name = "nomsNumber", value = "Nomis number for the offender", example = "G9542VP", required = true) @NotNull @PathVariable("nomsNumber") final String nomsNumber,
+            @RequestParam(value = "contactTypes", required = false) final Optional<List<String>> contactTypes,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @RequestParam(value = "from", required = false) final Optional<LocalDateTime> from,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @RequestParam(value = "to", required = false) final Optional<LocalDateTime> to) {
+        return offenderService.offenderIdOfNomsNumber(nomsNumber)
+                .map(offenderId -> exportContactsOf(offenderId, contactTypes, from, to))
+                .orElseThrow(() -> new NotFoundException(String.format("Offender with nomsNumber %s not found", nomsNumber)));
+    }
+
+    private StreamingResponseBody exportContactsOf(Long offenderId, Optional<List<String>> contactTypes, Optional<LocalDateTime> from, Optional<LocalDateTime> to) {
+        final var contactFilter = ContactFilter.builder()
+                .contactTypes(contactTypes)
+                .from(from)
+                .to(to)
+                .build();
+        log.info("Call to exportContacts for offender {}", offenderId);
+        return NdJson.<Contact>streamOf(objectMapper, consumer -> contactService.exportContactsFor(offenderId, contactFilter, consumer));
+    }
+}
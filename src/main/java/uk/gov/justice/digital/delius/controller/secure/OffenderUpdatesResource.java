@@ -2,6 +2,7 @@ package uk.gov.justice.digital.delius.controller.secure;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.AllArgsConstructor;
@@ -11,14 +12,20 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.controller.advice.ErrorResponse;
 import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
+import uk.gov.justice.digital.delius.data.api.OffenderUpdatesAcknowledgement;
 import uk.gov.justice.digital.delius.service.OffenderUpdatesService;
 
+import java.util.List;
+
 @Api(tags = "Events")
 @RestController
 @Slf4j
@@ -42,6 +49,36 @@ public class OffenderUpdatesResource {
         return offenderUpdatesService.getAndLockNextUpdate().orElseThrow(() -> new NotFoundException("No updates found"));
     }
 
+    @ApiOperation(
+            value = "Leases a batch of the next updates for any offenders, topping up with failed updates if there are not enough new ones. " +
+                    "Concurrent callers receive different updates. Updates not acknowledged within the lease are handed out again as failed updates",
+            notes = "requires ROLE_COMMUNITY_EVENTS")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+                    @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_EVENTS")
+            })
+    @GetMapping(value = "offenders/nextUpdates")
+    public List<OffenderUpdate> leaseNextOffenderUpdates(
+            @ApiParam(name = "max", value = "Maximum number of updates to return", example = "100")
+            @RequestParam(name = "max", required = false, defaultValue = "100") final int max,
+            @ApiParam(name = "leaseSeconds", value = "Number of seconds before unacknowledged updates are available again", example = "600")
+            @RequestParam(name = "leaseSeconds", required = false, defaultValue = "600") final int leaseSeconds) {
+        return offenderUpdatesService.leaseNextUpdates(max, leaseSeconds);
+    }
+
+    @ApiOperation(
+            value = "Acknowledges a batch of updates previously retrieved by `/offenders/nextUpdates`, deleting the processed updates and marking the rest as failed", notes = "requires ROLE_COMMUNITY_EVENTS")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+                    @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_EVENTS")
+            })
+    @PostMapping(value = "offenders/updates/acknowledge")
+    public void acknowledgeOffenderUpdates(@RequestBody final OffenderUpdatesAcknowledgement acknowledgement) {
+        offenderUpdatesService.acknowledgeUpdates(acknowledgement);
+    }
+
     @ApiOperation(
             value = "Deletes an update of an offender previous retrieved by `/offenders/nextUpdate` ", notes = "requires ROLE_COMMUNITY_EVENTS")
     @ApiResponses(
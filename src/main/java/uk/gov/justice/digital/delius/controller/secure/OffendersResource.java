@@ -52,6 +52,8 @@ import uk.gov.justice.digital.delius.data.api.ProbationStatusDetail;
 import uk.gov.justice.digital.delius.data.api.ResponsibleOfficer;
 import uk.gov.justice.digital.delius.data.api.ResponsibleOfficerSwitch;
 import uk.gov.justice.digital.delius.data.api.SentenceStatus;
+import uk.gov.justice.digital.delius.data.api.TierUpdate;
+import uk.gov.justice.digital.delius.data.api.TierUpdateResult;
 import uk.gov.justice.digital.delius.data.filters.OffenderFilter;
 import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
 import uk.gov.justice.digital.delius.jpa.filters.ContactFilter;
@@ -258,7 +260,8 @@ public class OffendersResource {
         final @RequestParam(value = "contactTypes", required = false) Optional<List<String>> contactTypes,
         final @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @RequestParam(value = "from", required = false) Optional<LocalDateTime> from,
         final @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @RequestParam(value = "to", required = false) Optional<LocalDateTime> to,
-        final @RequestParam(value = "appointmentsOnly", required = false) Optional<Boolean> appointmentsOnly) {
+        final @RequestParam(value = "appointmentsOnly", required = false) Optional<Boolean> appointmentsOnly,
+        final @ApiParam(name = "includeNotes", value = "Include the contact notes, which can be large", example = "false") @RequestParam(value = "includeNotes", required = false, defaultValue = "false") boolean includeNotes) {
 
         final var contactFilter = ContactFilter.builder()
             .contactTypes(contactTypes)
@@ -268,7 +271,7 @@ public class OffendersResource {
             .build();
 
         return offenderService.offenderIdOfCrn(crn)
-            .map(offenderId -> contactService.contactSummariesFor(offenderId, contactFilter, page, pageSize))
+            .map(offenderId -> contactService.contactSummariesFor(offenderId, contactFilter, page, pageSize, includeNotes))
             .orElseThrow(() -> new NotFoundException(String.format("Offender with CRN '%s' does not exist", crn)));
     }
 
@@ -517,6 +520,21 @@ public class OffendersResource {
         tierService.updateTier(crn,tier);
     }
 
+    @ApiOperation(value = "Update the tiers of many offenders at once. Requires ROLE_MANAGEMENT_TIER_UPDATE", notes = "At most 1000 tiers can be updated in one request. Each update succeeds or fails on its own and a result is returned for each, in the order requested", tags = {"Assessments"})
+    @ApiResponses(
+        value = {
+            @ApiResponse(code = 400, message = "Too many tiers in one request", response = ErrorResponse.class),
+            @ApiResponse(code = 403, message = "Forbidden, requires ROLE_MANAGEMENT_TIER_UPDATE"),
+            @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+        })
+    @PostMapping(path = "/offenders/tiers")
+    @PreAuthorize("hasRole('ROLE_MANAGEMENT_TIER_UPDATE')")
+    public List<TierUpdateResult> updateTiers(
+        @ApiParam(value = "The new tier of each offender", required = true)
+        @RequestBody final List<TierUpdate> tierUpdates) {
+        return tierService.updateTiers(tierUpdates);
+    }
+
     @ApiOperation(value = "Return the NSIs for a conviction ID and a CRN, filtering by NSI codes", tags = "Sentence requirements and breach")
     @ApiResponses(
             value = {
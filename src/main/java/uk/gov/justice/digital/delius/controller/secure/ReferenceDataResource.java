@@ -9,12 +9,16 @@ import io.swagger.annotations.Authorization;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.controller.advice.ErrorResponse;
@@ -123,6 +127,41 @@ public class ReferenceDataResource {
                 .orElseThrow(() -> new NotFoundException(String.format("Data set %s not found. All data sets available can be found by calling /secure/referenceData/sets", set)));
     }
 
+    @ApiOperation(value = "Reloads the cached reference data items for the given set", notes = "requires ROLE_MAINTAIN_REF_DATA and write scope")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 403, message = "Requires role ROLE_MAINTAIN_REF_DATA and write scope"),
+                    @ApiResponse(code = 404, message = "Data set not found", response = ErrorResponse.class),
+                    @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+            })
+    @PostMapping(value = "/referenceData/set/{set}/refresh")
+    @PreAuthorize("hasRole('ROLE_MAINTAIN_REF_DATA') and hasAuthority('SCOPE_write')")
+    public ReferenceDataList refreshReferenceData(
+            @ApiParam(name = "set", value = "The set of reference data", example = "ADDITIONAL IDENTIFIER TYPE", required = true) final @PathVariable String set) {
+        log.info("Call to refreshReferenceData for {}", set);
+        return referenceDataService.refreshReferenceDataForSet(set)
+                .map(
+                        list -> ReferenceDataList
+                                .builder()
+                                .referenceData(list)
+                                .build())
+                .orElseThrow(() -> new NotFoundException(String.format("Data set %s not found", set)));
+    }
+
+    @ApiOperation(value = "Evicts all cached reference data so that it is reloaded when next requested", notes = "requires ROLE_MAINTAIN_REF_DATA and write scope")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 403, message = "Requires role ROLE_MAINTAIN_REF_DATA and write scope"),
+                    @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+            })
+    @DeleteMapping(value = "/referenceData/cache")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasRole('ROLE_MAINTAIN_REF_DATA') and hasAuthority('SCOPE_write')")
+    public void evictReferenceData() {
+        log.info("Call to evictReferenceData");
+        referenceDataService.evictReferenceData();
+    }
+
     @ApiOperation(value = "Returns all available reference data sets", notes = "It is expected that this API will be used to assist developers in understanding the available set codes available for /secure/referenceData/set/{set} endpoint")
     @ApiResponses(
             value = {
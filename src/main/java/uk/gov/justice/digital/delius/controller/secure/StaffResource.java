@@ -3,6 +3,9 @@ package uk.gov.justice.digital.delius.controller.secure;
 import io.swagger.annotations.*;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -39,6 +42,27 @@ public class StaffResource {
                 .orElseThrow(() -> new NotFoundException(String.format("Staff member with identifier %d", staffIdentifier)));
     }
 
+    @ApiOperation(value = "Return a page of the offenders managed by one responsible officer (RO)", notes = "Accepts a Delius staff officer identifier")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "page", dataType = "java.lang.Integer", paramType = "query",
+                    value = "Results page you want to retrieve (0..N)", example = "0", defaultValue = "0"),
+            @ApiImplicitParam(name = "size", dataType = "java.lang.Integer", paramType = "query",
+                    value = "Number of records per page.", example = "10", defaultValue = "10"),
+            @ApiImplicitParam(name = "sort", dataType = "java.lang.String", paramType = "query", example = "offenderSurname,asc",
+                    value = "Sort column and direction, one of offenderId, nomsNumber, crnNumber, offenderSurname, omStartDate or omEndDate. Multiple sort params allowed.")})
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+            @ApiResponse(code = 404, message = "Not found", response = ErrorResponse.class),
+            @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)})
+    @GetMapping(path = "/staff/staffIdentifier/{staffIdentifier}/managedOffenders/paged")
+    public Page<ManagedOffender> getPageOfOffendersForResponsibleOfficerIdentifier(
+            @ApiParam(name = "staffIdentifier", value = "Delius officer identifier of the responsible officer", example = "123456", required = true) @NotNull @PathVariable(value = "staffIdentifier") final Long staffIdentifier,
+            @ApiParam(name = "current", value = "Current only", example = "false") @RequestParam(name = "current", required = false, defaultValue = "false") final boolean current,
+            @PageableDefault final Pageable pageable) {
+        return staffService.getManagedOffendersByStaffIdentifier(staffIdentifier, current, pageable)
+                .orElseThrow(() -> new NotFoundException(String.format("Staff member with identifier %d", staffIdentifier)));
+    }
+
     @ApiOperation(value = "Return details of a staff member including option user details", notes = "Accepts a Delius staff officer identifier")
     @ApiResponses(value = {
             @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
@@ -0,0 +1,28 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "A custody change for an offender, giving exactly one of prisonLocation, bookingNumberUpdate, recall or release")
+public class CustodyUpdate {
+    @ApiModelProperty(value = "NOMS number of the offender", example = "G9542VP", required = true)
+    private String nomsNumber;
+    @ApiModelProperty(value = "Prison booking number the offender is held under, required with a prison location change", example = "44463B")
+    private String bookingNumber;
+    @ApiModelProperty(value = "The prison the offender is now held in")
+    private UpdateCustody prisonLocation;
+    @ApiModelProperty(value = "The booking number to set on the conviction with a matching sentence start date")
+    private UpdateCustodyBookingNumber bookingNumberUpdate;
+    @ApiModelProperty(value = "The offender was recalled to prison")
+    private OffenderRecalledNotification recall;
+    @ApiModelProperty(value = "The offender was released from prison")
+    private OffenderReleasedNotification release;
+}
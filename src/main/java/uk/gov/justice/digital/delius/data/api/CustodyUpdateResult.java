@@ -0,0 +1,24 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "The outcome of one custody change in a bulk request")
+public class CustodyUpdateResult {
+    @ApiModelProperty(value = "NOMS number of the offender", example = "G9542VP")
+    private String nomsNumber;
+    @ApiModelProperty(value = "Whether the change was applied, or needed no update because the custody record already matched it", example = "true")
+    private boolean succeeded;
+    @ApiModelProperty(value = "The custody record after the change, only present when it succeeded")
+    private Custody custody;
+    @ApiModelProperty(value = "Why the change was not applied, only present when it was not", example = "Offender with nomsNumber G9542VP not found")
+    private String failureReason;
+}
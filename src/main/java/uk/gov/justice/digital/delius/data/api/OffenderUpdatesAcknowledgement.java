@@ -0,0 +1,22 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OffenderUpdatesAcknowledgement {
+    @ApiModelProperty(value = "Offender Delta IDs of updates that have been processed and can be deleted", example = "[341256, 341257]", position = 1)
+    @Builder.Default
+    private List<Long> processed = List.of();
+    @ApiModelProperty(value = "Offender Delta IDs of updates that could not be processed and should be marked as failed", example = "[341258]", position = 2)
+    @Builder.Default
+    private List<Long> failed = List.of();
+}
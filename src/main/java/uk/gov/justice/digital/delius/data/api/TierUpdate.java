@@ -0,0 +1,20 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "A new tier for an offender")
+public class TierUpdate {
+    @ApiModelProperty(value = "CRN for the offender", example = "A123456", required = true)
+    private String crn;
+    @ApiModelProperty(value = "New tier", example = "A1", required = true, allowableValues = "A0, A1, A2, A3, B0, B1, B2, B3, C0, C1, C2, C3, D0, D1, D2, D3")
+    private String tier;
+}
@@ -0,0 +1,24 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "The outcome of one tier update in a bulk request")
+public class TierUpdateResult {
+    @ApiModelProperty(value = "CRN for the offender", example = "A123456")
+    private String crn;
+    @ApiModelProperty(value = "Requested tier", example = "A1")
+    private String tier;
+    @ApiModelProperty(value = "Whether the tier was updated", example = "true")
+    private boolean updated;
+    @ApiModelProperty(value = "Why the tier was not updated, only present when it was not", example = "Offender with CRN A123456 not found")
+    private String failureReason;
+}
@@ -6,6 +6,8 @@ import uk.gov.justice.digital.delius.config.SecurityUserContext;
 import uk.gov.justice.digital.delius.jwt.Jwt;
 
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Component
 public class CurrentUserSupplier {
@@ -51,6 +53,41 @@ public class CurrentUserSupplier {
         threadLocalClaims.remove();
     }
 
+    /**
+     * Captures the current thread's JWT claims and national user override so the task sees the same database user
+     * when run on another thread. The Spring security context is not included and must be propagated separately.
+     */
+    public static <T> Supplier<T> withCurrentUser(Supplier<T> task) {
+        final var claims = threadLocalClaims.get();
+        final var nationalUserOverride = threadLocalNationalUserOverride.get();
+        return () -> runAs(claims, nationalUserOverride, task);
+    }
+
+    /**
+     * As {@link #withCurrentUser(Supplier)} for a task that is given its argument when it is run
+     */
+    public static <T> Consumer<T> withCurrentUser(Consumer<T> task) {
+        final var claims = threadLocalClaims.get();
+        final var nationalUserOverride = threadLocalNationalUserOverride.get();
+        return argument -> runAs(claims, nationalUserOverride, () -> {
+            task.accept(argument);
+            return null;
+        });
+    }
+
+    private static <T> T runAs(Claims claims, Boolean nationalUserOverride, Supplier<T> task) {
+        final var previousClaims = threadLocalClaims.get();
+        final var previousNationalUserOverride = threadLocalNationalUserOverride.get();
+        threadLocalClaims.set(claims);
+        threadLocalNationalUserOverride.set(nationalUserOverride);
+        try {
+            return task.get();
+        } finally {
+            threadLocalClaims.set(previousClaims);
+            threadLocalNationalUserOverride.set(previousNationalUserOverride);
+        }
+    }
+
     public static void setNationalUserOverride() {
         CurrentUserSupplier.threadLocalNationalUserOverride.set(true);
     }
@@ -0,0 +1,39 @@
+package uk.gov.justice.digital.delius.helpers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Streams items as newline delimited JSON, one object per line, so large exports can be written without
+ * holding the whole result in memory. The producer is run as the user making the request, captured when
+ * the stream is created, on the thread writing the response so VPD still applies to any queries it makes.
+ */
+public class NdJson {
+    private NdJson() {
+    }
+
+    public static <T> StreamingResponseBody streamOf(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        final var writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // the response is written on an async thread, so the user must be captured here on the request thread
+        final Consumer<OutputStream> writeItems = CurrentUserSupplier.withCurrentUser(out -> producer.accept(item -> {
+            try {
+                writer.writeValue(out, item);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        return outputStream -> {
+            final var out = new BufferedOutputStream(outputStream);
+            writeItems.accept(out);
+            out.flush();
+        };
+    }
+}
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@JsonPropertyOrder({"offenderId", "dateChanged", "action"})
+@JsonPropertyOrder({"offenderId", "dateChanged", "action", "offenderDeltaId"})
 public class OffenderDelta {
     @ApiModelProperty(value = "Offender ID", example = "232423", position = 1)
     private Long offenderId;
@@ -21,4 +21,6 @@ public class OffenderDelta {
     private LocalDateTime dateChanged;
     @ApiModelProperty(value = "Type of delta", example = "UPSERT", allowableValues = "UPSERT,DELETE", position = 3)
     private String action;
+    @ApiModelProperty(value = "Offender Delta ID, supply the last one received as `after` to retrieve the next page", example = "341256", position = 4)
+    private Long offenderDeltaId;
 }
@@ -1,6 +1,8 @@
 package uk.gov.justice.digital.delius.jpa.national.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.gov.justice.digital.delius.jpa.national.entity.User;
 
@@ -12,4 +14,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByDistinguishedNameIgnoreCase(String distinguishedName);
     List<User> findBySurnameIgnoreCaseAndForenameIgnoreCase(String surname, String forename);
     List<User> findBySurnameIgnoreCase(String surname);
+
+    @Query("select u.userId from User u where upper(u.distinguishedName) = upper(:distinguishedName)")
+    Optional<Long> findUserIdByDistinguishedName(@Param("distinguishedName") String distinguishedName);
+
+    @Query("select e.offenderId from Exclusion e where e.userId = :userId and (e.exclusionEnd is null or e.exclusionEnd > current_timestamp)")
+    List<Long> findActiveExclusionOffenderIds(@Param("userId") Long userId);
+
+    @Query("select r.offenderId from Restriction r where r.userId = :userId and (r.restrictionEnd is null or r.restrictionEnd > current_timestamp)")
+    List<Long> findActiveRestrictionOffenderIds(@Param("userId") Long userId);
 }
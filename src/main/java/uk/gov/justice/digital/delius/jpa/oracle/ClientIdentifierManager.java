@@ -0,0 +1,80 @@
+package uk.gov.justice.digital.delius.jpa.oracle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import oracle.jdbc.OracleConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Sets the VPD client identifier of a database session to the current user as a connection is borrowed from the pool.
+ * The identifier last set on each physical connection is remembered, so a connection handed back to the same user is
+ * not set again and one handed to a request with no user is only cleared if another user's identifier is still set.
+ * <p>
+ * A session that has not been seen before, or whose identifier was being changed when a call failed, is in an unknown
+ * state. It is always set or cleared with a call to PKG_VPD_CTX, so it never keeps the previous borrower's identity.
+ */
+@Component
+@Profile("oracle")
+public class ClientIdentifierManager {
+    static final String END_TO_END_CLIENT_ID = "OCSID.CLIENTID";
+
+    // keyed by identity and held weakly, so physical connections closed by the pool are dropped; empty once cleared
+    // and absent while unknown
+    private final Cache<Connection, Optional<String>> identifiers = Caffeine.newBuilder().weakKeys().build();
+    private final boolean useEndToEndMetrics;
+
+    public ClientIdentifierManager(@Value("${delius.vpd.end-to-end-metrics:false}") boolean useEndToEndMetrics) {
+        this.useEndToEndMetrics = useEndToEndMetrics;
+    }
+
+    public void apply(Connection connection, Optional<String> username) throws SQLException {
+        final var identifier = username.orElse(null);
+        final var session = physicalConnectionOf(connection);
+
+        if (session.isEmpty()) {
+            // can not tell which session this is, so what it was last set to is unknown
+            callVpdPackage(connection, identifier);
+            return;
+        }
+
+        final var physicalConnection = session.get();
+        final var current = identifiers.getIfPresent(physicalConnection);
+        if (username.equals(current)) {
+            return;
+        }
+
+        // forget the identifier first so a failure leaves it unknown and it is set again on the next borrow
+        identifiers.invalidate(physicalConnection);
+        if (useEndToEndMetrics && current != null) {
+            // sent with the next call to the database rather than in a round trip of its own
+            physicalConnection.setClientInfo(END_TO_END_CLIENT_ID, identifier);
+        } else {
+            callVpdPackage(connection, identifier);
+        }
+        identifiers.put(physicalConnection, username);
+    }
+
+    private static void callVpdPackage(Connection connection, String identifier) throws SQLException {
+        if (identifier == null) {
+            try (PreparedStatement stmt = connection.prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()")) {
+                stmt.execute();
+            }
+        } else {
+            try (PreparedStatement stmt = connection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")) {
+                stmt.setString(1, identifier);
+                stmt.execute();
+            }
+        }
+    }
+
+    private static Optional<OracleConnection> physicalConnectionOf(Connection connection) throws SQLException {
+        return connection.isWrapperFor(OracleConnection.class) ? Optional.of(connection.unwrap(OracleConnection.class)) : Optional.empty();
+    }
+}
@@ -1,18 +1,16 @@
 package uk.gov.justice.digital.delius.jpa.oracle;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.springframework.aop.Advisor;
-import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import uk.gov.justice.digital.delius.config.ReadWriteRoutingDataSource;
 import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 @Component
@@ -20,36 +18,40 @@ import java.sql.SQLException;
 @Aspect
 public class UserProxy {
 
-    private final Advisor closeConnectionAdvisor;
+    private final ClientIdentifierManager clientIdentifierManager;
     private final CurrentUserSupplier currentUserSupplier;
 
     @Autowired
-    public UserProxy(@Qualifier("bclOracleCloseConnectionAdvice") Advisor closeConnectionAdvisor,
+    public UserProxy(final ClientIdentifierManager clientIdentifierManager,
                      final CurrentUserSupplier currentUserSupplier) {
-        this.closeConnectionAdvisor = closeConnectionAdvisor;
+        this.clientIdentifierManager = clientIdentifierManager;
         this.currentUserSupplier = currentUserSupplier;
     }
 
-    @Around("execution (* javax.sql.DataSource.getConnection(..))")
+    // a lazy proxy hands out a placeholder, the identifier is set once the connection it stands for is fetched
+    @Around("execution (* javax.sql.DataSource.getConnection(..)) && !target(org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy)")
     public Connection doOracleProxyThing(ProceedingJoinPoint joinPoint) throws Throwable {
         Connection connection = (Connection) joinPoint.proceed(joinPoint.getArgs());
 
-        return currentUserSupplier.username().map(username -> getConnection(connection, username)).orElse(connection);
-    }
-
-    private Connection getConnection(Connection connection, String uid) {
-        ProxyFactory proxyFactory = new ProxyFactory(connection);
-        proxyFactory.addAdvisor(closeConnectionAdvisor);
-
-        Connection proxiedConnection = (Connection) proxyFactory.getProxy();
-
-        try (PreparedStatement stmt = proxiedConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")) {
-            stmt.setString(1, uid);
-            stmt.execute();
+        try {
+            clientIdentifierManager.apply(connection, currentUserSupplier.username());
         } catch (SQLException e) {
+            evict(joinPoint.getTarget(), connection);
             throw new RuntimeException(e);
         }
 
-        return proxiedConnection;
+        return connection;
+    }
+
+    // the session may still hold the previous user's identifier, so it must not go back to the pool to be borrowed again
+    private static void evict(Object dataSource, Connection connection) throws SQLException {
+        if (dataSource instanceof HikariDataSource pool) {
+            pool.evictConnection(connection);
+        } else if (dataSource instanceof ReadWriteRoutingDataSource router) {
+            router.evictConnection(connection);
+        } else {
+            connection.abort(Runnable::run);
+            connection.close();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package uk.gov.justice.digital.delius.jpa.standard;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+
+/**
+ * Hands out the values of a Delius sequence a block at a time. The Delius sequences increment by one and are shared
+ * with Delius itself, so Hibernate's pooled optimisers, which expect a sequence to increment by its allocation size,
+ * can not be used. Instead a block of real sequence values is read with a single query and handed out from memory, so
+ * entities saved together cost one round trip per block rather than one each before their inserts are batched. Any
+ * values left over when the application stops are never used, as happens with Oracle's own sequence cache.
+ */
+public class BlockSequenceGenerator implements IdentifierGenerator {
+    public static final String SEQUENCE_NAME = "sequence_name";
+    public static final String BLOCK_SIZE = "block_size";
+    private static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private final Deque<Long> values = new ArrayDeque<>();
+    private String blockSql;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        final var sequenceName = ConfigurationHelper.getString(SEQUENCE_NAME, params);
+        if (sequenceName == null) {
+            throw new MappingException(String.format("%s must be given a %s", getClass().getSimpleName(), SEQUENCE_NAME));
+        }
+        final var blockSize = ConfigurationHelper.getInt(BLOCK_SIZE, params, DEFAULT_BLOCK_SIZE);
+        // the dev and test databases are H2, which has no CONNECT BY
+        blockSql = serviceRegistry.getService(JdbcEnvironment.class).getDialect() instanceof H2Dialect
+                ? String.format("SELECT %s.NEXTVAL FROM SYSTEM_RANGE(1, %d)", sequenceName, blockSize)
+                : String.format("SELECT %s.NEXTVAL FROM DUAL CONNECT BY LEVEL <= %d", sequenceName, blockSize);
+    }
+
+    @Override
+    public synchronized Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        if (values.isEmpty()) {
+            readBlock(session);
+        }
+        return values.remove();
+    }
+
+    private void readBlock(SharedSessionContractImplementor session) {
+        final var jdbcCoordinator = session.getJdbcCoordinator();
+        final var statement = jdbcCoordinator.getStatementPreparer().prepareStatement(blockSql);
+        try {
+            final var resultSet = jdbcCoordinator.getResultSetReturn().extract(statement);
+            while (resultSet.next()) {
+                values.add(resultSet.getLong(1));
+            }
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "could not read next sequence values", blockSql);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+}
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import uk.gov.justice.digital.delius.jpa.standard.BlockSequenceGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -16,8 +19,9 @@ import java.time.LocalDateTime;
 @Table(name = "SPG_NOTIFICATION")
 public class SpgNotification {
     @Id
-    @SequenceGenerator(name = "SPG_NOTIFICATION_ID_GENERATOR", sequenceName = "SPG_NOTIFICATION_ID_SEQ", allocationSize = 1)
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SPG_NOTIFICATION_ID_GENERATOR")
+    @GenericGenerator(name = "SPG_NOTIFICATION_ID_GENERATOR", strategy = "uk.gov.justice.digital.delius.jpa.standard.BlockSequenceGenerator",
+            parameters = @Parameter(name = BlockSequenceGenerator.SEQUENCE_NAME, value = "SPG_NOTIFICATION_ID_SEQ"))
+    @GeneratedValue(generator = "SPG_NOTIFICATION_ID_GENERATOR")
     @Column(name = "SPG_NOTIFICATION_ID")
     private Long spgNotificationId;
     @JoinColumn(name = "BUSINESS_INTERACTION_ID")
@@ -0,0 +1,59 @@
+package uk.gov.justice.digital.delius.jpa.standard.projection;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A contact flattened to the columns needed to list it, read in one query rather than as a Contact entity with all of
+ * its associations. The ids of optional associations are null when the contact does not have one.
+ */
+@Value
+@Builder
+public class ContactListing {
+    Long contactId;
+    LocalDate contactDate;
+    LocalTime contactStartTime;
+    LocalTime contactEndTime;
+    String notes;
+    String sensitive;
+    String rarActivity;
+    String attended;
+    String complied;
+    Double hoursCredited;
+
+    String contactTypeCode;
+    String contactTypeDescription;
+    String contactTypeShortDescription;
+    Boolean contactTypeAttendanceContact;
+
+    Long contactOutcomeTypeId;
+    String contactOutcomeTypeCode;
+    String contactOutcomeTypeDescription;
+
+    Long officeLocationId;
+    String officeLocationCode;
+    String officeLocationDescription;
+    String officeLocationBuildingName;
+    String officeLocationBuildingNumber;
+    String officeLocationStreetName;
+    String officeLocationTownCity;
+    String officeLocationCounty;
+    String officeLocationPostcode;
+
+    Long probationAreaId;
+    String probationAreaCode;
+    String probationAreaDescription;
+
+    Long teamId;
+    String teamCode;
+    String teamDescription;
+
+    Long staffId;
+    String staffOfficerCode;
+    String staffForename;
+    String staffForname2;
+    String staffSurname;
+}
@@ -0,0 +1,22 @@
+package uk.gov.justice.digital.delius.jpa.standard.projection;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A court appearance flattened to the columns needed to list it, without loading the appearance, its court or its
+ * appearance type as entities
+ */
+@Value
+@Builder
+public class CourtAppearanceListing {
+    Long offenderId;
+    Long courtAppearanceId;
+    LocalDateTime appearanceDate;
+    String courtCode;
+    String courtName;
+    String appearanceTypeCode;
+    String appearanceTypeDescription;
+}
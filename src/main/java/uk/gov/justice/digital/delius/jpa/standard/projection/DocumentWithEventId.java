@@ -0,0 +1,8 @@
+package uk.gov.justice.digital.delius.jpa.standard.projection;
+
+/**
+ * A document with the id of the event it belongs to, read by the same query so the event need not be reached through
+ * the document's associations. The event id is null when the document belongs to the offender rather than an event.
+ */
+public record DocumentWithEventId<T>(T document, Long eventId) {
+}
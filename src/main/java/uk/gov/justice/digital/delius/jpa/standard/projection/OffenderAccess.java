@@ -0,0 +1,24 @@
+package uk.gov.justice.digital.delius.jpa.standard.projection;
+
+/**
+ * Just the columns of an offender needed to decide whether a user can access them
+ */
+public interface OffenderAccess {
+    Long getOffenderId();
+
+    Long getCurrentExclusion();
+
+    String getExclusionMessage();
+
+    Long getCurrentRestriction();
+
+    String getRestrictionMessage();
+
+    default boolean isCurrentExclusion() {
+        return Long.valueOf(1L).equals(getCurrentExclusion());
+    }
+
+    default boolean isCurrentRestriction() {
+        return Long.valueOf(1L).equals(getCurrentRestriction());
+    }
+}
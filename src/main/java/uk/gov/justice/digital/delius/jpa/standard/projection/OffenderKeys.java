@@ -0,0 +1,12 @@
+package uk.gov.justice.digital.delius.jpa.standard.projection;
+
+/**
+ * The identifiers of an offender without the rest of the offender
+ */
+public interface OffenderKeys {
+    Long getOffenderId();
+
+    String getCrn();
+
+    String getNomsNumber();
+}
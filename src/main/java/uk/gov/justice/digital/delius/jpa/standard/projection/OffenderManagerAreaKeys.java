@@ -0,0 +1,13 @@
+package uk.gov.justice.digital.delius.jpa.standard.projection;
+
+/**
+ * The identifiers of an offender with the code of the probation area of their active community offender manager,
+ * which is null when they do not have one
+ */
+public interface OffenderManagerAreaKeys {
+    Long getOffenderId();
+
+    String getCrn();
+
+    String getProbationAreaCode();
+}
@@ -0,0 +1,13 @@
+package uk.gov.justice.digital.delius.jpa.standard.projection;
+
+/**
+ * The identifiers of an offender and whether they are serving a sentence, enough to tell apart offenders that share
+ * a NOMS number without loading them
+ */
+public interface OffenderSentenceKeys extends OffenderKeys {
+    Long getCurrentDisposal();
+
+    default boolean hasActiveSentence() {
+        return Long.valueOf(1L).equals(getCurrentDisposal());
+    }
+}
@@ -0,0 +1,10 @@
+package uk.gov.justice.digital.delius.jpa.standard.projection;
+
+/**
+ * The identifiers of a member of staff without the rest of the staff record
+ */
+public interface StaffKeys {
+    Long getStaffId();
+
+    String getOfficerCode();
+}
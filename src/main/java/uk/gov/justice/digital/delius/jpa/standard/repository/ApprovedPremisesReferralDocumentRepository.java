@@ -4,10 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ApprovedPremisesReferralDocument;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 
 import java.util.List;
 
 public interface ApprovedPremisesReferralDocumentRepository extends JpaRepository<ApprovedPremisesReferralDocument, Long> {
-    @Query("select document from ApprovedPremisesReferralDocument document, ApprovedPremisesReferral entity where document.approvedPremisesReferral = entity and document.offenderId = :offenderId and document.softDeleted = false")
-    List<ApprovedPremisesReferralDocument> findByOffenderId(@Param("offenderId") Long offenderId);
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from ApprovedPremisesReferralDocument document join document.approvedPremisesReferral approvedPremisesReferral join approvedPremisesReferral.event event where document.offenderId = :offenderId and document.softDeleted = false")
+    List<DocumentWithEventId<ApprovedPremisesReferralDocument>> findByOffenderId(@Param("offenderId") Long offenderId);
 }
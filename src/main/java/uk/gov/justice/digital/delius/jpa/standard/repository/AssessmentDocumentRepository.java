@@ -4,10 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.AssessmentDocument;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 
 import java.util.List;
 
 public interface AssessmentDocumentRepository extends JpaRepository<AssessmentDocument, Long> {
-    @Query("select document from AssessmentDocument document, Assessment entity where document.assessment = entity and document.offenderId = :offenderId and document.softDeleted = false")
-    List<AssessmentDocument> findByOffenderId(@Param("offenderId") Long offenderId);
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from AssessmentDocument document join document.assessment assessment join assessment.referral referral join referral.event event where document.offenderId = :offenderId and document.softDeleted = false")
+    List<DocumentWithEventId<AssessmentDocument>> findByOffenderId(@Param("offenderId") Long offenderId);
 }
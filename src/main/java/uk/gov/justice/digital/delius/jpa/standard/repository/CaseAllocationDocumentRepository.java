@@ -4,10 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.CaseAllocationDocument;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 
 import java.util.List;
 
 public interface CaseAllocationDocumentRepository extends JpaRepository<CaseAllocationDocument, Long> {
-    @Query("select document from CaseAllocationDocument document, CaseAllocation entity where document.caseAllocation = entity and document.offenderId = :offenderId and document.softDeleted = false")
-    List<CaseAllocationDocument> findByOffenderId(@Param("offenderId") Long offenderId);
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from CaseAllocationDocument document join document.caseAllocation caseAllocation join caseAllocation.event event where document.offenderId = :offenderId and document.softDeleted = false")
+    List<DocumentWithEventId<CaseAllocationDocument>> findByOffenderId(@Param("offenderId") Long offenderId);
 }
@@ -4,10 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ContactDocument;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 
 import java.util.List;
 
 public interface ContactDocumentRepository extends JpaRepository<ContactDocument, Long> {
-    @Query("select document from ContactDocument document, Contact entity where document.contact = entity and document.offenderId = :offenderId and document.softDeleted = false")
-    List<ContactDocument> findByOffenderId(@Param("offenderId") Long offenderId);
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from ContactDocument document join document.contact contact left join contact.event event where document.offenderId = :offenderId and document.softDeleted = false")
+    List<DocumentWithEventId<ContactDocument>> findByOffenderId(@Param("offenderId") Long offenderId);
 }
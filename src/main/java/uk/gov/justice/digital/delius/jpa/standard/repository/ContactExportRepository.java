@@ -0,0 +1,15 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
+
+import java.util.function.Consumer;
+
+public interface ContactExportRepository {
+    /**
+     * Passes each contact matching the specification to the consumer in turn as it is read from a forward only
+     * cursor. Contacts are detached periodically so must not be used once the consumer has returned.
+     */
+    void forEachContact(Specification<Contact> specification, Sort sort, Consumer<Contact> consumer);
+}
@@ -0,0 +1,47 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.hibernate.ScrollMode;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.function.Consumer;
+
+public class ContactExportRepositoryImpl implements ContactExportRepository {
+    // also how many contacts are held in the persistence context before it is cleared
+    private static final int FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachContact(Specification<Contact> specification, Sort sort, Consumer<Contact> consumer) {
+        final var criteriaBuilder = entityManager.getCriteriaBuilder();
+        final var query = criteriaBuilder.createQuery(Contact.class);
+        final var contact = query.from(Contact.class);
+
+        query.select(contact)
+                .where(specification.toPredicate(contact, query, criteriaBuilder))
+                .orderBy(QueryUtils.toOrders(sort, contact, criteriaBuilder));
+
+        try (final var results = entityManager
+                .createQuery(query)
+                .unwrap(org.hibernate.query.Query.class)
+                .setFetchSize(FETCH_SIZE)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            var read = 0;
+            while (results.next()) {
+                consumer.accept((Contact) results.get(0));
+                if (++read % FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
+import uk.gov.justice.digital.delius.jpa.standard.projection.ContactListing;
+
+public interface ContactListingRepository {
+    /**
+     * Returns a page of the contacts matching the specification selecting only the columns in a ContactListing, so
+     * none of the contact associations are loaded. Notes can be large so are only read when includeNotes is set.
+     */
+    Page<ContactListing> findAllListings(Specification<Contact> specification, Pageable pageable, boolean includeNotes);
+}
@@ -0,0 +1,158 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
+import uk.gov.justice.digital.delius.jpa.standard.projection.ContactListing;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Selection;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+public class ContactListingRepositoryImpl implements ContactListingRepository {
+    private static final int MAX_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ContactListing> findAllListings(Specification<Contact> specification, Pageable pageable, boolean includeNotes) {
+        final var criteriaBuilder = entityManager.getCriteriaBuilder();
+        final var query = criteriaBuilder.createTupleQuery();
+        final var contact = query.from(Contact.class);
+        final var contactType = contact.join("contactType");
+        final var contactOutcomeType = contact.join("contactOutcomeType", JoinType.LEFT);
+        final var officeLocation = contact.join("officeLocation", JoinType.LEFT);
+        final var probationArea = contact.join("probationArea", JoinType.LEFT);
+        final var team = contact.join("team", JoinType.LEFT);
+        final var staff = contact.join("staff", JoinType.LEFT);
+
+        final var selections = new ArrayList<Selection<?>>(List.of(
+                contact.get("contactId").alias("contactId"),
+                contact.get("contactDate").alias("contactDate"),
+                contact.get("contactStartTime").alias("contactStartTime"),
+                contact.get("contactEndTime").alias("contactEndTime"),
+                contact.get("sensitive").alias("sensitive"),
+                contact.get("rarActivity").alias("rarActivity"),
+                contact.get("attended").alias("attended"),
+                contact.get("complied").alias("complied"),
+                contact.get("hoursCredited").alias("hoursCredited"),
+                contactType.get("code").alias("contactTypeCode"),
+                contactType.get("description").alias("contactTypeDescription"),
+                contactType.get("shortDescription").alias("contactTypeShortDescription"),
+                contactType.get("attendanceContact").alias("contactTypeAttendanceContact"),
+                contactOutcomeType.get("contactOutcomeTypeId").alias("contactOutcomeTypeId"),
+                contactOutcomeType.get("code").alias("contactOutcomeTypeCode"),
+                contactOutcomeType.get("description").alias("contactOutcomeTypeDescription"),
+                officeLocation.get("officeLocationId").alias("officeLocationId"),
+                officeLocation.get("code").alias("officeLocationCode"),
+                officeLocation.get("description").alias("officeLocationDescription"),
+                officeLocation.get("buildingName").alias("officeLocationBuildingName"),
+                officeLocation.get("buildingNumber").alias("officeLocationBuildingNumber"),
+                officeLocation.get("streetName").alias("officeLocationStreetName"),
+                officeLocation.get("townCity").alias("officeLocationTownCity"),
+                officeLocation.get("county").alias("officeLocationCounty"),
+                officeLocation.get("postcode").alias("officeLocationPostcode"),
+                probationArea.get("probationAreaId").alias("probationAreaId"),
+                probationArea.get("code").alias("probationAreaCode"),
+                probationArea.get("description").alias("probationAreaDescription"),
+                team.get("teamId").alias("teamId"),
+                team.get("code").alias("teamCode"),
+                team.get("description").alias("teamDescription"),
+                staff.get("staffId").alias("staffId"),
+                staff.get("officerCode").alias("staffOfficerCode"),
+                staff.get("forename").alias("staffForename"),
+                staff.get("forname2").alias("staffForname2"),
+                staff.get("surname").alias("staffSurname")));
+        if (includeNotes) {
+            selections.add(contact.get("notes").alias("notes"));
+        }
+
+        query.multiselect(selections)
+                .where(specification.toPredicate(contact, query, criteriaBuilder))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), contact, criteriaBuilder));
+
+        final var typedQuery = entityManager.createQuery(query).setHint(QueryHints.READ_ONLY, true);
+        if (pageable.isPaged()) {
+            typedQuery
+                    .setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize())
+                    .setHint(QueryHints.FETCH_SIZE, Math.min(pageable.getPageSize(), MAX_FETCH_SIZE));
+        }
+
+        final var listings = typedQuery
+                .getResultList()
+                .stream()
+                .map(tuple -> listingOf(tuple, includeNotes))
+                .collect(toList());
+
+        return PageableExecutionUtils.getPage(listings, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<Contact> specification) {
+        final var criteriaBuilder = entityManager.getCriteriaBuilder();
+        final var query = criteriaBuilder.createQuery(Long.class);
+        final var contact = query.from(Contact.class);
+
+        query.select(criteriaBuilder.count(contact)).where(specification.toPredicate(contact, query, criteriaBuilder));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static ContactListing listingOf(Tuple tuple, boolean includeNotes) {
+        return ContactListing
+                .builder()
+                .contactId(tuple.get("contactId", Long.class))
+                .contactDate(tuple.get("contactDate", LocalDate.class))
+                .contactStartTime(tuple.get("contactStartTime", LocalTime.class))
+                .contactEndTime(tuple.get("contactEndTime", LocalTime.class))
+                .notes(includeNotes ? tuple.get("notes", String.class) : null)
+                .sensitive(tuple.get("sensitive", String.class))
+                .rarActivity(tuple.get("rarActivity", String.class))
+                .attended(tuple.get("attended", String.class))
+                .complied(tuple.get("complied", String.class))
+                .hoursCredited(tuple.get("hoursCredited", Double.class))
+                .contactTypeCode(tuple.get("contactTypeCode", String.class))
+                .contactTypeDescription(tuple.get("contactTypeDescription", String.class))
+                .contactTypeShortDescription(tuple.get("contactTypeShortDescription", String.class))
+                .contactTypeAttendanceContact(tuple.get("contactTypeAttendanceContact", Boolean.class))
+                .contactOutcomeTypeId(tuple.get("contactOutcomeTypeId", Long.class))
+                .contactOutcomeTypeCode(tuple.get("contactOutcomeTypeCode", String.class))
+                .contactOutcomeTypeDescription(tuple.get("contactOutcomeTypeDescription", String.class))
+                .officeLocationId(tuple.get("officeLocationId", Long.class))
+                .officeLocationCode(tuple.get("officeLocationCode", String.class))
+                .officeLocationDescription(tuple.get("officeLocationDescription", String.class))
+                .officeLocationBuildingName(tuple.get("officeLocationBuildingName", String.class))
+                .officeLocationBuildingNumber(tuple.get("officeLocationBuildingNumber", String.class))
+                .officeLocationStreetName(tuple.get("officeLocationStreetName", String.class))
+                .officeLocationTownCity(tuple.get("officeLocationTownCity", String.class))
+                .officeLocationCounty(tuple.get("officeLocationCounty", String.class))
+                .officeLocationPostcode(tuple.get("officeLocationPostcode", String.class))
+                .probationAreaId(tuple.get("probationAreaId", Long.class))
+                .probationAreaCode(tuple.get("probationAreaCode", String.class))
+                .probationAreaDescription(tuple.get("probationAreaDescription", String.class))
+                .teamId(tuple.get("teamId", Long.class))
+                .teamCode(tuple.get("teamCode", String.class))
+                .teamDescription(tuple.get("teamDescription", String.class))
+                .staffId(tuple.get("staffId", Long.class))
+                .staffOfficerCode(tuple.get("staffOfficerCode", String.class))
+                .staffForename(tuple.get("staffForename", String.class))
+                .staffForname2(tuple.get("staffForname2", String.class))
+                .staffSurname(tuple.get("staffSurname", String.class))
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import uk.gov.justice.digital.delius.jpa.standard.projection.CourtAppearanceListing;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface CourtAppearanceListingRepository {
+    /**
+     * Returns the appearances that are not deleted in the date range ordered by appearance date then id, reading only
+     * the columns in a CourtAppearanceListing. The range excludes its end when given.
+     *
+     * @param after only appearances ordered after this one, so a feed can resume from the last appearance it read
+     * @param limit the most appearances to return, or all of them when empty
+     */
+    List<CourtAppearanceListing> findAllListings(LocalDateTime from, Optional<LocalDateTime> to, Optional<Position> after, Optional<Integer> limit);
+
+    record Position(LocalDateTime appearanceDate, Long courtAppearanceId) {
+    }
+}
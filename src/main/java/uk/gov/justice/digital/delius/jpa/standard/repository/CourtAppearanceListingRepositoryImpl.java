@@ -0,0 +1,84 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.hibernate.annotations.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.justice.digital.delius.jpa.standard.entity.CourtAppearance;
+import uk.gov.justice.digital.delius.jpa.standard.projection.CourtAppearanceListing;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+
+public class CourtAppearanceListingRepositoryImpl implements CourtAppearanceListingRepository {
+    private static final int MAX_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourtAppearanceListing> findAllListings(LocalDateTime from, Optional<LocalDateTime> to, Optional<Position> after, Optional<Integer> limit) {
+        final var criteriaBuilder = entityManager.getCriteriaBuilder();
+        final var query = criteriaBuilder.createTupleQuery();
+        final var courtAppearance = query.from(CourtAppearance.class);
+        final var court = courtAppearance.join("court", JoinType.LEFT);
+        final var appearanceType = courtAppearance.join("appearanceType", JoinType.LEFT);
+        final var appearanceDate = courtAppearance.<LocalDateTime>get("appearanceDate");
+        final var courtAppearanceId = courtAppearance.<Long>get("courtAppearanceId");
+
+        final var predicates = new ArrayList<Predicate>(List.of(
+                criteriaBuilder.or(
+                        criteriaBuilder.isNull(courtAppearance.get("softDeleted")),
+                        criteriaBuilder.equal(courtAppearance.get("softDeleted"), 0L)),
+                criteriaBuilder.greaterThanOrEqualTo(appearanceDate, from)));
+        to.ifPresent(date -> predicates.add(criteriaBuilder.lessThan(appearanceDate, date)));
+        after.ifPresent(position -> predicates.add(criteriaBuilder.or(
+                criteriaBuilder.greaterThan(appearanceDate, position.appearanceDate()),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(appearanceDate, position.appearanceDate()),
+                        criteriaBuilder.greaterThan(courtAppearanceId, position.courtAppearanceId())))));
+
+        query.multiselect(
+                        courtAppearance.get("offenderId").alias("offenderId"),
+                        courtAppearanceId.alias("courtAppearanceId"),
+                        appearanceDate.alias("appearanceDate"),
+                        court.get("code").alias("courtCode"),
+                        court.get("courtName").alias("courtName"),
+                        appearanceType.get("codeValue").alias("appearanceTypeCode"),
+                        appearanceType.get("codeDescription").alias("appearanceTypeDescription"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(criteriaBuilder.asc(appearanceDate), criteriaBuilder.asc(courtAppearanceId));
+
+        final var typedQuery = entityManager.createQuery(query)
+                .setHint(QueryHints.READ_ONLY, true)
+                .setHint(QueryHints.FETCH_SIZE, limit.map(size -> Math.min(size, MAX_FETCH_SIZE)).orElse(MAX_FETCH_SIZE));
+        limit.ifPresent(typedQuery::setMaxResults);
+
+        return typedQuery
+                .getResultList()
+                .stream()
+                .map(CourtAppearanceListingRepositoryImpl::listingOf)
+                .collect(toList());
+    }
+
+    private static CourtAppearanceListing listingOf(Tuple tuple) {
+        return CourtAppearanceListing
+                .builder()
+                .offenderId(tuple.get("offenderId", Long.class))
+                .courtAppearanceId(tuple.get("courtAppearanceId", Long.class))
+                .appearanceDate(tuple.get("appearanceDate", LocalDateTime.class))
+                .courtCode(tuple.get("courtCode", String.class))
+                .courtName(tuple.get("courtName", String.class))
+                .appearanceTypeCode(tuple.get("appearanceTypeCode", String.class))
+                .appearanceTypeDescription(tuple.get("appearanceTypeDescription", String.class))
+                .build();
+    }
+}
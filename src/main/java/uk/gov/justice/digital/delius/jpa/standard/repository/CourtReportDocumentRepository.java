@@ -5,11 +5,15 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.CourtReportDocument;
-import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CourtReportDocumentRepository extends JpaRepository<CourtReportDocument, Long>, JpaSpecificationExecutor<CourtReportDocument> {
-    @Query("select document from CourtReportDocument document, CourtReport entity where document.courtReport = entity and document.offenderId = :offenderId and document.softDeleted = false")
-    List<CourtReportDocument> findByOffenderId(@Param("offenderId") Long offenderId);
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from CourtReportDocument document join document.courtReport courtReport join courtReport.courtAppearance courtAppearance join courtAppearance.event event where document.offenderId = :offenderId and document.softDeleted = false")
+    List<DocumentWithEventId<CourtReportDocument>> findByOffenderId(@Param("offenderId") Long offenderId);
+
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from CourtReportDocument document join document.courtReport courtReport join courtReport.courtReportType courtReportType join courtReport.courtAppearance courtAppearance join courtAppearance.event event where document.offenderId = :offenderId and document.softDeleted = false and courtReportType.code in :courtReportTypeCodes")
+    List<DocumentWithEventId<CourtReportDocument>> findByOffenderIdAndCourtReportTypeCodeIn(@Param("offenderId") Long offenderId, @Param("courtReportTypeCodes") Collection<String> courtReportTypeCodes);
 }
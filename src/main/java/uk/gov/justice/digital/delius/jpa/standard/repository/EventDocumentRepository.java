@@ -4,10 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.EventDocument;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 
 import java.util.List;
 
 public interface EventDocumentRepository extends JpaRepository<EventDocument, Long> {
-    @Query("select document from EventDocument document, Event entity where document.event = entity and document.offenderId = :offenderId and document.softDeleted = false")
-    List<EventDocument> findByOffenderId(@Param("offenderId") Long offenderId);
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from EventDocument document join document.event event where document.offenderId = :offenderId and document.softDeleted = false")
+    List<DocumentWithEventId<EventDocument>> findByOffenderId(@Param("offenderId") Long offenderId);
 }
@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,8 +15,18 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     List<Event> findByOffenderId(Long offenderId);
 
+    @EntityGraph(attributePaths = "disposal.requirements")
+    Optional<Event> findWithRequirementsByEventIdAndOffenderId(Long eventId, Long offenderId);
+
+    @EntityGraph(attributePaths = "disposal.licenceConditions")
+    Optional<Event> findWithLicenceConditionsByEventIdAndOffenderId(Long eventId, Long offenderId);
+
+    @EntityGraph(attributePaths = "disposal.custody.pssRequirements")
+    Optional<Event> findWithPssRequirementsByEventIdAndOffenderId(Long eventId, Long offenderId);
+
     List<Event> findByOffenderIdAndActiveFlagTrue(Long offenderId);
-    Optional<Event> findByOffenderIdAndEventIdAndActiveFlagTrue(Long offenderId, Long eventId);
+    @EntityGraph(attributePaths = "disposal.requirements")
+    Optional<Event> findWithRequirementsByOffenderIdAndEventIdAndActiveFlagTrue(Long offenderId, Long eventId);
     @Query("select event from Event event join DISPOSAL disposal on disposal.event = event join CUSTODY custody on custody.disposal = disposal where custody.prisonerNumber = :prisonBookingNumber")
     List<Event> findByPrisonBookingNumber(@Param("prisonBookingNumber") String prisonBookingNumber);
     @Query("select event from Event event join DISPOSAL disposal on disposal.event = event join CUSTODY custody on custody.disposal = disposal where event.offenderId  = :offenderId and event.activeFlag = true and event.softDeleted = false")
@@ -4,10 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.InstitutionalReportDocument;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 
 import java.util.List;
 
 public interface InstitutionReportDocumentRepository extends JpaRepository<InstitutionalReportDocument, Long> {
-    @Query("select document from InstitutionalReportDocument document, InstitutionalReport entity where document.institutionalReport = entity and document.offenderId = :offenderId and document.softDeleted = false")
-    List<InstitutionalReportDocument> findByOffenderId(@Param("offenderId") Long offenderId);
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from InstitutionalReportDocument document join document.institutionalReport institutionalReport join institutionalReport.custody custody join custody.disposal disposal join disposal.event event where document.offenderId = :offenderId and document.softDeleted = false")
+    List<DocumentWithEventId<InstitutionalReportDocument>> findByOffenderId(@Param("offenderId") Long offenderId);
 }
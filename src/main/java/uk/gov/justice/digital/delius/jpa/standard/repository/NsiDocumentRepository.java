@@ -4,10 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.NsiDocument;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 
 import java.util.List;
 
 public interface NsiDocumentRepository extends JpaRepository<NsiDocument, Long> {
-    @Query("select document from NsiDocument document, Nsi entity where document.nsi = entity and document.offenderId = :offenderId and document.softDeleted = false")
-    List<NsiDocument> findByOffenderId(@Param("offenderId") Long offenderId);
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from NsiDocument document join document.nsi nsi left join nsi.event event where document.offenderId = :offenderId and document.softDeleted = false")
+    List<DocumentWithEventId<NsiDocument>> findByOffenderId(@Param("offenderId") Long offenderId);
 }
@@ -0,0 +1,14 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
+
+import java.util.List;
+
+public interface OffenderPrimaryIdentifiersKeysetRepository {
+    /**
+     * Returns up to limit offenders matching the specification with an offenderId greater than afterOffenderId, in
+     * offenderId order. Unlike a Page no count query is run, so this is suitable for walking the whole table.
+     */
+    List<OffenderPrimaryIdentifiers> findAllAfter(Specification<OffenderPrimaryIdentifiers> specification, long afterOffenderId, int limit);
+}
@@ -0,0 +1,38 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class OffenderPrimaryIdentifiersKeysetRepositoryImpl implements OffenderPrimaryIdentifiersKeysetRepository {
+    private static final int MAX_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OffenderPrimaryIdentifiers> findAllAfter(Specification<OffenderPrimaryIdentifiers> specification, long afterOffenderId, int limit) {
+        final var criteriaBuilder = entityManager.getCriteriaBuilder();
+        final var query = criteriaBuilder.createQuery(OffenderPrimaryIdentifiers.class);
+        final var offender = query.from(OffenderPrimaryIdentifiers.class);
+
+        query.select(offender)
+                .where(
+                        specification.toPredicate(offender, query, criteriaBuilder),
+                        criteriaBuilder.greaterThan(offender.get("offenderId"), afterOffenderId))
+                .orderBy(criteriaBuilder.asc(offender.get("offenderId")));
+
+        return entityManager
+                .createQuery(query)
+                .setMaxResults(limit)
+                .setHint(QueryHints.FETCH_SIZE, Math.min(limit, MAX_FETCH_SIZE))
+                .setHint(QueryHints.READ_ONLY, true)
+                .getResultList();
+    }
+}
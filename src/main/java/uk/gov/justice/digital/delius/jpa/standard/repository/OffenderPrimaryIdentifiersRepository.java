@@ -6,5 +6,5 @@ import org.springframework.stereotype.Repository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
 
 @Repository
-public interface OffenderPrimaryIdentifiersRepository extends JpaRepository<OffenderPrimaryIdentifiers, Long>, JpaSpecificationExecutor<OffenderPrimaryIdentifiers> {
+public interface OffenderPrimaryIdentifiersRepository extends JpaRepository<OffenderPrimaryIdentifiers, Long>, JpaSpecificationExecutor<OffenderPrimaryIdentifiers>, OffenderPrimaryIdentifiersKeysetRepository {
 }
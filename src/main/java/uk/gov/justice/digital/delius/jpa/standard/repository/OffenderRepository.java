@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
+import com.google.common.collect.Lists;
 import io.vavr.control.Either;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -7,15 +8,27 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderAccess;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderKeys;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderManagerAreaKeys;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderSentenceKeys;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 
 @Repository
 public interface OffenderRepository extends JpaRepository<Offender, Long>, JpaSpecificationExecutor<Offender> {
+    // Oracle allows at most 1000 expressions in an IN list, so queries given more identifiers must be split
+    int MAX_IN_LIST_SIZE = 1000;
 
     Optional<Offender> findByCrnAndSoftDeletedFalse(String crn);
 
@@ -28,29 +41,106 @@ public interface OffenderRepository extends JpaRepository<Offender, Long>, JpaSp
 
     Optional<Offender> findByCrn(String crn);
 
-    @Query("select o from Offender o where o.softDeleted = 0 and upper(o.nomsNumber) = upper(:nomsNumber)")
-    Optional<Offender> findByNomsNumber(@Param("nomsNumber") String nomsNumber);
+    // NOMS numbers are matched ignoring case by comparing upper(NOMS_NUMBER) with a number that has already been
+    // upper cased, the predicate an index on upper(NOMS_NUMBER) would serve
+    default Optional<Offender> findByNomsNumber(String nomsNumber) {
+        return findByNormalisedNomsNumber(normalisedNomsNumberOf(nomsNumber));
+    }
+
+    @Query("select o from Offender o where o.softDeleted = 0 and upper(o.nomsNumber) = :nomsNumber")
+    Optional<Offender> findByNormalisedNomsNumber(@Param("nomsNumber") String nomsNumber);
 
     // there are a small number of offenders (100 as of April 2020) that have duplicate NOMS numbers
     // this allows features that can deal with duplicates to access all offenders with the same number
-    @Query("select o from Offender o where o.softDeleted = 0 and upper(o.nomsNumber) = upper(:nomsNumber)")
-    List<Offender> findAllByNomsNumber(@Param("nomsNumber") String nomsNumber);
+    default List<Offender> findAllByNomsNumber(String nomsNumber) {
+        return findAllByNormalisedNomsNumber(normalisedNomsNumberOf(nomsNumber));
+    }
+
+    @Query("select o from Offender o where o.softDeleted = 0 and upper(o.nomsNumber) = :nomsNumber")
+    List<Offender> findAllByNormalisedNomsNumber(@Param("nomsNumber") String nomsNumber);
+
+    /**
+     * Finds the offenders with any of the NOMS numbers, ignoring case, with one query for each 1000 numbers rather
+     * than one per number.
+     *
+     * @return every offender found keyed by upper cased NOMS number, more than one when the number is duplicated
+     */
+    default Map<String, List<Offender>> findAllByNomsNumberIn(Collection<String> nomsNumbers) {
+        final var normalisedNomsNumbers = nomsNumbers
+                .stream()
+                .filter(Objects::nonNull)
+                .map(OffenderRepository::normalisedNomsNumberOf)
+                .distinct()
+                .collect(toList());
+        return Lists.partition(normalisedNomsNumbers, MAX_IN_LIST_SIZE)
+                .stream()
+                .flatMap(batch -> findAllByNormalisedNomsNumberIn(batch).stream())
+                .collect(groupingBy(offender -> normalisedNomsNumberOf(offender.getNomsNumber())));
+    }
+
+    @Query("select o from Offender o where o.softDeleted = 0 and upper(o.nomsNumber) in :nomsNumbers")
+    List<Offender> findAllByNormalisedNomsNumberIn(@Param("nomsNumbers") Collection<String> nomsNumbers);
+
+    @Query("select o.offenderId as offenderId, o.currentExclusion as currentExclusion, o.exclusionMessage as exclusionMessage, " +
+            "o.currentRestriction as currentRestriction, o.restrictionMessage as restrictionMessage from Offender o where o.crn = :crn")
+    Optional<OffenderAccess> findAccessByCrn(@Param("crn") String crn);
 
     @Query("select o.id from Offender o where o.crn = :crn")
     Optional<Long> getOffenderIdFrom(@Param("crn") String crn);
 
+    @Query("select o.crn from Offender o where o.offenderId = :offenderId")
+    Optional<String> getCrnFrom(@Param("offenderId") Long offenderId);
+
+    default Optional<OffenderKeys> findKeysByNomsNumber(String nomsNumber) {
+        return findKeysByNormalisedNomsNumber(normalisedNomsNumberOf(nomsNumber));
+    }
+
+    @Query("select o.offenderId as offenderId, o.crn as crn, o.nomsNumber as nomsNumber from Offender o where o.softDeleted = 0 and upper(o.nomsNumber) = :nomsNumber")
+    Optional<OffenderKeys> findKeysByNormalisedNomsNumber(@Param("nomsNumber") String nomsNumber);
+
+    default List<OffenderSentenceKeys> findAllSentenceKeysByNomsNumber(String nomsNumber) {
+        return findAllSentenceKeysByNormalisedNomsNumber(normalisedNomsNumberOf(nomsNumber));
+    }
+
+    @Query("select o.offenderId as offenderId, o.crn as crn, o.nomsNumber as nomsNumber, o.currentDisposal as currentDisposal from Offender o " +
+            "where o.softDeleted = 0 and upper(o.nomsNumber) = :nomsNumber")
+    List<OffenderSentenceKeys> findAllSentenceKeysByNormalisedNomsNumber(@Param("nomsNumber") String nomsNumber);
+
+    /**
+     * An offender with more than one active community offender manager has a row for each, the most recently allocated
+     * first.
+     */
+    @Query("select o.offenderId as offenderId, o.crn as crn, probationArea.code as probationAreaCode from Offender o " +
+            "left join o.offenderManagers offenderManager on offenderManager.activeFlag = 1 and offenderManager.endDate is null " +
+            "and coalesce(offenderManager.softDeleted, 0) <> 1 " +
+            "left join offenderManager.probationArea probationArea " +
+            "where o.softDeleted = 0 and o.crn in :crns " +
+            "order by offenderManager.allocationDate desc, offenderManager.offenderManagerId desc")
+    List<OffenderManagerAreaKeys> findOffenderManagerAreaKeysByCrnIn(@Param("crns") Collection<String> crns);
+
     @Query(value = "SELECT OFFENDER_ID FROM (SELECT QRY_PAG.*, ROWNUM rnum FROM (SELECT OFFENDER_ID FROM OFFENDER) QRY_PAG WHERE ROWNUM <= ?2) WHERE rnum >= ?1", nativeQuery = true)
     List<BigDecimal> listOffenderIds(int lower, int upper);
 
     default Either<DuplicateOffenderException, Optional<Offender>> findMostLikelyByNomsNumber(String nomsNumber) {
-        final var offenders = findAllByNomsNumber(nomsNumber);
+        return mostLikelyOf(nomsNumber, findAllByNomsNumber(nomsNumber));
+    }
+
+    /**
+     * Picks the offender most likely to be meant by a NOMS number from all of those with it, which is the only one
+     * with an active sentence when the number is duplicated
+     */
+    static Either<DuplicateOffenderException, Optional<Offender>> mostLikelyOf(String nomsNumber, List<Offender> offenders) {
+        return mostLikelyOf(nomsNumber, offenders, Offender::hasActiveSentence);
+    }
+
+    static <T> Either<DuplicateOffenderException, Optional<T>> mostLikelyOf(String nomsNumber, List<T> offenders, Predicate<T> hasActiveSentence) {
         switch (offenders.size()) {
             case 0:
                 return Either.right(Optional.empty());
             case 1:
                 return Either.right(Optional.of(offenders.get(0)));
             default: {
-                final var activeOffenders = offenders.stream().filter(Offender::hasActiveSentence).collect(toList());
+                final var activeOffenders = offenders.stream().filter(hasActiveSentence).collect(toList());
                 if (activeOffenders.size() == 1) {
                     return Either.right(Optional.of(activeOffenders.get(0)));
                 } else {
@@ -60,4 +150,7 @@ public interface OffenderRepository extends JpaRepository<Offender, Long>, JpaSp
         }
     }
 
+    static String normalisedNomsNumberOf(String nomsNumber) {
+        return nomsNumber == null ? null : nomsNumber.toUpperCase(Locale.ROOT);
+    }
 }
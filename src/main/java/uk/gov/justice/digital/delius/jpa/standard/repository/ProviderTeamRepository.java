@@ -0,0 +1,17 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ProviderTeam;
+
+import java.util.List;
+
+public interface ProviderTeamRepository extends JpaRepository<ProviderTeam, Long> {
+    @Query("""
+SELECT providerTeam FROM ProviderTeam providerTeam
+LEFT JOIN FETCH providerTeam.externalProvider
+WHERE providerTeam.probationAreaId = :probationAreaId
+""")
+    List<ProviderTeam> findAllByProbationAreaId(@Param("probationAreaId") Long probationAreaId);
+}
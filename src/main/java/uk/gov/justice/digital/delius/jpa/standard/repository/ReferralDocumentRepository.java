@@ -4,10 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ReferralDocument;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 
 import java.util.List;
 
 public interface ReferralDocumentRepository extends JpaRepository<ReferralDocument, Long> {
-    @Query("select document from ReferralDocument document, Referral entity where document.referral = entity and document.offenderId = :offenderId and document.softDeleted = false")
-    List<ReferralDocument> findByOffenderId(@Param("offenderId") Long offenderId);
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from ReferralDocument document join document.referral referral join referral.event event where document.offenderId = :offenderId and document.softDeleted = false")
+    List<DocumentWithEventId<ReferralDocument>> findByOffenderId(@Param("offenderId") Long offenderId);
 }
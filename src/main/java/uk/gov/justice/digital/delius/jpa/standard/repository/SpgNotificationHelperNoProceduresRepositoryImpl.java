@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
 
+import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -17,7 +18,7 @@ public class SpgNotificationHelperNoProceduresRepositoryImpl implements SpgNotif
     }
 
 
-    public Long getNextControlSequence(String probationAreaCode) {
-        return 0L;
+    public List<Long> getNextControlSequences(String probationAreaCode, int count) {
+        return Collections.nCopies(count, 0L);
     }
 }
@@ -14,6 +14,8 @@ import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.stream.Collectors.toList;
+
 @Repository
 @Profile("oracle")
 public class SpgNotificationHelperRepositoryImpl implements SpgNotificationHelperRepository {
@@ -44,11 +46,19 @@ public class SpgNotificationHelperRepositoryImpl implements SpgNotificationHelpe
     }
 
 
-    public Long getNextControlSequence(String probationAreaCode) {
-        return ((BigDecimal) entityManager
-                .createNativeQuery("SELECT spgconfig.getNextControlReference(:probationAreaCode) FROM DUAL")
+    @SuppressWarnings("unchecked")
+    public List<Long> getNextControlSequences(String probationAreaCode, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        return ((List<BigDecimal>) entityManager
+                .createNativeQuery("SELECT spgconfig.getNextControlReference(:probationAreaCode) FROM DUAL CONNECT BY LEVEL <= :count")
                 .setParameter("probationAreaCode", probationAreaCode)
-                .getSingleResult()).longValue();
+                .setParameter("count", count)
+                .getResultList())
+                .stream()
+                .map(BigDecimal::longValue)
+                .collect(toList());
     }
 
 }
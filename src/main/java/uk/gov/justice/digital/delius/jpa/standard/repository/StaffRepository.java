@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Staff;
+import uk.gov.justice.digital.delius.jpa.standard.projection.StaffKeys;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +16,12 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
 
     Optional<Staff> findByOfficerCode(String officerCode);
 
+    @Query("select s.staffId as staffId, s.officerCode as officerCode from Staff s where s.staffId = :staffId")
+    Optional<StaffKeys> findKeysByStaffId(@Param("staffId") Long staffId);
+
+    @Query("select s.staffId as staffId, s.officerCode as officerCode from Staff s where s.officerCode = :officerCode")
+    Optional<StaffKeys> findKeysByOfficerCode(@Param("officerCode") String officerCode);
+
     @Query("select u.staff from User u where upper(u.distinguishedName) = upper(:username)")
     Optional<Staff> findByUsername(@Param("username") String username);
 
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Team;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
@@ -19,4 +20,15 @@ WHERE team.code = :code
   AND (location.endDate IS NULL OR location.endDate > CURRENT_DATE)
 """)
     Optional<Team> findActiveWithActiveOfficeLocationByCode(@Param("code") String code);
+
+    @Query("""
+SELECT team FROM Team team
+JOIN FETCH team.probationArea probationArea
+LEFT JOIN FETCH team.district district
+LEFT JOIN FETCH district.borough
+LEFT JOIN FETCH team.localDeliveryUnit
+LEFT JOIN FETCH team.scProvider
+WHERE probationArea.probationAreaId = :probationAreaId
+""")
+    List<Team> findAllByProbationAreaId(@Param("probationAreaId") Long probationAreaId);
 }
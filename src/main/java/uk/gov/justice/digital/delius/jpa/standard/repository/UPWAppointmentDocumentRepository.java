@@ -4,10 +4,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.UPWAppointmentDocument;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 
 import java.util.List;
 
 public interface UPWAppointmentDocumentRepository extends JpaRepository<UPWAppointmentDocument, Long> {
-    @Query("select document from UPWAppointmentDocument document, UpwAppointment entity where document.upwAppointment = entity and document.offenderId = :offenderId and document.softDeleted = false")
-    List<UPWAppointmentDocument> findByOffenderId(@Param("offenderId") Long offenderId);
+    @Query("select new uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId(document, event.eventId) from UPWAppointmentDocument document join document.upwAppointment upwAppointment join upwAppointment.upwDetails upwDetails join upwDetails.disposal disposal join disposal.event event where document.offenderId = :offenderId and document.softDeleted = false")
+    List<DocumentWithEventId<UPWAppointmentDocument>> findByOffenderId(@Param("offenderId") Long offenderId);
 }
@@ -1,12 +1,23 @@
 package uk.gov.justice.digital.delius.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import uk.gov.justice.digital.delius.user.UserData;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.Optional;
 
@@ -16,21 +27,39 @@ public class Jwt {
     public static final String UID = "uid";
     public static final String PROBATION_AREA_CODES = "probationAreaCodes";
 
-    private final String secret;
+    // how long the claims of a token without an expiry are remembered
+    private static final Duration UNEXPIRING_CLAIMS_LIFETIME = Duration.ofMinutes(5);
+
+    private final Key signingKey;
     private final int lifetimeSeconds;
+    // claims of tokens whose signature has been verified, keyed by a hash of the token and kept until it expires
+    private final Cache<HashCode, Claims> verifiedClaims;
+
+    public Jwt(String secret, int lifetimeSeconds) {
+        this(secret, lifetimeSeconds, 10_000);
+    }
 
+    @Autowired
     public Jwt(@Value("${jwt.secret}") String secret,
-               @Value("${jwt.lifetimeSeconds:300}") int lifetimeSeconds) {
-        this.secret = secret;
+               @Value("${jwt.lifetimeSeconds:300}") int lifetimeSeconds,
+               @Value("${jwt.verified-claims-cache.maximum-size:10000}") long verifiedClaimsCacheSize) {
+        // the same key the secret was used as, decoded once rather than for every token
+        this.signingKey = new SecretKeySpec(TextCodec.BASE64.decode(secret), SignatureAlgorithm.HS512.getJcaName());
         this.lifetimeSeconds = lifetimeSeconds;
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(verifiedClaimsCacheSize)
+                .expireAfter(new UntilTokenExpires())
+                .build();
     }
 
     public Optional<Claims> parseToken(String bearerToken) {
 
-        return Optional.ofNullable(Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(bearerToken)
-                .getBody());
+        return Optional.ofNullable(verifiedClaims.get(
+                Hashing.sha256().hashString(bearerToken, StandardCharsets.UTF_8),
+                ignored -> Jwts.parser()
+                        .setSigningKey(signingKey)
+                        .parseClaimsJws(bearerToken)
+                        .getBody()));
 
     }
 
@@ -47,8 +76,26 @@ public class Jwt {
         return Jwts.builder()
                 .setClaims(claims)
                 .setExpiration(Date.from(java.time.ZonedDateTime.now().plusSeconds(lifetimeSeconds).toInstant()))
-                .signWith(SignatureAlgorithm.HS512, secret)
+                .signWith(SignatureAlgorithm.HS512, signingKey)
                 .compact();
     }
 
+    private static class UntilTokenExpires implements Expiry<HashCode, Claims> {
+        @Override
+        public long expireAfterCreate(HashCode token, Claims claims, long currentTime) {
+            return Optional.ofNullable(claims.getExpiration())
+                    .map(expiration -> Math.max(Duration.between(new Date().toInstant(), expiration.toInstant()).toNanos(), 0L))
+                    .orElse(UNEXPIRING_CLAIMS_LIFETIME.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(HashCode token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(HashCode token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
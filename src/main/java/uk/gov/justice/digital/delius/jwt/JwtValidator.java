@@ -1,26 +1,33 @@
 package uk.gov.justice.digital.delius.jwt;
 
-import com.google.common.collect.Lists;
 import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import uk.gov.justice.digital.delius.exception.JwtTokenMissingException;
 import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
 
-import java.util.ArrayList;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 @Aspect
 @Component
 @Slf4j
 public class JwtValidator {
+    private static final int NO_HEADERS_PARAMETER = -1;
 
     private final Jwt jwt;
+    // position of the HttpHeaders parameter of each validated method, found once from its parameter types
+    private final Map<Method, Integer> headersPositions = new ConcurrentHashMap<>();
 
     public JwtValidator(@Autowired Jwt jwt) {
         this.jwt = jwt;
@@ -29,16 +36,35 @@ public class JwtValidator {
     @Before("execution(@uk.gov.justice.digital.delius.jwt.JwtValidation * *(..))")
     public void validateJwt(JoinPoint joinPoint) {
 
-        ArrayList<Object> argsList = Lists.newArrayList(joinPoint.getArgs());
-
-        Optional<Claims> maybeClaims = argsList.stream()
-                .filter(arg -> arg instanceof HttpHeaders)
-                .findFirst()
-                .map(headers -> ((HttpHeaders) headers).getFirst("Authorization"))
+        Optional<Claims> maybeClaims = httpHeadersOf(joinPoint)
+                .map(headers -> headers.getFirst("Authorization"))
                 .map(jwt::parseAuthorizationHeader)
                 .orElseThrow(() -> new JwtTokenMissingException("No Authorization Bearer token found in headers."));
 
         maybeClaims.ifPresent(CurrentUserSupplier::setClaims);
     }
 
+    private Optional<HttpHeaders> httpHeadersOf(JoinPoint joinPoint) {
+        final var args = joinPoint.getArgs();
+        final var position = joinPoint.getSignature() instanceof MethodSignature methodSignature
+                ? headersPositions.computeIfAbsent(methodSignature.getMethod(), JwtValidator::headersPositionOf)
+                : NO_HEADERS_PARAMETER;
+
+        if (position != NO_HEADERS_PARAMETER && position < args.length && args[position] instanceof HttpHeaders headers) {
+            return Optional.of(headers);
+        }
+        // parameters not declared as HttpHeaders may still be passed them
+        return Arrays.stream(args)
+                .filter(arg -> arg instanceof HttpHeaders)
+                .map(HttpHeaders.class::cast)
+                .findFirst();
+    }
+
+    private static int headersPositionOf(Method method) {
+        final var parameterTypes = method.getParameterTypes();
+        return IntStream.range(0, parameterTypes.length)
+                .filter(index -> HttpHeaders.class.isAssignableFrom(parameterTypes[index]))
+                .findFirst()
+                .orElse(NO_HEADERS_PARAMETER);
+    }
 }
@@ -1,5 +1,8 @@
 package uk.gov.justice.digital.delius.ldap.repository;
 
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,30 +10,52 @@ import org.springframework.ldap.core.AttributesMapper;
 import org.springframework.ldap.core.ContextMapper;
 import org.springframework.ldap.core.DirContextAdapter;
 import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.filter.AndFilter;
+import org.springframework.ldap.filter.EqualsFilter;
+import org.springframework.ldap.filter.OrFilter;
 import org.springframework.ldap.query.ContainerCriteria;
 import org.springframework.ldap.query.SearchScope;
 import org.springframework.ldap.support.LdapNameBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Repository;
 import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusRole;
 import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
 
+import javax.naming.NamingException;
 import javax.naming.directory.Attribute;
 import javax.naming.directory.Attributes;
 import javax.naming.directory.BasicAttribute;
 import javax.naming.directory.BasicAttributes;
 import javax.naming.ldap.LdapName;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.springframework.ldap.query.LdapQueryBuilder.query;
 
 @Repository
-public class LdapRepository {
+@Slf4j
+public class LdapRepository implements DisposableBean {
 
     private final LdapTemplate ldapTemplate;
     private final LdapTemplate authenticationTemplate;
+    private final int lookupBatchSize;
+    private final Duration lookupTimeout;
+    private final ThreadPoolTaskExecutor lookupThreadPool;
     @Value("${delius.ldap.users.base}")
     private String ldapUserBase;
 
@@ -39,9 +64,29 @@ public class LdapRepository {
             @Qualifier(value = "ldapTemplate")
             final LdapTemplate ldapTemplate,
             @Qualifier(value = "authenticationTemplate")
-            final LdapTemplate authenticationTemplate) {
+            final LdapTemplate authenticationTemplate,
+            @Value("${delius.ldap.users.lookup.batch-size:50}")
+            final int lookupBatchSize,
+            @Value("${delius.ldap.users.lookup.pool-size:4}")
+            final int lookupPoolSize,
+            @Value("${delius.ldap.users.lookup.queue-capacity:20}")
+            final int lookupQueueCapacity,
+            @Value("${delius.ldap.users.lookup.timeout:2s}")
+            final Duration lookupTimeout) {
         this.ldapTemplate = ldapTemplate;
         this.authenticationTemplate = authenticationTemplate;
+        this.lookupBatchSize = lookupBatchSize;
+        this.lookupTimeout = lookupTimeout;
+        this.lookupThreadPool = new ThreadPoolTaskExecutor();
+        lookupThreadPool.setCorePoolSize(lookupPoolSize);
+        lookupThreadPool.setMaxPoolSize(lookupPoolSize);
+        // a search that has timed out is abandoned rather than cancelled, so searches are never left to pile up
+        // behind a slow LDAP server; once the queue is full further lookups are turned away
+        lookupThreadPool.setQueueCapacity(lookupQueueCapacity);
+        lookupThreadPool.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        lookupThreadPool.setAllowCoreThreadTimeOut(true);
+        lookupThreadPool.setThreadNamePrefix("ldap-lookup-");
+        lookupThreadPool.initialize();
     }
 
     public Optional<String> getDeliusUid(final String distinguishedName) {
@@ -65,6 +110,97 @@ public class LdapRepository {
         return authenticationTemplate.find(byUsername(username), NDeliusUser.class).stream().findAny();
     }
 
+    /**
+     * Looks up many users at once without their roles, with one search per batch of usernames rather than one per
+     * user. Batches are searched concurrently and only the contact attributes are read.
+     *
+     * @return the users found keyed by username, ignoring case
+     */
+    public Map<String, NDeliusUser> getDeliusUsersNoRoles(final Collection<String> usernames) {
+        try {
+            return resultOf(searchDeliusUsersNoRoles(usernames, lookupThreadPool));
+        } catch (RejectedExecutionException e) {
+            // the caller is waiting for the users regardless so searches for them itself
+            return resultOf(searchDeliusUsersNoRoles(usernames, Runnable::run));
+        }
+    }
+
+    /**
+     * Starts the same batched searches as {@link #getDeliusUsersNoRoles(Collection)} without waiting for them, so
+     * the caller can carry on with other work. The result completes exceptionally with a TimeoutException when the
+     * searches have not all finished within the lookup timeout, the searches themselves being left to finish, or with
+     * a RejectedExecutionException when too many searches are already waiting for the lookup pool.
+     */
+    public CompletableFuture<Map<String, NDeliusUser>> getDeliusUsersNoRolesAsync(final Collection<String> usernames) {
+        try {
+            return searchDeliusUsersNoRoles(usernames, lookupThreadPool).orTimeout(lookupTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("LDAP lookup pool is full, not searching for {} users", usernames.size());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Map<String, NDeliusUser>> searchDeliusUsersNoRoles(final Collection<String> usernames, final Executor executor) {
+        final var distinctUsernames = List.copyOf(new LinkedHashSet<>(usernames));
+        final var searches = Lists.partition(distinctUsernames, lookupBatchSize)
+                .stream()
+                .map(batch -> CompletableFuture.supplyAsync(() -> usersWithContactDetails(batch), executor))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(searches.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            final var users = new TreeMap<String, NDeliusUser>(String.CASE_INSENSITIVE_ORDER);
+            searches.stream()
+                    .map(CompletableFuture::join)
+                    .forEach(users::putAll);
+            return users;
+        });
+    }
+
+    private Map<String, NDeliusUser> usersWithContactDetails(final List<String> usernames) {
+        final var anyUsername = new OrFilter();
+        usernames.forEach(username -> anyUsername.or(new EqualsFilter("cn", username)));
+        final var requested = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        requested.addAll(usernames);
+
+        final var users = new TreeMap<String, NDeliusUser>(String.CASE_INSENSITIVE_ORDER);
+        authenticationTemplate.search(
+                query()
+                        .base(ldapUserBase)
+                        .attributes("cn", "mail", "telephoneNumber")
+                        .filter(new AndFilter().and(new EqualsFilter("objectclass", "NDUser")).and(anyUsername)),
+                (AttributesMapper<Map.Entry<List<String>, NDeliusUser>>) attributes -> Map.entry(
+                        valuesOf(attributes.get("cn")),
+                        NDeliusUser
+                                .builder()
+                                .mail(valueOf(attributes.get("mail")))
+                                .telephoneNumber(valueOf(attributes.get("telephoneNumber")))
+                                .build()))
+                .forEach(entry -> entry.getKey()
+                        .stream()
+                        .filter(requested::contains)
+                        .forEach(username -> users.put(username, entry.getValue().toBuilder().cn(username).build())));
+        return users;
+    }
+
+    private static List<String> valuesOf(final Attribute attribute) throws NamingException {
+        return attribute == null ? List.of() : Collections.list(attribute.getAll()).stream().map(Object::toString).collect(Collectors.toList());
+    }
+
+    private static String valueOf(final Attribute attribute) throws NamingException {
+        return attribute == null ? null : (String) attribute.get();
+    }
+
+    private static <T> T resultOf(final CompletableFuture<T> search) {
+        try {
+            return search.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     public List<NDeliusUser> getDeliusUserByEmail(final String email) {
         // this is a two step process:
         //   1. find a list of users matching the supplied email address in the delius LDAP.
@@ -150,4 +286,9 @@ public class LdapRepository {
 
         return nDeliusUser.map(NDeliusUser::getMail).orElse(null);
     }
+
+    @Override
+    public void destroy() {
+        lookupThreadPool.shutdown();
+    }
 }
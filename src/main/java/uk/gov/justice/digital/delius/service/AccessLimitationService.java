@@ -0,0 +1,118 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uk.gov.justice.digital.delius.data.api.AccessLimitation;
+import uk.gov.justice.digital.delius.data.api.OffenderDetail;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderAccess;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
+import uk.gov.justice.digital.delius.service.wrapper.UserRepositoryWrapper;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Decides whether a user is excluded from or restricted to an offender. Only the offender's access columns are read
+ * and each user's active exclusions and restrictions are held as sorted offender id arrays for a short time, so
+ * repeat checks for the same user need a single offender lookup and no national user load. As exclusions and
+ * restrictions are only ever changed in Delius itself, a user's are simply reloaded once they expire.
+ */
+@Service
+@Slf4j
+public class AccessLimitationService {
+    private final OffenderRepository offenderRepository;
+    private final UserRepositoryWrapper userRepositoryWrapper;
+    private final Cache<String, UserAccess> userAccessCache;
+
+    public AccessLimitationService(OffenderRepository offenderRepository,
+                                   UserRepositoryWrapper userRepositoryWrapper,
+                                   @Value("${user-access.cache.time-to-live:5m}") Duration timeToLive,
+                                   @Value("${user-access.cache.maximum-size:10000}") long maximumSize) {
+        this.offenderRepository = offenderRepository;
+        this.userRepositoryWrapper = userRepositoryWrapper;
+        this.userAccessCache = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public Optional<OffenderAccess> offenderAccessOf(final String crn) {
+        return offenderRepository.findAccessByCrn(crn);
+    }
+
+    public AccessLimitation accessLimitationOf(final String username, final OffenderAccess offender) {
+        return accessLimitationOf(username, offender.getOffenderId(),
+                offender.isCurrentExclusion(), offender.getExclusionMessage(),
+                offender.isCurrentRestriction(), offender.getRestrictionMessage());
+    }
+
+    public AccessLimitation accessLimitationOf(final String username, final OffenderDetail offender) {
+        return accessLimitationOf(username, offender.getOffenderId(),
+                offender.getCurrentExclusion(), offender.getExclusionMessage(),
+                offender.getCurrentRestriction(), offender.getRestrictionMessage());
+    }
+
+    private AccessLimitation accessLimitationOf(final String username,
+                                                final Long offenderId,
+                                                final boolean currentExclusion,
+                                                final String exclusionMessage,
+                                                final boolean currentRestriction,
+                                                final String restrictionMessage) {
+        final var accessLimitationBuilder = AccessLimitation.builder();
+
+        if (currentExclusion || currentRestriction) {
+            final var userAccess = userAccessOf(username);
+
+            if (currentExclusion) {
+                final var userExcluded = userAccess.isExcludedFrom(offenderId);
+                accessLimitationBuilder.userExcluded(userExcluded);
+                if (userExcluded) {
+                    accessLimitationBuilder.exclusionMessage(exclusionMessage);
+                }
+            }
+
+            if (currentRestriction) {
+                final var userRestricted = !userAccess.isRestrictedUserFor(offenderId);
+                accessLimitationBuilder.userRestricted(userRestricted);
+                if (userRestricted) {
+                    accessLimitationBuilder.restrictionMessage(restrictionMessage);
+                }
+            }
+        }
+
+        return accessLimitationBuilder.build();
+    }
+
+    private UserAccess userAccessOf(final String username) {
+        return userAccessCache.get(keyOf(username), key -> {
+            final var userId = userRepositoryWrapper.getUserId(username);
+            log.debug("Loading exclusions and restrictions for {}", username);
+            return new UserAccess(
+                    sortedIdsOf(userRepositoryWrapper.getActiveExclusionOffenderIds(userId)),
+                    sortedIdsOf(userRepositoryWrapper.getActiveRestrictionOffenderIds(userId)));
+        });
+    }
+
+    private static String keyOf(final String username) {
+        return username.toUpperCase();
+    }
+
+    private static long[] sortedIdsOf(final Collection<Long> offenderIds) {
+        return offenderIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    private record UserAccess(long[] excludedOffenderIds, long[] restrictedOffenderIds) {
+        boolean isExcludedFrom(final Long offenderId) {
+            return Arrays.binarySearch(excludedOffenderIds, offenderId) >= 0;
+        }
+
+        boolean isRestrictedUserFor(final Long offenderId) {
+            return Arrays.binarySearch(restrictedOffenderIds, offenderId) >= 0;
+        }
+    }
+}
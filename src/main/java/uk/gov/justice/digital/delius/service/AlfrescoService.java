@@ -1,10 +1,13 @@
 package uk.gov.justice.digital.delius.service;
 
 import lombok.val;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,15 +15,23 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import uk.gov.justice.digital.delius.data.api.alfresco.DocumentMeta;
 import uk.gov.justice.digital.delius.data.api.alfresco.SearchResult;
 
+import java.util.List;
 import java.util.Optional;
 
 import static java.lang.String.format;
 
 @Service
 public class AlfrescoService {
+    private static final List<String> PASS_THROUGH_REQUEST_HEADERS = List.of(
+            HttpHeaders.RANGE,
+            HttpHeaders.IF_RANGE,
+            HttpHeaders.IF_NONE_MATCH,
+            HttpHeaders.IF_MODIFIED_SINCE);
+
     private final WebClient webClient;
     private final MultiValueMap<String, String> headers;
 
@@ -54,26 +65,58 @@ public class AlfrescoService {
                 .filter(documentMeta -> documentMeta.getCrn().equals(crn));
     }
 
-    public ResponseEntity<Resource> getDocument(String documentId, String crn) {
+    public ResponseEntity<StreamingResponseBody> getDocument(String documentId, String crn) {
+        return getDocument(documentId, crn, HttpHeaders.EMPTY);
+    }
+
+    /**
+     * Streams the document body from Alfresco to the caller rather than holding it in memory. Range and conditional
+     * request headers are passed on so partial (206) and not modified (304) responses come straight back from Alfresco.
+     */
+    public ResponseEntity<StreamingResponseBody> getDocument(String documentId, String crn, HttpHeaders requestHeaders) {
         val maybeDocumentMeta = getDocumentDetail(documentId, crn);
 
         return maybeDocumentMeta
-                .map(documentMeta -> getDocument(documentId, Optional.of(documentMeta.getName())))
+                .map(documentMeta -> getDocument(documentId, Optional.of(documentMeta.getName()), requestHeaders))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
-    private ResponseEntity<Resource> getDocument(String documentId, Optional<String> filename) {
+    public ResponseEntity<StreamingResponseBody> getDocument(String documentId) {
+        return getDocument(documentId, HttpHeaders.EMPTY);
+    }
+
+    public ResponseEntity<StreamingResponseBody> getDocument(String documentId, HttpHeaders requestHeaders) {
+        return getDocument(documentId, Optional.empty(), requestHeaders);
+    }
+
+    private ResponseEntity<StreamingResponseBody> getDocument(String documentId, Optional<String> filename, HttpHeaders requestHeaders) {
         return webClient.get().uri(format("/fetch/%s", documentId))
-                .headers(httpHeaders -> httpHeaders.addAll(headers))
+                .headers(httpHeaders -> {
+                    httpHeaders.addAll(headers);
+                    PASS_THROUGH_REQUEST_HEADERS.forEach(name -> Optional.ofNullable(requestHeaders.get(name))
+                            .ifPresent(values -> httpHeaders.addAll(name, values)));
+                })
                 .retrieve()
-                .toEntity(Resource.class)
-                .map(resource -> new ResponseEntity<>(
-                        resource.getBody(),
-                        collectDocumentResourceHeaders(resource.getHeaders(), documentId, filename),
-                        resource.getStatusCode()))
+                .onStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE::equals, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(document -> new ResponseEntity<>(
+                        streamingBodyOf(document.getBody()),
+                        collectDocumentResourceHeaders(document.getHeaders(), documentId, filename),
+                        document.getStatusCode()))
                 .block();
     }
 
+    /**
+     * Buffers are requested one at a time as each is written, and released once written. If the client goes away the
+     * write fails, which cancels the Alfresco response and releases any buffers already received.
+     */
+    private static StreamingResponseBody streamingBodyOf(Flux<DataBuffer> body) {
+        return outputStream -> DataBufferUtils
+                .write(Optional.ofNullable(body).orElseGet(Flux::empty), outputStream)
+                .doOnNext(DataBufferUtils::release)
+                .blockLast();
+    }
+
     private HttpHeaders collectDocumentResourceHeaders(final HttpHeaders responseHeaders, final String documentId, final Optional<String> filename) {
         HttpHeaders newHeaders = new HttpHeaders();
         newHeaders.add(HttpHeaders.ACCEPT_RANGES, responseHeaders.getFirst(HttpHeaders.ACCEPT_RANGES));
@@ -81,11 +124,9 @@ public class AlfrescoService {
         newHeaders.add(HttpHeaders.CONTENT_TYPE, responseHeaders.getFirst(HttpHeaders.CONTENT_TYPE));
         newHeaders.add(HttpHeaders.ETAG, responseHeaders.getFirst(HttpHeaders.ETAG));
         newHeaders.add(HttpHeaders.LAST_MODIFIED, responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED));
+        Optional.ofNullable(responseHeaders.getFirst(HttpHeaders.CONTENT_RANGE))
+                .ifPresent(contentRange -> newHeaders.add(HttpHeaders.CONTENT_RANGE, contentRange));
         newHeaders.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename.orElse(documentId) + "\"");
         return newHeaders;
     }
-
-    public ResponseEntity<Resource> getDocument(String documentId) {
-        return getDocument(documentId, Optional.empty());
-    }
 }
@@ -0,0 +1,258 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.google.common.collect.Lists;
+import com.microsoft.applicationinsights.TelemetryClient;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
+import uk.gov.justice.digital.delius.controller.ConflictingRequestException;
+import uk.gov.justice.digital.delius.controller.NotFoundException;
+import uk.gov.justice.digital.delius.data.api.Custody;
+import uk.gov.justice.digital.delius.data.api.CustodyUpdate;
+import uk.gov.justice.digital.delius.data.api.CustodyUpdateResult;
+import uk.gov.justice.digital.delius.data.api.UpdateCustody;
+import uk.gov.justice.digital.delius.jpa.standard.entity.RInstitution;
+import uk.gov.justice.digital.delius.jpa.standard.repository.InstitutionRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository.DuplicateOffenderException;
+import uk.gov.justice.digital.delius.service.CustodyService.CustodyUpdateLookups;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository.normalisedNomsNumberOf;
+
+/**
+ * Applies batches of custody changes, such as the prison movements replayed after an outage. Each change is applied by
+ * {@link CustodyService} exactly as the single change endpoints apply it, with the same telemetry, but the prisons
+ * named in the batch are found with one query and the offenders in each chunk with another.
+ * <p>
+ * Changes are grouped by offender so each offender's changes are applied in the order given, in one transaction.
+ * Offenders are written a chunk at a time, each chunk in its own transaction. Should anything unexpected fail part way
+ * through a chunk it is rolled back and its offenders retried one per transaction, so only the offender whose changes
+ * failed loses them. The telemetry for a chunk is only tracked once it commits, so retried changes are counted once.
+ */
+@Service
+@Slf4j
+public class BulkCustodyUpdateService {
+    static final int MAX_BULK_CUSTODY_UPDATES = 1000;
+
+    private final CustodyService custodyService;
+    private final OffenderRepository offenderRepository;
+    private final InstitutionRepository institutionRepository;
+    private final TelemetryClient telemetryClient;
+    private final TransactionOperations transaction;
+    private final int offendersPerTransaction;
+
+    @Autowired
+    public BulkCustodyUpdateService(CustodyService custodyService,
+                                    OffenderRepository offenderRepository,
+                                    InstitutionRepository institutionRepository,
+                                    TelemetryClient telemetryClient,
+                                    @Qualifier("standardTransactionManager") PlatformTransactionManager transactionManager,
+                                    @Value("${custody.bulk-update.offenders-per-transaction:50}") int offendersPerTransaction) {
+        this(custodyService, offenderRepository, institutionRepository, telemetryClient, new TransactionTemplate(transactionManager), offendersPerTransaction);
+    }
+
+    BulkCustodyUpdateService(CustodyService custodyService,
+                             OffenderRepository offenderRepository,
+                             InstitutionRepository institutionRepository,
+                             TelemetryClient telemetryClient,
+                             TransactionOperations transaction,
+                             int offendersPerTransaction) {
+        this.custodyService = custodyService;
+        this.offenderRepository = offenderRepository;
+        this.institutionRepository = institutionRepository;
+        this.telemetryClient = telemetryClient;
+        this.transaction = transaction;
+        this.offendersPerTransaction = offendersPerTransaction;
+    }
+
+    /**
+     * @return the outcome of each change, in the order the changes were given
+     */
+    public List<CustodyUpdateResult> updateCustodies(List<CustodyUpdate> custodyUpdates) {
+        if (custodyUpdates.size() > MAX_BULK_CUSTODY_UPDATES) {
+            throw new BadRequestException(String.format("At most %d custody changes can be made at once, %d were requested", MAX_BULK_CUSTODY_UPDATES, custodyUpdates.size()));
+        }
+        if (custodyUpdates.isEmpty()) {
+            return List.of();
+        }
+
+        final var batch = new Batch(custodyUpdates, findInstitutions(custodyUpdates));
+        Lists.partition(List.copyOf(batch.changesByOffender.keySet()), offendersPerTransaction).forEach(batch::applyInOneTransaction);
+
+        final var results = Arrays.asList(batch.results);
+        final var succeeded = results.stream().filter(CustodyUpdateResult::isSucceeded).count();
+        telemetryClient.trackEvent("P2PBulkCustodyUpdateSuccess", Map.of("succeeded", String.valueOf(succeeded), "failed", String.valueOf(results.size() - succeeded)), null);
+        return results;
+    }
+
+    // only a prison location change looks up its prison; recalls and releases just record theirs in telemetry
+    private Map<String, RInstitution> findInstitutions(List<CustodyUpdate> custodyUpdates) {
+        final var nomisCdeCodes = custodyUpdates.stream()
+                .filter(Objects::nonNull)
+                .map(CustodyUpdate::getPrisonLocation)
+                .filter(Objects::nonNull)
+                .map(UpdateCustody::getNomsPrisonInstitutionCode)
+                .filter(StringUtils::isNotBlank)
+                .distinct()
+                .collect(Collectors.toList());
+        if (nomisCdeCodes.isEmpty()) {
+            return Map.of();
+        }
+        return institutionRepository.findAllByNomisCdeCodeIn(nomisCdeCodes)
+                .stream()
+                .collect(Collectors.toMap(RInstitution::getNomisCdeCode, Function.identity(), (first, ignored) -> first));
+    }
+
+    private class Batch {
+        private final List<CustodyUpdate> custodyUpdates;
+        private final Map<String, RInstitution> institutions;
+        private final Map<String, List<Integer>> changesByOffender = new LinkedHashMap<>();
+        private final CustodyUpdateResult[] results;
+
+        private Batch(List<CustodyUpdate> custodyUpdates, Map<String, RInstitution> institutions) {
+            this.custodyUpdates = custodyUpdates;
+            this.institutions = institutions;
+            this.results = new CustodyUpdateResult[custodyUpdates.size()];
+            for (int index = 0; index < custodyUpdates.size(); index++) {
+                final var custodyUpdate = custodyUpdates.get(index);
+                final var invalidReason = invalidReasonOf(custodyUpdate);
+                if (invalidReason.isPresent()) {
+                    results[index] = failure(custodyUpdate, invalidReason.get());
+                } else {
+                    changesByOffender.computeIfAbsent(normalisedNomsNumberOf(custodyUpdate.getNomsNumber()), ignored -> new ArrayList<>()).add(index);
+                }
+            }
+        }
+
+        private void applyInOneTransaction(List<String> nomsNumbers) {
+            try {
+                transaction.executeWithoutResult(status -> {
+                    final var lookups = lookupsFor(nomsNumbers);
+                    nomsNumbers.forEach(nomsNumber -> changesByOffender.get(nomsNumber)
+                            .forEach(index -> results[index] = apply(custodyUpdates.get(index), lookups)));
+                });
+            } catch (RuntimeException e) {
+                if (nomsNumbers.size() > 1) {
+                    log.warn("Custody changes for {} offenders were rolled back, retrying them one offender at a time", nomsNumbers.size(), e);
+                    nomsNumbers.forEach(nomsNumber -> applyInOneTransaction(List.of(nomsNumber)));
+                } else {
+                    log.error("Custody changes for offender {} were rolled back", nomsNumbers.get(0), e);
+                    changesByOffender.get(nomsNumbers.get(0))
+                            .forEach(index -> results[index] = failure(custodyUpdates.get(index), String.format("Changes for this offender were rolled back: %s", e.getMessage())));
+                }
+            }
+        }
+
+        private CustodyUpdateLookups lookupsFor(List<String> nomsNumbers) {
+            final var offenders = offenderRepository.findAllByNomsNumberIn(nomsNumbers);
+            return new CustodyUpdateLookups(
+                    nomsNumber -> OffenderRepository.mostLikelyOf(nomsNumber, offenders.getOrDefault(normalisedNomsNumberOf(nomsNumber), List.of())),
+                    nomisCdeCode -> Optional.ofNullable(institutions.get(nomisCdeCode)),
+                    telemetryTrackedOnCommit());
+        }
+    }
+
+    private BiConsumer<String, Map<String, String>> telemetryTrackedOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return (name, properties) -> telemetryClient.trackEvent(name, properties, null);
+        }
+        final var events = new ArrayList<Runnable>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                events.forEach(Runnable::run);
+            }
+        });
+        return (name, properties) -> events.add(() -> telemetryClient.trackEvent(name, properties, null));
+    }
+
+    private CustodyUpdateResult apply(CustodyUpdate custodyUpdate, CustodyUpdateLookups lookups) {
+        final var nomsNumber = custodyUpdate.getNomsNumber();
+        try {
+            final Custody custody;
+            if (custodyUpdate.getPrisonLocation() != null) {
+                custody = custodyService.updateCustodyPrisonLocation(nomsNumber, custodyUpdate.getBookingNumber(), custodyUpdate.getPrisonLocation(), lookups);
+            } else if (custodyUpdate.getBookingNumberUpdate() != null) {
+                custody = custodyService.updateCustodyBookingNumber(nomsNumber, custodyUpdate.getBookingNumberUpdate(), lookups);
+            } else if (custodyUpdate.getRecall() != null) {
+                custody = custodyService.offenderRecalled(nomsNumber, custodyUpdate.getRecall(), lookups);
+            } else {
+                custody = custodyService.offenderReleased(nomsNumber, custodyUpdate.getRelease(), lookups);
+            }
+            return CustodyUpdateResult.builder().nomsNumber(nomsNumber).succeeded(true).custody(custody).build();
+        } catch (NotFoundException | ConflictingRequestException | DuplicateOffenderException e) {
+            return failure(custodyUpdate, e.getMessage());
+        }
+    }
+
+    private static CustodyUpdateResult failure(CustodyUpdate custodyUpdate, String failureReason) {
+        return CustodyUpdateResult.builder().nomsNumber(custodyUpdate == null ? null : custodyUpdate.getNomsNumber()).succeeded(false).failureReason(failureReason).build();
+    }
+
+    // the checks the single change endpoints make with bean validation on their request bodies
+    private static Optional<String> invalidReasonOf(CustodyUpdate custodyUpdate) {
+        if (custodyUpdate == null) {
+            return Optional.of("Missing a custody change");
+        }
+        if (StringUtils.isBlank(custodyUpdate.getNomsNumber())) {
+            return Optional.of("Missing a NOMS number in nomsNumber");
+        }
+        final var changes = Stream.of(custodyUpdate.getPrisonLocation(), custodyUpdate.getBookingNumberUpdate(), custodyUpdate.getRecall(), custodyUpdate.getRelease())
+                .filter(Objects::nonNull)
+                .count();
+        if (changes != 1) {
+            return Optional.of("Exactly one of prisonLocation, bookingNumberUpdate, recall or release must be given");
+        }
+
+        if (custodyUpdate.getPrisonLocation() != null) {
+            if (StringUtils.isBlank(custodyUpdate.getBookingNumber())) {
+                return Optional.of("Missing a book number in bookingNumber");
+            }
+            return missingPrisonCode(custodyUpdate.getPrisonLocation().getNomsPrisonInstitutionCode());
+        }
+        if (custodyUpdate.getBookingNumberUpdate() != null) {
+            final var bookingNumberUpdate = custodyUpdate.getBookingNumberUpdate();
+            if (StringUtils.isBlank(bookingNumberUpdate.getBookingNumber())) {
+                return Optional.of("Missing a book number in bookingNumber");
+            }
+            return bookingNumberUpdate.getSentenceStartDate() == null ? Optional.of("Missing a sentence start date in sentenceStartDate") : Optional.empty();
+        }
+        if (custodyUpdate.getRecall() != null) {
+            if (custodyUpdate.getRecall().getRecallDate() == null) {
+                return Optional.of("Missing the date the offender was returned to custody in recallDate");
+            }
+            return missingPrisonCode(custodyUpdate.getRecall().getNomsPrisonInstitutionCode());
+        }
+        if (custodyUpdate.getRelease().getReleaseDate() == null) {
+            return Optional.of("Missing the date the offender was released from custody in releaseDate");
+        }
+        return missingPrisonCode(custodyUpdate.getRelease().getNomsPrisonInstitutionCode());
+    }
+
+    private static Optional<String> missingPrisonCode(String nomsPrisonInstitutionCode) {
+        return StringUtils.isBlank(nomsPrisonInstitutionCode)
+                ? Optional.of("Missing a NOMS prison institution code in nomsPrisonInstitutionCode")
+                : Optional.empty();
+    }
+}
@@ -0,0 +1,127 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
+import uk.gov.justice.digital.delius.data.api.ManagedOffender;
+import uk.gov.justice.digital.delius.jpa.standard.projection.StaffKeys;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Reads the offenders allocated to a member of staff as offender manager or prison offender manager with a single
+ * query that selects only the columns needed for a {@link ManagedOffender}, rather than loading every allocation
+ * entity and its associations. The current filter, sorting and paging are all applied by the database.
+ */
+@Service
+public class CaseloadService {
+    private static final int MAX_FETCH_SIZE = 500;
+
+    // one row per active allocation, the same rows as Staff.offenderManagers and Staff.prisonOffenderManagers
+    private static final String CASELOAD_SQL = "SELECT * FROM (" +
+            "SELECT 'OM' AS ALLOCATION_TYPE, om.OFFENDER_MANAGER_ID AS ALLOCATION_ID, om.OFFENDER_ID, o.NOMS_NUMBER, o.CRN, o.SURNAME, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM RESPONSIBLE_OFFICER ro WHERE ro.OFFENDER_MANAGER_ID = om.OFFENDER_MANAGER_ID AND ro.OFFENDER_ID = om.OFFENDER_ID AND ro.END_DATE IS NULL) THEN 1 ELSE 0 END AS CURRENT_RO, " +
+            "CASE WHEN om.END_DATE IS NULL THEN 1 ELSE 0 END AS CURRENT_MANAGER, " +
+            "om.ALLOCATION_DATE AS START_DATE, om.END_DATE " +
+            "FROM OFFENDER_MANAGER om LEFT JOIN OFFENDER o ON o.OFFENDER_ID = om.OFFENDER_ID AND o.SOFT_DELETED != 1 " +
+            "WHERE om.ALLOCATION_STAFF_ID = ? AND om.ACTIVE_FLAG = 1 AND om.SOFT_DELETED != 1 " +
+            "UNION ALL " +
+            "SELECT 'POM' AS ALLOCATION_TYPE, pom.PRISON_OFFENDER_MANAGER_ID AS ALLOCATION_ID, pom.OFFENDER_ID, o.NOMS_NUMBER, o.CRN, o.SURNAME, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM RESPONSIBLE_OFFICER ro WHERE ro.PRISON_OFFENDER_MANAGER_ID = pom.PRISON_OFFENDER_MANAGER_ID AND ro.OFFENDER_ID = pom.OFFENDER_ID AND ro.END_DATE IS NULL) THEN 1 ELSE 0 END AS CURRENT_RO, " +
+            "CASE WHEN pom.END_DATE IS NULL THEN 1 ELSE 0 END AS CURRENT_MANAGER, " +
+            "CAST(NULL AS DATE) AS START_DATE, CAST(NULL AS DATE) AS END_DATE " +
+            "FROM PRISON_OFFENDER_MANAGER pom LEFT JOIN OFFENDER o ON o.OFFENDER_ID = pom.OFFENDER_ID AND o.SOFT_DELETED != 1 " +
+            "WHERE pom.ALLOCATION_STAFF_ID = ? AND pom.ACTIVE_FLAG = 1 AND pom.SOFT_DELETED != 1" +
+            ") caseload";
+
+    private static final String CURRENT_ONLY_SQL = " WHERE CURRENT_MANAGER = 1 OR CURRENT_RO = 1";
+
+    private static final String PAGE_SQL = " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+
+    // allocation type then id keeps the order stable between pages whatever else is sorted on
+    private static final String TIE_BREAK_ORDER_SQL = "ALLOCATION_TYPE, ALLOCATION_ID";
+
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "offenderId", "OFFENDER_ID",
+            "nomsNumber", "NOMS_NUMBER",
+            "crnNumber", "CRN",
+            "offenderSurname", "SURNAME",
+            "omStartDate", "START_DATE",
+            "omEndDate", "END_DATE");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CaseloadService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ManagedOffender> getManagedOffenders(StaffKeys staff, boolean current) {
+        return query(staff, current, TIE_BREAK_ORDER_SQL, 0, 0);
+    }
+
+    public Page<ManagedOffender> getManagedOffenders(StaffKeys staff, boolean current, Pageable pageable) {
+        final var managedOffenders = query(staff, current, orderByOf(pageable.getSort()), (int) pageable.getOffset(), pageable.getPageSize());
+        final var total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (" + CASELOAD_SQL + (current ? CURRENT_ONLY_SQL : "") + ") counted",
+                Long.class,
+                staff.getStaffId(), staff.getStaffId());
+        return new PageImpl<>(managedOffenders, pageable, Optional.ofNullable(total).orElse(0L));
+    }
+
+    private List<ManagedOffender> query(StaffKeys staff, boolean current, String orderBy, int offset, int limit) {
+        // OFFSET ... FETCH is understood by both Oracle and H2, so only the rows of the page are ever read
+        final var sql = CASELOAD_SQL + (current ? CURRENT_ONLY_SQL : "") + " ORDER BY " + orderBy + (limit > 0 ? PAGE_SQL : "");
+        return jdbcTemplate.query(connection -> {
+                    final var statement = connection.prepareStatement(sql);
+                    statement.setLong(1, staff.getStaffId());
+                    statement.setLong(2, staff.getStaffId());
+                    if (limit > 0) {
+                        statement.setInt(3, offset);
+                        statement.setInt(4, limit);
+                        statement.setFetchSize(Math.min(limit, MAX_FETCH_SIZE));
+                    }
+                    return statement;
+                },
+                (resultSet, rowNum) -> managedOffenderOf(staff, resultSet));
+    }
+
+    private static String orderByOf(Sort sort) {
+        final var columns = sort
+                .stream()
+                .map(order -> Optional.ofNullable(SORTABLE_COLUMNS.get(order.getProperty()))
+                        .map(column -> column + (order.isAscending() ? " ASC" : " DESC"))
+                        .orElseThrow(() -> new BadRequestException(format("Can not sort managed offenders by %s, sortable properties are %s", order.getProperty(), SORTABLE_COLUMNS.keySet()))))
+                .collect(joining(", "));
+        return columns.isEmpty() ? TIE_BREAK_ORDER_SQL : columns + ", " + TIE_BREAK_ORDER_SQL;
+    }
+
+    private static ManagedOffender managedOffenderOf(StaffKeys staff, ResultSet resultSet) throws SQLException {
+        final var isOffenderManager = "OM".equals(resultSet.getString("ALLOCATION_TYPE"));
+        final var isCurrentManager = resultSet.getInt("CURRENT_MANAGER") == 1;
+        return ManagedOffender.builder()
+                .staffCode(staff.getOfficerCode())
+                .staffIdentifier(staff.getStaffId())
+                .offenderId(resultSet.getLong("OFFENDER_ID"))
+                .nomsNumber(resultSet.getString("NOMS_NUMBER"))
+                .crnNumber(resultSet.getString("CRN"))
+                .offenderSurname(resultSet.getString("SURNAME"))
+                .isCurrentRo(resultSet.getInt("CURRENT_RO") == 1)
+                .isCurrentOm(isOffenderManager && isCurrentManager)
+                .isCurrentPom(!isOffenderManager && isCurrentManager)
+                .omStartDate(Optional.ofNullable(resultSet.getDate("START_DATE")).map(Date::toLocalDate).orElse(null))
+                .omEndDate(Optional.ofNullable(resultSet.getDate("END_DATE")).map(Date::toLocalDate).orElse(null))
+                .build();
+    }
+}
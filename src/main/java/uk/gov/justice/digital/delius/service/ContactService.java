@@ -31,6 +31,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.springframework.data.domain.Sort.Direction.DESC;
 import static uk.gov.justice.digital.delius.jpa.standard.entity.Contact.*;
@@ -54,9 +56,25 @@ public class ContactService {
         return ContactTransformer.contactsOf(contactRepository.findAll(filter.toBuilder().offenderId(offenderId).build()));
     }
 
+    /**
+     * Passes each matching contact to the consumer as it is read, in the same order as contactsFor, without
+     * holding them all in memory.
+     */
+    @Transactional(readOnly = true)
+    public void exportContactsFor(final Long offenderId, final ContactFilter filter, final Consumer<Contact> consumer) {
+        contactRepository.forEachContact(
+            filter.toBuilder().offenderId(offenderId).build(),
+            Sort.by("createdDateTime", "contactId"),
+            contact -> consumer.accept(ContactTransformer.contactOf(contact)));
+    }
+
     public Page<ContactSummary> contactSummariesFor(final Long offenderId, final ContactFilter filter, final int page, final int pageSize) {
+        return contactSummariesFor(offenderId, filter, page, pageSize, false);
+    }
+
+    public Page<ContactSummary> contactSummariesFor(final Long offenderId, final ContactFilter filter, final int page, final int pageSize, final boolean includeNotes) {
         final var pagination = PageRequest.of(page, pageSize, Sort.by(DESC, "contactDate", "contactStartTime", "contactEndTime"));
-        return contactRepository.findAll(filter.toBuilder().offenderId(offenderId).build(), pagination)
+        return contactRepository.findAllListings(filter.toBuilder().offenderId(offenderId).build(), pagination, includeNotes)
             .map(ContactTransformer::contactSummaryOf);
     }
 
@@ -137,7 +155,29 @@ public class ContactService {
 
     @Transactional
     public void addContactForTierUpdate(final Long offenderId, final LocalDateTime date, final String tier, final String reason, final Staff staff, final Team team){
-        contactRepository.save(builder()
+        contactRepository.save(contactForTierUpdate(offenderId, date, tier, reason, staff, team, tierUpdateContactType()));
+    }
+
+    /**
+     * Adds the contacts for many tier updates made at the same time, looking up the contact type once and saving the
+     * contacts together so their inserts are batched
+     */
+    public void addContactsForTierUpdates(final List<TierUpdateContact> tierUpdates, final LocalDateTime date, final String reason) {
+        if (tierUpdates.isEmpty()) {
+            return;
+        }
+        final var contactType = tierUpdateContactType();
+        contactRepository.saveAll(tierUpdates
+                .stream()
+                .map(tierUpdate -> contactForTierUpdate(tierUpdate.offenderId(), date, tierUpdate.tier(), reason, tierUpdate.staff(), tierUpdate.team(), contactType))
+                .collect(Collectors.toList()));
+    }
+
+    public record TierUpdateContact(Long offenderId, String tier, Staff staff, Team team) {
+    }
+
+    private uk.gov.justice.digital.delius.jpa.standard.entity.Contact contactForTierUpdate(final Long offenderId, final LocalDateTime date, final String tier, final String reason, final Staff staff, final Team team, final ContactType contactType) {
+        return builder()
             .contactDate(LocalDate.now())
             .offenderId(offenderId)
             .contactStartTime(LocalTime.now())
@@ -149,8 +189,12 @@ public class ContactService {
             .teamProviderId(team.getTeamId())
             .probationArea(team.getProbationArea())
             .team(team)
-            .contactType(contactTypeRepository.findByCode(TIER_UPDATE_CONTACT_TYPE).orElseThrow(() -> new NotFoundException("Cannot find contact type for tier update")))
-            .build());
+            .contactType(contactType)
+            .build();
+    }
+
+    private ContactType tierUpdateContactType() {
+        return contactTypeRepository.findByCode(TIER_UPDATE_CONTACT_TYPE).orElseThrow(() -> new NotFoundException("Cannot find contact type for tier update"));
     }
 
     private String notesForKeyDatesUpdate(final Map<String, LocalDate> datesAmendedOrUpdated, final Map<String, LocalDate> datesRemoved) {
@@ -4,9 +4,11 @@ import com.google.common.collect.ImmutableList;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.data.api.CourtAppearance;
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceBasicWrapper;
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceMinimal;
+import uk.gov.justice.digital.delius.jpa.standard.repository.CourtAppearanceListingRepository.Position;
 import uk.gov.justice.digital.delius.jpa.standard.repository.CourtAppearanceRepository;
 import uk.gov.justice.digital.delius.transformers.CourtAppearanceBasicTransformer;
 import uk.gov.justice.digital.delius.transformers.CourtAppearanceMinimalTransformer;
@@ -54,15 +56,27 @@ public class CourtAppearanceService {
             .map(CourtAppearanceBasicWrapper::new);
     }
 
-    public List<CourtAppearanceMinimal> courtAppearances(LocalDate fromDate) {
-
-        var courtAppearances = courtAppearanceRepository.findByAppearanceDateGreaterThanEqual(fromDate.atStartOfDay());
-        return courtAppearances
-                .stream()
-                .filter(courtAppearance -> !convertToBoolean(courtAppearance.getSoftDeleted()))
-                .sorted(Comparator.comparing(uk.gov.justice.digital.delius.jpa.standard.entity.CourtAppearance::getAppearanceDate))
-                .map(CourtAppearanceMinimalTransformer::courtAppearanceOf)
-                .collect(toList());
+    /**
+     * @param toDate the last day to include, or every appearance on and after fromDate when empty
+     * @param after resume from after this appearance, as ordered by appearance date then id
+     * @param size the most appearances to return, or all of them when empty
+     */
+    public List<CourtAppearanceMinimal> courtAppearances(LocalDate fromDate, Optional<LocalDate> toDate, Optional<Position> after, Optional<Integer> size) {
+        toDate.filter(date -> date.isBefore(fromDate)).ifPresent(date -> {
+            throw new BadRequestException(String.format("toDate %s is before fromDate %s", date, fromDate));
+        });
+        size.filter(value -> value < 1).ifPresent(value -> {
+            throw new BadRequestException(String.format("size must be at least 1 but was %d", value));
+        });
+
+        return courtAppearanceRepository.findAllListings(
+                fromDate.atStartOfDay(),
+                toDate.map(date -> date.plusDays(1).atStartOfDay()),
+                after,
+                size)
+            .stream()
+            .map(CourtAppearanceMinimalTransformer::courtAppearanceOf)
+            .collect(toList());
     }
 
     @NotNull
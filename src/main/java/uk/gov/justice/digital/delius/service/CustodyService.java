@@ -35,6 +35,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -94,17 +95,25 @@ public class CustodyService {
     public Custody updateCustodyPrisonLocation(final String nomsNumber,
                                                final String bookingNumber,
                                                final UpdateCustody updateCustody) {
+        return updateCustodyPrisonLocation(nomsNumber, bookingNumber, updateCustody, repositoryLookups());
+    }
+
+    Custody updateCustodyPrisonLocation(final String nomsNumber,
+                                        final String bookingNumber,
+                                        final UpdateCustody updateCustody,
+                                        final CustodyUpdateLookups lookups) {
         final var telemetryProperties = Map.of("offenderNo", nomsNumber,
                 "bookingNumber", bookingNumber,
                 "toAgency", updateCustody.getNomsPrisonInstitutionCode());
 
         final var result = updateCustodyPrisonLocation(nomsNumber,
                 this::getAllActiveCustodialEvents,
-                updateCustody.getNomsPrisonInstitutionCode());
+                updateCustody.getNomsPrisonInstitutionCode(),
+                lookups);
         return result.map(success -> {
             switch (success.outcome) {
-                case Updated -> telemetryClient.trackEvent("P2PTransferPrisonUpdated", add(telemetryProperties, "updatedCount", String.valueOf(success.custodyRecordsUpdated.size())), null);
-                case NoUpdateRequired -> telemetryClient.trackEvent("P2PTransferPrisonUpdateIgnored", telemetryProperties, null);
+                case Updated -> lookups.telemetry().accept("P2PTransferPrisonUpdated", add(telemetryProperties, "updatedCount", String.valueOf(success.custodyRecordsUpdated.size())));
+                case NoUpdateRequired -> lookups.telemetry().accept("P2PTransferPrisonUpdateIgnored", telemetryProperties);
             }
             return success.custodyRecordsUpdated
                 .stream()
@@ -112,12 +121,12 @@ public class CustodyService {
                 .orElseThrow();
         }).getOrElseThrow((error -> {
             switch (error.reason) {
-                case TransferPrisonNotFound -> telemetryClient.trackEvent("P2PTransferPrisonNotFound", telemetryProperties, null);
-                case CustodialSentenceNotFoundInCorrectState -> telemetryClient.trackEvent("P2PTransferPrisonUpdateIgnored", telemetryProperties, null);
-                case ConvictionNotFound -> telemetryClient.trackEvent("P2PTransferBookingNumberNotFound", telemetryProperties, null);
-                case MultipleCustodialSentences -> telemetryClient.trackEvent("P2PTransferBookingNumberHasDuplicates", telemetryProperties, null);
-                case OffenderNotFound -> telemetryClient.trackEvent("P2PTransferOffenderNotFound", telemetryProperties, null);
-                case MultipleOffendersFound -> telemetryClient.trackEvent("P2PTransferMultipleOffendersFound", telemetryProperties, null);
+                case TransferPrisonNotFound -> lookups.telemetry().accept("P2PTransferPrisonNotFound", telemetryProperties);
+                case CustodialSentenceNotFoundInCorrectState -> lookups.telemetry().accept("P2PTransferPrisonUpdateIgnored", telemetryProperties);
+                case ConvictionNotFound -> lookups.telemetry().accept("P2PTransferBookingNumberNotFound", telemetryProperties);
+                case MultipleCustodialSentences -> lookups.telemetry().accept("P2PTransferBookingNumberHasDuplicates", telemetryProperties);
+                case OffenderNotFound -> lookups.telemetry().accept("P2PTransferOffenderNotFound", telemetryProperties);
+                case MultipleOffendersFound -> lookups.telemetry().accept("P2PTransferMultipleOffendersFound", telemetryProperties);
             }
             return new NotFoundException(error.getMessage());
         }));
@@ -131,7 +140,8 @@ public class CustodyService {
 
         final var result = updateCustodyPrisonLocation(nomsNumber,
                 this::getAllActiveCustodialEvents,
-                nomsPrisonInstitutionCode);
+                nomsPrisonInstitutionCode,
+                repositoryLookups());
         final Optional<String> telemetryName = result.fold(error -> switch (error.reason) {
             case TransferPrisonNotFound -> Optional.of("POMLocationPrisonNotFound");
             case CustodialSentenceNotFoundInCorrectState -> Optional.of("POMLocationCustodialStatusNotCorrect");
@@ -157,11 +167,12 @@ public class CustodyService {
 
     private Either<PrisonLocationUpdateError, PrisonLocationUpdateSuccess> updateCustodyPrisonLocation(final String nomsNumber,
                                                                                                        final Function<Offender, Either<PrisonLocationUpdateError, List<Event>>> eventSupplier,
-                                                                                                       final String nomsPrisonInstitutionCode) {
-        return findByNomsNumber(nomsNumber)
+                                                                                                       final String nomsPrisonInstitutionCode,
+                                                                                                       final CustodyUpdateLookups lookups) {
+        return findByNomsNumber(nomsNumber, lookups)
                 .flatMap(offender -> eventSupplier.apply(offender)
                         .flatMap(events -> atLeastOneInCustodyOrAboutToStartACustodySentence(events)
-                                .flatMap(eventsToUpdate -> findByNomisCdeCode(nomsPrisonInstitutionCode)
+                                .flatMap(eventsToUpdate -> findByNomisCdeCode(nomsPrisonInstitutionCode, lookups)
                                         .flatMap(institution -> updateInstitutionsWhenDifferent(offender, eventsToUpdate, institution)))
                         ));
     }
@@ -169,25 +180,31 @@ public class CustodyService {
 
     @Transactional
     public Custody updateCustodyBookingNumber(final String nomsNumber, final UpdateCustodyBookingNumber updateCustodyBookingNumber) {
+        return updateCustodyBookingNumber(nomsNumber, updateCustodyBookingNumber, repositoryLookups());
+    }
+
+    Custody updateCustodyBookingNumber(final String nomsNumber,
+                                       final UpdateCustodyBookingNumber updateCustodyBookingNumber,
+                                       final CustodyUpdateLookups lookups) {
         final var telemetryProperties = Map.of("offenderNo", nomsNumber,
                 "bookingNumber", updateCustodyBookingNumber.getBookingNumber(),
                 "sentenceStartDate", updateCustodyBookingNumber.getSentenceStartDate().format(DateTimeFormatter.ISO_DATE));
 
-        final var offender = offenderRepository.findMostLikelyByNomsNumber(nomsNumber)
+        final var offender = lookups.offenders().apply(nomsNumber)
             .getOrElseThrow((e) -> {
-                telemetryClient.trackEvent("P2PImprisonmentStatusOffenderMultipleBookings", telemetryProperties, null);
+                lookups.telemetry().accept("P2PImprisonmentStatusOffenderMultipleBookings", telemetryProperties);
                 throw e;
             })
             .orElseThrow(() -> {
-                telemetryClient.trackEvent("P2PImprisonmentStatusOffenderNotFound", telemetryProperties, null);
+                lookups.telemetry().accept("P2PImprisonmentStatusOffenderNotFound", telemetryProperties);
                 return new NotFoundException(String.format("offender with nomsNumber %s not found", nomsNumber));
             });
         final var event = convictionService.getSingleActiveConvictionIdByOffenderIdAndCloseToSentenceDate(offender.getOffenderId(), updateCustodyBookingNumber.getSentenceStartDate())
                 .onError(error -> {
-                    telemetryClient.trackEvent("P2PImprisonmentStatusCustodyEventsHasDuplicates", telemetryProperties, null);
+                    lookups.telemetry().accept("P2PImprisonmentStatusCustodyEventsHasDuplicates", telemetryProperties);
                     return new NotFoundException(String.format("no single conviction with sentence date around %s found, instead %d duplicates found", updateCustodyBookingNumber.getSentenceStartDate().format(DateTimeFormatter.ISO_LOCAL_DATE), error.getConvictionCount()));
                 }).orElseThrow(() -> {
-                    telemetryClient.trackEvent("P2PImprisonmentStatusCustodyEventNotFound", telemetryProperties, null);
+                    lookups.telemetry().accept("P2PImprisonmentStatusCustodyEventNotFound", telemetryProperties);
                     return new NotFoundException(String.format("conviction with sentence date close to  %s not found", updateCustodyBookingNumber.getSentenceStartDate().format(DateTimeFormatter.ISO_LOCAL_DATE)));
                 });
 
@@ -195,11 +212,11 @@ public class CustodyService {
         final Predicate<String> sameAsNewBookingNumber = existingBookingNumber -> existingBookingNumber.equals(updateCustodyBookingNumber.getBookingNumber());
 
         if (maybeExistingBookingNumber.filter(sameAsNewBookingNumber).isPresent()) {
-            telemetryClient.trackEvent("P2PImprisonmentStatusBookingNumberAlreadySet", telemetryProperties, null);
+            lookups.telemetry().accept("P2PImprisonmentStatusBookingNumberAlreadySet", telemetryProperties);
             return ConvictionTransformer.custodyOf(event.getDisposal().getCustody());
         } else {
             final var eventName = maybeExistingBookingNumber.isPresent() ? "P2PImprisonmentStatusBookingNumberUpdated" : "P2PImprisonmentStatusBookingNumberInserted";
-            telemetryClient.trackEvent(eventName, telemetryProperties, null);
+            lookups.telemetry().accept(eventName, telemetryProperties);
             return ConvictionTransformer
                     .custodyOf(updateBookingNumberFor(offender, event, updateCustodyBookingNumber.getBookingNumber()).getDisposal().getCustody());
         }
@@ -231,19 +248,27 @@ public class CustodyService {
     @Transactional
     public Custody offenderRecalled(final String nomsNumber, final OffenderRecalledNotification recalledNotification) {
         final var offender = offenderRepository.findByNomsNumber(nomsNumber)
-            .orElseThrow(() -> new NotFoundException(String.format("Offender with nomsNumber %s not found", nomsNumber)));
+            .orElseThrow(() -> offenderNotFound(nomsNumber));
 
+        return offenderRecalled(offender, nomsNumber, recalledNotification, this::trackEvent);
+    }
+
+    Custody offenderRecalled(final String nomsNumber, final OffenderRecalledNotification recalledNotification, final CustodyUpdateLookups lookups) {
+        return offenderRecalled(mostLikelyOffender(nomsNumber, lookups), nomsNumber, recalledNotification, lookups.telemetry());
+    }
+
+    private Custody offenderRecalled(final Offender offender, final String nomsNumber, final OffenderRecalledNotification recalledNotification, final BiConsumer<String, Map<String, String>> telemetry) {
         final var telemetryProperties = Map.of("offenderNo", nomsNumber,
             "recallDate", recalledNotification.getRecallDate().format(DateTimeFormatter.ISO_DATE),
             "institution", recalledNotification.getNomsPrisonInstitutionCode());
 
         try {
-            Event event = convictionService.getActiveCustodialEvent(offender.getOffenderId());
+            Event event = activeCustodialEventOf(offender);
 
-            telemetryClient.trackEvent("P2POffenderRecalled", telemetryProperties, null);
+            telemetry.accept("P2POffenderRecalled", telemetryProperties);
             return ConvictionTransformer.custodyOf(event.getDisposal().getCustody());
         } catch (SingleActiveCustodyConvictionNotFoundException e) {
-            telemetryClient.trackEvent("P2POffenderRecalledNoSingleConviction", telemetryProperties, null);
+            telemetry.accept("P2POffenderRecalledNoSingleConviction", telemetryProperties);
             throw new ConflictingRequestException(e.getMessage());
         }
     }
@@ -251,22 +276,50 @@ public class CustodyService {
     @Transactional
     public Custody offenderReleased(final String nomsNumber, final OffenderReleasedNotification releasedNotification) {
         final var offender = offenderRepository.findByNomsNumber(nomsNumber)
-            .orElseThrow(() -> new NotFoundException(String.format("Offender with nomsNumber %s not found", nomsNumber)));
+            .orElseThrow(() -> offenderNotFound(nomsNumber));
+
+        return offenderReleased(offender, nomsNumber, releasedNotification, this::trackEvent);
+    }
 
+    Custody offenderReleased(final String nomsNumber, final OffenderReleasedNotification releasedNotification, final CustodyUpdateLookups lookups) {
+        return offenderReleased(mostLikelyOffender(nomsNumber, lookups), nomsNumber, releasedNotification, lookups.telemetry());
+    }
+
+    private Custody offenderReleased(final Offender offender, final String nomsNumber, final OffenderReleasedNotification releasedNotification, final BiConsumer<String, Map<String, String>> telemetry) {
         final var telemetryProperties = Map.of("offenderNo", nomsNumber,
             "recallDate", releasedNotification.getReleaseDate().format(DateTimeFormatter.ISO_DATE),
             "institution", releasedNotification.getNomsPrisonInstitutionCode());
 
         try {
-            Event event = convictionService.getActiveCustodialEvent(offender.getOffenderId());
-            telemetryClient.trackEvent( "P2POffenderReleased", telemetryProperties, null);
+            Event event = activeCustodialEventOf(offender);
+            telemetry.accept("P2POffenderReleased", telemetryProperties);
             return ConvictionTransformer.custodyOf(event.getDisposal().getCustody());
         } catch (SingleActiveCustodyConvictionNotFoundException e) {
-            telemetryClient.trackEvent( "P2POffenderReleasedNoSingleConviction", telemetryProperties, null);
+            telemetry.accept("P2POffenderReleasedNoSingleConviction", telemetryProperties);
             throw new ConflictingRequestException(e.getMessage());
         }
     }
 
+    private Offender mostLikelyOffender(final String nomsNumber, final CustodyUpdateLookups lookups) {
+        return lookups.offenders().apply(nomsNumber)
+            .getOrElseThrow(Function.identity())
+            .orElseThrow(() -> offenderNotFound(nomsNumber));
+    }
+
+    private static NotFoundException offenderNotFound(final String nomsNumber) {
+        return new NotFoundException(String.format("Offender with nomsNumber %s not found", nomsNumber));
+    }
+
+    // counted here rather than by ConvictionService.getActiveCustodialEvent, whose exception would mark a caller's
+    // transaction for rollback even when it is handled
+    private Event activeCustodialEventOf(final Offender offender) {
+        final var events = convictionService.getAllActiveCustodialEvents(offender.getOffenderId());
+        if (events.size() != 1) {
+            throw new SingleActiveCustodyConvictionNotFoundException(offender.getOffenderId(), events.size());
+        }
+        return events.get(0);
+    }
+
     private Event updateBookingNumberFor(final Offender offender, final Event event, final String bookingNumber) {
         if (updateBookingNumberFeatureSwitch) {
             event.getDisposal().getCustody().setPrisonerNumber(bookingNumber);
@@ -340,7 +393,7 @@ public class CustodyService {
         custodyHistoryRepository.save(history);
     }
 
-    private Either<PrisonLocationUpdateError, Offender> findByNomsNumber(final String nomsNumber) {
+    private Either<PrisonLocationUpdateError, Offender> findByNomsNumber(final String nomsNumber, final CustodyUpdateLookups lookups) {
         final Supplier<Either<PrisonLocationUpdateError, Offender>> notFoundError = () -> Either
                 .left(PrisonLocationUpdateError.offenderNotFound(nomsNumber));
 
@@ -351,8 +404,8 @@ public class CustodyService {
                 .map((Function<Offender, Either<PrisonLocationUpdateError, Offender>>) Either::right)
                 .orElseGet(notFoundError);
 
-        return offenderRepository
-                .findMostLikelyByNomsNumber(nomsNumber)
+        return lookups.offenders()
+                .apply(nomsNumber)
                 .fold(multipleOffenderError, offenderOrNotFoundError);
     }
 
@@ -389,8 +442,8 @@ public class CustodyService {
             .collect(Collectors.joining());
     }
 
-    private Either<PrisonLocationUpdateError, RInstitution> findByNomisCdeCode(final String nomisCdeCode) {
-        return institutionRepository.findByNomisCdeCode(nomisCdeCode)
+    private Either<PrisonLocationUpdateError, RInstitution> findByNomisCdeCode(final String nomisCdeCode, final CustodyUpdateLookups lookups) {
+        return lookups.institutions().apply(nomisCdeCode)
                 .map((Function<RInstitution, Either<PrisonLocationUpdateError, RInstitution>>) Either::right)
                 .orElseGet(() -> Either.left(new PrisonLocationUpdateError(PrisonLocationUpdateError.Reason.TransferPrisonNotFound, String.format("prison institution with nomis code  %s not found", nomisCdeCode))));
     }
@@ -414,6 +467,24 @@ public class CustodyService {
         return events.stream().map(event -> event.getDisposal().getCustody()).map(ConvictionTransformer::custodyOf).collect(toList());
     }
 
+    private CustodyUpdateLookups repositoryLookups() {
+        return new CustodyUpdateLookups(offenderRepository::findMostLikelyByNomsNumber, institutionRepository::findByNomisCdeCode, this::trackEvent);
+    }
+
+    private void trackEvent(final String name, final Map<String, String> properties) {
+        telemetryClient.trackEvent(name, properties, null);
+    }
+
+    /**
+     * Where the offenders and prisons named in custody changes are found, and where their telemetry is sent. A single
+     * change reads them from the repositories and tracks its telemetry straight away, while a bulk update finds
+     * everything named in a chunk of changes up front and only tracks the chunk's telemetry once it is committed.
+     */
+    record CustodyUpdateLookups(Function<String, Either<DuplicateOffenderException, Optional<Offender>>> offenders,
+                                Function<String, Optional<RInstitution>> institutions,
+                                BiConsumer<String, Map<String, String>> telemetry) {
+    }
+
     @Data
     static class PrisonLocationUpdateError {
         enum Reason {
@@ -0,0 +1,89 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
+import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusRole;
+import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Read through cache of Delius LDAP users, the roles held by each user and the role catalogue, so repeated user
+ * lookups do not search LDAP every time. Entries expire after a short time to live and are evicted as soon as this
+ * service changes them. Users that are not found are not cached so newly created users are seen straight away.
+ * Hit and miss counts for each cache are published to the meter registry.
+ */
+@Component
+public class DeliusUserCache {
+    private static final String ROLE_CATALOGUE = "ndRoleCatalogue";
+
+    private final LdapRepository ldapRepository;
+    private final Cache<String, NDeliusUser> users;
+    private final Cache<String, List<NDeliusRole>> roles;
+    private final Cache<String, List<String>> roleCatalogue;
+
+    public DeliusUserCache(LdapRepository ldapRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${delius.ldap.users.cache.time-to-live:5m}") Duration timeToLive,
+                           @Value("${delius.ldap.users.cache.maximum-size:10000}") long maximumSize) {
+        this.ldapRepository = ldapRepository;
+        this.users = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(), "ldapUsers");
+        this.roles = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(), "ldapUserRoles");
+        this.roleCatalogue = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build(), "ldapRoleCatalogue");
+    }
+
+    /**
+     * @return the user with their roles, or empty if there is no such user
+     */
+    public Optional<NDeliusUser> getDeliusUser(String username) {
+        final var key = keyOf(username);
+        return Optional.ofNullable(users.get(key, ignored -> ldapRepository.getDeliusUserNoRoles(username).orElse(null)))
+                .map(user -> user.toBuilder()
+                        .roles(roles.get(key, ignored -> List.copyOf(ldapRepository.mapRolesForUser(user).getRoles())))
+                        .build());
+    }
+
+    public List<String> getAllRoles() {
+        return roleCatalogue.get(ROLE_CATALOGUE, ignored -> List.copyOf(ldapRepository.getAllRoles()));
+    }
+
+    /**
+     * Forgets the roles held by the user, to be called whenever they are changed
+     */
+    public void evictRoles(String username) {
+        roles.invalidate(keyOf(username));
+    }
+
+    /**
+     * Forgets everything held about the user, to be called whenever their LDAP entry is changed
+     */
+    public void evictUser(String username) {
+        final var key = keyOf(username);
+        users.invalidate(key);
+        roles.invalidate(key);
+    }
+
+    // LDAP matches usernames ignoring case
+    private static String keyOf(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
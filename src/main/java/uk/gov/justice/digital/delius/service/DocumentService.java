@@ -1,11 +1,8 @@
 package uk.gov.justice.digital.delius.service;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import uk.gov.justice.digital.delius.data.api.ConvictionDocuments;
 import uk.gov.justice.digital.delius.data.api.DocumentLink;
@@ -13,20 +10,27 @@ import uk.gov.justice.digital.delius.data.api.OffenderDocumentDetail;
 import uk.gov.justice.digital.delius.data.api.OffenderDocumentDetail.Type;
 import uk.gov.justice.digital.delius.data.api.OffenderDocuments;
 import uk.gov.justice.digital.delius.data.filters.DocumentFilter;
-import uk.gov.justice.digital.delius.jpa.filters.CourtReportDocumentFilterTransformer;
+import uk.gov.justice.digital.delius.data.filters.DocumentFilter.SubType;
 import uk.gov.justice.digital.delius.jpa.national.repository.DocumentRepository;
 import uk.gov.justice.digital.delius.jpa.oracle.annotations.NationalUserOverride;
 import uk.gov.justice.digital.delius.jpa.standard.entity.*;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 import uk.gov.justice.digital.delius.jpa.standard.repository.*;
 import uk.gov.justice.digital.delius.transformers.DocumentTransformer;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
-import static uk.gov.justice.digital.delius.helpers.FluentHelper.not;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
@@ -49,6 +53,7 @@ public class DocumentService {
     private final PersonalCircumstanceDocumentRepository personalCircumstanceDocumentRepository;
     private final UPWAppointmentDocumentRepository upwAppointmentDocumentRepository;
     private final ContactDocumentRepository contactDocumentRepository;
+    private final ParallelQueryExecutor parallelQueryExecutor;
 
 
     @NationalUserOverride
@@ -79,155 +84,114 @@ public class DocumentService {
         documentRepository.save(documentEntity);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Each kind of document is read concurrently in its own read only transaction, along with the id of the event it
+     * belongs to, so the results can be grouped into convictions without re-filtering every list per event. There is
+     * deliberately no enclosing transaction, so the request thread holds no connection while it waits for the queries.
+     * Documents and convictions are listed in the same order they always have been.
+     */
     public OffenderDocuments offenderDocumentsFor(Long offenderId, DocumentFilter filter) {
         final var eventCpsPackFilter = filter.hasDocument(Type.CPSPACK_DOCUMENT, Event::hasCpsPack);
         final var hasPreviousConvictionsFilter = filter.hasDocument(Type.PRECONS_DOCUMENT, this::hasPreviousConvictions);
 
-        final var eventDocuments = eventDocumentsFor(offenderId, filter);
-        final var courtReportDocuments = courtReportDocumentsFor(offenderId, filter);
-        final var institutionReportDocuments = institutionReportDocumentsFor(offenderId, filter);
-        final var approvedPremisesReferralDocuments = approvedPremisesReferralDocumentsFor(offenderId, filter);
-        final var assessmentDocuments = assessmentDocumentsFor(offenderId, filter);
-        final var caseAllocationDocuments = caseAllocationDocumentsFor(offenderId, filter);
-        final var referralDocuments = referralDocumentsFor(offenderId, filter);
-        final var allNsiDocuments = nsiDocumentsFor(offenderId, filter);
-        final var nsiEventDocuments = allNsiDocuments.stream().filter(this::isEventRelated).collect(toList());
-        final var upwAppointmentDocuments = upwAppointmentDocumentsFor(offenderId, filter);
-        final var allContactDocuments = contactDocumentsFor(offenderId, filter);
-        final var contactEventDocuments = allContactDocuments.stream().filter(this::isEventRelated).collect(toList());
-        final var events = eventRepository.findByOffenderId(offenderId);
-        final var offender = offenderRepository
-                .findByOffenderId(offenderId)
-                .orElseThrow(() -> new RuntimeException(String.format("offenderDocumentsFor could not find offender %d", offenderId)));
-
-        final var setOfRelatedEventIds = ImmutableSet
-                .<Long>builder()
-                .addAll(events.stream().filter(eventCpsPackFilter).map(Event::getEventId).collect(toList()))
-                .addAll(eventDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(courtReportDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(institutionReportDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(approvedPremisesReferralDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(assessmentDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(caseAllocationDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(referralDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(nsiEventDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(upwAppointmentDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(contactEventDocuments.stream().map(this::eventId).collect(toList()))
-                .build();
-
-        final var convictions = setOfRelatedEventIds
-                .stream()
-                .map(eventId -> ConvictionDocuments
-                        .builder()
-                        .convictionId(String.valueOf(eventId))
-                        .documents(
-                                ImmutableList.<OffenderDocumentDetail>builder()
-                                        .addAll(toOffenderDocumentDetailList(eventWithCPsPack(events, eventId, eventCpsPackFilter)))
-                                        .addAll(
-                                            DocumentTransformer
-                                            .offenderDocumentsDetailsOfEventDocuments(
-                                                    eventDocuments
-                                                            .stream()
-                                                            .filter(document -> eventId(document).equals(eventId))
-                                                            .collect(toList())))
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfCourtReportDocuments(
-                                                        courtReportDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfInstitutionReportDocuments(
-                                                        institutionReportDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfContactDocuments(
-                                                        contactEventDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfApprovedPremisesReferralDocuments(
-                                                        approvedPremisesReferralDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfAssessmentDocuments(
-                                                        assessmentDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfCaseAllocationDocuments(
-                                                        caseAllocationDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfReferralDocuments(
-                                                        referralDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfNsiDocuments(
-                                                        nsiEventDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfUPWAppointmentDocuments(
-                                                        upwAppointmentDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .build()
-                        )
-                        .build())
+        final var previousConvictions = parallelQueryExecutor.submit(() -> previousConvictionsFor(offenderId, hasPreviousConvictionsFilter));
+        final var offenderRelatedDocuments = parallelQueryExecutor.submit(() -> offenderLevel(DocumentTransformer
+                .offenderDocumentsDetailsOfOffenderDocuments(offenderRelatedDocumentsFor(offenderId, filter))));
+        final var addressAssessmentDocuments = parallelQueryExecutor.submit(() -> offenderLevel(DocumentTransformer
+                .offenderDocumentsDetailsOfAddressAssessmentDocuments(addressAssessmentDocumentsFor(offenderId, filter))));
+        final var personalContactDocuments = parallelQueryExecutor.submit(() -> offenderLevel(DocumentTransformer
+                .offenderDocumentsDetailsOfPersonalContactDocuments(personalContactDocumentsFor(offenderId, filter))));
+        final var personalCircumstanceDocuments = parallelQueryExecutor.submit(() -> offenderLevel(DocumentTransformer
+                .offenderDocumentsDetailsOfPersonalCircumstanceDocuments(personalCircumstanceDocumentsFor(offenderId, filter))));
+        final var cpsPacks = parallelQueryExecutor.submit(() -> cpsPacksFor(offenderId, eventCpsPackFilter));
+        final var eventDocuments = parallelQueryExecutor.submit(() -> indexedByEvent(eventDocumentsFor(offenderId, filter),
+                DocumentTransformer::offenderDocumentsDetailsOfEventDocuments));
+        final var courtReportDocuments = parallelQueryExecutor.submit(() -> indexedByEvent(courtReportDocumentsFor(offenderId, filter),
+                DocumentTransformer::offenderDocumentsDetailsOfCourtReportDocuments));
+        final var institutionReportDocuments = parallelQueryExecutor.submit(() -> indexedByEvent(institutionReportDocumentsFor(offenderId, filter),
+                DocumentTransformer::offenderDocumentsDetailsOfInstitutionReportDocuments));
+        final var approvedPremisesReferralDocuments = parallelQueryExecutor.submit(() -> indexedByEvent(approvedPremisesReferralDocumentsFor(offenderId, filter),
+                DocumentTransformer::offenderDocumentsDetailsOfApprovedPremisesReferralDocuments));
+        final var assessmentDocuments = parallelQueryExecutor.submit(() -> indexedByEvent(assessmentDocumentsFor(offenderId, filter),
+                DocumentTransformer::offenderDocumentsDetailsOfAssessmentDocuments));
+        final var caseAllocationDocuments = parallelQueryExecutor.submit(() -> indexedByEvent(caseAllocationDocumentsFor(offenderId, filter),
+                DocumentTransformer::offenderDocumentsDetailsOfCaseAllocationDocuments));
+        final var referralDocuments = parallelQueryExecutor.submit(() -> indexedByEvent(referralDocumentsFor(offenderId, filter),
+                DocumentTransformer::offenderDocumentsDetailsOfReferralDocuments));
+        final var nsiDocuments = parallelQueryExecutor.submit(() -> indexedByEvent(nsiDocumentsFor(offenderId, filter),
+                DocumentTransformer::offenderDocumentsDetailsOfNsiDocuments));
+        final var upwAppointmentDocuments = parallelQueryExecutor.submit(() -> indexedByEvent(upwAppointmentDocumentsFor(offenderId, filter),
+                DocumentTransformer::offenderDocumentsDetailsOfUPWAppointmentDocuments));
+        final var contactDocuments = parallelQueryExecutor.submit(() -> indexedByEvent(contactDocumentsFor(offenderId, filter),
+                DocumentTransformer::offenderDocumentsDetailsOfContactDocuments));
+
+        final var offenderDocuments = resultsOf(
+                previousConvictions,
+                offenderRelatedDocuments,
+                addressAssessmentDocuments,
+                personalContactDocuments,
+                personalCircumstanceDocuments,
+                contactDocuments,
+                nsiDocuments)
+                .filter(document -> document.eventId() == null)
+                .map(IndexedDocument::detail)
                 .collect(toList());
 
+        // convictions are listed in the order their events are first found in, which is not the order of their documents
+        final var documentsByEventId = new LinkedHashMap<Long, List<OffenderDocumentDetail>>();
+        resultsOf(
+                cpsPacks,
+                eventDocuments,
+                courtReportDocuments,
+                institutionReportDocuments,
+                approvedPremisesReferralDocuments,
+                assessmentDocuments,
+                caseAllocationDocuments,
+                referralDocuments,
+                nsiDocuments,
+                upwAppointmentDocuments,
+                contactDocuments)
+                .map(IndexedDocument::eventId)
+                .filter(Objects::nonNull)
+                .forEach(eventId -> documentsByEventId.putIfAbsent(eventId, new ArrayList<>()));
+        resultsOf(
+                cpsPacks,
+                eventDocuments,
+                courtReportDocuments,
+                institutionReportDocuments,
+                contactDocuments,
+                approvedPremisesReferralDocuments,
+                assessmentDocuments,
+                caseAllocationDocuments,
+                referralDocuments,
+                nsiDocuments,
+                upwAppointmentDocuments)
+                .filter(document -> document.eventId() != null)
+                .forEach(document -> documentsByEventId.get(document.eventId()).add(document.detail()));
+
         return OffenderDocuments
                 .builder()
-                .documents(
-                        ImmutableList.<OffenderDocumentDetail>builder()
-                                .addAll(previousConvictions(offender, hasPreviousConvictionsFilter))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfOffenderDocuments(
-                                            offenderRelatedDocumentsFor(offenderId, filter)))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfAddressAssessmentDocuments(
-                                            addressAssessmentDocumentsFor(offenderId, filter)))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfPersonalContactDocuments(
-                                            personalContactDocumentsFor(offenderId, filter)))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfPersonalCircumstanceDocuments(
-                                            personalCircumstanceDocumentsFor(offenderId, filter)))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfContactDocuments(
-                                                allContactDocuments.stream().filter(not(this::isEventRelated)).collect(toList())))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfNsiDocuments(
-                                                allNsiDocuments.stream().filter(not(this::isEventRelated)).collect(toList())))
-                                .build()
-                )
-                .convictions(convictions)
+                .documents(offenderDocuments)
+                .convictions(documentsByEventId
+                        .entrySet()
+                        .stream()
+                        .map(documentsOfEvent -> ConvictionDocuments
+                                .builder()
+                                .convictionId(String.valueOf(documentsOfEvent.getKey()))
+                                .documents(documentsOfEvent.getValue())
+                                .build())
+                        .collect(toList()))
                 .build();
     }
 
+    @SafeVarargs
+    private static Stream<IndexedDocument> resultsOf(CompletableFuture<List<IndexedDocument>>... queries) {
+        return Stream
+                .of(queries)
+                .map(ParallelQueryExecutor::resultOf)
+                .flatMap(List::stream);
+    }
+
     private List<PersonalCircumstanceDocument> personalCircumstanceDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.PERSONAL_CIRCUMSTANCE_DOCUMENT, () -> personalCircumstanceDocumentRepository.findByOffenderId(offenderId));
     }
@@ -244,116 +208,90 @@ public class DocumentService {
         return filter.documentsFor(Type.OFFENDER_DOCUMENT, () -> offenderDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private List<ContactDocument> contactDocumentsFor(Long offenderId, DocumentFilter filter) {
+    private List<DocumentWithEventId<ContactDocument>> contactDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.CONTACT_DOCUMENT, () -> contactDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private List<UPWAppointmentDocument> upwAppointmentDocumentsFor(Long offenderId, DocumentFilter filter) {
+    private List<DocumentWithEventId<UPWAppointmentDocument>> upwAppointmentDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.UPW_APPOINTMENT_DOCUMENT, () -> upwAppointmentDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private List<NsiDocument> nsiDocumentsFor(Long offenderId, DocumentFilter filter) {
+    private List<DocumentWithEventId<NsiDocument>> nsiDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.NSI_DOCUMENT, () -> nsiDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private List<ReferralDocument> referralDocumentsFor(Long offenderId, DocumentFilter filter) {
+    private List<DocumentWithEventId<ReferralDocument>> referralDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.REFERRAL_DOCUMENT, () -> referralDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private List<CaseAllocationDocument> caseAllocationDocumentsFor(Long offenderId, DocumentFilter filter) {
+    private List<DocumentWithEventId<CaseAllocationDocument>> caseAllocationDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.CASE_ALLOCATION_DOCUMENT, () -> caseAllocationDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private List<AssessmentDocument> assessmentDocumentsFor(Long offenderId, DocumentFilter filter) {
+    private List<DocumentWithEventId<AssessmentDocument>> assessmentDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.ASSESSMENT_DOCUMENT, () -> assessmentDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private List<ApprovedPremisesReferralDocument> approvedPremisesReferralDocumentsFor(Long offenderId, DocumentFilter filter) {
+    private List<DocumentWithEventId<ApprovedPremisesReferralDocument>> approvedPremisesReferralDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.APPROVED_PREMISES_REFERRAL_DOCUMENT, () -> approvedPremisesReferralDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private List<InstitutionalReportDocument> institutionReportDocumentsFor(Long offenderId, DocumentFilter filter) {
+    private List<DocumentWithEventId<InstitutionalReportDocument>> institutionReportDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.INSTITUTION_REPORT_DOCUMENT, () -> institutionReportDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private List<CourtReportDocument> courtReportDocumentsFor(Long offenderId, DocumentFilter filter) {
-        return filter.documentsFor(Type.COURT_REPORT_DOCUMENT, type -> courtReportDocumentRepository.findAll(CourtReportDocumentFilterTransformer.of(offenderId, type)));
+    private List<DocumentWithEventId<CourtReportDocument>> courtReportDocumentsFor(Long offenderId, DocumentFilter filter) {
+        return filter.documentsFor(Type.COURT_REPORT_DOCUMENT, subType -> subType == SubType.PSR
+                ? courtReportDocumentRepository.findByOffenderIdAndCourtReportTypeCodeIn(offenderId, RCourtReportType.PRE_SENTENCE_REPORT_TYPES)
+                : courtReportDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private List<EventDocument> eventDocumentsFor(Long offenderId, DocumentFilter filter) {
+    private List<DocumentWithEventId<EventDocument>> eventDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.CONVICTION_DOCUMENT, () -> eventDocumentRepository.findByOffenderId(offenderId));
     }
 
-    private boolean isEventRelated(ContactDocument contactDocument) {
-        return Optional.ofNullable(contactDocument.getContact().getEvent()).isPresent();
-    }
-
-    private boolean isEventRelated(NsiDocument nsiDocument) {
-        return Optional.ofNullable(nsiDocument.getNsi().getEvent()).isPresent();
-    }
-
-    private Long eventId(EventDocument document) {
-        return document.getEvent().getEventId();
-    }
-
-    private Long eventId(InstitutionalReportDocument document) {
-        return document.getInstitutionalReport().getCustody().getDisposal().getEvent().getEventId();
-    }
-
-    private Long eventId(CourtReportDocument document) {
-        return document.getCourtReport().getCourtAppearance().getEvent().getEventId();
-    }
-
-    private Long eventId(ApprovedPremisesReferralDocument document) {
-        return document.getApprovedPremisesReferral().getEvent().getEventId();
-    }
-
-    private Long eventId(AssessmentDocument document) {
-        return document.getAssessment().getReferral().getEvent().getEventId();
-    }
-
-    private Long eventId(CaseAllocationDocument document) {
-        return document.getCaseAllocation().getEvent().getEventId();
-    }
-
-    private Long eventId(ReferralDocument document) {
-        return document.getReferral().getEvent().getEventId();
-    }
-
-    private Long eventId(NsiDocument document) {
-        return document.getNsi().getEvent().getEventId();
+    private List<IndexedDocument> cpsPacksFor(Long offenderId, Predicate<Event> eventCpsPackFilter) {
+        return eventRepository
+                .findByOffenderId(offenderId)
+                .stream()
+                .filter(eventCpsPackFilter)
+                .map(event -> new IndexedDocument(event.getEventId(), DocumentTransformer.offenderDocumentDetailsOfCpsPack(event)))
+                .collect(toList());
     }
 
-    private Long eventId(UPWAppointmentDocument document) {
-        return document.getUpwAppointment().getUpwDetails().getDisposal().getEvent().getEventId();
-    }
-    private Long eventId(ContactDocument document) {
-        return Optional.ofNullable(document.getContact().getEvent()).map(Event::getEventId).orElseThrow(() -> new RuntimeException("requested eventId even when this is offender related"));
+    private List<IndexedDocument> previousConvictionsFor(Long offenderId, Predicate<Offender> previousConvictionCheck) {
+        final var offender = offenderRepository
+                .findByOffenderId(offenderId)
+                .orElseThrow(() -> new RuntimeException(String.format("offenderDocumentsFor could not find offender %d", offenderId)));
+        return Optional.of(offender)
+                .filter(previousConvictionCheck)
+                .map(offenderWithPreCPns -> offenderLevel(List.of(DocumentTransformer.offenderDocumentDetailsOfPreviousConvictions(offenderWithPreCPns))))
+                .orElseGet(List::of);
     }
 
-    private Optional<Event> eventWithCPsPack(List<Event> events, Long eventId, Predicate<Event> eventCpsPackFilter) {
-        return events
+    private static List<IndexedDocument> offenderLevel(List<OffenderDocumentDetail> documents) {
+        return documents
                 .stream()
-                .filter(event -> event.getEventId().equals(eventId))
-                .filter(eventCpsPackFilter)
-                .findAny();
-    }
-
-    private List<OffenderDocumentDetail> toOffenderDocumentDetailList(Optional<Event> maybeEvent) {
-        return maybeEvent
-                .map(event -> ImmutableList.of(DocumentTransformer.offenderDocumentDetailsOfCpsPack(event)))
-                .orElseGet(ImmutableList::of);
+                .map(document -> new IndexedDocument(null, document))
+                .collect(toList());
     }
 
-    private List<OffenderDocumentDetail> previousConvictions(Offender offender, Predicate<Offender> previousConvictionCheck) {
-        return Optional.of(offender)
-                .filter(previousConvictionCheck)
-                .map(offenderWithPreCPns -> ImmutableList.of(DocumentTransformer.offenderDocumentDetailsOfPreviousConvictions(offenderWithPreCPns)))
-                .orElseGet(ImmutableList::of);
+    private static <T> List<IndexedDocument> indexedByEvent(List<DocumentWithEventId<T>> documents, Function<List<T>, List<OffenderDocumentDetail>> transformer) {
+        final var details = transformer.apply(documents.stream().map(DocumentWithEventId::document).collect(toList()));
+        return IntStream
+                .range(0, documents.size())
+                .mapToObj(index -> new IndexedDocument(documents.get(index).eventId(), details.get(index)))
+                .collect(toList());
     }
 
     private boolean hasPreviousConvictions(Offender offender) {
         return StringUtils.hasText(offender.getPreviousConvictionsAlfrescoDocumentId());
     }
+
+    /**
+     * A document's details along with the id of the event it belongs to, or null when it belongs to the offender
+     */
+    private record IndexedDocument(Long eventId, OffenderDocumentDetail detail) {
+    }
 }
 
@@ -0,0 +1,97 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
+import uk.gov.justice.digital.delius.jpa.national.entity.ProbationArea;
+import uk.gov.justice.digital.delius.jwt.Jwt;
+import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
+import uk.gov.justice.digital.delius.service.wrapper.UserRepositoryWrapper;
+import uk.gov.justice.digital.delius.user.UserData;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Issues tokens to legacy clients that log on with a distinguished name. The uid and probation areas looked up for a
+ * distinguished name are cached for a short time, and a token may be handed out again for a fraction of its lifetime,
+ * so clients that log on before every batch of calls do not search LDAP, read the user and sign a token each time.
+ * Probation areas are maintained in Delius rather than through this API, so the cache time to live bounds how long a
+ * change to them takes to reach new tokens. Tokens are cached by the claims they hold and are never reused once those
+ * claims change.
+ */
+@Service
+public class LogonService {
+    private static final List<String> SYSTEM_USERS = ImmutableList.of(CurrentUserSupplier.NATIONAL_USER, CurrentUserSupplier.API_USER);
+
+    private final Jwt jwt;
+    private final LdapRepository ldapRepository;
+    private final UserRepositoryWrapper userRepositoryWrapper;
+    private final Cache<String, UserData> users;
+    private final Optional<Cache<UserData, String>> tokens;
+
+    public LogonService(Jwt jwt,
+                        LdapRepository ldapRepository,
+                        UserRepositoryWrapper userRepositoryWrapper,
+                        @Value("${logon.cache.time-to-live:60s}") Duration timeToLive,
+                        @Value("${logon.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${logon.token-reuse-fraction:0}") double tokenReuseFraction,
+                        @Value("${jwt.lifetimeSeconds:300}") int lifetimeSeconds) {
+        if (tokenReuseFraction < 0 || tokenReuseFraction >= 1) {
+            throw new IllegalArgumentException(String.format("logon.token-reuse-fraction must be at least 0 and less than 1 but was %s", tokenReuseFraction));
+        }
+        this.jwt = jwt;
+        this.ldapRepository = ldapRepository;
+        this.userRepositoryWrapper = userRepositoryWrapper;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .build();
+        this.tokens = Optional.of(Duration.ofMillis((long) (lifetimeSeconds * 1000L * tokenReuseFraction)))
+                .filter(reuseFor -> !reuseFor.isZero())
+                .map(reuseFor -> Caffeine.newBuilder()
+                        .expireAfterWrite(reuseFor)
+                        .maximumSize(maximumSize)
+                        .build());
+    }
+
+    /**
+     * @return a token for the user with the distinguished name, or empty if there is no such user
+     */
+    @Transactional
+    public Optional<String> tokenFor(final String distinguishedName) {
+        return Optional.ofNullable(users.get(distinguishedName, this::lookup))
+                .map(userData -> tokens
+                        .map(cache -> cache.get(userData, jwt::buildToken))
+                        .orElseGet(() -> jwt.buildToken(userData)));
+    }
+
+    private UserData lookup(final String distinguishedName) {
+        final var maybeUid = SYSTEM_USERS.contains(distinguishedName) ? Optional.of(distinguishedName) : ldapRepository.getDeliusUid(distinguishedName);
+
+        // users that are not found are not cached
+        return maybeUid.map(uid -> UserData.builder()
+                        .distinguishedName(distinguishedName)
+                        .uid(uid)
+                        .probationAreaCodes(probationAreaCodesOf(uid))
+                        .build())
+                .orElse(null);
+    }
+
+    private List<String> probationAreaCodesOf(String uid) {
+        return Optional.ofNullable(
+                userRepositoryWrapper
+                        .getUser(uid)
+                        .getProbationAreas())
+                .map(probationAreas -> probationAreas.stream()
+                        .map(ProbationArea::getCode)
+                        .collect(Collectors.toList())).orElse(Collections.emptyList());
+    }
+}
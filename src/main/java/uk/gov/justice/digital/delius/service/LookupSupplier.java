@@ -20,7 +20,7 @@ public class LookupSupplier {
     public static final String COURT_TYPE_REF_DATASET = "COURT TYPE";
     private final OffenceRepository offenceRepository;
     private final UserRepository userRepository;
-    private final StandardReferenceRepository standardReferenceRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final CourtRepository courtRepository;
     private final ProbationAreaRepository probationAreaRepository;
     private final TeamRepository teamRepository;
@@ -31,10 +31,10 @@ public class LookupSupplier {
     public static final String INITIAL_ORDER_ALLOCATION = "IN1";
     public static final String TRANSFER_CASE_INITIAL_REASON = "CASE ORDER";
 
-    public LookupSupplier(OffenceRepository offenceRepository, UserRepository userRepository, StandardReferenceRepository standardReferenceRepository, CourtRepository courtRepository, ProbationAreaRepository probationAreaRepository, TeamRepository teamRepository, StaffRepository staffRepository, TransferReasonRepository transferReasonRepository, CurrentUserSupplier currentUserSupplier) {
+    public LookupSupplier(OffenceRepository offenceRepository, UserRepository userRepository, ReferenceDataRegistry referenceDataRegistry, CourtRepository courtRepository, ProbationAreaRepository probationAreaRepository, TeamRepository teamRepository, StaffRepository staffRepository, TransferReasonRepository transferReasonRepository, CurrentUserSupplier currentUserSupplier) {
         this.offenceRepository = offenceRepository;
         this.userRepository = userRepository;
-        this.standardReferenceRepository = standardReferenceRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.courtRepository = courtRepository;
         this.probationAreaRepository = probationAreaRepository;
         this.teamRepository = teamRepository;
@@ -54,7 +54,7 @@ public class LookupSupplier {
     }
 
     public Function<String, StandardReference> courtAppearanceOutcomeSupplier() {
-        return code -> standardReferenceRepository.findByCodeAndCodeSetName(code, COURT_APPEARANCE_OUTCOME_REF_DATASET)
+        return code -> referenceDataRegistry.findByCodeAndCodeSetName(code, COURT_APPEARANCE_OUTCOME_REF_DATASET)
                 .orElseThrow(() -> new RuntimeException(String.format("No outcome found for %s", code)));
     }
 
@@ -64,12 +64,12 @@ public class LookupSupplier {
     }
 
     public Function<String, StandardReference> orderAllocationReasonSupplier() {
-        return code -> standardReferenceRepository.findByCodeAndCodeSetName(code, ORDER_ALLOCATION_REASON_REF_DATASET)
+        return code -> referenceDataRegistry.findByCodeAndCodeSetName(code, ORDER_ALLOCATION_REASON_REF_DATASET)
                 .orElseThrow(() -> new RuntimeException(String.format("No allocation reason found for %s", code)));
     }
 
     public Function<String, Optional<StandardReference>> custodyKeyDateTypeSupplier() {
-        return code -> standardReferenceRepository.findByCodeAndCodeSetName(code, CUSTODY_KEY_DATE_TYPE_REF_DATASET);
+        return code -> referenceDataRegistry.findByCodeAndCodeSetName(code, CUSTODY_KEY_DATE_TYPE_REF_DATASET);
     }
 
     public Function<Long, Court> courtSupplier() {
@@ -128,7 +128,7 @@ public class LookupSupplier {
     }
 
     public Optional<StandardReference> courtTypeByCode(String code) {
-        return standardReferenceRepository.findByCodeAndCodeSetName(code, COURT_TYPE_REF_DATASET);
+        return referenceDataRegistry.findByCodeAndCodeSetName(code, COURT_TYPE_REF_DATASET);
     }
     public Optional<ProbationArea> probationAreaByCode(String code) {
         return probationAreaRepository.findByCode(code);
@@ -1,6 +1,7 @@
 package uk.gov.justice.digital.delius.service;
 
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -9,7 +10,11 @@ import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
 import uk.gov.justice.digital.delius.jpa.dao.OffenderDelta;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderDeltaRepository;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,22 +33,41 @@ public class OffenderDeltaService {
      * that to avoid clashes
      */
     static final int WAIT_BEFORE_LOCKING_DELTA_SECONDS = 2;
+    private static final int MAX_FETCH_SIZE = 500;
 
-    public OffenderDeltaService(JdbcTemplate jdbcTemplate, OffenderDeltaRepository offenderDeltaRepository) {
+    /*
+     * Row lock clause appended to the batch lease query. Oracle supports SKIP LOCKED so competing consumers
+     * never block on each other's rows, H2 just takes a plain lock
+     */
+    private final String leaseLockClause;
+
+    public OffenderDeltaService(JdbcTemplate jdbcTemplate,
+                                OffenderDeltaRepository offenderDeltaRepository,
+                                @Value("${offender-updates.lease.lock-clause:FOR UPDATE}") String leaseLockClause) {
         this.jdbcTemplate = jdbcTemplate;
         this.offenderDeltaRepository = offenderDeltaRepository;
+        this.leaseLockClause = leaseLockClause;
     }
 
-    public List<OffenderDelta> findAll() {
-        return jdbcTemplate.query("SELECT * FROM OFFENDER_DELTA", (resultSet, rowNum) ->
-                OffenderDelta.builder()
+    /**
+     * Returns the next page of deltas after the supplied offenderDeltaId in offenderDeltaId order. The row limit is
+     * applied through the JDBC driver rather than database specific syntax so only one page is ever fetched.
+     */
+    public List<OffenderDelta> findAll(final long afterOffenderDeltaId, final int limit) {
+        return jdbcTemplate.query(connection -> {
+                    final var statement = connection.prepareStatement(
+                            "SELECT OFFENDER_DELTA_ID, OFFENDER_ID, DATE_CHANGED, ACTION FROM OFFENDER_DELTA WHERE OFFENDER_DELTA_ID > ? ORDER BY OFFENDER_DELTA_ID");
+                    statement.setLong(1, afterOffenderDeltaId);
+                    statement.setMaxRows(limit);
+                    statement.setFetchSize(Math.min(limit, MAX_FETCH_SIZE));
+                    return statement;
+                },
+                (resultSet, rowNum) -> OffenderDelta.builder()
+                        .offenderDeltaId(resultSet.getLong("OFFENDER_DELTA_ID"))
                         .offenderId(resultSet.getLong("OFFENDER_ID"))
                         .dateChanged(resultSet.getTimestamp("DATE_CHANGED").toLocalDateTime())
                         .action(resultSet.getString("ACTION"))
-                        .build())
-                .stream()
-                .limit(1000) // limit to 1000 without using database specific syntax specific technology
-                .collect(toList());
+                        .build());
     }
 
     @Transactional
@@ -83,6 +107,72 @@ public class OffenderDeltaService {
                 .map(this::transformDelta);
     }
 
+    /**
+     * Leases up to max new updates, topping up with failed updates if there are not enough new ones. Rows are
+     * claimed with a row lock so concurrent callers receive disjoint batches without optimistic lock retries.
+     * The leased updates become available again as failed updates once leaseSeconds have elapsed.
+     */
+    @Transactional
+    public List<OffenderUpdate> leaseNextUpdates(final int max, final int leaseSeconds) {
+        final var leasedUntil = LocalDateTime.now()
+                .minusMinutes(IN_PROGRESS_IS_FAILED_AFTER_MINUTES)
+                .plusSeconds(leaseSeconds);
+
+        final var updates = new ArrayList<>(leaseDeltas("CREATED", getCreatedCutOffTime(), max, leasedUntil));
+        if (updates.size() < max) {
+            leaseDeltas("INPROGRESS", getFailedCutoffDateTime(), max - updates.size(), leasedUntil)
+                    .stream()
+                    .map(OffenderUpdate::setAsFailed)
+                    .forEach(updates::add);
+        }
+        return updates;
+    }
+
+    private List<OffenderUpdate> leaseDeltas(final String status, final LocalDateTime cutOffTime, final int max, final LocalDateTime leasedUntil) {
+        final var deltas = jdbcTemplate.query(connection -> {
+                    final var statement = connection.prepareStatement(
+                            "SELECT * FROM OFFENDER_DELTA WHERE STATUS = ? AND LAST_UPDATED_DATETIME <= ? ORDER BY CREATED_DATETIME " + leaseLockClause);
+                    statement.setString(1, status);
+                    statement.setTimestamp(2, Timestamp.valueOf(cutOffTime));
+                    statement.setMaxRows(max);
+                    statement.setFetchSize(max);
+                    return statement;
+                },
+                (resultSet, rowNum) -> uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta.builder()
+                        .offenderDeltaId(resultSet.getLong("OFFENDER_DELTA_ID"))
+                        .offenderId(resultSet.getLong("OFFENDER_ID"))
+                        .dateChanged(resultSet.getTimestamp("DATE_CHANGED").toLocalDateTime())
+                        .action(resultSet.getString("ACTION"))
+                        .sourceTable(resultSet.getString("SOURCE_TABLE"))
+                        .sourceRecordId(resultSet.getObject("SOURCE_RECORD_ID", Long.class))
+                        .status("INPROGRESS")
+                        .build());
+
+        // only hand out the oldest of any duplicates in the batch
+        final var seen = new HashSet<List<Object>>();
+        final var leased = new ArrayList<uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta>();
+        final var duplicates = new ArrayList<Long>();
+        deltas.forEach(delta -> {
+            if (seen.add(Arrays.asList(delta.getOffenderId(), delta.getSourceTable(), delta.getSourceRecordId()))) {
+                leased.add(delta);
+            } else {
+                duplicates.add(delta.getOffenderDeltaId());
+            }
+        });
+
+        jdbcTemplate.batchUpdate("UPDATE OFFENDER_DELTA SET STATUS = 'INPROGRESS', LAST_UPDATED_DATETIME = ? WHERE OFFENDER_DELTA_ID = ?",
+                leased.stream().map(delta -> new Object[]{Timestamp.valueOf(leasedUntil), delta.getOffenderDeltaId()}).collect(toList()));
+        if ("CREATED".equals(status)) {
+            // as lockNextUpdate, every other duplicate in the table goes, including those in this batch
+            jdbcTemplate.batchUpdate("DELETE FROM OFFENDER_DELTA WHERE OFFENDER_DELTA_ID <> ? AND OFFENDER_ID = ? AND SOURCE_TABLE = ? AND SOURCE_RECORD_ID = ?",
+                    leased.stream().map(delta -> new Object[]{delta.getOffenderDeltaId(), delta.getOffenderId(), delta.getSourceTable(), delta.getSourceRecordId()}).collect(toList()));
+        } else {
+            deleteDeltas(duplicates);
+        }
+
+        return leased.stream().map(this::transformDelta).collect(toList());
+    }
+
     private OffenderUpdate transformDelta(final uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta delta) {
         return OffenderUpdate.builder()
                 .offenderDeltaId(delta.getOffenderDeltaId())
@@ -99,6 +189,18 @@ public class OffenderDeltaService {
         offenderDeltaRepository.deleteById(offenderDeltaId);
     }
 
+    @Transactional
+    public void deleteDeltas(final List<Long> offenderDeltaIds) {
+        jdbcTemplate.batchUpdate("DELETE FROM OFFENDER_DELTA WHERE OFFENDER_DELTA_ID = ?",
+                offenderDeltaIds.stream().map(id -> new Object[]{id}).collect(toList()));
+    }
+
+    @Transactional
+    public void markAllAsFailed(final List<Long> offenderDeltaIds) {
+        jdbcTemplate.batchUpdate("UPDATE OFFENDER_DELTA SET STATUS = 'FAILED' WHERE OFFENDER_DELTA_ID = ?",
+                offenderDeltaIds.stream().map(id -> new Object[]{id}).collect(toList()));
+    }
+
     public void markAsFailed(final Long offenderDeltaId) {
         offenderDeltaRepository.findById(offenderDeltaId)
                 .orElseThrow(() -> new NotFoundException(format("Cannot mark as failed for offenderDeltaId %s", offenderDeltaId)))
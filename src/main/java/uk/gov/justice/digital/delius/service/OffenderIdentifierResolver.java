@@ -0,0 +1,116 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vavr.control.Either;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderKeys;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderSentenceKeys;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository.DuplicateOffenderException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository.normalisedNomsNumberOf;
+
+/**
+ * Resolves one offender identifier to another with scalar queries rather than loading the offender, remembering
+ * the answers in bounded caches. A CRN and offender id always belong together so those are kept until evicted
+ * for space, whereas NOMS numbers can be moved between offenders so those also expire and are evicted on update.
+ */
+@Component
+public class OffenderIdentifierResolver {
+    private final OffenderRepository offenderRepository;
+    private final Cache<String, Long> offenderIdByCrn;
+    private final Cache<Long, String> crnByOffenderId;
+    private final Cache<String, NomsNumberKeys> keysByNomsNumber;
+
+    public OffenderIdentifierResolver(OffenderRepository offenderRepository,
+                                      @Value("${offender-identifiers.cache.maximum-size:50000}") long maximumSize,
+                                      @Value("${offender-identifiers.cache.noms-number-time-to-live:10m}") Duration nomsNumberTimeToLive) {
+        this.offenderRepository = offenderRepository;
+        this.offenderIdByCrn = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.crnByOffenderId = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.keysByNomsNumber = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(nomsNumberTimeToLive).build();
+    }
+
+    public Optional<Long> offenderIdOfCrn(String crn) {
+        return Optional.ofNullable(offenderIdByCrn.get(crn, key -> offenderRepository.getOffenderIdFrom(key)
+                .map(offenderId -> {
+                    crnByOffenderId.put(offenderId, key);
+                    return offenderId;
+                })
+                .orElse(null)));
+    }
+
+    public Optional<String> crnOf(Long offenderId) {
+        return Optional.ofNullable(crnByOffenderId.get(offenderId, key -> offenderRepository.getCrnFrom(key)
+                .map(crn -> {
+                    offenderIdByCrn.put(crn, key);
+                    return crn;
+                })
+                .orElse(null)));
+    }
+
+    public Optional<Long> offenderIdOfNomsNumber(String nomsNumber) {
+        return keysOfNomsNumber(nomsNumber).map(NomsNumberKeys::offenderId);
+    }
+
+    public Optional<String> crnOfNomsNumber(String nomsNumber) {
+        return keysOfNomsNumber(nomsNumber).map(NomsNumberKeys::crn);
+    }
+
+    /**
+     * Picks the offender most likely meant by a NOMS number in the same way as OffenderRepository.findMostLikelyByNomsNumber,
+     * reading only their keys. A NOMS number held by a single offender is remembered like any other.
+     */
+    public Either<DuplicateOffenderException, Optional<Long>> mostLikelyOffenderIdOfNomsNumber(String nomsNumber) {
+        final var key = normalisedNomsNumberOf(nomsNumber);
+        final var known = keysByNomsNumber.getIfPresent(key);
+        if (known != null) {
+            return Either.right(Optional.of(known.offenderId()));
+        }
+        final var offenders = offenderRepository.findAllSentenceKeysByNomsNumber(key);
+        if (offenders.size() == 1) {
+            keysByNomsNumber.put(key, remembered(offenders.get(0)));
+        }
+        return OffenderRepository.mostLikelyOf(nomsNumber, offenders, OffenderSentenceKeys::hasActiveSentence)
+                .map(offender -> offender.map(OffenderKeys::getOffenderId));
+    }
+
+    /**
+     * Forgets the NOMS number now and again once the current transaction, if any, has completed, so an offender read
+     * before the move is visible to other transactions is not kept.
+     */
+    public void evictNomsNumber(String nomsNumber) {
+        final var key = normalisedNomsNumberOf(nomsNumber);
+        keysByNomsNumber.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    keysByNomsNumber.invalidate(key);
+                }
+            });
+        }
+    }
+
+    private Optional<NomsNumberKeys> keysOfNomsNumber(String nomsNumber) {
+        return Optional.ofNullable(keysByNomsNumber.get(normalisedNomsNumberOf(nomsNumber), key -> offenderRepository.findKeysByNomsNumber(key)
+                .map(this::remembered)
+                .orElse(null)));
+    }
+
+    private NomsNumberKeys remembered(OffenderKeys keys) {
+        offenderIdByCrn.put(keys.getCrn(), keys.getOffenderId());
+        crnByOffenderId.put(keys.getOffenderId(), keys.getCrn());
+        return new NomsNumberKeys(keys.getOffenderId(), keys.getCrn());
+    }
+
+    private record NomsNumberKeys(Long offenderId, String crn) {
+    }
+}
@@ -24,16 +24,19 @@ public class OffenderIdentifierService {
     private final OffenderRepository offenderRepository;
     private final SpgNotificationService spgNotificationService;
     private final ReferenceDataService referenceDataService;
+    private final OffenderIdentifierResolver offenderIdentifierResolver;
 
     public OffenderIdentifierService(
             @Value("${features.noms.update.noms.number}") Boolean updateNomsNumberFeatureSwitch,
             OffenderRepository offenderRepository,
             SpgNotificationService spgNotificationService,
-            ReferenceDataService referenceDataService) {
+            ReferenceDataService referenceDataService,
+            OffenderIdentifierResolver offenderIdentifierResolver) {
         this.updateNomsNumberFeatureSwitch = updateNomsNumberFeatureSwitch;
         this.offenderRepository = offenderRepository;
         this.spgNotificationService = spgNotificationService;
         this.referenceDataService = referenceDataService;
+        this.offenderIdentifierResolver = offenderIdentifierResolver;
         log.info("NOMIS update NOMS number feature is {}", this.updateNomsNumberFeatureSwitch ? "ON" : "OFF");
     }
 
@@ -77,6 +80,8 @@ public class OffenderIdentifierService {
         return offenders.stream().map(OffenderTransformer::idsOf).collect(Collectors.toList());
     }
     private void doUpdateNomsNumber(String nomsNumber, Offender offender) {
+        offenderIdentifierResolver.evictNomsNumber(nomsNumber);
+        Optional.ofNullable(offender.getNomsNumber()).ifPresent(offenderIdentifierResolver::evictNomsNumber);
         offenderRepository.findAllByNomsNumber(nomsNumber).forEach(duplicateOffender -> {
             duplicateOffender.setNomsNumber(null);
             final var additionalIdentifier = AdditionalIdentifier
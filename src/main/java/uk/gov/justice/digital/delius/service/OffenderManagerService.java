@@ -1,10 +1,16 @@
 package uk.gov.justice.digital.delius.service;
 
 import com.microsoft.applicationinsights.TelemetryClient;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
 import uk.gov.justice.digital.delius.controller.ConflictingRequestException;
 import uk.gov.justice.digital.delius.controller.InvalidRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
@@ -26,6 +32,7 @@ import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.PrisonOffenderManagerRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ProbationAreaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ResponsibleOfficerRepository;
+import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
 import uk.gov.justice.digital.delius.transformers.OffenderManagerTransformer;
 
 import java.time.LocalDate;
@@ -42,7 +49,7 @@ import static java.util.Optional.empty;
 
 @Service
 @Slf4j
-@AllArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
 public class OffenderManagerService {
 
     private final OffenderRepository offenderRepository;
@@ -54,15 +61,46 @@ public class OffenderManagerService {
     private final ReferenceDataService referenceDataService;
     private final ContactService contactService;
     private final TelemetryClient telemetryClient;
+    private final ProbationAreaTeamRegistry probationAreaTeamRegistry;
+    private final TransactionOperations transaction;
+    private final TransactionOperations readOnlyTransaction;
+
+    @Autowired
+    public OffenderManagerService(OffenderRepository offenderRepository,
+                                  ProbationAreaRepository probationAreaRepository,
+                                  PrisonOffenderManagerRepository prisonOffenderManagerRepository,
+                                  ResponsibleOfficerRepository responsibleOfficerRepository,
+                                  StaffService staffService,
+                                  TeamService teamService,
+                                  ReferenceDataService referenceDataService,
+                                  ContactService contactService,
+                                  TelemetryClient telemetryClient,
+                                  ProbationAreaTeamRegistry probationAreaTeamRegistry,
+                                  @Qualifier("standardTransactionManager") PlatformTransactionManager transactionManager) {
+        this(offenderRepository,
+                probationAreaRepository,
+                prisonOffenderManagerRepository,
+                responsibleOfficerRepository,
+                staffService,
+                teamService,
+                referenceDataService,
+                contactService,
+                telemetryClient,
+                probationAreaTeamRegistry,
+                new TransactionTemplate(transactionManager),
+                readOnlyTransactionTemplate(transactionManager));
+    }
 
-    @Transactional(readOnly = true)
+    // the offender managers are read in a transaction of their own and only then are their contact details read from
+    // LDAP, so a slow LDAP server never holds a database connection
     public Optional<List<CommunityOrPrisonOffenderManager>> getAllOffenderManagersForNomsNumber(final String nomsNumber, final boolean includeProbationAreaTeams) {
-        return offenderRepository.findByNomsNumber(nomsNumber).map(offender -> getAllOffenderManagers(offender, includeProbationAreaTeams));
+        return readOnlyTransaction.execute(status -> offenderRepository.findByNomsNumber(nomsNumber).map(offender -> getAllOffenderManagers(offender, includeProbationAreaTeams)))
+                .map(this::withContactDetails);
     }
 
-    @Transactional(readOnly = true)
     public Optional<List<CommunityOrPrisonOffenderManager>> getAllOffenderManagersForCrn(final String crn, final boolean includeProbationAreaTeams) {
-        return offenderRepository.findByCrn(crn).map(offender -> getAllOffenderManagers(offender, includeProbationAreaTeams));
+        return readOnlyTransaction.execute(status -> offenderRepository.findByCrn(crn).map(offender -> getAllOffenderManagers(offender, includeProbationAreaTeams)))
+                .map(this::withContactDetails);
     }
 
     @Transactional
@@ -217,9 +255,8 @@ public class OffenderManagerService {
         autoAllocatePrisonOffenderManagerAtInstitution(offender, prisonerOffenderManager.getProbationArea().getInstitution());
     }
 
-    @Transactional
     public CommunityOrPrisonOffenderManager switchResponsibleOfficer(String nomsNumber, ResponsibleOfficerSwitch responsibleOfficerSwitch) {
-        return offenderRepository.findByNomsNumber(nomsNumber).map(offender -> {
+        final var responsibleOfficer = transaction.execute(status -> offenderRepository.findByNomsNumber(nomsNumber).map(offender -> {
             currentResponsibleOfficer(offender).orElseThrow(() -> {
                 throw new ConflictingRequestException(String.format("Cannot find a current RO for %s", offender.getNomsNumber()));
             });
@@ -229,7 +266,8 @@ public class OffenderManagerService {
                 switchResponsibleOfficerToPrisonOffenderManager(offender);
             }
             return currentResponsibleOfficer(offender).orElseThrow();
-        }).orElseThrow(() -> new NotFoundException(String.format("Offender with nomsNumber %s not found", nomsNumber)));
+        }).orElseThrow(() -> new NotFoundException(String.format("Offender with nomsNumber %s not found", nomsNumber))));
+        return withContactDetails(List.of(responsibleOfficer)).get(0);
     }
 
     private void switchResponsibleOfficerToPrisonOffenderManager(Offender offender) {
@@ -283,43 +321,73 @@ public class OffenderManagerService {
                 .build();
     }
 
-    private Optional<CommunityOrPrisonOffenderManager> currentResponsibleOfficer(final Offender offender) {
-        return getAllOffenderManagers(offender)
+    private Optional<OffenderManagerOfUser> currentResponsibleOfficer(final Offender offender) {
+        return getAllOffenderManagers(offender, true)
                 .stream()
-                .filter(CommunityOrPrisonOffenderManager::getIsResponsibleOfficer)
+                .filter(offMgr -> offMgr.offenderManager().getIsResponsibleOfficer())
                 .findAny();
     }
 
-    private List<CommunityOrPrisonOffenderManager> getAllOffenderManagers(final Offender offender) {
-        return getAllOffenderManagers(offender, true);
-    }
-
-    private List<CommunityOrPrisonOffenderManager> getAllOffenderManagers(final Offender offender, final boolean includeProbationAreaTeams) {
+    private List<OffenderManagerOfUser> getAllOffenderManagers(final Offender offender, final boolean includeProbationAreaTeams) {
         return combine(
                     offender.getOffenderManagers()
                         .stream()
                         .filter(OffenderManager::isActive)
-                        .map(this::addLdapFields)
-                        .map(offMgr -> OffenderManagerTransformer.offenderManagerOf(offMgr, includeProbationAreaTeams))
+                        .map(offMgr -> new OffenderManagerOfUser(OffenderManagerTransformer.offenderManagerOf(offMgr, false), usernameOf(offMgr)))
+                        .map(offMgr -> includeProbationAreaTeams ? withProbationAreaTeams(offMgr) : offMgr)
                         .collect(Collectors.toList()),
                 offender.getPrisonOffenderManagers()
                         .stream()
                         .filter(PrisonOffenderManager::isActive)
-                        .map(offMgr -> OffenderManagerTransformer.offenderManagerOf(offMgr, includeProbationAreaTeams))
+                        .map(offMgr -> new OffenderManagerOfUser(OffenderManagerTransformer.offenderManagerOf(offMgr, false), empty()))
+                        .map(offMgr -> includeProbationAreaTeams ? withProbationAreaTeams(offMgr) : offMgr)
                         .collect(Collectors.toList())
         );
     }
 
-    OffenderManager addLdapFields(OffenderManager offenderManager) {
-        Optional.ofNullable(offenderManager.getStaff())
-            .map(Staff::getUser)
-            .map(User::getDistinguishedName)
-            .flatMap(staffService::getStaffDetailsByUsername)
-            .ifPresent(staffDetails -> {
-                offenderManager.setTelephoneNumber(staffDetails.getTelephoneNumber());
-                offenderManager.setEmailAddress(staffDetails.getEmail());
-            });
+    private List<CommunityOrPrisonOffenderManager> withContactDetails(final List<OffenderManagerOfUser> offenderManagers) {
+        final var ldapUsers = staffService.getContactDetailsByUsernames(offenderManagers
+                .stream()
+                .map(OffenderManagerOfUser::username)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toSet()));
+
+        return offenderManagers
+                .stream()
+                .map(offMgr -> addLdapFields(offMgr, ldapUsers))
+                .collect(Collectors.toList());
+    }
+
+    // the area's teams are the same for every offender manager in it so are shared rather than transformed each time
+    private OffenderManagerOfUser withProbationAreaTeams(OffenderManagerOfUser offenderManager) {
+        Optional.ofNullable(offenderManager.offenderManager().getProbationArea())
+                .ifPresent(probationArea -> probationArea.setTeams(probationAreaTeamRegistry.teamsOf(probationArea.getProbationAreaId())));
         return offenderManager;
     }
 
+    CommunityOrPrisonOffenderManager addLdapFields(OffenderManagerOfUser offenderManager, Map<String, NDeliusUser> ldapUsers) {
+        offenderManager.username()
+            .map(ldapUsers::get)
+            .ifPresent(ldapUser -> Optional.ofNullable(offenderManager.offenderManager().getStaff())
+                .ifPresent(staff -> {
+                    staff.setPhoneNumber(ldapUser.getTelephoneNumber());
+                    staff.setEmail(ldapUser.getMail());
+                }));
+        return offenderManager.offenderManager();
+    }
+
+    private static Optional<String> usernameOf(OffenderManager offenderManager) {
+        return Optional.ofNullable(offenderManager.getStaff())
+            .map(Staff::getUser)
+            .map(User::getDistinguishedName);
+    }
+
+    private static TransactionTemplate readOnlyTransactionTemplate(PlatformTransactionManager transactionManager) {
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    record OffenderManagerOfUser(CommunityOrPrisonOffenderManager offenderManager, Optional<String> username) {
+    }
 }
@@ -24,6 +24,7 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.Custody;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Disposal;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Event;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderPrimaryIdentifiersRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository.DuplicateOffenderException;
@@ -34,6 +35,7 @@ import uk.gov.justice.digital.delius.transformers.ReleaseTransformer;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static java.util.function.Predicate.not;
@@ -42,10 +44,12 @@ import static java.util.function.Predicate.not;
 @Slf4j
 @AllArgsConstructor
 public class OffenderService {
+    private static final int PRIMARY_IDENTIFIERS_EXPORT_BATCH_SIZE = 1000;
 
     private final OffenderRepository offenderRepository;
     private final OffenderPrimaryIdentifiersRepository offenderPrimaryIdentifiersRepository;
     private final ConvictionService convictionService;
+    private final OffenderIdentifierResolver offenderIdentifierResolver;
 
     @Transactional(readOnly = true)
     public Optional<OffenderDetail> getOffenderByOffenderId(Long offenderId) {
@@ -96,19 +100,19 @@ public class OffenderService {
     }
 
     public Optional<String> crnOf(Long offenderId) {
-        return offenderRepository.findByOffenderId(offenderId).map(Offender::getCrn);
+        return offenderIdentifierResolver.crnOf(offenderId);
     }
 
     public Optional<String> crnOf(String nomsNumber) {
-        return offenderRepository.findByNomsNumber(nomsNumber).map(Offender::getCrn);
+        return offenderIdentifierResolver.crnOfNomsNumber(nomsNumber);
     }
 
     public Optional<Long> offenderIdOfCrn(String crn) {
-        return offenderRepository.findByCrn(crn).map(Offender::getOffenderId);
+        return offenderIdentifierResolver.offenderIdOfCrn(crn);
     }
 
     public Optional<Long> offenderIdOfNomsNumber(String nomsNumber) {
-        return offenderRepository.findByNomsNumber(nomsNumber).map(Offender::getOffenderId);
+        return offenderIdentifierResolver.offenderIdOfNomsNumber(nomsNumber);
     }
 
     public Either<DuplicateOffenderException, Optional<Long>> singleOffenderIdOfNomsNumber(String nomsNumber) {
@@ -117,8 +121,7 @@ public class OffenderService {
     }
 
     public Either<DuplicateOffenderException, Optional<Long>> mostLikelyOffenderIdOfNomsNumber(String nomsNumber) {
-        return offenderRepository.findMostLikelyByNomsNumber(nomsNumber).fold(Either::left,
-                offender -> Either.right(offender.map(Offender::getOffenderId)));
+        return offenderIdentifierResolver.mostLikelyOffenderIdOfNomsNumber(nomsNumber);
     }
 
     public Either<DuplicateOffenderException, Optional<OffenderDetail>> getMostLikelyOffenderByNomsNumber(String nomsNumber) {
@@ -245,6 +248,28 @@ public class OffenderService {
                         .build());
     }
 
+    /**
+     * Passes every offender matching the filter with an offenderId greater than afterOffenderId to the consumer in
+     * offenderId order. Offenders are read in batches using the last offenderId seen as the cursor for the next, so
+     * no count query is run and each batch costs the same however far through the table it is.
+     */
+    public void exportPrimaryIdentifiers(OffenderFilter filter, long afterOffenderId, Consumer<PrimaryIdentifiers> consumer) {
+        final var specification = OffenderFilterTransformer.fromFilter(filter);
+        var cursor = afterOffenderId;
+        List<OffenderPrimaryIdentifiers> batch;
+        do {
+            batch = offenderPrimaryIdentifiersRepository.findAllAfter(specification, cursor, PRIMARY_IDENTIFIERS_EXPORT_BATCH_SIZE);
+            batch.forEach(offender -> consumer.accept(PrimaryIdentifiers
+                    .builder()
+                    .crn(offender.getCrn())
+                    .offenderId(offender.getOffenderId())
+                    .build()));
+            if (!batch.isEmpty()) {
+                cursor = batch.get(batch.size() - 1).getOffenderId();
+            }
+        } while (batch.size() == PRIMARY_IDENTIFIERS_EXPORT_BATCH_SIZE);
+    }
+
     @Transactional(readOnly = true)
     public List<PersonalContact> getOffenderPersonalContactsByCrn(String crn) {
         return offenderRepository.findByCrn(crn)
@@ -4,16 +4,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
+import uk.gov.justice.digital.delius.data.api.OffenderUpdatesAcknowledgement;
 
 import javax.transaction.Transactional;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
 @Service
 @Slf4j
 public class OffenderUpdatesService {
+    static final int MAX_UPDATES_PER_LEASE = 1000;
+    static final int MAX_LEASE_SECONDS = OffenderDeltaService.IN_PROGRESS_IS_FAILED_AFTER_MINUTES * 60;
 
     private final OffenderDeltaService offenderDeltaService;
     @SuppressWarnings({"FieldMayBeFinal", "FieldCanBeLocal"})
@@ -31,6 +36,16 @@ public class OffenderUpdatesService {
         return maybeOffenderUpdate;
     }
 
+    public List<OffenderUpdate> leaseNextUpdates(final int max, final int leaseSeconds) {
+        if (max < 1 || max > MAX_UPDATES_PER_LEASE) {
+            throw new BadRequestException(String.format("max must be between 1 and %d", MAX_UPDATES_PER_LEASE));
+        }
+        if (leaseSeconds < 1 || leaseSeconds > MAX_LEASE_SECONDS) {
+            throw new BadRequestException(String.format("leaseSeconds must be between 1 and %d", MAX_LEASE_SECONDS));
+        }
+        return offenderDeltaService.leaseNextUpdates(max, leaseSeconds);
+    }
+
     private Optional<OffenderUpdate> lockNext(final Supplier<Optional<OffenderUpdate>> supplier) {
         for (int i = 0; i < retries; i++) {
             try {
@@ -55,4 +70,11 @@ public class OffenderUpdatesService {
     public void markAsFailed(final Long offenderDeltaId) {
         offenderDeltaService.markAsFailed(offenderDeltaId);
     }
+
+    @Transactional
+    public void acknowledgeUpdates(final OffenderUpdatesAcknowledgement acknowledgement) {
+        // either list may be given as null in the request body
+        offenderDeltaService.deleteDeltas(Optional.ofNullable(acknowledgement.getProcessed()).orElse(List.of()));
+        offenderDeltaService.markAllAsFailed(Optional.ofNullable(acknowledgement.getFailed()).orElse(List.of()));
+    }
 }
@@ -0,0 +1,84 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read only queries concurrently on a small bounded pool. Each query runs in its own read only
+ * transaction as the calling user, so VPD still applies, and should return plain values rather than entities since
+ * lazy associations can not be loaded once that transaction has ended. When the pool is saturated the caller runs
+ * the query itself.
+ */
+@Component
+public class ParallelQueryExecutor implements DisposableBean {
+    private final Executor executor;
+    private final TransactionOperations readOnlyTransaction;
+    private final ThreadPoolTaskExecutor threadPool;
+
+    @Autowired
+    public ParallelQueryExecutor(@Qualifier("standardTransactionManager") PlatformTransactionManager transactionManager,
+                                 @Value("${parallel-queries.pool-size:8}") int poolSize,
+                                 @Value("${parallel-queries.queue-capacity:50}") int queueCapacity) {
+        threadPool = new ThreadPoolTaskExecutor();
+        threadPool.setCorePoolSize(poolSize);
+        threadPool.setMaxPoolSize(poolSize);
+        threadPool.setQueueCapacity(queueCapacity);
+        threadPool.setAllowCoreThreadTimeOut(true);
+        threadPool.setThreadNamePrefix("parallel-query-");
+        threadPool.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        threadPool.initialize();
+
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        this.executor = new DelegatingSecurityContextExecutor(threadPool);
+        this.readOnlyTransaction = transactionTemplate;
+    }
+
+    ParallelQueryExecutor(Executor executor, TransactionOperations readOnlyTransaction) {
+        this.executor = executor;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.threadPool = null;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        final var queryAsCurrentUser = CurrentUserSupplier.withCurrentUser(query);
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> queryAsCurrentUser.get()), executor);
+    }
+
+    /**
+     * @return the result of the query, rethrowing whatever it threw rather than a wrapping {@link CompletionException}
+     */
+    public static <T> T resultOf(CompletableFuture<T> query) {
+        try {
+            return query.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (threadPool != null) {
+            threadPool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.justice.digital.delius.data.api.AllTeam;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ProviderTeamRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.TeamRepository;
+import uk.gov.justice.digital.delius.transformers.ProbationAreaTransformer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read through cache of the teams and provider teams in each probation area, as returned with an offender manager's
+ * probation area. Each area's teams are read with one fetch joined query per kind of team and the resulting immutable
+ * list is shared by every response until a team in that area is written.
+ * <p>
+ * Every eviction moves the registry on to a new version. A tree that was being read while an eviction happened is
+ * still returned to its caller but is not kept, so a tree read before a write can never outlive that write.
+ */
+@Component
+public class ProbationAreaTeamRegistry {
+    private final TeamRepository teamRepository;
+    private final ProviderTeamRepository providerTeamRepository;
+    private final Cache<Long, List<AllTeam>> teams;
+    private final AtomicLong version = new AtomicLong();
+
+    public ProbationAreaTeamRegistry(TeamRepository teamRepository,
+                                     ProviderTeamRepository providerTeamRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${probation-area-teams.cache.time-to-live:1h}") Duration timeToLive,
+                                     @Value("${probation-area-teams.cache.maximum-size:500}") long maximumSize) {
+        this.teamRepository = teamRepository;
+        this.providerTeamRepository = providerTeamRepository;
+        this.teams = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(), "probationAreaTeams");
+    }
+
+    /**
+     * @return the teams followed by the provider teams in the area; the list is shared so must not be modified
+     */
+    public List<AllTeam> teamsOf(Long probationAreaId) {
+        final var cached = teams.getIfPresent(probationAreaId);
+        if (cached != null) {
+            return cached;
+        }
+
+        final var readAtVersion = version.get();
+        final var loaded = List.copyOf(ProbationAreaTransformer.teamsOf(
+                teamRepository.findAllByProbationAreaId(probationAreaId),
+                providerTeamRepository.findAllByProbationAreaId(probationAreaId)));
+        teams.put(probationAreaId, loaded);
+        if (version.get() != readAtVersion) {
+            teams.invalidate(probationAreaId);
+        }
+        return loaded;
+    }
+
+    /**
+     * Forgets the area's teams now and again once the current transaction, if any, has completed, so trees read
+     * before the write is visible to other transactions are not kept.
+     */
+    public void evict(Long probationAreaId) {
+        evictNowAndAfterCompletion(() -> teams.invalidate(probationAreaId));
+    }
+
+    private void evictNowAndAfterCompletion(Runnable eviction) {
+        final Runnable versionedEviction = () -> {
+            version.incrementAndGet();
+            eviction.run();
+        };
+        versionedEviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versionedEviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import uk.gov.justice.digital.delius.data.api.ReferenceData;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ReferenceDataMaster;
+import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ReferenceDataMasterRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.StandardReferenceRepository;
+import uk.gov.justice.digital.delius.transformers.ReferenceDataTransformer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Read through cache of standard reference data. Each code set is loaded whole with a single query the first time
+ * any of its codes are asked for, or at start up for the configured sets, and is then served from immutable maps.
+ * Cached entities are detached so every lookup returns its own copy which is safe to attach to a managed entity.
+ */
+@Component
+@Slf4j
+public class ReferenceDataRegistry {
+    private final StandardReferenceRepository standardReferenceRepository;
+    private final ReferenceDataMasterRepository referenceDataMasterRepository;
+    private final Cache<String, CodeSet> codeSets;
+    private final List<String> preloadCodeSetNames;
+
+    public ReferenceDataRegistry(StandardReferenceRepository standardReferenceRepository,
+                                 ReferenceDataMasterRepository referenceDataMasterRepository,
+                                 @Value("${reference-data.cache.time-to-live:12h}") Duration timeToLive,
+                                 @Value("${reference-data.cache.preload:}") List<String> preloadCodeSetNames) {
+        this.standardReferenceRepository = standardReferenceRepository;
+        this.referenceDataMasterRepository = referenceDataMasterRepository;
+        this.codeSets = Caffeine.newBuilder().expireAfterWrite(timeToLive).build();
+        this.preloadCodeSetNames = preloadCodeSetNames;
+    }
+
+    public Optional<StandardReference> findByCodeAndCodeSetName(String code, String codeSetName) {
+        return Optional.ofNullable(codeSetOf(codeSetName).standardReferences().get(code)).map(ReferenceDataRegistry::copyOf);
+    }
+
+    /**
+     * @return all the reference data in the set, or empty if there is no such set
+     */
+    public Optional<List<ReferenceData>> referenceDataOf(String codeSetName) {
+        final var codeSet = codeSetOf(codeSetName);
+        return codeSet.exists() ? Optional.of(codeSet.referenceData()) : Optional.empty();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        preload(preloadCodeSetNames);
+    }
+
+    public void preload(Collection<String> codeSetNames) {
+        codeSetNames.forEach(codeSetName -> {
+            try {
+                codeSetOf(codeSetName);
+            } catch (RuntimeException e) {
+                log.warn("Unable to preload reference data set {}", codeSetName, e);
+            }
+        });
+    }
+
+    /**
+     * Reloads the set now rather than waiting for it to be next asked for
+     */
+    public Optional<List<ReferenceData>> refresh(String codeSetName) {
+        codeSets.invalidate(codeSetName);
+        return referenceDataOf(codeSetName);
+    }
+
+    public void evictAll() {
+        log.info("Evicting all {} cached reference data sets", codeSets.estimatedSize());
+        codeSets.invalidateAll();
+    }
+
+    private CodeSet codeSetOf(String codeSetName) {
+        return codeSets.get(codeSetName, this::load);
+    }
+
+    private CodeSet load(String codeSetName) {
+        final var standardReferences = standardReferenceRepository.findAllByCodeSetName(codeSetName);
+        final var exists = !standardReferences.isEmpty() || referenceDataMasterRepository.findByCodeSetName(codeSetName).isPresent();
+        log.debug("Loaded {} items for reference data set {}", standardReferences.size(), codeSetName);
+
+        final var detachedStandardReferences = standardReferences.stream().map(ReferenceDataRegistry::copyOf).collect(toList());
+        return new CodeSet(
+                exists,
+                detachedStandardReferences
+                        .stream()
+                        .collect(ImmutableMap.toImmutableMap(StandardReference::getCodeValue, Function.identity(), (first, duplicate) -> first)),
+                List.copyOf(ReferenceDataTransformer.referenceDataOf(detachedStandardReferences)));
+    }
+
+    private static StandardReference copyOf(StandardReference standardReference) {
+        return StandardReference
+                .builder()
+                .standardReferenceListId(standardReference.getStandardReferenceListId())
+                .codeValue(standardReference.getCodeValue())
+                .codeDescription(standardReference.getCodeDescription())
+                .selectable(standardReference.getSelectable())
+                .referenceDataMaster(Optional.ofNullable(standardReference.getReferenceDataMaster())
+                        .map(master -> ReferenceDataMaster
+                                .builder()
+                                .ReferenceDataMasterId(master.getReferenceDataMasterId())
+                                .codeSetName(master.getCodeSetName())
+                                .description(master.getDescription())
+                                .build())
+                        .orElse(null))
+                .build();
+    }
+
+    private record CodeSet(boolean exists, ImmutableMap<String, StandardReference> standardReferences, List<ReferenceData> referenceData) {
+    }
+}
@@ -16,7 +16,6 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.District;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ProbationAreaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ReferenceDataMasterRepository;
-import uk.gov.justice.digital.delius.jpa.standard.repository.StandardReferenceRepository;
 import uk.gov.justice.digital.delius.transformers.ProbationAreaTransformer;
 import uk.gov.justice.digital.delius.transformers.ReferenceDataTransformer;
 
@@ -46,14 +45,14 @@ public class ReferenceDataService {
     private static final String DUPLICATE_NOMS_NUMBER_CODE = "DNOMS";
     private static final String FORMER_NOMS_NUMBER_CODE = "XNOMS";
     private final ProbationAreaRepository probationAreaRepository;
-    private final StandardReferenceRepository standardReferenceRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final ReferenceDataMasterRepository referenceDataMasterRepository;
 
 
     @Autowired
-    public ReferenceDataService(ProbationAreaRepository probationAreaRepository, StandardReferenceRepository standardReferenceRepository, ReferenceDataMasterRepository referenceDataMasterRepository) {
+    public ReferenceDataService(ProbationAreaRepository probationAreaRepository, ReferenceDataRegistry referenceDataRegistry, ReferenceDataMasterRepository referenceDataMasterRepository) {
         this.probationAreaRepository = probationAreaRepository;
-        this.standardReferenceRepository = standardReferenceRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.referenceDataMasterRepository = referenceDataMasterRepository;
     }
 
@@ -82,7 +81,7 @@ public class ReferenceDataService {
     }
 
     private StandardReference pomAllocationTransferReason(String reason) {
-        return standardReferenceRepository.findByCodeAndCodeSetName(reason, POM_ALLOCATION_REASON_DATASET)
+        return referenceDataRegistry.findByCodeAndCodeSetName(reason, POM_ALLOCATION_REASON_DATASET)
                 .orElseThrow(() -> new RuntimeException(format("No pom allocation reason found for %s", reason)));
     }
 
@@ -129,20 +128,20 @@ public class ReferenceDataService {
 
 
     public StandardReference getInCustodyCustodyStatus() {
-        return standardReferenceRepository.findByCodeAndCodeSetName(CUSTODY_STATUS_IN_CUSTODY_CODE, CUSTODY_STATUS_DATASET).orElseThrow();
+        return referenceDataRegistry.findByCodeAndCodeSetName(CUSTODY_STATUS_IN_CUSTODY_CODE, CUSTODY_STATUS_DATASET).orElseThrow();
     }
 
 
     public StandardReference duplicateNomsNumberAdditionalIdentifier() {
-        return standardReferenceRepository.findByCodeAndCodeSetName(DUPLICATE_NOMS_NUMBER_CODE, ADDITIONAL_IDENTIFIER_DATASET).orElseThrow();
+        return referenceDataRegistry.findByCodeAndCodeSetName(DUPLICATE_NOMS_NUMBER_CODE, ADDITIONAL_IDENTIFIER_DATASET).orElseThrow();
     }
 
     public StandardReference formerNomsNumberAdditionalIdentifier() {
-        return standardReferenceRepository.findByCodeAndCodeSetName(FORMER_NOMS_NUMBER_CODE, ADDITIONAL_IDENTIFIER_DATASET).orElseThrow();
+        return referenceDataRegistry.findByCodeAndCodeSetName(FORMER_NOMS_NUMBER_CODE, ADDITIONAL_IDENTIFIER_DATASET).orElseThrow();
     }
 
     private StandardReference getCustodyEventTypeFor(String code) {
-        return standardReferenceRepository.findByCodeAndCodeSetName(code, CUSTODY_EVENT_DATASET).orElseThrow();
+        return referenceDataRegistry.findByCodeAndCodeSetName(code, CUSTODY_EVENT_DATASET).orElseThrow();
     }
 
     private Stream<District> getSelectableLdusForProbationArea(String code) {
@@ -156,9 +155,15 @@ public class ReferenceDataService {
     }
 
     public Optional<List<ReferenceData>> getReferenceDataForSet(String set) {
-        return referenceDataMasterRepository
-                .findByCodeSetName(set)
-                .map(referenceDataMaster -> ReferenceDataTransformer.referenceDataOf(referenceDataMaster.getStandardReferences()));
+        return referenceDataRegistry.referenceDataOf(set);
+    }
+
+    public Optional<List<ReferenceData>> refreshReferenceDataForSet(String set) {
+        return referenceDataRegistry.refresh(set);
+    }
+
+    public void evictReferenceData() {
+        referenceDataRegistry.evictAll();
     }
 
     public List<KeyValue> getReferenceDataSets() {
@@ -189,11 +194,11 @@ public class ReferenceDataService {
     }
 
     public Optional<StandardReference> getAtsTierChangeReason() {
-        return standardReferenceRepository.findByCodeAndCodeSetName("ATS", "TIER CHANGE REASON");
+        return referenceDataRegistry.findByCodeAndCodeSetName("ATS", "TIER CHANGE REASON");
     }
 
     public Optional<StandardReference> getTier(String tier) {
-        return standardReferenceRepository.findByCodeAndCodeSetName(tier, "TIER");
+        return referenceDataRegistry.findByCodeAndCodeSetName(tier, "TIER");
     }
 
     private boolean getPossibleActiveLdus(District district) {
@@ -20,6 +20,7 @@ import uk.gov.justice.digital.delius.transformers.RequirementTransformer;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Predicate;
 
 import static java.lang.String.format;
@@ -66,11 +67,11 @@ public class RequirementService {
     }
 
     public ConvictionRequirements getRequirementsByConvictionId(String crn, Long convictionId) {
-        return getConvictionRequirements(getEvent(crn, convictionId), false);
+        return getConvictionRequirements(getEvent(crn, convictionId, eventRepository::findWithRequirementsByEventIdAndOffenderId), false);
     }
 
     public PssRequirements getPssRequirementsByConvictionId(String crn, Long convictionId) {
-        var pssRequirements = Optional.of(getEvent(crn, convictionId))
+        var pssRequirements = Optional.of(getEvent(crn, convictionId, eventRepository::findWithPssRequirementsByEventIdAndOffenderId))
                 .map(Event::getDisposal)
                 .map(Disposal::getCustody)
                 .map(Custody::getPssRequirements)
@@ -83,18 +84,16 @@ public class RequirementService {
         return new PssRequirements(pssRequirements);
     }
 
-    private Event getEvent(String crn, Long convictionId) {
+    // each caller supplies a finder that fetches just the part of the event it needs along with the event
+    private Event getEvent(String crn, Long convictionId, BiFunction<Long, Long, Optional<Event>> findByEventIdAndOffenderId) {
         var offenderId = getOffenderId(crn);
-        return eventRepository.findByOffenderId(offenderId)
-                .stream()
-                .filter(event -> convictionId.equals(event.getEventId()))
-                .findAny()
+        return findByEventIdAndOffenderId.apply(convictionId, offenderId)
                 .orElseThrow(() ->  new NotFoundException(format("Conviction with convictionId '%s' not found", convictionId)));
     }
 
     private Event getActiveEvent(String crn, Long convictionId) {
         var offenderId = getOffenderId(crn);
-        return eventRepository.findByOffenderIdAndEventIdAndActiveFlagTrue(offenderId, convictionId)
+        return eventRepository.findWithRequirementsByOffenderIdAndEventIdAndActiveFlagTrue(offenderId, convictionId)
             .orElseThrow(() ->  new NotFoundException(format("Active conviction with convictionId '%s' not found", convictionId)));
     }
 
@@ -104,7 +103,7 @@ public class RequirementService {
     }
 
     public LicenceConditions getLicenceConditionsByConvictionId(String crn, Long convictionId) {
-        var conditionsList = Optional.of(getEvent(crn, convictionId))
+        var conditionsList = Optional.of(getEvent(crn, convictionId, eventRepository::findWithLicenceConditionsByEventIdAndOffenderId))
                 .map(Event::getDisposal)
                 .map(Disposal::getLicenceConditions)
                 .stream()
@@ -1,5 +1,7 @@
 package uk.gov.justice.digital.delius.service;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.stereotype.Service;
@@ -7,9 +9,12 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.*;
 import uk.gov.justice.digital.delius.jpa.standard.repository.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-
-import static java.util.stream.Collectors.toList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import static uk.gov.justice.digital.delius.service.SpgNotificationService.NotificationEvents.*;
 
 @Service
@@ -17,19 +22,25 @@ import static uk.gov.justice.digital.delius.service.SpgNotificationService.Notif
 public class SpgNotificationService {
     private final BusinessInteractionRepository businessInteractionRepository;
     private final BusinessInteractionXmlMapRepository businessInteractionXmlMapRepository;
-    private final StandardReferenceRepository standardReferenceRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final ProbationAreaRepository probationAreaRepository;
     private final SpgNotificationRepository spgNotificationRepository;
     private final SpgNotificationHelperRepository spgNotificationHelperRepository;
+    // business interactions, their message contexts and the sending area are fixed Delius configuration so only need
+    // looking up once, but only their ids are kept and each transaction takes its own references to them
+    private final Map<NotificationEvents, Interaction> interactions = new ConcurrentHashMap<>();
+    private final Supplier<SendingArea> sendingArea;
 
-
-    public SpgNotificationService(BusinessInteractionRepository businessInteractionRepository, BusinessInteractionXmlMapRepository businessInteractionXmlMapRepository, StandardReferenceRepository standardReferenceRepository, ProbationAreaRepository probationAreaRepository, SpgNotificationRepository spgNotificationRepository, SpgNotificationHelperRepository spgNotificationHelperRepository) {
+    public SpgNotificationService(BusinessInteractionRepository businessInteractionRepository, BusinessInteractionXmlMapRepository businessInteractionXmlMapRepository, ReferenceDataRegistry referenceDataRegistry, ProbationAreaRepository probationAreaRepository, SpgNotificationRepository spgNotificationRepository, SpgNotificationHelperRepository spgNotificationHelperRepository) {
         this.businessInteractionRepository = businessInteractionRepository;
         this.businessInteractionXmlMapRepository = businessInteractionXmlMapRepository;
-        this.standardReferenceRepository = standardReferenceRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.probationAreaRepository = probationAreaRepository;
         this.spgNotificationRepository = spgNotificationRepository;
         this.spgNotificationHelperRepository = spgNotificationHelperRepository;
+        this.sendingArea = Suppliers.memoize(() -> probationAreaRepository.findByCode("N00")
+                .map(probationArea -> new SendingArea(probationArea.getProbationAreaId(), probationArea.getCode()))
+                .orElseThrow(() -> new RuntimeException("No probation area for send SPG")));
     }
 
     enum NotificationEvents {
@@ -59,9 +70,11 @@ public class SpgNotificationService {
         // these events represent what the Delius code indicate what is inserted for this scenario and match what we see in test for Delius
         // It would be preferable to know what the actual requirement is here to get this correct. In test we have also seen "SPGALF01" business interactions
         // sent as well but not sure how or why they were sent
-        createNotificationsFor(INSERT_EVENT, event.getOffenderId(), event.getEventId());
-        event.getCourtAppearances().forEach(courtAppearance -> createNotificationsFor(INSERT_COURT_APPEARANCE, event.getOffenderId(), courtAppearance.getCourtAppearanceId()));
-        createNotificationsFor(UPDATE_OFFENDER, event.getOffenderId());
+        final var notifications = new ArrayList<Notification>();
+        notifications.add(new Notification(INSERT_EVENT, event.getEventId(), null));
+        event.getCourtAppearances().forEach(courtAppearance -> notifications.add(new Notification(INSERT_COURT_APPEARANCE, courtAppearance.getCourtAppearanceId(), null)));
+        notifications.add(new Notification(UPDATE_OFFENDER, event.getOffenderId(), null));
+        createNotificationsFor(event.getOffenderId(), notifications);
     }
 
     public void notifyNewCustodyKeyDate(String custodyKeyTypeCode, Event event) {
@@ -90,6 +103,16 @@ public class SpgNotificationService {
         createNotificationsFor(UPDATE_OFFENDER, offender.getOffenderId());
     }
 
+    /**
+     * Notifies the update of many offenders with the notifications for all of them saved together
+     */
+    public void notifyUpdateOfOffenders(Collection<Long> offenderIds) {
+        spgNotificationRepository.saveAll(offenderIds
+                .stream()
+                .flatMap(offenderId -> notificationsFor(offenderId, List.of(new Notification(UPDATE_OFFENDER, offenderId, null))).stream())
+                .collect(Collectors.toList()));
+    }
+
     public void notifyInsertOfOffenderAdditionalIdentifier(Offender offender, AdditionalIdentifier additionalIdentifier) {
         createNotificationsFor(INSERT_ADDITIONAL_OFFENDER_IDENTIFIER, offender.getOffenderId(), additionalIdentifier.getAdditionalIdentifierId());
     }
@@ -104,42 +127,63 @@ public class SpgNotificationService {
     }
 
     private void createNotificationsFor(NotificationEvents notificationEvent, Long offenderId, Long uniqueId, Long parentId ) {
-        spgNotificationRepository.saveAll(
-            areasThatHaveAnInterestInOffender(offenderId)
-                    .stream()
-                    .map(probationArea ->
-                            {
-                                val sendingProbationArea = probationAreaRepository.findByCode("N00").orElseThrow(() -> new RuntimeException("No probation area for send SPG"));
-                                val businessInteraction = businessInteractionRepository
-                                        .findByBusinessInteractionCode(notificationEvent.getNotificationCode())
-                                        .orElseThrow(() -> new RuntimeException(String.format("No SPG business interaction code found for %s", notificationEvent.getNotificationCode())));
-
-                                log.info("Sending SPG notification {} to {}", notificationEvent.getNotificationCode(), probationArea.getCode());
-
-                                // for these values I have looked at the legacy Delius code and looked at what the Delius application
-                                // does in test when writing these records. For now I have to assumed the values are correct however we
-                                // need to be aware that the values are not derived from any acceptance criteria but is "as is" Delius code
-                                return SpgNotification
-                                        .builder()
-                                        .offenderId(offenderId)
-                                        .businessInteraction(businessInteraction)
-                                        .receiverIdentity(probationArea)
-                                        .senderIdentity(sendingProbationArea)
-                                        .uniqueId(uniqueId)
-                                        .parentEntityId(parentId)
-                                        .dateCreated(LocalDateTime.now())
-                                        .spgMessageContextId(messageContextIdFor(businessInteraction))
-                                        .controlReference(nextControlReferenceFor(sendingProbationArea))
-                                        .processedFlag(0L)
-                                        .errorFlag(0L)
-                                        .messageDirection("O")
-                                        .exportToFileFlag(0L)
-                                        .build();
-                        }).collect(toList()));
-    }
-
-    private Long nextControlReferenceFor(ProbationArea sendingProbationArea) {
-        return spgNotificationHelperRepository.getNextControlSequence(sendingProbationArea.getCode());
+        createNotificationsFor(offenderId, List.of(new Notification(notificationEvent, uniqueId, parentId)));
+    }
+
+    private void createNotificationsFor(Long offenderId, List<Notification> notifications) {
+        spgNotificationRepository.saveAll(notificationsFor(offenderId, notifications));
+    }
+
+    private List<SpgNotification> notificationsFor(Long offenderId, List<Notification> notifications) {
+        val probationAreas = areasThatHaveAnInterestInOffender(offenderId);
+        val spgNotifications = new ArrayList<SpgNotification>(probationAreas.size() * notifications.size());
+
+        if (!probationAreas.isEmpty()) {
+            val sendingArea = this.sendingArea.get();
+            val senderIdentity = probationAreaRepository.getById(sendingArea.probationAreaId());
+            val controlReferences = spgNotificationHelperRepository
+                    .getNextControlSequences(sendingArea.code(), probationAreas.size() * notifications.size())
+                    .iterator();
+
+            notifications.forEach(notification -> {
+                val interaction = interactionFor(notification.event());
+                val businessInteraction = businessInteractionRepository.getById(interaction.businessInteractionId());
+                probationAreas.forEach(probationArea -> {
+                    log.info("Sending SPG notification {} to {}", notification.event().getNotificationCode(), probationArea.getCode());
+
+                    // for these values I have looked at the legacy Delius code and looked at what the Delius application
+                    // does in test when writing these records. For now I have to assumed the values are correct however we
+                    // need to be aware that the values are not derived from any acceptance criteria but is "as is" Delius code
+                    spgNotifications.add(SpgNotification
+                            .builder()
+                            .offenderId(offenderId)
+                            .businessInteraction(businessInteraction)
+                            .receiverIdentity(probationArea)
+                            .senderIdentity(senderIdentity)
+                            .uniqueId(notification.uniqueId())
+                            .parentEntityId(notification.parentId())
+                            .dateCreated(LocalDateTime.now())
+                            .spgMessageContextId(interaction.messageContextId())
+                            .controlReference(controlReferences.next())
+                            .processedFlag(0L)
+                            .errorFlag(0L)
+                            .messageDirection("O")
+                            .exportToFileFlag(0L)
+                            .build());
+                });
+            });
+        }
+
+        return spgNotifications;
+    }
+
+    private Interaction interactionFor(NotificationEvents notificationEvent) {
+        return interactions.computeIfAbsent(notificationEvent, event -> {
+            val businessInteraction = businessInteractionRepository
+                    .findByBusinessInteractionCode(event.getNotificationCode())
+                    .orElseThrow(() -> new RuntimeException(String.format("No SPG business interaction code found for %s", event.getNotificationCode())));
+            return new Interaction(businessInteraction.getBusinessInteractionId(), messageContextIdFor(businessInteraction));
+        });
     }
 
     private Long messageContextIdFor(BusinessInteraction businessInteraction) {
@@ -160,7 +204,7 @@ public class SpgNotificationService {
                 })
                 .orElse("UNK");
 
-        return standardReferenceRepository
+        return referenceDataRegistry
                 .findByCodeAndCodeSetName(contextCode, "SPG MESSAGE CONTEXT").map(StandardReference::getStandardReferenceListId)
                 .orElseThrow(() -> new RuntimeException(String.format("Unable to find reference data for contextCode %s", contextCode)));
     }
@@ -177,4 +221,13 @@ public class SpgNotificationService {
                 .map(KeyDate::getKeyDateId)
                 .orElseThrow(() -> new RuntimeException("Can not find key date event though it has just changed"));
     }
+
+    private record Notification(NotificationEvents event, Long uniqueId, Long parentId) {
+    }
+
+    private record Interaction(Long businessInteractionId, Long messageContextId) {
+    }
+
+    private record SendingArea(Long probationAreaId, String code) {
+    }
 }
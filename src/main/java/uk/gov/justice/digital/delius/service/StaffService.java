@@ -1,6 +1,9 @@
 package uk.gov.justice.digital.delius.service;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uk.gov.justice.digital.delius.data.api.ContactableHuman;
@@ -13,38 +16,58 @@ import uk.gov.justice.digital.delius.jpa.standard.repository.StaffHelperReposito
 import uk.gov.justice.digital.delius.jpa.standard.repository.StaffRepository;
 import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
 import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
-import uk.gov.justice.digital.delius.transformers.OffenderTransformer;
 import uk.gov.justice.digital.delius.transformers.StaffTransformer;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
+@Slf4j
 public class StaffService {
 
     private final StaffRepository staffRepository;
     private final LdapRepository ldapRepository;
     private final StaffHelperRepository staffHelperRepository;
+    private final CaseloadService caseloadService;
 
 
     @Transactional(readOnly = true)
     public Optional<List<ManagedOffender>> getManagedOffendersByStaffCode(final String staffCode, final boolean current) {
 
-        return staffRepository.findByOfficerCode(staffCode).map(
-                staff -> OffenderTransformer.managedOffenderOf(staff, current)
+        return staffRepository.findKeysByOfficerCode(staffCode).map(
+                staff -> caseloadService.getManagedOffenders(staff, current)
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Page<ManagedOffender>> getManagedOffendersByStaffCode(final String staffCode, final boolean current, final Pageable pageable) {
+
+        return staffRepository.findKeysByOfficerCode(staffCode).map(
+                staff -> caseloadService.getManagedOffenders(staff, current, pageable)
         );
     }
 
     @Transactional(readOnly = true)
     public Optional<List<ManagedOffender>> getManagedOffendersByStaffIdentifier(final long staffIdentifier, final boolean current) {
 
-        return staffRepository.findByStaffId(staffIdentifier).map(
-                staff -> OffenderTransformer.managedOffenderOf(staff, current)
+        return staffRepository.findKeysByStaffId(staffIdentifier).map(
+                staff -> caseloadService.getManagedOffenders(staff, current)
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Page<ManagedOffender>> getManagedOffendersByStaffIdentifier(final long staffIdentifier, final boolean current, final Pageable pageable) {
+
+        return staffRepository.findKeysByStaffId(staffIdentifier).map(
+                staff -> caseloadService.getManagedOffenders(staff, current, pageable)
         );
     }
 
@@ -73,13 +96,39 @@ public class StaffService {
     public List<StaffDetails> getStaffDetailsByUsernames(final Set<String> usernames) {
         final var capitalisedUsernames = usernames.stream().map(String::toUpperCase).collect(Collectors.toSet());
 
-        return staffRepository.findByUsernames(capitalisedUsernames)
+        final var staffDetails = staffRepository.findByUsernames(capitalisedUsernames)
                 .stream()
                 .map(StaffTransformer::staffDetailsOf)
-                .map(addFieldsFromLdap())
+                .collect(Collectors.toList());
+        final var ldapUsers = ldapRepository.getDeliusUsersNoRoles(staffDetails
+                .stream()
+                .map(StaffDetails::getUsername)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+
+        return staffDetails
+                .stream()
+                .map(details -> addFieldsFromLdap(details, Optional.ofNullable(details.getUsername()).map(ldapUsers::get)))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Reads only the LDAP contact details of the users, keyed by username ignoring case, without looking them up in
+     * the database first. LDAP is waited for no longer than the lookup timeout; when it fails or is too slow no users
+     * are returned so callers leave out contact details rather than failing.
+     */
+    public Map<String, NDeliusUser> getContactDetailsByUsernames(final Set<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return ldapRepository.getDeliusUsersNoRolesAsync(usernames).join();
+        } catch (CompletionException e) {
+            log.warn("Unable to read contact details of {} users from LDAP, they will be left out", usernames.size(), e.getCause());
+            return Map.of();
+        }
+    }
+
     @Transactional
     public Staff findOrCreateStaffInArea(final ContactableHuman staff, final ProbationArea probationArea) {
         return staffRepository.findFirstBySurnameIgnoreCaseAndForenameIgnoreCaseAndProbationArea(staff.getSurname(), firstNameIn(staff.getForenames()), probationArea)
@@ -120,14 +169,15 @@ public class StaffService {
     }
 
     private Function<StaffDetails, StaffDetails> addFieldsFromLdap() {
-        return staffDetails -> {
-            var nDeliusUser = ldapRepository.getDeliusUserNoRoles(staffDetails.getUsername());
-            return staffDetails
-                .toBuilder()
-                .email(nDeliusUser.map(NDeliusUser::getMail).orElse(null))
-                .telephoneNumber(nDeliusUser.map(NDeliusUser::getTelephoneNumber).orElse(null))
-                .build();
-        };
+        return staffDetails -> addFieldsFromLdap(staffDetails, ldapRepository.getDeliusUserNoRoles(staffDetails.getUsername()));
+    }
+
+    private StaffDetails addFieldsFromLdap(final StaffDetails staffDetails, final Optional<NDeliusUser> nDeliusUser) {
+        return staffDetails
+            .toBuilder()
+            .email(nDeliusUser.map(NDeliusUser::getMail).orElse(null))
+            .telephoneNumber(nDeliusUser.map(NDeliusUser::getTelephoneNumber).orElse(null))
+            .build();
     }
 
     private Staff createStaffInArea(final String surname, final String forename, final ProbationArea probationArea) {
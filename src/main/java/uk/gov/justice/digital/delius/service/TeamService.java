@@ -48,6 +48,7 @@ public class TeamService {
     private final ProbationAreaRepository probationAreaRepository;
     private final TelemetryClient telemetryClient;
     private final StaffService staffService;
+    private final ProbationAreaTeamRegistry probationAreaTeamRegistry;
 
     @Transactional
     public Team findOrCreatePrisonOffenderManagerTeamInArea(ProbationArea probationArea) {
@@ -133,7 +134,9 @@ public class TeamService {
         probationArea.getTeams().add(team);
         telemetryClient.trackEvent("POMTeamCreated", Map.of("probationArea", probationArea.getCode(), "code", code), null);
 
-        return teamRepository.save(team);
+        final var savedTeam = teamRepository.save(team);
+        probationAreaTeamRegistry.evict(probationArea.getProbationAreaId());
+        return savedTeam;
     }
 
     private Staff createUnallocatedStaffInTeam(Team team) {
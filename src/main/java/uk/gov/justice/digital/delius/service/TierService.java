@@ -1,11 +1,15 @@
 package uk.gov.justice.digital.delius.service;
 
+import com.google.common.collect.Lists;
 import com.microsoft.applicationinsights.TelemetryClient;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
+import uk.gov.justice.digital.delius.data.api.TierUpdate;
+import uk.gov.justice.digital.delius.data.api.TierUpdateResult;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ManagementTier;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ManagementTierId;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
@@ -13,18 +17,26 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderManager;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Staff;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Team;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderManagerAreaKeys;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ManagementTierRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.StaffRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.TeamRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @AllArgsConstructor
 public class TierService {
+    public static final int MAX_BULK_TIER_UPDATES = 1000;
 
     private final ManagementTierRepository managementTierRepository;
     private final TelemetryClient telemetryClient;
@@ -51,6 +63,104 @@ public class TierService {
         telemetryClient.trackEvent("TierUpdateSuccess", telemetryProperties, null);
     }
 
+    /**
+     * Updates the tiers of many offenders at once, typically after a whole caseload has been re-tiered. The change
+     * reason, each tier and the UTS team and staff of each area are looked up only once, and the tiers, contacts and
+     * SPG notifications are saved together so their inserts are batched. Each update succeeds or fails on its own and
+     * the results are returned in the order of the updates. Only the last update given for an offender is applied.
+     */
+    @Transactional
+    public List<TierUpdateResult> updateTiers(List<TierUpdate> tierUpdates) {
+        if (tierUpdates.size() > MAX_BULK_TIER_UPDATES) {
+            throw new BadRequestException(String.format("At most %d tiers can be updated at once, %d were requested", MAX_BULK_TIER_UPDATES, tierUpdates.size()));
+        }
+        if (tierUpdates.isEmpty()) {
+            return List.of();
+        }
+
+        final var changeReason = getChangeReason(Map.of("count", String.valueOf(tierUpdates.size())));
+        final var offenders = findOffenderManagerAreaKeys(tierUpdates);
+        final var tiers = new HashMap<String, Optional<StandardReference>>();
+        final var teams = new HashMap<String, Optional<Team>>();
+        final var staff = new HashMap<String, Optional<Staff>>();
+        final var dateChanged = LocalDateTime.now();
+
+        final var results = new ArrayList<TierUpdateResult>(tierUpdates.size());
+        final var managementTiers = new ArrayList<ManagementTier>();
+        final var contacts = new ArrayList<ContactService.TierUpdateContact>();
+        final var lastUpdateOfCrn = new HashMap<String, Integer>();
+        for (int index = 0; index < tierUpdates.size(); index++) {
+            lastUpdateOfCrn.put(tierUpdates.get(index).getCrn(), index);
+        }
+        for (int index = 0; index < tierUpdates.size(); index++) {
+            final var tierUpdate = tierUpdates.get(index);
+            final var crn = tierUpdate.getCrn();
+            final var tier = tierUpdate.getTier();
+            final var tierWithUPrefix = tierWithUPrefix(tier);
+            final var telemetryProperties = Map.of("crn", String.valueOf(crn), "tier", tierWithUPrefix);
+            final var result = TierUpdateResult.builder().crn(crn).tier(tier);
+
+            // every update of one offender would be written with the same date changed, so only the last can be kept
+            if (lastUpdateOfCrn.get(crn) != index) {
+                results.add(failure(result, telemetryProperties, "TierUpdateFailureSuperseded", String.format("Superseded by a later update of the tier of CRN %s", crn)));
+                continue;
+            }
+
+            final var offender = offenders.get(crn);
+            if (offender == null) {
+                results.add(failure(result, telemetryProperties, "TierUpdateFailureOffenderNotFound", String.format("Offender with CRN %s not found", crn)));
+                continue;
+            }
+            final var updatedTier = tiers.computeIfAbsent(tierWithUPrefix, referenceDataService::getTier);
+            if (updatedTier.isEmpty()) {
+                results.add(failure(result, telemetryProperties, "TierUpdateFailureTierNotFound", String.format("Tier %s not found", tier)));
+                continue;
+            }
+            final var areaCode = offender.getProbationAreaCode();
+            if (areaCode == null) {
+                results.add(failure(result, telemetryProperties, "TierUpdateFailureActiveCommunityOffenderManagerNotFound", String.format("Could not find active community manager for crn %s", crn)));
+                continue;
+            }
+            final var staffCode = String.format("%sUTSO", areaCode);
+            final var areaStaff = staff.computeIfAbsent(staffCode, staffRepository::findByOfficerCode);
+            if (areaStaff.isEmpty()) {
+                results.add(failure(result, telemetryProperties, "TierUpdateFailureStaffNotFound", String.format("Could not find staff with officer code %s", staffCode)));
+                continue;
+            }
+            final var teamCode = String.format("%sUTS", areaCode);
+            final var areaTeam = teams.computeIfAbsent(teamCode, teamRepository::findByCode);
+            if (areaTeam.isEmpty()) {
+                results.add(failure(result, telemetryProperties, "TierUpdateFailureTeamNotFound", String.format("Could not find team with code %s", teamCode)));
+                continue;
+            }
+
+            managementTiers.add(managementTierOf(updatedTier.get(), offender.getOffenderId(), changeReason, dateChanged));
+            contacts.add(new ContactService.TierUpdateContact(offender.getOffenderId(), updatedTier.get().getCodeDescription(), areaStaff.get(), areaTeam.get()));
+            results.add(result.updated(true).build());
+        }
+
+        managementTierRepository.saveAll(managementTiers);
+        contactService.addContactsForTierUpdates(contacts, dateChanged, changeReason.getCodeDescription());
+        spgNotificationService.notifyUpdateOfOffenders(contacts.stream().map(ContactService.TierUpdateContact::offenderId).collect(Collectors.toList()));
+
+        telemetryClient.trackEvent("BulkTierUpdateSuccess", Map.of("updated", String.valueOf(managementTiers.size()), "failed", String.valueOf(tierUpdates.size() - managementTiers.size())), null);
+        return results;
+    }
+
+    private Map<String, OffenderManagerAreaKeys> findOffenderManagerAreaKeys(List<TierUpdate> tierUpdates) {
+        final var crns = tierUpdates.stream().map(TierUpdate::getCrn).distinct().collect(Collectors.toList());
+        // an offender with more than one active community offender manager is updated in the area of the most recently allocated
+        return Lists.partition(crns, OffenderRepository.MAX_IN_LIST_SIZE)
+                .stream()
+                .flatMap(batch -> offenderRepository.findOffenderManagerAreaKeysByCrnIn(batch).stream())
+                .collect(Collectors.toMap(OffenderManagerAreaKeys::getCrn, Function.identity(), (first, ignored) -> first));
+    }
+
+    private TierUpdateResult failure(TierUpdateResult.TierUpdateResultBuilder result, Map<String, String> telemetryProperties, String event, String failureReason) {
+        telemetryClient.trackEvent(event, telemetryProperties, null);
+        return result.updated(false).failureReason(failureReason).build();
+    }
+
     private void writeContact(Offender offender, StandardReference changeReason, StandardReference updatedTier, Map<String, String> telemetryProperties) {
         final var areaCode = getAreaCode(offender, telemetryProperties);
         final var staff = getStaff(areaCode, telemetryProperties);
@@ -90,19 +200,20 @@ public class TierService {
     }
 
     private void writeTierUpdate(StandardReference tier, Long offenderId, StandardReference changeReason) {
+        managementTierRepository.save(managementTierOf(tier, offenderId, changeReason, LocalDateTime.now()));
+    }
 
-        ManagementTier newTier = ManagementTier
+    private ManagementTier managementTierOf(StandardReference tier, Long offenderId, StandardReference changeReason, LocalDateTime dateChanged) {
+        return ManagementTier
             .builder()
             .id(ManagementTierId
                 .builder()
                 .offenderId(offenderId)
                 .tier(tier)
-                .dateChanged(LocalDateTime.now())
+                .dateChanged(dateChanged)
                 .build())
             .tierChangeReason(changeReason)
             .build();
-
-        managementTierRepository.save(newTier);
     }
 
     private String tierWithUPrefix(String tier) {
@@ -6,53 +6,49 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 import uk.gov.justice.digital.delius.data.api.AccessLimitation;
 import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderAccess;
 
 import java.util.Collection;
 import java.util.Set;
 
 @Service
 public class UserAccessService {
-    private final UserService userService;
-    private final OffenderService offenderService;
+    private final AccessLimitationService accessLimitationService;
     private final CurrentUserSupplier currentUserSupplier;
     private final Set<String> ignoreExclusionRoles;
     private final Set<String> ignoreRestrictionRoles;
 
-    public UserAccessService(UserService userService,
-                             OffenderService offenderService,
+    public UserAccessService(AccessLimitationService accessLimitationService,
                              CurrentUserSupplier currentUserSupplier,
                              @Value("${user-access.scopes.dont-apply-exclusions-for}") Set<String> ignoreExclusionRoles,
                              @Value("${user-access.scopes.dont-apply-restrictions-for}") Set<String> ignoreRestrictionRoles) {
-        this.userService = userService;
-        this.offenderService = offenderService;
+        this.accessLimitationService = accessLimitationService;
         this.currentUserSupplier = currentUserSupplier;
         this.ignoreExclusionRoles = ignoreExclusionRoles;
         this.ignoreRestrictionRoles = ignoreRestrictionRoles;
     }
 
     public void checkExclusionsAndRestrictions(String crn, Collection<? extends GrantedAuthority> authorities) {
-        final var username = currentUserSupplier.username();
-        if (username.isPresent() && shouldCheckExclusion(authorities)) {
-
-            final var excludedException = offenderService.getOffenderByCrn(crn)
-                .map(o -> userService.accessLimitationOf(username.get(), o))
-                .filter(AccessLimitation::isUserExcluded)
-                .map(accessLimitation -> new AccessDeniedException(accessLimitation.getExclusionMessage()));
+        final var checkExclusion = shouldCheckExclusion(authorities);
+        final var checkRestriction = shouldCheckRestriction(authorities);
+        if (!checkExclusion && !checkRestriction) {
+            return;
+        }
 
-            if (excludedException.isPresent())
-                throw excludedException.get();
+        final var maybeOffender = accessLimitationService.offenderAccessOf(crn);
+        if (maybeOffender.isEmpty()) {
+            return;
         }
+        final var offender = maybeOffender.get();
+        final var accessLimitation = currentUserSupplier.username()
+            .map(username -> accessLimitationService.accessLimitationOf(username, offender))
+            .orElseGet(() -> buildAnonymousUserAccessLimitation(offender));
 
-        if (shouldCheckRestriction(authorities)) {
-            final var restrictedException = offenderService.getOffenderByCrn(crn)
-                .map(o -> username.map(u -> userService.accessLimitationOf(u, o))
-                                         .orElseGet(() -> buildAnonymousUserAccessLimitation(o)))
-                .filter(AccessLimitation::isUserRestricted)
-                .map(accessLimitation -> new AccessDeniedException(accessLimitation.getRestrictionMessage()));
+        if (checkExclusion && accessLimitation.isUserExcluded())
+            throw new AccessDeniedException(accessLimitation.getExclusionMessage());
 
-            if (restrictedException.isPresent())
-                throw restrictedException.get();
-        }
+        if (checkRestriction && accessLimitation.isUserRestricted())
+            throw new AccessDeniedException(accessLimitation.getRestrictionMessage());
     }
 
     private boolean shouldCheckExclusion(Collection<? extends GrantedAuthority> authorities) {
@@ -69,9 +65,9 @@ public class UserAccessService {
             .noneMatch(ignoreRestrictionRoles::contains);
     }
 
-    private AccessLimitation buildAnonymousUserAccessLimitation(uk.gov.justice.digital.delius.data.api.OffenderDetail offender) {
+    private AccessLimitation buildAnonymousUserAccessLimitation(OffenderAccess offender) {
         return AccessLimitation.builder()
-            .userRestricted(offender.getCurrentRestriction())
+            .userRestricted(offender.isCurrentRestriction())
             .restrictionMessage(offender.getRestrictionMessage())
             .userExcluded(false)    // Can't exclude without a username
             .exclusionMessage(offender.getExclusionMessage())
@@ -5,7 +5,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.ldap.NameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.data.api.AccessLimitation;
@@ -28,44 +27,25 @@ import static java.util.stream.Collectors.toList;
 public class UserService {
     private final UserRepositoryWrapper userRepositoryWrapper;
     private final LdapRepository ldapRepository;
+    private final DeliusUserCache deliusUserCache;
     private final TelemetryClient telemetryClient;
+    private final AccessLimitationService accessLimitationService;
 
     @Autowired
-    public UserService(final UserRepositoryWrapper userRepositoryWrapper, final LdapRepository ldapRepository, final TelemetryClient telemetryClient) {
+    public UserService(final UserRepositoryWrapper userRepositoryWrapper, final LdapRepository ldapRepository, final DeliusUserCache deliusUserCache, final TelemetryClient telemetryClient, final AccessLimitationService accessLimitationService) {
         this.userRepositoryWrapper = userRepositoryWrapper;
         this.ldapRepository = ldapRepository;
+        this.deliusUserCache = deliusUserCache;
         this.telemetryClient = telemetryClient;
+        this.accessLimitationService = accessLimitationService;
     }
 
-    @Transactional(readOnly = true)
     public AccessLimitation accessLimitationOf(final String subject, final OffenderDetail offenderDetail) {
-        final var accessLimitationBuilder = AccessLimitation.builder();
-
-        if (offenderDetail.getCurrentExclusion() || offenderDetail.getCurrentRestriction()) {
-            final var user = userRepositoryWrapper.getUser(subject);
-
-            if (offenderDetail.getCurrentExclusion()) {
-                final var userExcluded = user.isExcludedFrom(offenderDetail.getOffenderId());
-                accessLimitationBuilder.userExcluded(userExcluded);
-                if (userExcluded) {
-                    accessLimitationBuilder.exclusionMessage(offenderDetail.getExclusionMessage());
-                }
-            }
-
-            if (offenderDetail.getCurrentRestriction()) {
-                final var userRestricted = !user.isRestrictedUserFor(offenderDetail.getOffenderId());
-                accessLimitationBuilder.userRestricted(userRestricted);
-                if (userRestricted) {
-                    accessLimitationBuilder.restrictionMessage(offenderDetail.getRestrictionMessage());
-                }
-            }
-        }
-
-        return accessLimitationBuilder.build();
+        return accessLimitationService.accessLimitationOf(subject, offenderDetail);
     }
 
     public Optional<UserDetails> getUserDetails(final String username) {
-        final var ldapUser = ldapRepository.getDeliusUser(username);
+        final var ldapUser = deliusUserCache.getDeliusUser(username);
         return ldapUser.map(user -> {
             final var oracleUser = userRepositoryWrapper.getUser(username);
             return UserDetails
@@ -119,11 +99,13 @@ public class UserService {
     }
 
     public boolean changePassword(final String username, final String password) {
-        return ldapRepository.changePassword(username, password);
+        final var changed = ldapRepository.changePassword(username, password);
+        deliusUserCache.evictUser(username);
+        return changed;
     }
 
     public void addRole(final String username, final String roleId) {
-        final var allRoles = ldapRepository.getAllRoles();
+        final var allRoles = deliusUserCache.getAllRoles();
         if (!allRoles.contains(roleId)) {
             log.info("Could not add role with id: '{}' in {}", roleId, allRoles);
             throw new BadRequestException(String.format("Could not find role with id: '%s'", roleId));
@@ -133,6 +115,7 @@ public class UserService {
         } catch (final NameNotFoundException e) {
             throw new NotFoundException(String.format("Could not find user with username: '%s'", username));
         }
+        deliusUserCache.evictRoles(username);
         telemetryClient.trackEvent("RoleAssigned", Map.of("username", username, "roleId", roleId), null);
     }
 }
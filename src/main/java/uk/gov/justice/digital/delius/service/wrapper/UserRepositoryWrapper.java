@@ -27,6 +27,22 @@ public class UserRepositoryWrapper {
         return maybeUser.orElseThrow(() -> new NoSuchUserException("Can't resolve user: " + userDistinguishedName));
     }
 
+    @NationalUserOverride
+    public Long getUserId(final String userDistinguishedName) {
+        final var maybeUserId = userRepository.findUserIdByDistinguishedName(userDistinguishedName);
+        return maybeUserId.orElseThrow(() -> new NoSuchUserException("Can't resolve user: " + userDistinguishedName));
+    }
+
+    @NationalUserOverride
+    public List<Long> getActiveExclusionOffenderIds(final Long userId) {
+        return userRepository.findActiveExclusionOffenderIds(userId);
+    }
+
+    @NationalUserOverride
+    public List<Long> getActiveRestrictionOffenderIds(final Long userId) {
+        return userRepository.findActiveRestrictionOffenderIds(userId);
+    }
+
     @NationalUserOverride
     public List<User> findBySurnameIgnoreCaseAndForenameIgnoreCase(final String surname, final String forename) {
         return userRepository.findBySurnameIgnoreCaseAndForenameIgnoreCase(surname, forename);
@@ -1,11 +1,13 @@
 package uk.gov.justice.digital.delius.transformers;
 
 import com.google.common.collect.ImmutableList;
+import uk.gov.justice.digital.delius.data.api.AppointmentOutcome;
 import uk.gov.justice.digital.delius.data.api.Contact;
 import uk.gov.justice.digital.delius.data.api.ContactSummary;
 import uk.gov.justice.digital.delius.data.api.Human;
 import uk.gov.justice.digital.delius.data.api.KeyValue;
 import uk.gov.justice.digital.delius.data.api.Nsi;
+import uk.gov.justice.digital.delius.data.api.OfficeLocation;
 import uk.gov.justice.digital.delius.data.api.StaffHuman;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ContactOutcomeType;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ContactType;
@@ -20,6 +22,7 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.ProviderLocation;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ProviderTeam;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Staff;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Team;
+import uk.gov.justice.digital.delius.jpa.standard.projection.ContactListing;
 import uk.gov.justice.digital.delius.utils.DateConverter;
 
 import java.util.List;
@@ -51,6 +54,57 @@ public class ContactTransformer {
             .build();
     }
 
+    public static ContactSummary contactSummaryOf(ContactListing contact) {
+        return ContactSummary.builder()
+            .contactId(contact.getContactId())
+            .contactStart(DateConverter.toOffsetDateTime(contact.getContactDate(), contact.getContactStartTime()))
+            .contactEnd(DateConverter.toOffsetDateTime(contact.getContactDate(), contact.getContactEndTime()))
+            .type(uk.gov.justice.digital.delius.data.api.ContactType.builder()
+                .code(contact.getContactTypeCode())
+                .description(contact.getContactTypeDescription())
+                .shortDescription(contact.getContactTypeShortDescription())
+                .appointment(contact.getContactTypeAttendanceContact())
+                .build())
+            .officeLocation(Optional.ofNullable(contact.getOfficeLocationId())
+                .map(id -> OfficeLocation.builder()
+                    .code(contact.getOfficeLocationCode())
+                    .description(contact.getOfficeLocationDescription())
+                    .buildingName(contact.getOfficeLocationBuildingName())
+                    .buildingNumber(contact.getOfficeLocationBuildingNumber())
+                    .streetName(contact.getOfficeLocationStreetName())
+                    .townCity(contact.getOfficeLocationTownCity())
+                    .county(contact.getOfficeLocationCounty())
+                    .postcode(contact.getOfficeLocationPostcode())
+                    .build())
+                .orElse(null))
+            .notes(contact.getNotes())
+            .provider(Optional.ofNullable(contact.getProbationAreaId())
+                .map(id -> KeyValue.builder().code(contact.getProbationAreaCode()).description(contact.getProbationAreaDescription()).build())
+                .orElse(null))
+            .team(Optional.ofNullable(contact.getTeamId())
+                .map(id -> KeyValue.builder().code(contact.getTeamCode()).description(contact.getTeamDescription()).build())
+                .orElse(null))
+            .staff(Optional.ofNullable(contact.getStaffId())
+                .map(id -> StaffHuman.builder()
+                    .code(contact.getStaffOfficerCode())
+                    .forenames(combinedForenamesOf(contact.getStaffForename(), contact.getStaffForname2()))
+                    .surname(contact.getStaffSurname())
+                    .build())
+                .orElse(null))
+            .sensitive(ynToBoolean(contact.getSensitive()))
+            .outcome(Optional.ofNullable(contact.getContactOutcomeTypeId())
+                .map(id -> AppointmentOutcome.builder()
+                    .code(contact.getContactOutcomeTypeCode())
+                    .description(contact.getContactOutcomeTypeDescription())
+                    .attended(ynToBoolean(contact.getAttended()))
+                    .complied(ynToBoolean(contact.getComplied()))
+                    .hoursCredited(contact.getHoursCredited())
+                    .build())
+                .orElse(null))
+            .rarActivity("Y".equals(contact.getRarActivity()))
+            .build();
+    }
+
     public static List<Contact> contactsOf(List<uk.gov.justice.digital.delius.jpa.standard.entity.Contact> contacts) {
         return contacts.stream()
                 .sorted(comparing(uk.gov.justice.digital.delius.jpa.standard.entity.Contact::getCreatedDateTime))
@@ -62,7 +116,7 @@ public class ContactTransformer {
         return NsiTransformer.nsiOf(nsi);
     }
 
-    private static uk.gov.justice.digital.delius.data.api.Contact contactOf(uk.gov.justice.digital.delius.jpa.standard.entity.Contact contact) {
+    public static uk.gov.justice.digital.delius.data.api.Contact contactOf(uk.gov.justice.digital.delius.jpa.standard.entity.Contact contact) {
         return uk.gov.justice.digital.delius.data.api.Contact.builder()
                 .eventId(eventIdOf(contact.getEvent()))
                 .alertActive(ynToBoolean(contact.getAlertActive()))
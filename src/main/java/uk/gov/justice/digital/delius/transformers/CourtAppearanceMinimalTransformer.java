@@ -1,6 +1,10 @@
 package uk.gov.justice.digital.delius.transformers;
 
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceMinimal;
+import uk.gov.justice.digital.delius.data.api.KeyValue;
+import uk.gov.justice.digital.delius.jpa.standard.projection.CourtAppearanceListing;
+
+import java.util.Optional;
 
 public class CourtAppearanceMinimalTransformer {
 
@@ -14,4 +18,20 @@ public class CourtAppearanceMinimalTransformer {
             .appearanceType(CourtAppearanceBasicTransformer.appearanceTypeOf(courtAppearance.getAppearanceType()))
             .build();
     }
+
+    public static CourtAppearanceMinimal courtAppearanceOf(CourtAppearanceListing courtAppearance) {
+        return CourtAppearanceMinimal.builder()
+            .offenderId(courtAppearance.getOffenderId())
+            .courtAppearanceId(courtAppearance.getCourtAppearanceId())
+            .appearanceDate(courtAppearance.getAppearanceDate())
+            .courtCode(courtAppearance.getCourtCode())
+            .courtName(courtAppearance.getCourtName())
+            .appearanceType(Optional.ofNullable(courtAppearance.getAppearanceTypeCode())
+                .map(code -> KeyValue.builder()
+                    .code(code)
+                    .description(courtAppearance.getAppearanceTypeDescription())
+                    .build())
+                .orElse(null))
+            .build();
+    }
 }
@@ -9,7 +9,6 @@ import uk.gov.justice.digital.delius.data.api.ContactDetailsSummary;
 import uk.gov.justice.digital.delius.data.api.Human;
 import uk.gov.justice.digital.delius.data.api.IDs;
 import uk.gov.justice.digital.delius.data.api.KeyValue;
-import uk.gov.justice.digital.delius.data.api.ManagedOffender;
 import uk.gov.justice.digital.delius.data.api.OffenderDetail;
 import uk.gov.justice.digital.delius.data.api.OffenderDetailSummary;
 import uk.gov.justice.digital.delius.data.api.OffenderLanguages;
@@ -471,70 +470,6 @@ public class OffenderTransformer {
         return responsibleOfficers;
     }
 
-    private static ManagedOffender convertToManagedOffender(uk.gov.justice.digital.delius.jpa.standard.entity.OffenderManager om, Staff staff) {
-
-        return ManagedOffender.builder()
-                .staffCode(staff.getOfficerCode())
-                .staffIdentifier(staff.getStaffId())
-                .offenderId(om.getOffenderId())
-                .nomsNumber(Optional.ofNullable(om.getManagedOffender()).map(Offender::getNomsNumber).orElse(null))
-                .crnNumber(Optional.ofNullable(om.getManagedOffender()).map(Offender::getCrn).orElse(null))
-                .offenderSurname(Optional.ofNullable(om.getManagedOffender()).map(Offender::getSurname).orElse(null))
-                .isCurrentRo(Objects.nonNull(om.getActiveResponsibleOfficer()))
-                .isCurrentOm(isCurrentManager(om.getActiveFlag(), om.getEndDate()))
-                .isCurrentPom(false)
-                .omStartDate(om.getAllocationDate())
-                .omEndDate(om.getEndDate())
-                .build();
-    }
-
-    private static ManagedOffender convertToManagedOffender(uk.gov.justice.digital.delius.jpa.standard.entity.PrisonOffenderManager pom, Staff staff) {
-
-        return ManagedOffender.builder()
-                .staffCode(staff.getOfficerCode())
-                .staffIdentifier(staff.getStaffId())
-                .offenderId(pom.getOffenderId())
-                .nomsNumber(Optional.ofNullable(pom.getManagedOffender()).map(Offender::getNomsNumber).orElse(null))
-                .crnNumber(Optional.ofNullable(pom.getManagedOffender()).map(Offender::getCrn).orElse(null))
-                .offenderSurname(Optional.ofNullable(pom.getManagedOffender()).map(Offender::getSurname).orElse(null))
-                .isCurrentRo(Objects.nonNull(pom.getActiveResponsibleOfficer()))
-                .isCurrentOm(false)
-                .isCurrentPom(isCurrentManager(pom.getActiveFlag(), pom.getEndDate()))
-                .omStartDate(null)
-                .omEndDate(null)
-                .build();
-    }
-
-    public static List<uk.gov.justice.digital.delius.data.api.ManagedOffender> managedOffenderOf(Staff staff, boolean current) {
-
-        List<ManagedOffender> managedOffenders = new ArrayList<>();
-
-        if (staff.getOffenderManagers() != null && !staff.getOffenderManagers().isEmpty()) {
-            managedOffenders.addAll(
-                    staff.getOffenderManagers().stream()
-                            .map(offenderManager -> convertToManagedOffender(offenderManager, staff))
-                            .collect(toList()));
-        }
-
-        if (staff.getPrisonOffenderManagers() != null && !staff.getPrisonOffenderManagers().isEmpty()) {
-            managedOffenders.addAll(
-                    staff.getPrisonOffenderManagers().stream()
-                            .map(prisonOffenderManager -> convertToManagedOffender(prisonOffenderManager, staff))
-                            .collect(toList()));
-        }
-
-        if (current && !managedOffenders.isEmpty()) {
-
-            // Filter the list of managed offenders to only those which hold currently active OM, POM or RO roles
-            return managedOffenders
-                    .stream()
-                    .filter(mo -> (mo.isCurrentOm() || mo.isCurrentPom() || mo.isCurrentRo()))
-                    .collect(toList());
-        }
-
-        return managedOffenders;
-    }
-
     public static List<AdditionalIdentifier> additionalIdentifiersOf(List<uk.gov.justice.digital.delius.jpa.standard.entity.AdditionalIdentifier> additionalIdentifiers) {
         return Optional.ofNullable(additionalIdentifiers)
                 .map(identifiers -> identifiers
@@ -8,6 +8,7 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.District;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ExternalProvider;
 import uk.gov.justice.digital.delius.jpa.standard.entity.LocalDeliveryUnit;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Organisation;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ProviderTeam;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Team;
 
 import java.util.List;
@@ -41,7 +42,11 @@ public class ProbationAreaTransformer {
     }
 
     private static List<AllTeam> teamsOf(uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea probationArea) {
-        List<AllTeam> teams = probationArea.getTeams().stream().map(team -> AllTeam.builder()
+        return teamsOf(probationArea.getTeams(), probationArea.getProviderTeams());
+    }
+
+    public static List<AllTeam> teamsOf(List<Team> areaTeams, List<ProviderTeam> areaProviderTeams) {
+        List<AllTeam> teams = areaTeams.stream().map(team -> AllTeam.builder()
                 .code(team.getCode())
                 .description(team.getDescription())
                 .district(districtOf(team.getDistrict()))
@@ -52,7 +57,7 @@ public class ProbationAreaTransformer {
                 .teamId(team.getTeamId())
                 .build()).collect(Collectors.toList());
 
-        List<AllTeam> providerTeams = probationArea.getProviderTeams().stream().map(providerTeam -> AllTeam.builder()
+        List<AllTeam> providerTeams = areaProviderTeams.stream().map(providerTeam -> AllTeam.builder()
                 .providerTeamId(providerTeam.getProviderTeamId())
                 .code(providerTeam.getCode())
                 .name(providerTeam.getName())
@@ -0,0 +1,74 @@
+package uk.gov.justice.digital.delius.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+    @Mock
+    private HikariDataSource readWriteDataSource;
+    @Mock
+    private HikariDataSource readOnlyDataSource;
+    @Mock
+    private Connection connection;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReadWriteRoutingDataSource(readWriteDataSource, readOnlyDataSource);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReadOnlyPool() throws SQLException {
+        when(readOnlyDataSource.getConnection()).thenReturn(connection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(connection);
+    }
+
+    @Test
+    void otherTransactionsUseReadWritePool() throws SQLException {
+        when(readWriteDataSource.getConnection()).thenReturn(connection);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(connection);
+    }
+
+    @Test
+    void evictsConnectionsFromThePoolTheyCameFrom() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routingDataSource.evictConnection(connection);
+
+        verify(readOnlyDataSource).evictConnection(connection);
+        verify(readWriteDataSource, never()).evictConnection(connection);
+    }
+
+    @Test
+    void closesBothPools() {
+        routingDataSource.destroy();
+
+        verify(readWriteDataSource).close();
+        verify(readOnlyDataSource).close();
+    }
+}
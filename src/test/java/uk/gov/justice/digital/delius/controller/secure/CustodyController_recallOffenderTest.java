@@ -9,6 +9,7 @@ import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.controller.advice.SecureControllerAdvice;
 import uk.gov.justice.digital.delius.data.api.Custody;
 import uk.gov.justice.digital.delius.data.api.OffenderRecalledNotification;
+import uk.gov.justice.digital.delius.service.BulkCustodyUpdateService;
 import uk.gov.justice.digital.delius.service.CustodyService;
 import uk.gov.justice.digital.delius.service.OffenderIdentifierService;
 
@@ -30,7 +31,7 @@ public class CustodyController_recallOffenderTest {
     public void setup() {
         RestAssuredMockMvc.config = newConfig().encoderConfig(encoderConfig().defaultContentCharset("UTF-8"));
         RestAssuredMockMvc.standaloneSetup(
-            new CustodyResource(custodyService, offenderIdentifierService),
+            new CustodyResource(custodyService, offenderIdentifierService, mock(BulkCustodyUpdateService.class)),
             new SecureControllerAdvice()
         );
     }
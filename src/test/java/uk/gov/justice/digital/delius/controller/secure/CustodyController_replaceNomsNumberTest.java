@@ -10,6 +10,7 @@ import uk.gov.justice.digital.delius.controller.ConflictingRequestException;
 import uk.gov.justice.digital.delius.controller.advice.SecureControllerAdvice;
 import uk.gov.justice.digital.delius.data.api.IDs;
 import uk.gov.justice.digital.delius.data.api.UpdateOffenderNomsNumber;
+import uk.gov.justice.digital.delius.service.BulkCustodyUpdateService;
 import uk.gov.justice.digital.delius.service.CustodyService;
 import uk.gov.justice.digital.delius.service.OffenderIdentifierService;
 
@@ -42,7 +43,7 @@ public class CustodyController_replaceNomsNumberTest {
     public void setup() {
         RestAssuredMockMvc.config =  newConfig().encoderConfig(encoderConfig().defaultContentCharset("UTF-8"));
         RestAssuredMockMvc.standaloneSetup(
-                new CustodyResource(custodyService, offenderIdentifierService),
+                new CustodyResource(custodyService, offenderIdentifierService, mock(BulkCustodyUpdateService.class)),
                 new SecureControllerAdvice()
         );
 
@@ -14,6 +14,7 @@ import org.mockito.ArgumentCaptor;
 import uk.gov.justice.digital.delius.controller.advice.SecureControllerAdvice;
 import uk.gov.justice.digital.delius.data.api.Custody;
 import uk.gov.justice.digital.delius.data.api.UpdateCustodyBookingNumber;
+import uk.gov.justice.digital.delius.service.BulkCustodyUpdateService;
 import uk.gov.justice.digital.delius.service.CustodyService;
 import uk.gov.justice.digital.delius.service.OffenderIdentifierService;
 
@@ -48,7 +49,7 @@ public class CustodyController_updateCustodyBookingNumberTest {
     public void setup() {
         RestAssuredMockMvc.config =  newConfig().encoderConfig(encoderConfig().defaultContentCharset("UTF-8"));
         RestAssuredMockMvc.standaloneSetup(
-                new CustodyResource(custodyService, offenderIdentifierService),
+                new CustodyResource(custodyService, offenderIdentifierService, mock(BulkCustodyUpdateService.class)),
                 new SecureControllerAdvice()
         );
 
@@ -7,16 +7,19 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import uk.gov.justice.digital.delius.controller.advice.SecureControllerAdvice;
 import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
+import uk.gov.justice.digital.delius.data.api.OffenderUpdatesAcknowledgement;
 import uk.gov.justice.digital.delius.service.OffenderDeltaLockedException;
 import uk.gov.justice.digital.delius.service.OffenderUpdatesService;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -100,4 +103,67 @@ class OffenderUpdatesResourceTest {
         }
     }
 
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("offenders/nextUpdates")
+    class LeaseNextUpdates {
+
+        @Test
+        @DisplayName("Will lease a batch of updates")
+        void willLeaseBatchOfUpdates() {
+            when(offenderUpdatesService.leaseNextUpdates(20, 120)).thenReturn(List.of(
+                    OffenderUpdate.builder().offenderDeltaId(1L).offenderId(99L).status("INPROGRESS").build(),
+                    OffenderUpdate.builder().offenderDeltaId(2L).offenderId(98L).status("INPROGRESS").failedUpdate(true).build()));
+
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .when()
+                    .get("/secure/offenders/nextUpdates?max=20&leaseSeconds=120")
+                    .then()
+                    .statusCode(200)
+                    .body("size()", equalTo(2))
+                    .body("[0].offenderDeltaId", equalTo(1))
+                    .body("[1].failedUpdate", equalTo(true))
+            ;
+        }
+
+        @Test
+        @DisplayName("Will return an empty list when there are no updates")
+        void willReturnEmptyListWhenNoUpdates() {
+            when(offenderUpdatesService.leaseNextUpdates(100, 600)).thenReturn(List.of());
+
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .when()
+                    .get("/secure/offenders/nextUpdates")
+                    .then()
+                    .statusCode(200)
+                    .body("size()", equalTo(0))
+            ;
+        }
+    }
+
+    @Nested
+    @DisplayName("offenders/updates/acknowledge")
+    class AcknowledgeUpdates {
+
+        @Test
+        @DisplayName("Will acknowledge processed and failed updates")
+        void willAcknowledgeUpdates() {
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .body("{\"processed\": [1, 2], \"failed\": [3]}")
+                    .when()
+                    .post("/secure/offenders/updates/acknowledge")
+                    .then()
+                    .statusCode(200)
+            ;
+
+            verify(offenderUpdatesService).acknowledgeUpdates(OffenderUpdatesAcknowledgement
+                    .builder()
+                    .processed(List.of(1L, 2L))
+                    .failed(List.of(3L))
+                    .build());
+        }
+    }
+}
@@ -71,7 +71,7 @@ public class OffendersResource_getOffenderContactSummariesByCrn {
     public void gettingContactSummariesByCrn() {
         final var contacts = List.of(aContactSummary(1L), aContactSummary(2L));
         when(offenderService.offenderIdOfCrn("CRN1")).thenReturn(Optional.of(123L));
-        when(contactService.contactSummariesFor(eq(123L), filterCaptor.capture(), eq(10), eq(20)))
+        when(contactService.contactSummariesFor(eq(123L), filterCaptor.capture(), eq(10), eq(20), eq(false)))
             .thenReturn(new PageImpl(contacts, PageRequest.of(10, 20), 1000));
 
         given()
@@ -97,6 +97,21 @@ public class OffendersResource_getOffenderContactSummariesByCrn {
                 .build());
     }
 
+    @Test
+    public void contactNotesCanBeIncluded() {
+        when(offenderService.offenderIdOfCrn("CRN1")).thenReturn(Optional.of(123L));
+        when(contactService.contactSummariesFor(eq(123L), filterCaptor.capture(), eq(0), eq(1000), eq(true)))
+            .thenReturn(new PageImpl(List.of(aContactSummary(1L)), PageRequest.of(0, 1000), 1));
+
+        given()
+            .when()
+            .get("/secure/offenders/crn/CRN1/contact-summary?includeNotes=true")
+            .then()
+            .statusCode(200)
+            .body("content.size()", equalTo(1))
+            .body("content[0].notes", notNullValue());
+    }
+
     private static ContactSummary aContactSummary(Long id) {
         return ContactSummary.builder()
             .contactId(id)
@@ -136,4 +136,54 @@ class ReferenceDataResourceTest {
                     .body("referenceDataSets[1].description", is("POM Allocation Reason"));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("refreshReferenceData")
+    class RefreshReferenceData {
+        @Test
+        @DisplayName("Will return 404 when data set not found")
+        void willReturn404WhenDataSetNotFound() {
+            when(referenceDataService.refreshReferenceDataForSet(any())).thenReturn(Optional.empty());
+
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .when()
+                    .post("/secure/referenceData/set/{set}/refresh", "CHICKEN TYPES")
+                    .then()
+                    .statusCode(404);
+        }
+
+        @Test
+        @DisplayName("Will return the reloaded reference data")
+        void willReturnReloadedReferenceData() {
+            when(referenceDataService.refreshReferenceDataForSet(any()))
+                    .thenReturn(Optional.of(List.of(ReferenceData.builder().active(true).description("Lifer Number").code("LIFN").build())));
+
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .when()
+                    .post("/secure/referenceData/set/{set}/refresh", "ADDITIONAL IDENTIFIER TYPE")
+                    .then()
+                    .statusCode(200)
+                    .body("referenceData[0].code", is("LIFN"));
+
+            verify(referenceDataService).refreshReferenceDataForSet("ADDITIONAL IDENTIFIER TYPE");
+        }
+    }
+
+    @Nested
+    @DisplayName("evictReferenceData")
+    class EvictReferenceData {
+        @Test
+        @DisplayName("Will evict all cached reference data")
+        void willEvictAllCachedReferenceData() {
+            given()
+                    .when()
+                    .delete("/secure/referenceData/cache")
+                    .then()
+                    .statusCode(204);
+
+            verify(referenceDataService).evictReferenceData();
+        }
+    }
+}
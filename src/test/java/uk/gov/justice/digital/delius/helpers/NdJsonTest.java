@@ -0,0 +1,75 @@
+package uk.gov.justice.digital.delius.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.justice.digital.delius.config.SecurityUserContext;
+import uk.gov.justice.digital.delius.jwt.Jwt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NdJsonTest {
+    @Mock
+    private SecurityUserContext securityUserContext;
+
+    private CurrentUserSupplier currentUserSupplier;
+
+    @BeforeEach
+    public void before() {
+        currentUserSupplier = new CurrentUserSupplier(securityUserContext);
+        CurrentUserSupplier.unsetClaims();
+        CurrentUserSupplier.unsetNationalUserOverride();
+    }
+
+    @AfterEach
+    public void after() {
+        CurrentUserSupplier.unsetClaims();
+    }
+
+    @Test
+    public void writesOneObjectPerLine() throws IOException {
+        final var body = NdJson.<Map<String, String>>streamOf(new ObjectMapper(), items -> {
+            items.accept(Map.of("crn", "X320741"));
+            items.accept(Map.of("crn", "X320742"));
+        });
+        final var out = new ByteArrayOutputStream();
+
+        body.writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"crn\":\"X320741\"}\n{\"crn\":\"X320742\"}\n");
+    }
+
+    @Test
+    public void producerRunsAsTheRequestingUserOnTheThreadWritingTheResponse() {
+        when(securityUserContext.isSecure()).thenReturn(false);
+        CurrentUserSupplier.setClaims(new DefaultClaims(ImmutableMap.of(Jwt.UID, "testy.test")));
+        final var body = NdJson.<String>streamOf(new ObjectMapper(), items -> items.accept(currentUserSupplier.username().orElse("nobody")));
+        CurrentUserSupplier.unsetClaims();
+        final var out = new ByteArrayOutputStream();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                body.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).join();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("\"testy.test\"\n");
+    }
+}
@@ -0,0 +1,177 @@
+package uk.gov.justice.digital.delius.jpa.oracle;
+
+import oracle.jdbc.OracleConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClientIdentifierManagerTest {
+    @Mock
+    private Connection pooledConnection;
+    @Mock
+    private OracleConnection physicalConnection;
+    @Mock
+    private PreparedStatement statement;
+
+    @Nested
+    class CallingVpdPackage {
+        private final ClientIdentifierManager clientIdentifierManager = new ClientIdentifierManager(false);
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            when(pooledConnection.isWrapperFor(OracleConnection.class)).thenReturn(true);
+            when(pooledConnection.unwrap(OracleConnection.class)).thenReturn(physicalConnection);
+        }
+
+        @Test
+        void setsIdentifierOnFirstBorrow() throws SQLException {
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+
+            verify(statement).setString(1, "john.bean");
+            verify(statement).execute();
+        }
+
+        @Test
+        void doesNotSetIdentifierAgainForTheSameUser() throws SQLException {
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+
+            verify(pooledConnection, times(1)).prepareStatement(anyString());
+        }
+
+        @Test
+        void setsIdentifierForADifferentUser() throws SQLException {
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+            clientIdentifierManager.apply(pooledConnection, Optional.of("al.green"));
+
+            verify(statement).setString(1, "john.bean");
+            verify(statement).setString(1, "al.green");
+        }
+
+        @Test
+        void clearsPreviousUsersIdentifierWhenBorrowedWithNoUser() throws SQLException {
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()")).thenReturn(statement);
+
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+            clientIdentifierManager.apply(pooledConnection, Optional.empty());
+            clientIdentifierManager.apply(pooledConnection, Optional.empty());
+
+            verify(pooledConnection, times(1)).prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()");
+        }
+
+        @Test
+        void clearsIdentifierOnceForNewConnectionWithNoUser() throws SQLException {
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()")).thenReturn(statement);
+
+            clientIdentifierManager.apply(pooledConnection, Optional.empty());
+            clientIdentifierManager.apply(pooledConnection, Optional.empty());
+
+            verify(pooledConnection, times(1)).prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()");
+        }
+
+        @Test
+        void setsIdentifierAgainAfterAFailure() throws SQLException {
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)"))
+                    .thenThrow(new SQLException("connection reset"))
+                    .thenReturn(statement);
+
+            try {
+                clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+            } catch (SQLException ignored) {
+                // connection is discarded by the caller
+            }
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+
+            verify(statement).setString(1, "john.bean");
+        }
+
+        @Test
+        void clearsIdentifierForNoUserAfterAFailure() throws SQLException {
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()"))
+                    .thenThrow(new SQLException("connection reset"))
+                    .thenReturn(statement);
+
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+            try {
+                clientIdentifierManager.apply(pooledConnection, Optional.empty());
+            } catch (SQLException ignored) {
+                // connection is evicted by the caller
+            }
+            clientIdentifierManager.apply(pooledConnection, Optional.empty());
+
+            verify(pooledConnection, times(2)).prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()");
+            verify(statement, times(2)).execute();
+        }
+    }
+
+    @Nested
+    class UsingEndToEndMetrics {
+        private final ClientIdentifierManager clientIdentifierManager = new ClientIdentifierManager(true);
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            when(pooledConnection.isWrapperFor(OracleConnection.class)).thenReturn(true);
+            when(pooledConnection.unwrap(OracleConnection.class)).thenReturn(physicalConnection);
+        }
+
+        @Test
+        void callsVpdPackageForNewConnectionThenChangesIdentifierWithoutAnyStatements() throws SQLException {
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+            clientIdentifierManager.apply(pooledConnection, Optional.empty());
+            clientIdentifierManager.apply(pooledConnection, Optional.of("al.green"));
+
+            verify(pooledConnection, times(1)).prepareStatement(anyString());
+            verify(statement).setString(1, "john.bean");
+            verify(physicalConnection, times(1)).setClientInfo(ClientIdentifierManager.END_TO_END_CLIENT_ID, null);
+            verify(physicalConnection, times(1)).setClientInfo(ClientIdentifierManager.END_TO_END_CLIENT_ID, "al.green");
+        }
+    }
+
+    @Nested
+    class NotAnOracleConnection {
+        private final ClientIdentifierManager clientIdentifierManager = new ClientIdentifierManager(true);
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            when(pooledConnection.isWrapperFor(OracleConnection.class)).thenReturn(false);
+        }
+
+        @Test
+        void alwaysCallsVpdPackage() throws SQLException {
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+            when(pooledConnection.prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()")).thenReturn(statement);
+
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+            clientIdentifierManager.apply(pooledConnection, Optional.of("john.bean"));
+            clientIdentifierManager.apply(pooledConnection, Optional.empty());
+
+            verify(pooledConnection, times(2)).prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)");
+            verify(pooledConnection, times(1)).prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()");
+        }
+    }
+}
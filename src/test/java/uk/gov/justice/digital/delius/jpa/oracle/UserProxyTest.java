@@ -0,0 +1,63 @@
+package uk.gov.justice.digital.delius.jpa.oracle;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserProxyTest {
+    @Mock
+    private ClientIdentifierManager clientIdentifierManager;
+    @Mock
+    private CurrentUserSupplier currentUserSupplier;
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+    @Mock
+    private HikariDataSource dataSource;
+    @Mock
+    private Connection connection;
+
+    private UserProxy userProxy;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        userProxy = new UserProxy(clientIdentifierManager, currentUserSupplier);
+        when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        when(joinPoint.proceed(new Object[0])).thenReturn(connection);
+        when(currentUserSupplier.username()).thenReturn(Optional.of("john.bean"));
+    }
+
+    @Test
+    void handsOutConnectionOnceIdentifierIsSet() throws Throwable {
+        assertThat(userProxy.doOracleProxyThing(joinPoint)).isSameAs(connection);
+
+        verify(clientIdentifierManager).apply(connection, Optional.of("john.bean"));
+    }
+
+    @Test
+    void evictsConnectionWhenIdentifierCanNotBeSet() throws Throwable {
+        when(joinPoint.getTarget()).thenReturn(dataSource);
+        doThrow(new SQLException("connection reset")).when(clientIdentifierManager).apply(connection, Optional.of("john.bean"));
+
+        assertThatThrownBy(() -> userProxy.doOracleProxyThing(joinPoint)).hasCauseInstanceOf(SQLException.class);
+
+        verify(dataSource).evictConnection(connection);
+        verify(connection, never()).close();
+    }
+}
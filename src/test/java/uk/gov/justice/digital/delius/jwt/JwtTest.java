@@ -77,6 +77,29 @@ public class JwtTest {
             () -> { jwt.parseToken(token); },"Should have failed to parse expired token");
     }
 
+    @Test
+    public void canDecodeSameJwtAgain() {
+        Jwt jwt = new Jwt("a secret", 60);
+
+        String token = jwt.buildToken(UserData.builder().distinguishedName("Colin").build());
+
+        assertThat(jwt.parseToken(token).get().getSubject()).isEqualTo("Colin");
+        assertThat(jwt.parseToken(token).get().getSubject()).isEqualTo("Colin");
+    }
+
+    @Test
+    public void cannotDecodeExpiredJwtThatWasDecodedBefore() throws InterruptedException {
+        Jwt jwt = new Jwt("a secret", 1);
+
+        String token = jwt.buildToken(UserData.builder().distinguishedName("Colin").build());
+        jwt.parseToken(token);
+
+        Thread.sleep(1000);
+
+        assertThrows(ExpiredJwtException.class,
+            () -> { jwt.parseToken(token); },"Should have failed to parse expired token");
+    }
+
     @Test
     public void canDecodeAuthorizationHeaderWithOwnSignedJwt() {
         Jwt jwt = new Jwt("a secret", 1);
@@ -3,6 +3,7 @@ package uk.gov.justice.digital.delius.jwt;
 import io.jsonwebtoken.Claims;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
@@ -16,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class JwtValidatorTest {
@@ -47,10 +49,28 @@ public class JwtValidatorTest {
         assertThat(currentUserSupplier.username()).isPresent();
     }
 
+    @Test
+    public void findsHeadersByTheMethodParameterType() throws NoSuchMethodException {
+        final var methodSignature = mock(MethodSignature.class);
+        when(methodSignature.getMethod()).thenReturn(JwtValidatorTest.class.getDeclaredMethod("validatedMethod", String.class, HttpHeaders.class));
+        given(joinPoint.getSignature()).willReturn(methodSignature);
+        given(joinPoint.getArgs()).willReturn(new Object[]{"X320741", httpHeaders});
+        given(httpHeaders.getFirst("Authorization")).willReturn("some.jwt.token");
+
+        jwtValidator.validateJwt(joinPoint);
+
+        assertThat(currentUserSupplier.username()).isPresent();
+        verify(httpHeaders).getFirst("Authorization");
+    }
+
     @Test
     public void throwsExceptionIfAuthorizationTokenIsMissing() {
         given(httpHeaders.getFirst("Authorization")).willReturn(null);
         assertThrows(JwtTokenMissingException.class,
                      () -> { jwtValidator.validateJwt(joinPoint); });
     }
+
+    @SuppressWarnings("unused")
+    private void validatedMethod(String crn, HttpHeaders httpHeaders) {
+    }
 }
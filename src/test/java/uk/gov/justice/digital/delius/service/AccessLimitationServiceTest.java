@@ -0,0 +1,179 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.justice.digital.delius.data.api.OffenderDetail;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderAccess;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
+import uk.gov.justice.digital.delius.service.wrapper.UserRepositoryWrapper;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessLimitationServiceTest {
+
+    @Mock
+    private OffenderRepository offenderRepository;
+    @Mock
+    private UserRepositoryWrapper userRepositoryWrapper;
+
+    private AccessLimitationService accessLimitationService;
+
+    @BeforeEach
+    void setUp() {
+        accessLimitationService = new AccessLimitationService(offenderRepository, userRepositoryWrapper, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void userNotLoadedWhenOffenderHasNoExclusionsOrRestrictions() {
+        final var accessLimitation = accessLimitationService.accessLimitationOf("Micky", anOffender(1L, 0L, 0L));
+
+        assertThat(accessLimitation.isUserExcluded()).isFalse();
+        assertThat(accessLimitation.isUserRestricted()).isFalse();
+        verifyNoInteractions(userRepositoryWrapper);
+    }
+
+    @Test
+    void userExcludedWhenInTheirActiveExclusions() {
+        givenUser(List.of(3L, 1L), List.of());
+
+        final var accessLimitation = accessLimitationService.accessLimitationOf("Micky", anOffender(1L, 1L, 0L));
+
+        assertThat(accessLimitation.isUserExcluded()).isTrue();
+        assertThat(accessLimitation.getExclusionMessage()).isEqualTo("Excluded");
+        assertThat(accessLimitation.isUserRestricted()).isFalse();
+    }
+
+    @Test
+    void userNotExcludedWhenExclusionIsForAnotherUser() {
+        givenUser(List.of(2L), List.of());
+
+        final var accessLimitation = accessLimitationService.accessLimitationOf("Micky", anOffender(1L, 1L, 0L));
+
+        assertThat(accessLimitation.isUserExcluded()).isFalse();
+        assertThat(accessLimitation.getExclusionMessage()).isNull();
+    }
+
+    @Test
+    void userRestrictedWhenNotInTheirActiveRestrictions() {
+        givenUser(List.of(), List.of(2L));
+
+        final var accessLimitation = accessLimitationService.accessLimitationOf("Micky", anOffender(1L, 0L, 1L));
+
+        assertThat(accessLimitation.isUserRestricted()).isTrue();
+        assertThat(accessLimitation.getRestrictionMessage()).isEqualTo("Restricted");
+    }
+
+    @Test
+    void userNotRestrictedWhenInTheirActiveRestrictions() {
+        givenUser(List.of(), List.of(1L));
+
+        final var accessLimitation = accessLimitationService.accessLimitationOf("Micky", anOffender(1L, 0L, 1L));
+
+        assertThat(accessLimitation.isUserRestricted()).isFalse();
+        assertThat(accessLimitation.getRestrictionMessage()).isNull();
+    }
+
+    @Test
+    void userExclusionsAndRestrictionsAreOnlyLoadedOnce() {
+        givenUser(List.of(1L), List.of(2L));
+
+        accessLimitationService.accessLimitationOf("Micky", anOffender(1L, 1L, 1L));
+        accessLimitationService.accessLimitationOf("MICKY", anOffender(2L, 1L, 1L));
+
+        verify(userRepositoryWrapper).getUserId("Micky");
+        verify(userRepositoryWrapper).getActiveExclusionOffenderIds(99L);
+        verify(userRepositoryWrapper).getActiveRestrictionOffenderIds(99L);
+    }
+
+    @Test
+    void offenderDetailIsCheckedAgainstTheSameCachedUserAccess() {
+        givenUser(List.of(1L), List.of(2L));
+
+        accessLimitationService.accessLimitationOf("Micky", anOffender(1L, 1L, 1L));
+        final var accessLimitation = accessLimitationService.accessLimitationOf("Micky", OffenderDetail
+                .builder()
+                .offenderId(1L)
+                .currentExclusion(true)
+                .exclusionMessage("Excluded")
+                .currentRestriction(true)
+                .restrictionMessage("Restricted")
+                .build());
+
+        assertThat(accessLimitation.isUserExcluded()).isTrue();
+        assertThat(accessLimitation.getExclusionMessage()).isEqualTo("Excluded");
+        assertThat(accessLimitation.isUserRestricted()).isTrue();
+        assertThat(accessLimitation.getRestrictionMessage()).isEqualTo("Restricted");
+        verify(userRepositoryWrapper).getActiveExclusionOffenderIds(99L);
+    }
+
+    @Test
+    void userNotLoadedWhenOffenderDetailHasNoExclusionsOrRestrictions() {
+        final var accessLimitation = accessLimitationService.accessLimitationOf("Micky", OffenderDetail
+                .builder()
+                .offenderId(1L)
+                .currentExclusion(false)
+                .currentRestriction(false)
+                .build());
+
+        assertThat(accessLimitation.isUserExcluded()).isFalse();
+        assertThat(accessLimitation.isUserRestricted()).isFalse();
+        verifyNoInteractions(userRepositoryWrapper);
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        when(userRepositoryWrapper.getUserId("Micky")).thenThrow(new NoSuchUserException("Can't resolve user: Micky"));
+
+        assertThatThrownBy(() -> accessLimitationService.accessLimitationOf("Micky", anOffender(1L, 1L, 0L))).isInstanceOf(NoSuchUserException.class);
+        assertThatThrownBy(() -> accessLimitationService.accessLimitationOf("Micky", anOffender(1L, 1L, 0L))).isInstanceOf(NoSuchUserException.class);
+
+        verify(userRepositoryWrapper, times(2)).getUserId("Micky");
+    }
+
+    private void givenUser(List<Long> excludedOffenderIds, List<Long> restrictedOffenderIds) {
+        when(userRepositoryWrapper.getUserId("Micky")).thenReturn(99L);
+        when(userRepositoryWrapper.getActiveExclusionOffenderIds(99L)).thenReturn(excludedOffenderIds);
+        when(userRepositoryWrapper.getActiveRestrictionOffenderIds(99L)).thenReturn(restrictedOffenderIds);
+    }
+
+    private static OffenderAccess anOffender(Long offenderId, Long currentExclusion, Long currentRestriction) {
+        return new OffenderAccess() {
+            @Override
+            public Long getOffenderId() {
+                return offenderId;
+            }
+
+            @Override
+            public Long getCurrentExclusion() {
+                return currentExclusion;
+            }
+
+            @Override
+            public String getExclusionMessage() {
+                return "Excluded";
+            }
+
+            @Override
+            public Long getCurrentRestriction() {
+                return currentRestriction;
+            }
+
+            @Override
+            public String getRestrictionMessage() {
+                return "Restricted";
+            }
+        };
+    }
+}
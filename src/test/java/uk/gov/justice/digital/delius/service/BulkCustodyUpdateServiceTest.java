@@ -0,0 +1,218 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
+import uk.gov.justice.digital.delius.controller.NotFoundException;
+import uk.gov.justice.digital.delius.data.api.Custody;
+import uk.gov.justice.digital.delius.data.api.CustodyUpdate;
+import uk.gov.justice.digital.delius.data.api.CustodyUpdateResult;
+import uk.gov.justice.digital.delius.data.api.OffenderRecalledNotification;
+import uk.gov.justice.digital.delius.data.api.OffenderReleasedNotification;
+import uk.gov.justice.digital.delius.data.api.UpdateCustody;
+import uk.gov.justice.digital.delius.jpa.standard.repository.InstitutionRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
+import uk.gov.justice.digital.delius.service.CustodyService.CustodyUpdateLookups;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.digital.delius.util.EntityHelper.anInstitution;
+import static uk.gov.justice.digital.delius.util.EntityHelper.anOffender;
+
+@ExtendWith(MockitoExtension.class)
+class BulkCustodyUpdateServiceTest {
+    private static final Custody CUSTODY = Custody.builder().bookingNumber("44463B").build();
+    // commits whatever the callback completes and rolls back whatever it throws from, as a transaction template would
+    private static final TransactionOperations SYNCHRONISED_TRANSACTION = new TransactionOperations() {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                final var result = action.doInTransaction(new SimpleTransactionStatus());
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                return result;
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    };
+
+    @Mock
+    private CustodyService custodyService;
+    @Mock
+    private OffenderRepository offenderRepository;
+    @Mock
+    private InstitutionRepository institutionRepository;
+    @Mock
+    private TelemetryClient telemetryClient;
+
+    private BulkCustodyUpdateService bulkCustodyUpdateServiceWith(int offendersPerTransaction) {
+        return bulkCustodyUpdateServiceWith(offendersPerTransaction, TransactionOperations.withoutTransaction());
+    }
+
+    private BulkCustodyUpdateService bulkCustodyUpdateServiceWith(int offendersPerTransaction, TransactionOperations transaction) {
+        return new BulkCustodyUpdateService(custodyService, offenderRepository, institutionRepository, telemetryClient, transaction, offendersPerTransaction);
+    }
+
+    @Test
+    void changesAreGroupedByOffenderAndAppliedWithWhatWasFoundForTheirChunk() {
+        final var offender = anOffender();
+        final var institution = anInstitution();
+        when(institutionRepository.findAllByNomisCdeCodeIn(List.of("MDI"))).thenReturn(List.of(institution));
+        when(offenderRepository.findAllByNomsNumberIn(List.of("G9542VP"))).thenReturn(Map.of("G9542VP", List.of(offender)));
+        when(offenderRepository.findAllByNomsNumberIn(List.of("G4106UN"))).thenReturn(Map.of());
+        when(custodyService.updateCustodyPrisonLocation(eq("G9542VP"), eq("44463B"), any(), any())).thenReturn(CUSTODY);
+        when(custodyService.offenderRecalled(eq("G4106UN"), any(), any())).thenReturn(CUSTODY);
+        when(custodyService.offenderReleased(eq("g9542vp"), any(), any())).thenReturn(CUSTODY);
+
+        final var results = bulkCustodyUpdateServiceWith(1).updateCustodies(List.of(
+                aPrisonLocationChange("G9542VP"),
+                aRecall("G4106UN"),
+                aRelease("g9542vp")));
+
+        assertThat(results).extracting(CustodyUpdateResult::getNomsNumber).containsExactly("G9542VP", "G4106UN", "g9542vp");
+        assertThat(results).allMatch(CustodyUpdateResult::isSucceeded);
+        assertThat(results).extracting(CustodyUpdateResult::getCustody).containsOnly(CUSTODY);
+
+        final var lookups = ArgumentCaptor.forClass(CustodyUpdateLookups.class);
+        final var offenderChanges = inOrder(custodyService);
+        offenderChanges.verify(custodyService).updateCustodyPrisonLocation(eq("G9542VP"), eq("44463B"), any(), lookups.capture());
+        offenderChanges.verify(custodyService).offenderReleased(eq("g9542vp"), any(), any());
+        assertThat(lookups.getValue().offenders().apply("g9542vp").get()).contains(offender);
+        assertThat(lookups.getValue().institutions().apply("MDI")).contains(institution);
+        assertThat(lookups.getValue().institutions().apply("WWI")).isEmpty();
+
+        verify(institutionRepository, times(1)).findAllByNomisCdeCodeIn(any());
+        verify(telemetryClient).trackEvent("P2PBulkCustodyUpdateSuccess", Map.of("succeeded", "3", "failed", "0"), null);
+    }
+
+    @Test
+    void invalidChangesFailWithoutBeingApplied() {
+        final var withoutBookingNumber = aPrisonLocationChange("G9542VP");
+        withoutBookingNumber.setBookingNumber(null);
+        final var recallAndRelease = aRecall("G9542VP");
+        recallAndRelease.setRelease(aRelease("G9542VP").getRelease());
+
+        final var results = bulkCustodyUpdateServiceWith(50).updateCustodies(List.of(withoutBookingNumber, recallAndRelease, aRecall(" ")));
+
+        assertThat(results).extracting(CustodyUpdateResult::getFailureReason).containsExactly(
+                "Missing a book number in bookingNumber",
+                "Exactly one of prisonLocation, bookingNumberUpdate, recall or release must be given",
+                "Missing a NOMS number in nomsNumber");
+        assertThat(results).noneMatch(CustodyUpdateResult::isSucceeded);
+        verifyNoInteractions(custodyService, offenderRepository);
+    }
+
+    @Test
+    void aChangeThatIsRejectedFailsOnItsOwn() {
+        when(offenderRepository.findAllByNomsNumberIn(List.of("G9542VP", "G4106UN"))).thenReturn(Map.of());
+        when(custodyService.offenderRecalled(eq("G9542VP"), any(), any())).thenThrow(new NotFoundException("Offender with nomsNumber G9542VP not found"));
+        when(custodyService.offenderRecalled(eq("G4106UN"), any(), any())).thenReturn(CUSTODY);
+
+        final var results = bulkCustodyUpdateServiceWith(50).updateCustodies(List.of(aRecall("G9542VP"), aRecall("G4106UN")));
+
+        assertThat(results).extracting(CustodyUpdateResult::isSucceeded).containsExactly(false, true);
+        assertThat(results.get(0).getFailureReason()).isEqualTo("Offender with nomsNumber G9542VP not found");
+        verify(telemetryClient).trackEvent(eq("P2PBulkCustodyUpdateSuccess"), eq(Map.of("succeeded", "1", "failed", "1")), isNull());
+    }
+
+    @Test
+    void aChunkThatFailsUnexpectedlyIsRetriedOneOffenderAtATime() {
+        when(offenderRepository.findAllByNomsNumberIn(any())).thenReturn(Map.of());
+        when(custodyService.offenderRecalled(eq("G9542VP"), any(), any())).thenReturn(CUSTODY);
+        when(custodyService.offenderRecalled(eq("G4106UN"), any(), any())).thenThrow(new IllegalStateException("no unallocated team"));
+
+        final var results = bulkCustodyUpdateServiceWith(50).updateCustodies(List.of(aRecall("G9542VP"), aRecall("G4106UN")));
+
+        assertThat(results).extracting(CustodyUpdateResult::isSucceeded).containsExactly(true, false);
+        assertThat(results.get(1).getFailureReason()).isEqualTo("Changes for this offender were rolled back: no unallocated team");
+        verify(custodyService, times(2)).offenderRecalled(eq("G9542VP"), any(), any());
+        verify(offenderRepository).findAllByNomsNumberIn(List.of("G9542VP", "G4106UN"));
+        verify(offenderRepository).findAllByNomsNumberIn(List.of("G9542VP"));
+        verify(offenderRepository).findAllByNomsNumberIn(List.of("G4106UN"));
+    }
+
+    @Test
+    void telemetryForAChunkThatIsRolledBackIsNotTracked() {
+        when(offenderRepository.findAllByNomsNumberIn(any())).thenReturn(Map.of());
+        when(custodyService.offenderRecalled(eq("G9542VP"), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, CustodyUpdateLookups.class).telemetry().accept("P2POffenderRecalled", Map.of("offenderNo", "G9542VP"));
+            return CUSTODY;
+        });
+        when(custodyService.offenderRecalled(eq("G4106UN"), any(), any())).thenThrow(new IllegalStateException("no unallocated team"));
+
+        bulkCustodyUpdateServiceWith(50, SYNCHRONISED_TRANSACTION).updateCustodies(List.of(aRecall("G9542VP"), aRecall("G4106UN")));
+
+        verify(custodyService, times(2)).offenderRecalled(eq("G9542VP"), any(), any());
+        verify(telemetryClient).trackEvent("P2POffenderRecalled", Map.of("offenderNo", "G9542VP"), null);
+        verify(telemetryClient).trackEvent("P2PBulkCustodyUpdateSuccess", Map.of("succeeded", "1", "failed", "1"), null);
+        verifyNoMoreInteractions(telemetryClient);
+    }
+
+    @Test
+    void aMissingChangeFailsOnItsOwn() {
+        when(offenderRepository.findAllByNomsNumberIn(List.of("G4106UN"))).thenReturn(Map.of());
+        when(custodyService.offenderRecalled(eq("G4106UN"), any(), any())).thenReturn(CUSTODY);
+
+        final var results = bulkCustodyUpdateServiceWith(50).updateCustodies(Arrays.asList(null, aRecall("G4106UN")));
+
+        assertThat(results).extracting(CustodyUpdateResult::isSucceeded).containsExactly(false, true);
+        assertThat(results.get(0).getFailureReason()).isEqualTo("Missing a custody change");
+        assertThat(results.get(0).getNomsNumber()).isNull();
+    }
+
+    @Test
+    void tooManyChangesAreRejected() {
+        final var custodyUpdates = Collections.nCopies(BulkCustodyUpdateService.MAX_BULK_CUSTODY_UPDATES + 1, aRecall("G9542VP"));
+
+        assertThatThrownBy(() -> bulkCustodyUpdateServiceWith(50).updateCustodies(custodyUpdates))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(custodyService);
+    }
+
+    private static CustodyUpdate aPrisonLocationChange(String nomsNumber) {
+        return CustodyUpdate.builder()
+                .nomsNumber(nomsNumber)
+                .bookingNumber("44463B")
+                .prisonLocation(UpdateCustody.builder().nomsPrisonInstitutionCode("MDI").build())
+                .build();
+    }
+
+    private static CustodyUpdate aRecall(String nomsNumber) {
+        return CustodyUpdate.builder()
+                .nomsNumber(nomsNumber)
+                .recall(OffenderRecalledNotification.builder().nomsPrisonInstitutionCode("MDI").recallDate(LocalDate.of(2020, 11, 22)).build())
+                .build();
+    }
+
+    private static CustodyUpdate aRelease(String nomsNumber) {
+        return CustodyUpdate.builder()
+                .nomsNumber(nomsNumber)
+                .release(OffenderReleasedNotification.builder().nomsPrisonInstitutionCode("MDI").releaseDate(LocalDate.of(2020, 11, 22)).build())
+                .build();
+    }
+}
@@ -15,14 +15,16 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import uk.gov.justice.digital.delius.jpa.filters.ContactFilter;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
+import uk.gov.justice.digital.delius.jpa.standard.projection.ContactListing;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ContactRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ContactTypeRepository;
-import uk.gov.justice.digital.delius.util.EntityHelper;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.data.domain.Sort.Direction.DESC;
 
@@ -39,16 +41,13 @@ public class ContactService_contactSummariesFor {
 
     @Test
     public void contactSummariesFor() {
-        final var contacts = List.of(
-            EntityHelper.aContact().toBuilder().contactId(1L).build(),
-            EntityHelper.aContact().toBuilder().contactId(2L).build()
-        );
+        final var contacts = List.of(aContactListing(1L), aContactListing(2L));
         final var filter = ContactFilter.builder()
             .from(Optional.of(LocalDateTime.of(2021, 5, 26, 0, 0)))
             .to(Optional.of(LocalDateTime.of(2021, 6, 2, 0, 0)))
             .contactTypes(Optional.of(List.of("CT1", "CT2")))
             .build();
-        when(contactRepository.findAll(specificationCaptor.capture(), pageableCaptor.capture()))
+        when(contactRepository.findAllListings(specificationCaptor.capture(), pageableCaptor.capture(), eq(false)))
             .thenReturn(new PageImpl(contacts, PageRequest.of(10, 20), 1000));
 
         final var observed = subject.contactSummariesFor(123L, filter, 1, 10);
@@ -60,4 +59,24 @@ public class ContactService_contactSummariesFor {
         Assertions.assertThat(observed.getSize()).isEqualTo(20);
         Assertions.assertThat(observed.getTotalElements()).isEqualTo(1000);
     }
+
+    @Test
+    public void contactSummariesForWithNotes() {
+        when(contactRepository.findAllListings(specificationCaptor.capture(), pageableCaptor.capture(), eq(true)))
+            .thenReturn(new PageImpl<>(List.of(ContactListing.builder().contactId(1L).contactDate(LocalDate.of(2021, 6, 1)).contactTypeCode("CT1").notes("some notes").build()), PageRequest.of(0, 10), 1));
+
+        final var observed = subject.contactSummariesFor(123L, ContactFilter.builder().build(), 0, 10, true);
+
+        Assertions.assertThat(specificationCaptor.getValue()).isEqualTo(ContactFilter.builder().offenderId(123L).build());
+        Assertions.assertThat(observed.getContent()).hasSize(1).extracting("notes").containsExactly("some notes");
+    }
+
+    private static ContactListing aContactListing(Long contactId) {
+        return ContactListing.builder()
+            .contactId(contactId)
+            .contactDate(LocalDate.of(2021, 6, 1))
+            .contactTypeCode("CT1")
+            .contactTypeAttendanceContact(true)
+            .build();
+    }
 }
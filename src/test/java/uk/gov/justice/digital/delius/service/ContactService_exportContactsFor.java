@@ -0,0 +1,58 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.justice.digital.delius.data.api.Contact;
+import uk.gov.justice.digital.delius.jpa.filters.ContactFilter;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ContactRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ContactTypeRepository;
+import uk.gov.justice.digital.delius.util.EntityHelper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class ContactService_exportContactsFor {
+    @Mock private ContactRepository contactRepository;
+    @Mock private ContactTypeRepository contactTypeRepository;
+    @InjectMocks private ContactService subject;
+
+    @Captor
+    private ArgumentCaptor<Specification<uk.gov.justice.digital.delius.jpa.standard.entity.Contact>> specificationCaptor;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void eachContactReadIsTransformedAndPassedOn() {
+        final var filter = ContactFilter.builder()
+            .from(Optional.of(LocalDateTime.of(2021, 5, 26, 0, 0)))
+            .contactTypes(Optional.of(List.of("CT1")))
+            .build();
+        doAnswer(invocation -> {
+            final Consumer<uk.gov.justice.digital.delius.jpa.standard.entity.Contact> consumer = invocation.getArgument(2);
+            consumer.accept(EntityHelper.aContact().toBuilder().contactId(1L).build());
+            consumer.accept(EntityHelper.aContact().toBuilder().contactId(2L).build());
+            return null;
+        }).when(contactRepository).forEachContact(specificationCaptor.capture(), eq(Sort.by("createdDateTime", "contactId")), any(Consumer.class));
+
+        final var exported = new ArrayList<Contact>();
+        subject.exportContactsFor(123L, filter, exported::add);
+
+        assertThat(specificationCaptor.getValue()).isEqualTo(filter.toBuilder().offenderId(123L).build());
+        assertThat(exported).extracting(Contact::getContactId).containsExactly(1L, 2L);
+    }
+}
@@ -7,9 +7,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.data.api.Conviction;
 import uk.gov.justice.digital.delius.data.api.CourtAppearance;
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceBasic;
+import uk.gov.justice.digital.delius.data.api.CourtAppearanceMinimal;
+import uk.gov.justice.digital.delius.data.api.KeyValue;
 import uk.gov.justice.digital.delius.jpa.standard.entity.AdditionalOffence;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Court;
 import uk.gov.justice.digital.delius.jpa.standard.entity.CourtReport;
@@ -17,6 +20,8 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.Event;
 import uk.gov.justice.digital.delius.jpa.standard.entity.MainOffence;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
+import uk.gov.justice.digital.delius.jpa.standard.projection.CourtAppearanceListing;
+import uk.gov.justice.digital.delius.jpa.standard.repository.CourtAppearanceListingRepository.Position;
 import uk.gov.justice.digital.delius.jpa.standard.repository.CourtAppearanceRepository;
 
 import java.time.LocalDate;
@@ -26,7 +31,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -111,23 +118,54 @@ class CourtAppearanceServiceTest {
     }
 
     @Test
-    void shouldGetAppearancesByDateSortByDateAscending() {
+    void shouldGetAppearancesInDateRangeFromListings() {
+        var fromDate = LocalDate.of(2019, 9, 4);
+        var appearanceDate = LocalDateTime.of(2019, 9, 4, 10, 0);
+        var after = new Position(LocalDateTime.of(2019, 9, 4, 9, 0), 1L);
+
+        when(courtAppearanceRepository.findAllListings(
+            fromDate.atStartOfDay(),
+            Optional.of(LocalDate.of(2019, 9, 11).atStartOfDay()),
+            Optional.of(after),
+            Optional.of(10)))
+            .thenReturn(List.of(CourtAppearanceListing.builder()
+                .offenderId(OFFENDER_ID)
+                .courtAppearanceId(2L)
+                .appearanceDate(appearanceDate)
+                .courtCode("SHEFMC")
+                .courtName("Sheffield Magistrates Court")
+                .appearanceTypeCode("S")
+                .appearanceTypeDescription("Sentence")
+                .build()));
+
+        var courtAppearances = courtAppearanceService.courtAppearances(fromDate, Optional.of(LocalDate.of(2019, 9, 10)), Optional.of(after), Optional.of(10));
+
+        assertThat(courtAppearances).containsExactly(CourtAppearanceMinimal.builder()
+            .offenderId(OFFENDER_ID)
+            .courtAppearanceId(2L)
+            .appearanceDate(appearanceDate)
+            .courtCode("SHEFMC")
+            .courtName("Sheffield Magistrates Court")
+            .appearanceType(KeyValue.builder().code("S").description("Sentence").build())
+            .build());
+    }
 
-        var today = LocalDate.now();
-        var now = LocalDateTime.now();
-        var previous = now.minusDays(3);
-        var appearance1 = aCourtAppearance(1L, 0L, Collections.emptyList(), now.minusDays(3));
-        var appearance2 = aCourtAppearance(1L, 0L, Collections.emptyList(), now);
-        var deletedAppearance = aCourtAppearance(1L, 1L, Collections.emptyList(), previous);
+    @Test
+    void shouldRejectToDateBeforeFromDate() {
+        var fromDate = LocalDate.of(2019, 9, 4);
 
-        when(courtAppearanceRepository.findByAppearanceDateGreaterThanEqual(today.atStartOfDay()))
-            .thenReturn(ImmutableList.of(appearance1, appearance2, deletedAppearance));
+        assertThatThrownBy(() -> courtAppearanceService.courtAppearances(fromDate, Optional.of(fromDate.minusDays(1)), Optional.empty(), Optional.empty()))
+            .isInstanceOf(BadRequestException.class);
 
-        var courtAppearances = courtAppearanceService.courtAppearances(today);
+        verifyNoInteractions(courtAppearanceRepository);
+    }
+
+    @Test
+    void shouldRejectEmptyPages() {
+        assertThatThrownBy(() -> courtAppearanceService.courtAppearances(LocalDate.now(), Optional.empty(), Optional.empty(), Optional.of(0)))
+            .isInstanceOf(BadRequestException.class);
 
-        assertThat(courtAppearances).hasSize(2);
-        assertThat(courtAppearances.get(0).getAppearanceDate()).isEqualTo(previous);
-        assertThat(courtAppearances.get(1).getAppearanceDate()).isEqualTo(now);
+        verifyNoInteractions(courtAppearanceRepository);
     }
 
     private Court aCourt() {
@@ -1163,8 +1163,8 @@ public class CustodyServiceTest {
         class WhenHasMultipleActiveEvents {
             @BeforeEach
             void setup() throws ConvictionService.SingleActiveCustodyConvictionNotFoundException {
-                when(convictionService.getActiveCustodialEvent(anyLong()))
-                    .thenThrow(new ConvictionService.SingleActiveCustodyConvictionNotFoundException(99L, 2));
+                when(convictionService.getAllActiveCustodialEvents(anyLong()))
+                    .thenReturn(List.of(aCustodyEvent(), aCustodyEvent()));
             }
 
             @Test
@@ -1184,8 +1184,8 @@ public class CustodyServiceTest {
         class WhenNoActiveEvents {
             @BeforeEach
             void setup() throws ConvictionService.SingleActiveCustodyConvictionNotFoundException {
-                when(convictionService.getActiveCustodialEvent(anyLong()))
-                    .thenThrow(new ConvictionService.SingleActiveCustodyConvictionNotFoundException(99L, 0));
+                when(convictionService.getAllActiveCustodialEvents(anyLong()))
+                    .thenReturn(List.of());
             }
 
             @Test
@@ -1225,7 +1225,7 @@ public class CustodyServiceTest {
         class WhenHasSingleActiveEvent {
             @BeforeEach
             void setup() throws ConvictionService.DuplicateActiveCustodialConvictionsException {
-                when(convictionService.getActiveCustodialEvent(anyLong())).thenReturn(aCustodyEvent());
+                when(convictionService.getAllActiveCustodialEvents(anyLong())).thenReturn(List.of(aCustodyEvent()));
             }
 
             @Test
@@ -1249,8 +1249,8 @@ public class CustodyServiceTest {
         class WhenHasMultipleActiveEvents {
             @BeforeEach
             void setup() throws ConvictionService.SingleActiveCustodyConvictionNotFoundException {
-                when(convictionService.getActiveCustodialEvent(anyLong()))
-                    .thenThrow(new ConvictionService.SingleActiveCustodyConvictionNotFoundException(99L, 2));
+                when(convictionService.getAllActiveCustodialEvents(anyLong()))
+                    .thenReturn(List.of(aCustodyEvent(), aCustodyEvent()));
             }
 
             @Test
@@ -1270,8 +1270,8 @@ public class CustodyServiceTest {
         class WhenNoActiveEvents {
             @BeforeEach
             void setup() throws ConvictionService.SingleActiveCustodyConvictionNotFoundException {
-                when(convictionService.getActiveCustodialEvent(anyLong()))
-                    .thenThrow(new ConvictionService.SingleActiveCustodyConvictionNotFoundException(99L, 0));
+                when(convictionService.getAllActiveCustodialEvents(anyLong()))
+                    .thenReturn(List.of());
             }
 
             @Test
@@ -1311,7 +1311,7 @@ public class CustodyServiceTest {
         class WhenHasSingleActiveEvent {
             @BeforeEach
             void setup() throws ConvictionService.DuplicateActiveCustodialConvictionsException {
-                when(convictionService.getActiveCustodialEvent(anyLong())).thenReturn(aCustodyEvent());
+                when(convictionService.getAllActiveCustodialEvents(anyLong())).thenReturn(List.of(aCustodyEvent()));
             }
 
             @Test
@@ -0,0 +1,107 @@
+package uk.gov.justice.digital.delius.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
+import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusRole;
+import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeliusUserCacheTest {
+    private static final NDeliusUser JOHN_BEAN = NDeliusUser.builder().cn("john.bean").givenname("John").build();
+
+    @Mock
+    private LdapRepository ldapRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DeliusUserCache deliusUserCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deliusUserCache = new DeliusUserCache(ldapRepository, meterRegistry, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void usersAndRolesAreReadOnceIgnoringCase() {
+        when(ldapRepository.getDeliusUserNoRoles("john.bean")).thenReturn(Optional.of(JOHN_BEAN));
+        when(ldapRepository.mapRolesForUser(JOHN_BEAN)).thenReturn(JOHN_BEAN.toBuilder().roles(List.of(NDeliusRole.builder().cn("ROLE1").build())).build());
+
+        assertThat(deliusUserCache.getDeliusUser("john.bean")).get().extracting(NDeliusUser::getRoles).asList().hasSize(1);
+        assertThat(deliusUserCache.getDeliusUser("JOHN.BEAN")).get().extracting(NDeliusUser::getGivenname).isEqualTo("John");
+
+        verify(ldapRepository, times(1)).getDeliusUserNoRoles("john.bean");
+        verify(ldapRepository, times(1)).mapRolesForUser(JOHN_BEAN);
+    }
+
+    @Test
+    void usersThatAreNotFoundAreNotCached() {
+        when(ldapRepository.getDeliusUserNoRoles("john.bean")).thenReturn(Optional.empty());
+
+        assertThat(deliusUserCache.getDeliusUser("john.bean")).isEmpty();
+        assertThat(deliusUserCache.getDeliusUser("john.bean")).isEmpty();
+
+        verify(ldapRepository, times(2)).getDeliusUserNoRoles("john.bean");
+    }
+
+    @Test
+    void evictingRolesKeepsTheUser() {
+        when(ldapRepository.getDeliusUserNoRoles("john.bean")).thenReturn(Optional.of(JOHN_BEAN));
+        when(ldapRepository.mapRolesForUser(JOHN_BEAN)).thenReturn(JOHN_BEAN.toBuilder().roles(List.of()).build());
+
+        deliusUserCache.getDeliusUser("john.bean");
+        deliusUserCache.evictRoles("John.Bean");
+        deliusUserCache.getDeliusUser("john.bean");
+
+        verify(ldapRepository, times(1)).getDeliusUserNoRoles("john.bean");
+        verify(ldapRepository, times(2)).mapRolesForUser(JOHN_BEAN);
+    }
+
+    @Test
+    void evictingUserForgetsUserAndRoles() {
+        when(ldapRepository.getDeliusUserNoRoles("john.bean")).thenReturn(Optional.of(JOHN_BEAN));
+        when(ldapRepository.mapRolesForUser(JOHN_BEAN)).thenReturn(JOHN_BEAN.toBuilder().roles(List.of()).build());
+
+        deliusUserCache.getDeliusUser("john.bean");
+        deliusUserCache.evictUser("john.bean");
+        deliusUserCache.getDeliusUser("john.bean");
+
+        verify(ldapRepository, times(2)).getDeliusUserNoRoles("john.bean");
+        verify(ldapRepository, times(2)).mapRolesForUser(JOHN_BEAN);
+    }
+
+    @Test
+    void roleCatalogueIsReadOnce() {
+        when(ldapRepository.getAllRoles()).thenReturn(List.of("CWBT001", "UWBT060"));
+
+        assertThat(deliusUserCache.getAllRoles()).containsExactly("CWBT001", "UWBT060");
+        assertThat(deliusUserCache.getAllRoles()).containsExactly("CWBT001", "UWBT060");
+
+        verify(ldapRepository, times(1)).getAllRoles();
+    }
+
+    @Test
+    void hitsAndMissesAreRecorded() {
+        when(ldapRepository.getAllRoles()).thenReturn(List.of("CWBT001"));
+
+        deliusUserCache.getAllRoles();
+        deliusUserCache.getAllRoles();
+        deliusUserCache.getAllRoles();
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "ldapRoleCatalogue").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "ldapRoleCatalogue").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+}
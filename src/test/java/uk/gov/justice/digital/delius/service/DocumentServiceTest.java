@@ -8,13 +8,11 @@ import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionOperations;
 import uk.gov.justice.digital.delius.data.api.OffenderDocumentDetail;
 import uk.gov.justice.digital.delius.data.api.OffenderDocumentDetail.Type;
 import uk.gov.justice.digital.delius.data.api.OffenderDocuments;
@@ -22,8 +20,11 @@ import uk.gov.justice.digital.delius.data.filters.DocumentFilter;
 import uk.gov.justice.digital.delius.jpa.national.repository.DocumentRepository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.CourtReportDocument;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Event;
+import uk.gov.justice.digital.delius.jpa.standard.entity.EventDocument;
 import uk.gov.justice.digital.delius.jpa.standard.entity.InstitutionalReportDocument;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
+import uk.gov.justice.digital.delius.jpa.standard.entity.RCourtReportType;
+import uk.gov.justice.digital.delius.jpa.standard.projection.DocumentWithEventId;
 import uk.gov.justice.digital.delius.jpa.standard.repository.AddressAssessmentDocumentRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ApprovedPremisesReferralDocumentRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.AssessmentDocumentRepository;
@@ -45,12 +46,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -109,8 +112,6 @@ public class DocumentServiceTest {
     private UPWAppointmentDocumentRepository upwAppointmentDocumentRepository;
     @Mock
     private ContactDocumentRepository contactDocumentRepository;
-    @Captor
-    private ArgumentCaptor<Specification<CourtReportDocument>> courtReportDocumentSpecification;
 
 
     @BeforeEach
@@ -133,13 +134,13 @@ public class DocumentServiceTest {
             nsiDocumentRepository,
             personalCircumstanceDocumentRepository,
             upwAppointmentDocumentRepository,
-            contactDocumentRepository
+            contactDocumentRepository,
+            new ParallelQueryExecutor(Runnable::run, TransactionOperations.withoutTransaction())
         );
         when(offenderRepository.findByOffenderId(any())).thenReturn(Optional.of(anOffender()));
         when(offenderDocumentRepository.findByOffenderId(any())).thenReturn(List.of());
         when(eventDocumentRepository.findByOffenderId(any())).thenReturn(List.of());
-        when(courtReportDocumentRepository.findAll(courtReportDocumentSpecification.capture())).thenReturn(List
-            .of());
+        when(courtReportDocumentRepository.findByOffenderId(any())).thenReturn(List.of());
         when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(List.of());
         when(eventRepository.findByOffenderId(any())).thenReturn(List.of());
         when(addressAssessmentRepository.findByOffenderId(any())).thenReturn(List.of());
@@ -162,7 +163,7 @@ public class DocumentServiceTest {
 
     @Test
     public void singleConvictionAddedWhenSingleCourtReport() {
-        when(courtReportDocumentRepository.findAll(courtReportDocumentSpecification.capture())).thenReturn(List.of(aCourtReportDocument()));
+        when(courtReportDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(aCourtReportDocument()), document -> document.getCourtReport().getCourtAppearance().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -177,7 +178,7 @@ public class DocumentServiceTest {
         event.setEventId(99L);
 
         when(eventRepository.findByOffenderId(any())).thenReturn(List.of(event));
-        when(courtReportDocumentRepository.findAll(courtReportDocumentSpecification.capture())).thenReturn(List.of(courtReportDocument));
+        when(courtReportDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(courtReportDocument), document -> document.getCourtReport().getCourtAppearance().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -192,8 +193,7 @@ public class DocumentServiceTest {
         event.setEventId(99L);
 
         when(eventRepository.findByOffenderId(any())).thenReturn(List.of(event));
-        when(courtReportDocumentRepository.findAll(courtReportDocumentSpecification.capture())).thenReturn(List
-            .of(courtReportDocument));
+        when(courtReportDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(courtReportDocument), document -> document.getCourtReport().getCourtAppearance().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -202,7 +202,7 @@ public class DocumentServiceTest {
 
     @Test
     public void singleConvictionAddedWhenSingleInstitutionalReport() {
-        when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(List.of(anInstitutionalReportDocument()));
+        when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(anInstitutionalReportDocument()), document -> document.getInstitutionalReport().getCustody().getDisposal().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -217,7 +217,7 @@ public class DocumentServiceTest {
         event.setEventId(99L);
 
         when(eventRepository.findByOffenderId(any())).thenReturn(List.of(event));
-        when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(List.of(institutionalReportDocument));
+        when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(institutionalReportDocument), document -> document.getInstitutionalReport().getCustody().getDisposal().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -232,7 +232,7 @@ public class DocumentServiceTest {
         event.setEventId(99L);
 
         when(eventRepository.findByOffenderId(any())).thenReturn(List.of(event));
-        when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(List.of(institutionalReportDocument));
+        when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(institutionalReportDocument), document -> document.getInstitutionalReport().getCustody().getDisposal().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -289,12 +289,12 @@ public class DocumentServiceTest {
 
     @Test
     public void eventDocumentsDistributedToEachConviction() {
-        when(eventDocumentRepository.findByOffenderId(any())).thenReturn(List.of(
+        when(eventDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(
             anEventDocument(1L),
             anEventDocument(2L),
             anEventDocument(2L),
             anEventDocument(2L)
-        ));
+        ), EventDocument::getEvent));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -305,13 +305,12 @@ public class DocumentServiceTest {
 
     @Test
     public void courtReportsDocumentsDistributedToEachConviction() {
-        when(courtReportDocumentRepository.findAll(courtReportDocumentSpecification.capture())).thenReturn(List
-            .of(
+        when(courtReportDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(
                 aCourtReportDocument(1L),
                 aCourtReportDocument(2L),
                 aCourtReportDocument(2L),
                 aCourtReportDocument(2L)
-            ));
+            ), document -> document.getCourtReport().getCourtAppearance().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -322,12 +321,12 @@ public class DocumentServiceTest {
 
     @Test
     public void institutionReportDocumentsDistributedToEachConviction() {
-        when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(List.of(
+        when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(
             anInstitutionalReportDocument(1L),
             anInstitutionalReportDocument(2L),
             anInstitutionalReportDocument(2L),
             anInstitutionalReportDocument(2L)
-        ));
+        ), document -> document.getInstitutionalReport().getCustody().getDisposal().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -350,12 +349,12 @@ public class DocumentServiceTest {
 
     @Test
     public void approvedPremisesReferralDocumentsDistributedToEachConviction() {
-        when(approvedPremisesReferralDocumentRepository.findByOffenderId(any())).thenReturn(List.of(
+        when(approvedPremisesReferralDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(
             anApprovedPremisesReferralDocument(1L),
             anApprovedPremisesReferralDocument(2L),
             anApprovedPremisesReferralDocument(2L),
             anApprovedPremisesReferralDocument(2L)
-        ));
+        ), document -> document.getApprovedPremisesReferral().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -366,12 +365,12 @@ public class DocumentServiceTest {
 
     @Test
     public void assessmentDocumentsDistributedToEachConviction() {
-        when(assessmentDocumentRepository.findByOffenderId(any())).thenReturn(List.of(
+        when(assessmentDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(
             anAssessmentDocument(1L),
             anAssessmentDocument(2L),
             anAssessmentDocument(2L),
             anAssessmentDocument(2L)
-        ));
+        ), document -> document.getAssessment().getReferral().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -382,12 +381,12 @@ public class DocumentServiceTest {
 
     @Test
     public void caseAllocationDocumentsDistributedToEachConviction() {
-        when(caseAllocationDocumentRepository.findByOffenderId(any())).thenReturn(List.of(
+        when(caseAllocationDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(
             aCaseAllocationDocument(1L),
             aCaseAllocationDocument(2L),
             aCaseAllocationDocument(2L),
             aCaseAllocationDocument(2L)
-        ));
+        ), document -> document.getCaseAllocation().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -410,12 +409,12 @@ public class DocumentServiceTest {
 
     @Test
     public void referralDocumentsDistributedToEachConviction() {
-        when(referralDocumentRepository.findByOffenderId(any())).thenReturn(List.of(
+        when(referralDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(
             aReferralDocument(1L),
             aReferralDocument(2L),
             aReferralDocument(2L),
             aReferralDocument(2L)
-        ));
+        ), document -> document.getReferral().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -426,14 +425,14 @@ public class DocumentServiceTest {
 
     @Test
     public void nsiDocumentsDistributedToEachConvictionAndOffender() {
-        when(nsiDocumentRepository.findByOffenderId(any())).thenReturn(List.of(
+        when(nsiDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(
             aNsiDocument(1L),
             aNsiDocument(2L),
             aNsiDocument(2L),
             aNsiDocument(2L),
             aNsiDocument(),
             aNsiDocument()
-        ));
+        ), document -> document.getNsi().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -457,12 +456,12 @@ public class DocumentServiceTest {
 
     @Test
     public void upwAppointmentDocumentsDistributedToEachConviction() {
-        when(upwAppointmentDocumentRepository.findByOffenderId(any())).thenReturn(List.of(
+        when(upwAppointmentDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(
             aUPWAppointmentDocument(1L),
             aUPWAppointmentDocument(2L),
             aUPWAppointmentDocument(2L),
             aUPWAppointmentDocument(2L)
-        ));
+        ), document -> document.getUpwAppointment().getUpwDetails().getDisposal().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -473,14 +472,14 @@ public class DocumentServiceTest {
 
     @Test
     public void contactDocumentsDistributedToEachConvictionAndOffender() {
-        when(contactDocumentRepository.findByOffenderId(any())).thenReturn(List.of(
+        when(contactDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(
             aContactDocument(1L),
             aContactDocument(2L),
             aContactDocument(2L),
             aContactDocument(2L),
             aContactDocument(),
             aContactDocument()
-        ));
+        ), document -> document.getContact().getEvent()));
 
         final OffenderDocuments documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
@@ -490,6 +489,13 @@ public class DocumentServiceTest {
         assertThat(documents.getDocuments()).hasSize(2);
     }
 
+    private static <T> List<DocumentWithEventId<T>> withEventIds(List<T> documents, Function<T, Event> eventOf) {
+        return documents
+            .stream()
+            .map(document -> new DocumentWithEventId<>(document, Optional.ofNullable(eventOf.apply(document)).map(Event::getEventId).orElse(null)))
+            .collect(toList());
+    }
+
     private List<OffenderDocumentDetail> allDocuments(OffenderDocuments offenderDocuments) {
         final var convictionDocuments =
             offenderDocuments
@@ -510,16 +516,16 @@ public class DocumentServiceTest {
     class Filters {
         @BeforeEach
         void setUp() {
-            when(eventDocumentRepository.findByOffenderId(any())).thenReturn(List.of(anEventDocument(1L)));
-            when(courtReportDocumentRepository.findAll(courtReportDocumentSpecification.capture())).thenReturn(List.of(aCourtReportDocument(1L)));
-            when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(List.of(anInstitutionalReportDocument(1L)));
-            when(approvedPremisesReferralDocumentRepository.findByOffenderId(any())).thenReturn(List.of(anApprovedPremisesReferralDocument(1L)));
-            when(assessmentDocumentRepository.findByOffenderId(any())).thenReturn(List.of(anAssessmentDocument(1L)));
-            when(caseAllocationDocumentRepository.findByOffenderId(any())).thenReturn(List.of(aCaseAllocationDocument(1L)));
-            when(referralDocumentRepository.findByOffenderId(any())).thenReturn(List.of(aReferralDocument(1L)));
-            when(nsiDocumentRepository.findByOffenderId(any())).thenReturn(List.of(aNsiDocument(1L), aNsiDocument()));
-            when(upwAppointmentDocumentRepository.findByOffenderId(any())).thenReturn(List.of(aUPWAppointmentDocument(1L)));
-            when(contactDocumentRepository.findByOffenderId(any())).thenReturn(List.of(aContactDocument(1L), aContactDocument()));
+            when(eventDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(anEventDocument(1L)), EventDocument::getEvent));
+            when(courtReportDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(aCourtReportDocument(1L)), document -> document.getCourtReport().getCourtAppearance().getEvent()));
+            when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(anInstitutionalReportDocument(1L)), document -> document.getInstitutionalReport().getCustody().getDisposal().getEvent()));
+            when(approvedPremisesReferralDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(anApprovedPremisesReferralDocument(1L)), document -> document.getApprovedPremisesReferral().getEvent()));
+            when(assessmentDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(anAssessmentDocument(1L)), document -> document.getAssessment().getReferral().getEvent()));
+            when(caseAllocationDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(aCaseAllocationDocument(1L)), document -> document.getCaseAllocation().getEvent()));
+            when(referralDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(aReferralDocument(1L)), document -> document.getReferral().getEvent()));
+            when(nsiDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(aNsiDocument(1L), aNsiDocument()), document -> document.getNsi().getEvent()));
+            when(upwAppointmentDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(aUPWAppointmentDocument(1L)), document -> document.getUpwAppointment().getUpwDetails().getDisposal().getEvent()));
+            when(contactDocumentRepository.findByOffenderId(any())).thenReturn(withEventIds(List.of(aContactDocument(1L), aContactDocument()), document -> document.getContact().getEvent()));
             when(offenderDocumentRepository.findByOffenderId(any())).thenReturn(List.of(anOffenderDocument()));
             when(addressAssessmentRepository.findByOffenderId(any())).thenReturn(List.of(anAddressAssessmentDocument()));
             when(personalContactDocumentRepository.findByOffenderId(any())).thenReturn(List.of(aPersonalContactDocument()));
@@ -544,7 +550,7 @@ public class DocumentServiceTest {
                 documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
 
                 verify(eventDocumentRepository).findByOffenderId(1L);
-                verify(courtReportDocumentRepository).findAll(courtReportDocumentSpecification.capture());
+                verify(courtReportDocumentRepository).findByOffenderId(1L);
                 verify(institutionReportDocumentRepository).findByOffenderId(1L);
                 verify(approvedPremisesReferralDocumentRepository).findByOffenderId(1L);
                 verify(assessmentDocumentRepository).findByOffenderId(1L);
@@ -567,6 +573,37 @@ public class DocumentServiceTest {
                 assertThat(documents.getConvictions().get(0).getDocuments()).hasSize(11);
                 assertThat(documents.getDocuments()).hasSize(7);
             }
+
+            @Test
+            @DisplayName("Will list the documents of each type in the same order as always")
+            void willListTheDocumentsInTheSameOrderAsAlways() {
+                final var documents = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
+
+                assertThat(documents.getDocuments())
+                    .extracting(document -> document.getType().getCode())
+                    .containsExactly(
+                        "PRECONS_DOCUMENT",
+                        "OFFENDER_DOCUMENT",
+                        "ADDRESS_ASSESSMENT_DOCUMENT",
+                        "PERSONAL_CONTACT_DOCUMENT",
+                        "PERSONAL_CIRCUMSTANCE_DOCUMENT",
+                        "CONTACT_DOCUMENT",
+                        "NSI_DOCUMENT");
+                assertThat(documents.getConvictions().get(0).getDocuments())
+                    .extracting(document -> document.getType().getCode())
+                    .containsExactly(
+                        "CPSPACK_DOCUMENT",
+                        "CONVICTION_DOCUMENT",
+                        "COURT_REPORT_DOCUMENT",
+                        "INSTITUTION_REPORT_DOCUMENT",
+                        "CONTACT_DOCUMENT",
+                        "APPROVED_PREMISES_REFERRAL_DOCUMENT",
+                        "ASSESSMENT_DOCUMENT",
+                        "CASE_ALLOCATION_DOCUMENT",
+                        "REFERRAL_DOCUMENT",
+                        "NSI_DOCUMENT",
+                        "UPW_APPOINTMENT_DOCUMENT");
+            }
         }
 
         @DisplayName("Filter with just type")
@@ -578,7 +615,7 @@ public class DocumentServiceTest {
             void willOnlyQueryTheRepositoryRelatedToTheCourtReportType() {
                 documentService.offenderDocumentsFor(1L, DocumentFilter.of("COURT_REPORT_DOCUMENT", null).get());
 
-                verify(courtReportDocumentRepository).findAll(courtReportDocumentSpecification.capture());
+                verify(courtReportDocumentRepository).findByOffenderId(1L);
                 verifyNoInteractions(eventDocumentRepository,
                     institutionReportDocumentRepository,
                     approvedPremisesReferralDocumentRepository,
@@ -595,6 +632,18 @@ public class DocumentServiceTest {
                 );
             }
 
+            @Test
+            @DisplayName("Will only query pre-sentence court reports when the PSR subtype is supplied")
+            void willOnlyQueryPreSentenceCourtReportsWhenThePsrSubtypeIsSupplied() {
+                when(courtReportDocumentRepository.findByOffenderIdAndCourtReportTypeCodeIn(any(), any())).thenReturn(withEventIds(List.of(aCourtReportDocument(1L)), document -> document.getCourtReport().getCourtAppearance().getEvent()));
+
+                final var documents = documentService.offenderDocumentsFor(1L, DocumentFilter.of("COURT_REPORT_DOCUMENT", "PSR").get());
+
+                verify(courtReportDocumentRepository).findByOffenderIdAndCourtReportTypeCodeIn(1L, RCourtReportType.PRE_SENTENCE_REPORT_TYPES);
+                verify(courtReportDocumentRepository, never()).findByOffenderId(any());
+                assertThat(documents.getConvictions().get(0).getDocuments()).hasSize(1);
+            }
+
             @Test
             @DisplayName("Will only query the repository related to other types")
             void willOnlyQueryTheRepositoryRelatedToOtherDocumentTypes() {
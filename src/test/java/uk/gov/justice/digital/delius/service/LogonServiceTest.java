@@ -0,0 +1,101 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.justice.digital.delius.jpa.national.entity.ProbationArea;
+import uk.gov.justice.digital.delius.jpa.national.entity.User;
+import uk.gov.justice.digital.delius.jwt.Jwt;
+import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
+import uk.gov.justice.digital.delius.service.wrapper.UserRepositoryWrapper;
+import uk.gov.justice.digital.delius.user.UserData;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LogonServiceTest {
+    private static final String DISTINGUISHED_NAME = "cn=jihn,ou=Users,dc=moj,dc=com";
+    private static final UserData JIHN = UserData.builder()
+            .distinguishedName(DISTINGUISHED_NAME)
+            .uid("Jihndie1")
+            .probationAreaCodes(List.of("N02"))
+            .build();
+
+    @Mock
+    private Jwt jwt;
+    @Mock
+    private LdapRepository ldapRepository;
+    @Mock
+    private UserRepositoryWrapper userRepositoryWrapper;
+
+    @Test
+    void looksUpUserOnceWhileCached() {
+        final var logonService = logonService(0);
+        when(ldapRepository.getDeliusUid(DISTINGUISHED_NAME)).thenReturn(Optional.of("Jihndie1"));
+        when(userRepositoryWrapper.getUser("Jihndie1")).thenReturn(User.builder().probationAreas(List.of(ProbationArea.builder().code("N02").build())).build());
+        when(jwt.buildToken(JIHN)).thenReturn("token1", "token2");
+
+        assertThat(logonService.tokenFor(DISTINGUISHED_NAME)).contains("token1");
+        assertThat(logonService.tokenFor(DISTINGUISHED_NAME)).contains("token2");
+
+        verify(ldapRepository, times(1)).getDeliusUid(DISTINGUISHED_NAME);
+        verify(userRepositoryWrapper, times(1)).getUser("Jihndie1");
+    }
+
+    @Test
+    void reusesTokenWhenEnabled() {
+        final var logonService = logonService(0.5);
+        when(ldapRepository.getDeliusUid(DISTINGUISHED_NAME)).thenReturn(Optional.of("Jihndie1"));
+        when(userRepositoryWrapper.getUser("Jihndie1")).thenReturn(User.builder().probationAreas(List.of(ProbationArea.builder().code("N02").build())).build());
+        when(jwt.buildToken(JIHN)).thenReturn("token1", "token2");
+
+        assertThat(logonService.tokenFor(DISTINGUISHED_NAME)).contains("token1");
+        assertThat(logonService.tokenFor(DISTINGUISHED_NAME)).contains("token1");
+
+        verify(jwt, times(1)).buildToken(any());
+    }
+
+    @Test
+    void systemUsersAreNotLookedUpInLdap() {
+        final var logonService = logonService(0);
+        when(userRepositoryWrapper.getUser("NationalUser")).thenReturn(User.builder().build());
+        when(jwt.buildToken(UserData.builder().distinguishedName("NationalUser").uid("NationalUser").probationAreaCodes(List.of()).build())).thenReturn("token");
+
+        assertThat(logonService.tokenFor("NationalUser")).contains("token");
+
+        verifyNoInteractions(ldapRepository);
+    }
+
+    @Test
+    void usersNotFoundAreNotCached() {
+        final var logonService = logonService(0.5);
+        when(ldapRepository.getDeliusUid(DISTINGUISHED_NAME)).thenReturn(Optional.empty());
+
+        assertThat(logonService.tokenFor(DISTINGUISHED_NAME)).isEmpty();
+        assertThat(logonService.tokenFor(DISTINGUISHED_NAME)).isEmpty();
+
+        verify(ldapRepository, times(2)).getDeliusUid(DISTINGUISHED_NAME);
+        verifyNoInteractions(jwt, userRepositoryWrapper);
+    }
+
+    @Test
+    void tokensCanNotBeReusedForTheirWholeLifetime() {
+        assertThatThrownBy(() -> logonService(1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private LogonService logonService(double tokenReuseFraction) {
+        return new LogonService(jwt, ldapRepository, userRepositoryWrapper, Duration.ofMinutes(1), 100, tokenReuseFraction, 300);
+    }
+}
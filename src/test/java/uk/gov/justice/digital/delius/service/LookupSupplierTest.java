@@ -28,7 +28,7 @@ public class LookupSupplierTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private StandardReferenceRepository standardReferenceRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
     @Mock
     private CourtRepository courtRepository;
     @Mock
@@ -47,7 +47,7 @@ public class LookupSupplierTest {
         lookupSupplier = new LookupSupplier(
                 offenceRepository,
                 userRepository,
-                standardReferenceRepository,
+                referenceDataRegistry,
                 courtRepository,
                 probationAreaRepository,
                 teamRepository,
@@ -77,10 +77,10 @@ public class LookupSupplierTest {
 
     @Test
     public void courtAppearanceOutcomeSupplierWillLookupByCode() {
-        when(standardReferenceRepository.findByCodeAndCodeSetName(any(), any())).thenReturn(Optional.of(StandardReference.builder().build()));
+        when(referenceDataRegistry.findByCodeAndCodeSetName(any(), any())).thenReturn(Optional.of(StandardReference.builder().build()));
         lookupSupplier.courtAppearanceOutcomeSupplier().apply("AA");
 
-        verify(standardReferenceRepository).findByCodeAndCodeSetName("AA", "COURT APPEARANCE OUTCOME");
+        verify(referenceDataRegistry).findByCodeAndCodeSetName("AA", "COURT APPEARANCE OUTCOME");
     }
 
     @Test
@@ -93,22 +93,22 @@ public class LookupSupplierTest {
 
     @Test
     public void orderAllocationReasonSupplierWillLookupByCode() {
-        when(standardReferenceRepository.findByCodeAndCodeSetName(any(), any())).thenReturn(Optional.of(StandardReference.builder().build()));
+        when(referenceDataRegistry.findByCodeAndCodeSetName(any(), any())).thenReturn(Optional.of(StandardReference.builder().build()));
         lookupSupplier.orderAllocationReasonSupplier().apply("AA");
 
-        verify(standardReferenceRepository).findByCodeAndCodeSetName("AA", "ORDER ALLOCATION REASON");
+        verify(referenceDataRegistry).findByCodeAndCodeSetName("AA", "ORDER ALLOCATION REASON");
     }
 
     @Test
     public void custodyKeyDateTypeSupplierWillLookupByCode() {
         lookupSupplier.custodyKeyDateTypeSupplier().apply("AA");
 
-        verify(standardReferenceRepository).findByCodeAndCodeSetName("AA", "THROUGHCARE DATE TYPE");
+        verify(referenceDataRegistry).findByCodeAndCodeSetName("AA", "THROUGHCARE DATE TYPE");
     }
 
     @Test
     public void custodyKeyDateTypeSupplierWillReturnEmptyWhenNotFound() {
-        when(standardReferenceRepository.findByCodeAndCodeSetName("AA", "THROUGHCARE DATE TYPE")).thenReturn(Optional.empty());
+        when(referenceDataRegistry.findByCodeAndCodeSetName("AA", "THROUGHCARE DATE TYPE")).thenReturn(Optional.empty());
 
         val maybeCustodyKeyDateType = lookupSupplier.custodyKeyDateTypeSupplier().apply("AA");
         assertThat(maybeCustodyKeyDateType).isNotPresent();
@@ -116,7 +116,7 @@ public class LookupSupplierTest {
 
     @Test
     public void custodyKeyDateTypeSupplierWillReturnRefDataWhenFound() {
-        when(standardReferenceRepository.findByCodeAndCodeSetName("AA", "THROUGHCARE DATE TYPE")).thenReturn(Optional.of(StandardReference.builder().build()));
+        when(referenceDataRegistry.findByCodeAndCodeSetName("AA", "THROUGHCARE DATE TYPE")).thenReturn(Optional.of(StandardReference.builder().build()));
 
         val maybeCustodyKeyDateType = lookupSupplier.custodyKeyDateTypeSupplier().apply("AA");
         assertThat(maybeCustodyKeyDateType).isPresent();
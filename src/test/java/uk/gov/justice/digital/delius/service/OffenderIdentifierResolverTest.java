@@ -0,0 +1,189 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderKeys;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderSentenceKeys;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OffenderIdentifierResolverTest {
+
+    @Mock
+    private OffenderRepository offenderRepository;
+
+    private OffenderIdentifierResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new OffenderIdentifierResolver(offenderRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void offenderIdOfCrnIsOnlyLookedUpOnce() {
+        when(offenderRepository.getOffenderIdFrom("X12345")).thenReturn(Optional.of(99L));
+
+        assertThat(resolver.offenderIdOfCrn("X12345")).hasValue(99L);
+        assertThat(resolver.offenderIdOfCrn("X12345")).hasValue(99L);
+
+        verify(offenderRepository).getOffenderIdFrom("X12345");
+    }
+
+    @Test
+    void crnOfOffenderIdIsKnownOnceOffenderIdOfCrnHasBeenResolved() {
+        when(offenderRepository.getOffenderIdFrom("X12345")).thenReturn(Optional.of(99L));
+
+        resolver.offenderIdOfCrn("X12345");
+
+        assertThat(resolver.crnOf(99L)).hasValue("X12345");
+        verify(offenderRepository).getOffenderIdFrom("X12345");
+        verifyNoMoreInteractions(offenderRepository);
+    }
+
+    @Test
+    void unknownCrnIsLookedUpAgain() {
+        when(offenderRepository.getOffenderIdFrom("X12345")).thenReturn(Optional.empty());
+
+        assertThat(resolver.offenderIdOfCrn("X12345")).isEmpty();
+        assertThat(resolver.offenderIdOfCrn("X12345")).isEmpty();
+
+        verify(offenderRepository, times(2)).getOffenderIdFrom("X12345");
+    }
+
+    @Test
+    void nomsNumberLookupIsCaseInsensitiveAndCached() {
+        when(offenderRepository.findKeysByNomsNumber("G5555TT")).thenReturn(Optional.of(keys(99L, "X12345", "G5555TT")));
+
+        assertThat(resolver.offenderIdOfNomsNumber("g5555tt")).hasValue(99L);
+        assertThat(resolver.crnOfNomsNumber("G5555TT")).hasValue("X12345");
+        assertThat(resolver.offenderIdOfCrn("X12345")).hasValue(99L);
+
+        verify(offenderRepository).findKeysByNomsNumber("G5555TT");
+        verifyNoMoreInteractions(offenderRepository);
+    }
+
+    @Test
+    void nomsNumberIsLookedUpAgainAfterEviction() {
+        when(offenderRepository.findKeysByNomsNumber("G5555TT")).thenReturn(Optional.of(keys(99L, "X12345", "G5555TT")));
+
+        resolver.offenderIdOfNomsNumber("G5555TT");
+        resolver.evictNomsNumber("g5555tt");
+        resolver.offenderIdOfNomsNumber("G5555TT");
+
+        verify(offenderRepository, times(2)).findKeysByNomsNumber("G5555TT");
+    }
+
+    @Test
+    void nomsNumberReadDuringATransactionThatMovedItIsEvictedWhenItCompletes() {
+        when(offenderRepository.findKeysByNomsNumber("G5555TT")).thenReturn(Optional.of(keys(99L, "X12345", "G5555TT")), Optional.of(keys(100L, "X23456", "G5555TT")));
+        TransactionSynchronizationManager.initSynchronization();
+
+        resolver.evictNomsNumber("G5555TT");
+        assertThat(resolver.offenderIdOfNomsNumber("G5555TT")).hasValue(99L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(resolver.offenderIdOfNomsNumber("G5555TT")).hasValue(100L);
+    }
+
+    @Test
+    void mostLikelyOffenderIdOfANomsNumberHeldByOneOffenderIsRemembered() {
+        when(offenderRepository.findAllSentenceKeysByNomsNumber("G5555TT")).thenReturn(List.of(sentenceKeys(99L, "X12345", 0L)));
+
+        assertThat(resolver.mostLikelyOffenderIdOfNomsNumber("g5555tt").get()).hasValue(99L);
+        assertThat(resolver.mostLikelyOffenderIdOfNomsNumber("G5555TT").get()).hasValue(99L);
+        assertThat(resolver.crnOfNomsNumber("G5555TT")).hasValue("X12345");
+
+        verify(offenderRepository).findAllSentenceKeysByNomsNumber("G5555TT");
+        verifyNoMoreInteractions(offenderRepository);
+    }
+
+    @Test
+    void mostLikelyOffenderIdOfADuplicatedNomsNumberIsTheOneWithAnActiveSentence() {
+        when(offenderRepository.findAllSentenceKeysByNomsNumber("G5555TT")).thenReturn(List.of(sentenceKeys(99L, "X12345", 0L), sentenceKeys(100L, "X23456", 1L)));
+
+        assertThat(resolver.mostLikelyOffenderIdOfNomsNumber("G5555TT").get()).hasValue(100L);
+        assertThat(resolver.mostLikelyOffenderIdOfNomsNumber("G5555TT").get()).hasValue(100L);
+
+        verify(offenderRepository, times(2)).findAllSentenceKeysByNomsNumber("G5555TT");
+    }
+
+    @Test
+    void mostLikelyOffenderIdOfADuplicatedNomsNumberWithoutOneActiveSentenceIsAnError() {
+        when(offenderRepository.findAllSentenceKeysByNomsNumber("G5555TT")).thenReturn(List.of(sentenceKeys(99L, "X12345", 1L), sentenceKeys(100L, "X23456", 1L)));
+
+        assertThat(resolver.mostLikelyOffenderIdOfNomsNumber("G5555TT").isLeft()).isTrue();
+    }
+
+    @Test
+    void mostLikelyOffenderIdOfAnUnknownNomsNumberIsEmpty() {
+        when(offenderRepository.findAllSentenceKeysByNomsNumber("G5555TT")).thenReturn(List.of());
+
+        assertThat(resolver.mostLikelyOffenderIdOfNomsNumber("G5555TT").get()).isEmpty();
+    }
+
+    private static OffenderKeys keys(Long offenderId, String crn, String nomsNumber) {
+        return new OffenderKeys() {
+            @Override
+            public Long getOffenderId() {
+                return offenderId;
+            }
+
+            @Override
+            public String getCrn() {
+                return crn;
+            }
+
+            @Override
+            public String getNomsNumber() {
+                return nomsNumber;
+            }
+        };
+    }
+
+    private static OffenderSentenceKeys sentenceKeys(Long offenderId, String crn, Long currentDisposal) {
+        return new OffenderSentenceKeys() {
+            @Override
+            public Long getCurrentDisposal() {
+                return currentDisposal;
+            }
+
+            @Override
+            public Long getOffenderId() {
+                return offenderId;
+            }
+
+            @Override
+            public String getCrn() {
+                return crn;
+            }
+
+            @Override
+            public String getNomsNumber() {
+                return "G5555TT";
+            }
+        };
+    }
+}
@@ -34,12 +34,13 @@ class OffenderIdentifierServiceTest {
     private ArgumentCaptor<Offender> offenderCaptor = ArgumentCaptor.forClass(Offender.class);
     private ArgumentCaptor<AdditionalIdentifier> additionalIdentifierCaptor = ArgumentCaptor.forClass(AdditionalIdentifier.class);
     private ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+    private OffenderIdentifierResolver offenderIdentifierResolver = mock(OffenderIdentifierResolver.class);
 
     @Nested
     class FeatureSwitchedOff {
         @BeforeEach
         void setUp() {
-            service = new OffenderIdentifierService(false, offenderRepository, spgNotificationService, referenceDataService);
+            service = new OffenderIdentifierService(false, offenderRepository, spgNotificationService, referenceDataService, offenderIdentifierResolver);
         }
 
         @Test
@@ -83,7 +84,7 @@ class OffenderIdentifierServiceTest {
     class FeatureSwitchedOn {
         @BeforeEach
         void setUp() {
-            service = new OffenderIdentifierService(true, offenderRepository, spgNotificationService, referenceDataService);
+            service = new OffenderIdentifierService(true, offenderRepository, spgNotificationService, referenceDataService, offenderIdentifierResolver);
             when(offenderRepository.findByNomsNumber(any())).thenReturn(Optional.empty());
         }
 
@@ -288,6 +289,12 @@ class OffenderIdentifierServiceTest {
                             .isEqualTo("XNOMS");
                 }
 
+                @Test
+                void willEvictOldAndNewNomsNumbersFromIdentifierCache() {
+                    verify(offenderIdentifierResolver).evictNomsNumber("G5555TT");
+                    verify(offenderIdentifierResolver).evictNomsNumber("A7777TT");
+                }
+
             }
         }
         @Nested
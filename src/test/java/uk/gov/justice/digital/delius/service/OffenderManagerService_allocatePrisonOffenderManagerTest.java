@@ -13,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionOperations;
 import uk.gov.justice.digital.delius.controller.ConflictingRequestException;
 import uk.gov.justice.digital.delius.controller.InvalidRequestException;
 import uk.gov.justice.digital.delius.data.api.ContactableHuman;
@@ -67,6 +68,8 @@ public class OffenderManagerService_allocatePrisonOffenderManagerTest {
     private ContactService contactService;
     @Mock
     private TelemetryClient telemetryClient;
+    @Mock
+    private ProbationAreaTeamRegistry probationAreaTeamRegistry;
     @Captor
     private ArgumentCaptor<PrisonOffenderManager> prisonOffenderManagerArgumentCaptor;
     @Captor
@@ -85,7 +88,10 @@ public class OffenderManagerService_allocatePrisonOffenderManagerTest {
                 teamService,
                 referenceDataService,
                 contactService,
-                telemetryClient);
+                telemetryClient,
+                probationAreaTeamRegistry,
+                TransactionOperations.withoutTransaction(),
+                TransactionOperations.withoutTransaction());
     }
 
     @Nested
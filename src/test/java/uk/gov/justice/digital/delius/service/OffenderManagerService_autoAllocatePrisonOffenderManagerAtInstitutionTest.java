@@ -8,6 +8,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 import uk.gov.justice.digital.delius.jpa.standard.entity.PrisonOffenderManager;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ResponsibleOfficer;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
@@ -45,6 +46,8 @@ public class OffenderManagerService_autoAllocatePrisonOffenderManagerAtInstituti
     private ContactService contactService;
     @Mock
     private TelemetryClient telemetryClient;
+    @Mock
+    private ProbationAreaTeamRegistry probationAreaTeamRegistry;
     @Captor
     private ArgumentCaptor<PrisonOffenderManager> prisonOffenderManagerArgumentCaptor;
     @Captor
@@ -63,7 +66,10 @@ public class OffenderManagerService_autoAllocatePrisonOffenderManagerAtInstituti
                 teamService,
                 referenceDataService,
                 contactService,
-                telemetryClient);
+                telemetryClient,
+                probationAreaTeamRegistry,
+                TransactionOperations.withoutTransaction(),
+                TransactionOperations.withoutTransaction());
 
         when(probationAreaRepository.findByInstitutionByNomsCDECode(any())).thenAnswer(args -> {
             var code = args.getArgument(0).toString();
@@ -9,6 +9,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 import uk.gov.justice.digital.delius.jpa.standard.entity.PrisonOffenderManager;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ResponsibleOfficer;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
@@ -50,6 +51,8 @@ public class OffenderManagerService_deallocatePrisonerOffenderManagerTest {
     private ContactService contactService;
     @Mock
     private TelemetryClient telemetryClient;
+    @Mock
+    private ProbationAreaTeamRegistry probationAreaTeamRegistry;
     @Captor
     private ArgumentCaptor<PrisonOffenderManager> prisonOffenderManagerArgumentCaptor;
     @Captor
@@ -68,7 +71,10 @@ public class OffenderManagerService_deallocatePrisonerOffenderManagerTest {
             teamService,
             referenceDataService,
             contactService,
-            telemetryClient);
+            telemetryClient,
+            probationAreaTeamRegistry,
+            TransactionOperations.withoutTransaction(),
+            TransactionOperations.withoutTransaction());
     }
 
     @Test
@@ -8,20 +8,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import uk.gov.justice.digital.delius.data.api.AllTeam;
 import uk.gov.justice.digital.delius.data.api.CommunityOrPrisonOffenderManager;
-import uk.gov.justice.digital.delius.data.api.StaffDetails;
+import uk.gov.justice.digital.delius.data.api.ContactableHuman;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Staff;
 import uk.gov.justice.digital.delius.jpa.standard.entity.User;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.PrisonOffenderManagerRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ProbationAreaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ResponsibleOfficerRepository;
-import uk.gov.justice.digital.delius.util.EntityHelper;
+import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
+import uk.gov.justice.digital.delius.service.OffenderManagerService.OffenderManagerOfUser;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.digital.delius.util.EntityHelper.*;
@@ -46,6 +53,8 @@ class OffenderManagerService_getAllOffenderManagersTest {
     private ContactService contactService;
     @Mock
     private TelemetryClient telemetryClient;
+    @Mock
+    private ProbationAreaTeamRegistry probationAreaTeamRegistry;
 
     private OffenderManagerService offenderManagerService;
 
@@ -60,7 +69,10 @@ class OffenderManagerService_getAllOffenderManagersTest {
                 teamService,
                 referenceDataService,
                 contactService,
-                telemetryClient);
+                telemetryClient,
+                probationAreaTeamRegistry,
+                TransactionOperations.withoutTransaction(),
+                TransactionOperations.withoutTransaction());
     }
 
     @Nested
@@ -194,8 +206,8 @@ class OffenderManagerService_getAllOffenderManagersTest {
 
         @Test
         void willReturnActiveCommunityOffenderManagers() {
-            var staffDetails = StaffDetails.builder()
-                .email("no-one@nowhere.com")
+            var ldapUser = NDeliusUser.builder()
+                .mail("no-one@nowhere.com")
                 .telephoneNumber("020 1111 2222")
                 .build();
 
@@ -203,7 +215,8 @@ class OffenderManagerService_getAllOffenderManagersTest {
                 .thenReturn(Optional.of(anOffender(
                     List.of(anActiveOffenderManager()),
                     List.of())));
-            when(staffService.getStaffDetailsByUsername("XX")).thenReturn(Optional.of(staffDetails));
+            when(staffService.getContactDetailsByUsernames(Set.of("XX"))).thenReturn(Map.of("XX", ldapUser));
+            when(probationAreaTeamRegistry.teamsOf(any())).thenReturn(List.of(AllTeam.builder().code("N02AAA").build()));
 
             var offenderMgrs  = offenderManagerService.getAllOffenderManagersForCrn(CRN, true).get();
             assertThat(offenderMgrs).hasSize(1);
@@ -211,13 +224,13 @@ class OffenderManagerService_getAllOffenderManagersTest {
             assertThat(offenderMgrs.get(0).getStaff().getPhoneNumber()).isEqualTo("020 1111 2222");
             assertThat(offenderMgrs.get(0).getProbationArea().getTeams()).hasSize(1);
 
-            verify(staffService).getStaffDetailsByUsername("XX");
+            verify(staffService).getContactDetailsByUsernames(Set.of("XX"));
         }
 
         @Test
         void willReturnActiveCommunityOffenderManagers_withNoProbationAreaTeams() {
-            var staffDetails = StaffDetails.builder()
-                .email("no-one@nowhere.com")
+            var ldapUser = NDeliusUser.builder()
+                .mail("no-one@nowhere.com")
                 .telephoneNumber("020 1111 2222")
                 .build();
 
@@ -225,27 +238,57 @@ class OffenderManagerService_getAllOffenderManagersTest {
                 .thenReturn(Optional.of(anOffender(
                     List.of(anActiveOffenderManager()),
                     List.of())));
-            when(staffService.getStaffDetailsByUsername("XX")).thenReturn(Optional.of(staffDetails));
+            when(staffService.getContactDetailsByUsernames(Set.of("XX"))).thenReturn(Map.of("XX", ldapUser));
 
             var offenderMgrs  = offenderManagerService.getAllOffenderManagersForCrn(CRN, false).get();
             assertThat(offenderMgrs).hasSize(1);
             assertThat(offenderMgrs.get(0).getProbationArea().getTeams()).isNull();
+            verify(probationAreaTeamRegistry, never()).teamsOf(any());
+
+            verify(staffService).getContactDetailsByUsernames(Set.of("XX"));
+        }
+
+        @Test
+        void willShareTheProbationAreaTeamsBetweenOffenderManagers() {
+            final var teams = List.of(AllTeam.builder().code("N02AAA").build());
+            when(offenderRepository.findByCrn(CRN))
+                .thenReturn(Optional.of(anOffender(
+                    List.of(anActiveOffenderManager()),
+                    List.of(anActivePrisonOffenderManager()))));
+            when(probationAreaTeamRegistry.teamsOf(any())).thenReturn(teams);
+
+            var offenderMgrs  = offenderManagerService.getAllOffenderManagersForCrn(CRN, true).get();
+
+            assertThat(offenderMgrs).hasSize(2).allSatisfy(offenderMgr -> assertThat(offenderMgr.getProbationArea().getTeams()).isSameAs(teams));
+        }
+
+        @Test
+        void willReadContactDetailsOfAllCommunityOffenderManagersAtOnce() {
+            when(offenderRepository.findByCrn(CRN))
+                .thenReturn(Optional.of(anOffender(
+                    List.of(anActiveOffenderManager("AA"), anActiveOffenderManager("BB")),
+                    List.of())));
+            when(staffService.getContactDetailsByUsernames(Set.of("XX"))).thenReturn(Map.of());
 
-            verify(staffService).getStaffDetailsByUsername("XX");
+            assertThat(offenderManagerService.getAllOffenderManagersForCrn(CRN, false).get()).hasSize(2);
+
+            verify(staffService).getContactDetailsByUsernames(Set.of("XX"));
         }
 
         @Test
         void givenNullStaff_whenEnhanceLdapFields_thenIgnore() {
-            var offenderManager = EntityHelper.anOffenderManager(null, null);
+            var offenderManager = CommunityOrPrisonOffenderManager.builder().build();
+            var ldapUser = NDeliusUser.builder().mail("no-one@nowhere.com").build();
 
-            assertThat(offenderManagerService.addLdapFields(offenderManager)).isEqualTo(offenderManager);
+            assertThat(offenderManagerService.addLdapFields(new OffenderManagerOfUser(offenderManager, Optional.of("XX")), Map.of("XX", ldapUser)))
+                .isEqualTo(CommunityOrPrisonOffenderManager.builder().build());
         }
 
         @Test
-        void givenNullUser_whenEnhanceLdapFields_thenIgnore() {
-            var offenderManager = EntityHelper.anOffenderManager(Staff.builder().build(), null);
+        void givenNoUsername_whenEnhanceLdapFields_thenIgnore() {
+            var offenderManager = CommunityOrPrisonOffenderManager.builder().staff(ContactableHuman.builder().build()).build();
 
-            assertThat(offenderManagerService.addLdapFields(offenderManager)).isEqualTo(offenderManager);
+            assertThat(offenderManagerService.addLdapFields(new OffenderManagerOfUser(offenderManager, Optional.empty()), Map.of()).getStaff().getEmail()).isNull();
         }
 
         @Test
@@ -253,9 +296,14 @@ class OffenderManagerService_getAllOffenderManagersTest {
             var staff = Staff.builder()
                 .user(User.builder().build())
                 .build();
-            var offenderManager = EntityHelper.anOffenderManager(staff, null);
+            when(offenderRepository.findByCrn(CRN))
+                .thenReturn(Optional.of(anOffender(
+                    List.of(anActiveOffenderManager().toBuilder().staff(staff).build()),
+                    List.of())));
+
+            offenderManagerService.getAllOffenderManagersForCrn(CRN, false);
 
-            assertThat(offenderManagerService.addLdapFields(offenderManager)).isEqualTo(offenderManager);
+            verify(staffService).getContactDetailsByUsernames(Set.of());
         }
 
     }
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.PrisonOffenderManagerRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ProbationAreaRepository;
@@ -37,6 +38,8 @@ public class OffenderManagerService_isPrisonOffenderManagerAtInstitutionTest {
     private ContactService contactService;
     @Mock
     private TelemetryClient telemetryClient;
+    @Mock
+    private ProbationAreaTeamRegistry probationAreaTeamRegistry;
 
     private OffenderManagerService offenderManagerService;
 
@@ -51,7 +54,10 @@ public class OffenderManagerService_isPrisonOffenderManagerAtInstitutionTest {
                 teamService,
                 referenceDataService,
                 contactService,
-                telemetryClient);
+                telemetryClient,
+                probationAreaTeamRegistry,
+                TransactionOperations.withoutTransaction(),
+                TransactionOperations.withoutTransaction());
     }
 
     @Test
@@ -10,6 +10,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 import uk.gov.justice.digital.delius.controller.ConflictingRequestException;
 import uk.gov.justice.digital.delius.data.api.CommunityOrPrisonOffenderManager;
 import uk.gov.justice.digital.delius.data.api.ResponsibleOfficerSwitch;
@@ -57,6 +58,8 @@ public class OffenderManagerService_switchResponsibleOfficerTest {
     private ContactService contactService;
     @Mock
     private TelemetryClient telemetryClient;
+    @Mock
+    private ProbationAreaTeamRegistry probationAreaTeamRegistry;
     @Captor
     private ArgumentCaptor<ResponsibleOfficer> responsibleOfficerArgumentCaptor;
 
@@ -73,7 +76,10 @@ public class OffenderManagerService_switchResponsibleOfficerTest {
                 teamService,
                 referenceDataService,
                 contactService,
-                telemetryClient);
+                telemetryClient,
+                probationAreaTeamRegistry,
+                TransactionOperations.withoutTransaction(),
+                TransactionOperations.withoutTransaction());
 
     }
 
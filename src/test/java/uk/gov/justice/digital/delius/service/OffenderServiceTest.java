@@ -9,16 +9,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
+import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiers;
+import uk.gov.justice.digital.delius.data.filters.OffenderFilter;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderPrimaryIdentifiersRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.util.EntityHelper;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.toList;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.digital.delius.util.EntityHelper.anOffender;
 
@@ -30,12 +42,14 @@ class OffenderServiceTest {
     private OffenderPrimaryIdentifiersRepository offenderPrimaryIdentifiersRepository;
     @Mock
     private ConvictionService convictionService;
+    @Mock
+    private OffenderIdentifierResolver offenderIdentifierResolver;
 
     private OffenderService service;
 
     @BeforeEach
     void setUp() {
-        service = new OffenderService(offenderRepository, offenderPrimaryIdentifiersRepository, convictionService);
+        service = new OffenderService(offenderRepository, offenderPrimaryIdentifiersRepository, convictionService, offenderIdentifierResolver);
     }
 
 
@@ -46,9 +60,8 @@ class OffenderServiceTest {
         @Test
         @DisplayName("will return offender id of the most likely offender")
         void willReturnOffenderIdOfTheMostLikelyOffender() {
-            when(offenderRepository.findMostLikelyByNomsNumber(any()))
-                .thenReturn(Either.right(Optional.of(anOffender().toBuilder().offenderId(99L)
-                    .build())));
+            when(offenderIdentifierResolver.mostLikelyOffenderIdOfNomsNumber("A1234ZZ"))
+                .thenReturn(Either.right(Optional.of(99L)));
 
             assertThat(service.mostLikelyOffenderIdOfNomsNumber("A1234ZZ").get()).hasValue(99L);
         }
@@ -56,7 +69,7 @@ class OffenderServiceTest {
         @Test
         @DisplayName("will return empty if no offender found")
         void willReturnEmptyWhenNoFoundFund() {
-            when(offenderRepository.findMostLikelyByNomsNumber(any()))
+            when(offenderIdentifierResolver.mostLikelyOffenderIdOfNomsNumber("A1234ZZ"))
                 .thenReturn(Either.right(Optional.empty()));
 
             assertThat(service.mostLikelyOffenderIdOfNomsNumber("A1234ZZ").get()).isEmpty();
@@ -65,7 +78,7 @@ class OffenderServiceTest {
         @Test
         @DisplayName("will return error if duplicates found")
         void willReturnAnErrorForDuplicates() {
-            when(offenderRepository.findMostLikelyByNomsNumber(any()))
+            when(offenderIdentifierResolver.mostLikelyOffenderIdOfNomsNumber("A1234ZZ"))
                 .thenReturn(Either.left(new OffenderRepository.DuplicateOffenderException("two found!")));
 
             assertThat(service.mostLikelyOffenderIdOfNomsNumber("A1234ZZ").isLeft()).isTrue();
@@ -261,4 +274,35 @@ class OffenderServiceTest {
                 .hasFieldOrPropertyWithValue("personalContactId", contact.getPersonalContactId());
         }
     }
+
+    @Nested
+    class ExportPrimaryIdentifiers {
+        @Test
+        void readsBatchesUsingTheLastOffenderIdAsTheCursorUntilAShortBatch() {
+            final var firstBatch = LongStream.rangeClosed(11, 1010)
+                    .mapToObj(offenderId -> OffenderPrimaryIdentifiers.builder().offenderId(offenderId).crn("X" + offenderId).build())
+                    .collect(toList());
+            when(offenderPrimaryIdentifiersRepository.findAllAfter(any(), eq(10L), eq(1000))).thenReturn(firstBatch);
+            when(offenderPrimaryIdentifiersRepository.findAllAfter(any(), eq(1010L), eq(1000)))
+                    .thenReturn(List.of(OffenderPrimaryIdentifiers.builder().offenderId(2000L).crn("X2000").build()));
+
+            final var exported = new ArrayList<PrimaryIdentifiers>();
+            service.exportPrimaryIdentifiers(OffenderFilter.builder().build(), 10L, exported::add);
+
+            assertThat(exported).asList().hasSize(1001);
+            assertThat(exported.get(0)).isEqualTo(PrimaryIdentifiers.builder().offenderId(11L).crn("X11").build());
+            assertThat(exported.get(1000)).isEqualTo(PrimaryIdentifiers.builder().offenderId(2000L).crn("X2000").build());
+            verify(offenderPrimaryIdentifiersRepository, times(2)).findAllAfter(any(), anyLong(), anyInt());
+        }
+
+        @Test
+        void stopsWhenThereAreNoMoreOffenders() {
+            when(offenderPrimaryIdentifiersRepository.findAllAfter(any(), eq(0L), eq(1000))).thenReturn(List.of());
+
+            final var exported = new ArrayList<PrimaryIdentifiers>();
+            service.exportPrimaryIdentifiers(OffenderFilter.builder().build(), 0L, exported::add);
+
+            assertThat(exported).asList().isEmpty();
+        }
+    }
 }
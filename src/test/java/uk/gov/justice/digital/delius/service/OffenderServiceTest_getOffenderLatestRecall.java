@@ -42,6 +42,8 @@ public class OffenderServiceTest_getOffenderLatestRecall {
     private OffenderPrimaryIdentifiersRepository mockOffenderPrimaryIdentifiersRepository;
     @Mock
     private ConvictionService mockConvictionService;
+    @Mock
+    private OffenderIdentifierResolver mockOffenderIdentifierResolver;
 
     private OffenderService offenderService;
 
@@ -50,7 +52,8 @@ public class OffenderServiceTest_getOffenderLatestRecall {
         offenderService = new OffenderService(
                 mockOffenderRepository,
                 mockOffenderPrimaryIdentifiersRepository,
-                mockConvictionService
+                mockConvictionService,
+                mockOffenderIdentifierResolver
         );
     }
 
@@ -7,17 +7,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.util.ReflectionTestUtils;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
+import uk.gov.justice.digital.delius.data.api.OffenderUpdatesAcknowledgement;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -178,6 +183,58 @@ public class OffenderUpdatesServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("leaseNextUpdates()")
+    class LeaseNextUpdates {
+        @Test
+        public void willLeaseUpdatesFromService() {
+            when(offenderDeltaService.leaseNextUpdates(50, 300)).thenReturn(List.of(anOffenderDelta()));
+
+            final var offenderUpdates = offenderUpdatesService.leaseNextUpdates(50, 300);
+
+            assertThat(offenderUpdates).extracting(OffenderUpdate::getOffenderId).containsExactly(2L);
+        }
+
+        @Test
+        public void willRejectBatchSizesOutOfRange() {
+            assertThatThrownBy(() -> offenderUpdatesService.leaseNextUpdates(0, 300)).isInstanceOf(BadRequestException.class);
+            assertThatThrownBy(() -> offenderUpdatesService.leaseNextUpdates(1001, 300)).isInstanceOf(BadRequestException.class);
+
+            verify(offenderDeltaService, never()).leaseNextUpdates(anyInt(), anyInt());
+        }
+
+        @Test
+        public void willRejectLeasesLongerThanTheFailedUpdateTimeout() {
+            assertThatThrownBy(() -> offenderUpdatesService.leaseNextUpdates(10, 601)).isInstanceOf(BadRequestException.class);
+
+            verify(offenderDeltaService, never()).leaseNextUpdates(anyInt(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("acknowledgeUpdates()")
+    class AcknowledgeUpdates {
+        @Test
+        public void willDeleteProcessedAndMarkFailedUpdates() {
+            offenderUpdatesService.acknowledgeUpdates(OffenderUpdatesAcknowledgement
+                    .builder()
+                    .processed(List.of(1L, 2L))
+                    .failed(List.of(3L))
+                    .build());
+
+            verify(offenderDeltaService).deleteDeltas(List.of(1L, 2L));
+            verify(offenderDeltaService).markAllAsFailed(List.of(3L));
+        }
+
+        @Test
+        public void willTreatMissingListsAsEmpty() {
+            offenderUpdatesService.acknowledgeUpdates(new OffenderUpdatesAcknowledgement(null, null));
+
+            verify(offenderDeltaService).deleteDeltas(List.of());
+            verify(offenderDeltaService).markAllAsFailed(List.of());
+        }
+    }
+
     private OffenderUpdate anOffenderDelta() {
         return OffenderUpdate.builder()
                 .offenderDeltaId(1L)
@@ -0,0 +1,79 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.google.common.collect.ImmutableMap;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import uk.gov.justice.digital.delius.config.SecurityUserContext;
+import uk.gov.justice.digital.delius.controller.NotFoundException;
+import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
+import uk.gov.justice.digital.delius.jwt.Jwt;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelQueryExecutorTest {
+    private final ParallelQueryExecutor parallelQueryExecutor = new ParallelQueryExecutor(Executors.newSingleThreadExecutor(), TransactionOperations.withoutTransaction());
+
+    @Mock
+    private SecurityUserContext securityUserContext;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void after() {
+        CurrentUserSupplier.setClaims(null);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resultOfQueryIsReturned() {
+        assertThat(ParallelQueryExecutor.resultOf(parallelQueryExecutor.submit(() -> "result"))).isEqualTo("result");
+    }
+
+    @Test
+    void exceptionThrownByQueryIsRethrownUnwrapped() {
+        final var query = parallelQueryExecutor.<String>submit(() -> {
+            throw new NotFoundException("not found");
+        });
+
+        assertThatThrownBy(() -> ParallelQueryExecutor.resultOf(query)).isInstanceOf(NotFoundException.class).hasMessage("not found");
+    }
+
+    @Test
+    void queryRunsOnAWorkerInAReadOnlyTransactionAsTheCallingUser() {
+        final var pooledQueryExecutor = new ParallelQueryExecutor(transactionManager, 1, 1);
+        final var currentUserSupplier = new CurrentUserSupplier(securityUserContext);
+        when(securityUserContext.isSecure()).thenReturn(false);
+        CurrentUserSupplier.setClaims(new DefaultClaims(ImmutableMap.of(Jwt.UID, "testy.test")));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("testy.test", null));
+
+        try {
+            final var worker = ParallelQueryExecutor.resultOf(pooledQueryExecutor.submit(() -> List.of(
+                    Thread.currentThread().getName(),
+                    currentUserSupplier.username().orElse("nobody"),
+                    SecurityContextHolder.getContext().getAuthentication().getName())));
+
+            assertThat(worker.get(0)).startsWith("parallel-query-");
+            assertThat(worker.subList(1, 3)).containsExactly("testy.test", "testy.test");
+            verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        } finally {
+            pooledQueryExecutor.destroy();
+        }
+    }
+}
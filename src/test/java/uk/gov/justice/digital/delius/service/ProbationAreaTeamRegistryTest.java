@@ -0,0 +1,111 @@
+package uk.gov.justice.digital.delius.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.justice.digital.delius.data.api.AllTeam;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ExternalProvider;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ProviderTeam;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ProviderTeamRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.TeamRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aTeam;
+
+@ExtendWith(MockitoExtension.class)
+class ProbationAreaTeamRegistryTest {
+    private static final Long PROBATION_AREA_ID = 1500001001L;
+
+    @Mock
+    private TeamRepository teamRepository;
+    @Mock
+    private ProviderTeamRepository providerTeamRepository;
+
+    private ProbationAreaTeamRegistry probationAreaTeamRegistry;
+
+    @BeforeEach
+    void setUp() {
+        probationAreaTeamRegistry = new ProbationAreaTeamRegistry(teamRepository, providerTeamRepository, new SimpleMeterRegistry(), Duration.ofHours(1), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void teamsAndProviderTeamsAreReadOnceAndShared() {
+        final var externalProvider = new ExternalProvider();
+        externalProvider.setCode("EP");
+        externalProvider.setDescription("External provider");
+        when(teamRepository.findAllByProbationAreaId(PROBATION_AREA_ID)).thenReturn(List.of(aTeam("N01AAA")));
+        when(providerTeamRepository.findAllByProbationAreaId(PROBATION_AREA_ID)).thenReturn(List.of(ProviderTeam.builder()
+                .providerTeamId(99L)
+                .code("N01PPP")
+                .name("Provider team")
+                .externalProvider(externalProvider)
+                .build()));
+
+        final var teams = probationAreaTeamRegistry.teamsOf(PROBATION_AREA_ID);
+
+        assertThat(teams).extracting(AllTeam::getCode).containsExactly("N01AAA", "N01PPP");
+        assertThat(teams.get(0).getLocalDeliveryUnit().getCode()).isEqualTo("LL");
+        assertThat(teams.get(1).getExternalProvider().getCode()).isEqualTo("EP");
+        assertThat(probationAreaTeamRegistry.teamsOf(PROBATION_AREA_ID)).isSameAs(teams);
+
+        verify(teamRepository, times(1)).findAllByProbationAreaId(PROBATION_AREA_ID);
+        verify(providerTeamRepository, times(1)).findAllByProbationAreaId(PROBATION_AREA_ID);
+    }
+
+    @Test
+    void evictionRereadsTheTeams() {
+        when(teamRepository.findAllByProbationAreaId(PROBATION_AREA_ID)).thenReturn(List.of(aTeam("N01AAA")), List.of(aTeam("N01AAA"), aTeam("N01POM")));
+        when(providerTeamRepository.findAllByProbationAreaId(PROBATION_AREA_ID)).thenReturn(List.of());
+
+        assertThat(probationAreaTeamRegistry.teamsOf(PROBATION_AREA_ID)).hasSize(1);
+        probationAreaTeamRegistry.evict(PROBATION_AREA_ID);
+
+        assertThat(probationAreaTeamRegistry.teamsOf(PROBATION_AREA_ID)).hasSize(2);
+    }
+
+    @Test
+    void teamsReadWhileAnEvictionHappensAreReturnedButNotKept() {
+        when(teamRepository.findAllByProbationAreaId(PROBATION_AREA_ID)).thenAnswer(invocation -> {
+            probationAreaTeamRegistry.evict(PROBATION_AREA_ID);
+            return List.of(aTeam("N01AAA"));
+        });
+        when(providerTeamRepository.findAllByProbationAreaId(PROBATION_AREA_ID)).thenReturn(List.of());
+
+        assertThat(probationAreaTeamRegistry.teamsOf(PROBATION_AREA_ID)).hasSize(1);
+        assertThat(probationAreaTeamRegistry.teamsOf(PROBATION_AREA_ID)).hasSize(1);
+
+        verify(teamRepository, times(2)).findAllByProbationAreaId(PROBATION_AREA_ID);
+    }
+
+    @Test
+    void teamsReadDuringATransactionThatChangedThemAreEvictedWhenItCompletes() {
+        when(teamRepository.findAllByProbationAreaId(PROBATION_AREA_ID)).thenReturn(List.of(aTeam("N01AAA")), List.of(aTeam("N01AAA"), aTeam("N01POM")));
+        when(providerTeamRepository.findAllByProbationAreaId(PROBATION_AREA_ID)).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+
+        probationAreaTeamRegistry.evict(PROBATION_AREA_ID);
+        assertThat(probationAreaTeamRegistry.teamsOf(PROBATION_AREA_ID)).hasSize(1);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(probationAreaTeamRegistry.teamsOf(PROBATION_AREA_ID)).hasSize(2);
+    }
+}
@@ -0,0 +1,134 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.justice.digital.delius.data.api.ReferenceData;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ReferenceDataMaster;
+import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ReferenceDataMasterRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.StandardReferenceRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataRegistryTest {
+    private static final String TIER = "TIER";
+
+    @Mock
+    private StandardReferenceRepository standardReferenceRepository;
+    @Mock
+    private ReferenceDataMasterRepository referenceDataMasterRepository;
+
+    private ReferenceDataRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ReferenceDataRegistry(standardReferenceRepository, referenceDataMasterRepository, Duration.ofHours(1), List.of(TIER));
+    }
+
+    @Test
+    void codeSetIsLoadedOnceForAllItsCodes() {
+        when(standardReferenceRepository.findAllByCodeSetName(TIER)).thenReturn(List.of(aTier(1L, "B2"), aTier(2L, "C1")));
+
+        assertThat(registry.findByCodeAndCodeSetName("B2", TIER)).get().extracting(StandardReference::getStandardReferenceListId).isEqualTo(1L);
+        assertThat(registry.findByCodeAndCodeSetName("C1", TIER)).get().extracting(StandardReference::getStandardReferenceListId).isEqualTo(2L);
+        assertThat(registry.findByCodeAndCodeSetName("D3", TIER)).isEmpty();
+
+        verify(standardReferenceRepository).findAllByCodeSetName(TIER);
+        verifyNoInteractions(referenceDataMasterRepository);
+    }
+
+    @Test
+    void eachLookupReturnsItsOwnCopy() {
+        when(standardReferenceRepository.findAllByCodeSetName(TIER)).thenReturn(List.of(aTier(1L, "B2")));
+
+        final var first = registry.findByCodeAndCodeSetName("B2", TIER).orElseThrow();
+        final var second = registry.findByCodeAndCodeSetName("B2", TIER).orElseThrow();
+
+        assertThat(first).isNotSameAs(second).isEqualTo(second);
+        assertThat(first.getReferenceDataMaster().getCodeSetName()).isEqualTo(TIER);
+        assertThat(first.getReferenceDataMaster().getStandardReferences()).isNull();
+    }
+
+    @Test
+    void referenceDataIsReturnedSortedByCode() {
+        when(standardReferenceRepository.findAllByCodeSetName(TIER)).thenReturn(List.of(aTier(2L, "C1"), aTier(1L, "B2")));
+
+        assertThat(registry.referenceDataOf(TIER)).get().asList()
+                .extracting("code")
+                .containsExactly("B2", "C1");
+    }
+
+    @Test
+    void emptyCodeSetThatExistsIsReturnedEmpty() {
+        when(standardReferenceRepository.findAllByCodeSetName(TIER)).thenReturn(List.of());
+        when(referenceDataMasterRepository.findByCodeSetName(TIER)).thenReturn(Optional.of(ReferenceDataMaster.builder().codeSetName(TIER).build()));
+
+        assertThat(registry.referenceDataOf(TIER)).hasValue(List.<ReferenceData>of());
+    }
+
+    @Test
+    void unknownCodeSetIsNotFound() {
+        when(standardReferenceRepository.findAllByCodeSetName("CHICKEN TYPES")).thenReturn(List.of());
+        when(referenceDataMasterRepository.findByCodeSetName("CHICKEN TYPES")).thenReturn(Optional.empty());
+
+        assertThat(registry.referenceDataOf("CHICKEN TYPES")).isEmpty();
+    }
+
+    @Test
+    void refreshReloadsTheCodeSet() {
+        when(standardReferenceRepository.findAllByCodeSetName(TIER))
+                .thenReturn(List.of(aTier(1L, "B2")))
+                .thenReturn(List.of(aTier(1L, "B2"), aTier(2L, "C1")));
+
+        assertThat(registry.findByCodeAndCodeSetName("C1", TIER)).isEmpty();
+        assertThat(registry.refresh(TIER)).get().asList().hasSize(2);
+        assertThat(registry.findByCodeAndCodeSetName("C1", TIER)).isPresent();
+
+        verify(standardReferenceRepository, times(2)).findAllByCodeSetName(TIER);
+    }
+
+    @Test
+    void evictAllCausesCodeSetsToBeReloaded() {
+        when(standardReferenceRepository.findAllByCodeSetName(TIER)).thenReturn(List.of(aTier(1L, "B2")));
+
+        registry.preload();
+        registry.evictAll();
+        registry.findByCodeAndCodeSetName("B2", TIER);
+
+        verify(standardReferenceRepository, times(2)).findAllByCodeSetName(TIER);
+    }
+
+    @Test
+    void preloadCarriesOnWhenACodeSetFailsToLoad() {
+        when(standardReferenceRepository.findAllByCodeSetName("BROKEN")).thenThrow(new RuntimeException("database unavailable"));
+        when(standardReferenceRepository.findAllByCodeSetName(TIER)).thenReturn(List.of(aTier(1L, "B2")));
+
+        registry.preload(List.of("BROKEN", TIER));
+        registry.findByCodeAndCodeSetName("B2", TIER);
+
+        verify(standardReferenceRepository).findAllByCodeSetName(TIER);
+    }
+
+    private static StandardReference aTier(Long id, String code) {
+        return StandardReference
+                .builder()
+                .standardReferenceListId(id)
+                .codeValue(code)
+                .codeDescription("Tier " + code)
+                .selectable("Y")
+                .referenceDataMaster(ReferenceDataMaster.builder().ReferenceDataMasterId(99L).codeSetName(TIER).build())
+                .build();
+    }
+}
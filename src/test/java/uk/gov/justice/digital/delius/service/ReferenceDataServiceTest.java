@@ -13,13 +13,13 @@ import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.data.api.KeyValue;
 import uk.gov.justice.digital.delius.data.api.LocalDeliveryUnit;
 import uk.gov.justice.digital.delius.data.api.ProbationAreaWithLocalDeliveryUnits;
+import uk.gov.justice.digital.delius.data.api.ReferenceData;
 import uk.gov.justice.digital.delius.jpa.filters.ProbationAreaFilter;
 import uk.gov.justice.digital.delius.jpa.standard.entity.District;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ReferenceDataMaster;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ProbationAreaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ReferenceDataMasterRepository;
-import uk.gov.justice.digital.delius.jpa.standard.repository.StandardReferenceRepository;
 
 import java.util.List;
 import java.util.Optional;
@@ -41,7 +41,7 @@ public class ReferenceDataServiceTest {
     private ReferenceDataService referenceDataService;
 
     @Mock
-    private StandardReferenceRepository standardReferenceRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Mock
     private ProbationAreaRepository probationAreaRepository;
@@ -57,7 +57,7 @@ public class ReferenceDataServiceTest {
     public void setup() {
         referenceDataService = new ReferenceDataService(
                 probationAreaRepository,
-                standardReferenceRepository,
+                referenceDataRegistry,
                 referenceDataMasterRepository);
     }
 
@@ -219,7 +219,7 @@ public class ReferenceDataServiceTest {
 
     @Test
     public void  getPrisonLocationChangeCustodyEvent_WillUseTheCorrectDataSet() {
-        when(standardReferenceRepository.findByCodeAndCodeSetName(anyString(), anyString())).thenReturn(Optional.of(StandardReference
+        when(referenceDataRegistry.findByCodeAndCodeSetName(anyString(), anyString())).thenReturn(Optional.of(StandardReference
                 .builder()
                 .codeValue("CPL")
                 .codeDescription("Change Prison Location")
@@ -230,11 +230,11 @@ public class ReferenceDataServiceTest {
         assertThat(custodyEvent.getCodeValue()).isEqualTo("CPL");
         assertThat(custodyEvent.getCodeDescription()).isEqualTo("Change Prison Location");
 
-        verify(standardReferenceRepository).findByCodeAndCodeSetName("CPL", "CUSTODY EVENT TYPE");
+        verify(referenceDataRegistry).findByCodeAndCodeSetName("CPL", "CUSTODY EVENT TYPE");
     }
     @Test
     public void  getCustodyStatusChangeCustodyEvent_WillUseTheCorrectDataSet() {
-        when(standardReferenceRepository.findByCodeAndCodeSetName(anyString(), anyString())).thenReturn(Optional.of(StandardReference
+        when(referenceDataRegistry.findByCodeAndCodeSetName(anyString(), anyString())).thenReturn(Optional.of(StandardReference
                 .builder()
                 .codeValue("TSC")
                 .codeDescription("Custody status change")
@@ -245,11 +245,11 @@ public class ReferenceDataServiceTest {
         assertThat(custodyEvent.getCodeValue()).isEqualTo("TSC");
         assertThat(custodyEvent.getCodeDescription()).isEqualTo("Custody status change");
 
-        verify(standardReferenceRepository).findByCodeAndCodeSetName("TSC", "CUSTODY EVENT TYPE");
+        verify(referenceDataRegistry).findByCodeAndCodeSetName("TSC", "CUSTODY EVENT TYPE");
     }
     @Test
     public void  getInCustodyCustodyStatus_WillUseTheCorrectDataSet() {
-        when(standardReferenceRepository.findByCodeAndCodeSetName(anyString(), anyString())).thenReturn(Optional.of(StandardReference
+        when(referenceDataRegistry.findByCodeAndCodeSetName(anyString(), anyString())).thenReturn(Optional.of(StandardReference
                 .builder()
                 .codeValue("D")
                 .codeDescription("In Custody")
@@ -260,12 +260,12 @@ public class ReferenceDataServiceTest {
         assertThat(custodyEvent.getCodeValue()).isEqualTo("D");
         assertThat(custodyEvent.getCodeDescription()).isEqualTo("In Custody");
 
-        verify(standardReferenceRepository).findByCodeAndCodeSetName("D", "THROUGHCARE STATUS");
+        verify(referenceDataRegistry).findByCodeAndCodeSetName("D", "THROUGHCARE STATUS");
     }
 
     @Test
     public void  duplicateNomsNumberAdditionalIdentifier_WillUseTheCorrectDataSet() {
-        when(standardReferenceRepository.findByCodeAndCodeSetName(anyString(), anyString())).thenReturn(Optional.of(StandardReference
+        when(referenceDataRegistry.findByCodeAndCodeSetName(anyString(), anyString())).thenReturn(Optional.of(StandardReference
                 .builder()
                 .codeValue("DNOMS")
                 .codeDescription("Duplicate NOMIS Number")
@@ -276,11 +276,11 @@ public class ReferenceDataServiceTest {
         assertThat(identifier.getCodeValue()).isEqualTo("DNOMS");
         assertThat(identifier.getCodeDescription()).isEqualTo("Duplicate NOMIS Number");
 
-        verify(standardReferenceRepository).findByCodeAndCodeSetName("DNOMS", "ADDITIONAL IDENTIFIER TYPE");
+        verify(referenceDataRegistry).findByCodeAndCodeSetName("DNOMS", "ADDITIONAL IDENTIFIER TYPE");
     }
     @Test
     public void  formerNomsNumberAdditionalIdentifier_WillUseTheCorrectDataSet() {
-        when(standardReferenceRepository.findByCodeAndCodeSetName(anyString(), anyString())).thenReturn(Optional.of(StandardReference
+        when(referenceDataRegistry.findByCodeAndCodeSetName(anyString(), anyString())).thenReturn(Optional.of(StandardReference
                 .builder()
                 .codeValue("XNOMS")
                 .codeDescription("Former NOMS Number")
@@ -291,35 +291,27 @@ public class ReferenceDataServiceTest {
         assertThat(identifier.getCodeValue()).isEqualTo("XNOMS");
         assertThat(identifier.getCodeDescription()).isEqualTo("Former NOMS Number");
 
-        verify(standardReferenceRepository).findByCodeAndCodeSetName("XNOMS", "ADDITIONAL IDENTIFIER TYPE");
+        verify(referenceDataRegistry).findByCodeAndCodeSetName("XNOMS", "ADDITIONAL IDENTIFIER TYPE");
     }
 
     @Nested
     class GetReferenceDataForSet {
         @Test
-        void willRetrieveDataFromRepository() {
-            when(referenceDataMasterRepository.findByCodeSetName(any())).thenReturn(Optional.of(ReferenceDataMaster
+        void willRetrieveDataFromRegistry() {
+            when(referenceDataRegistry.referenceDataOf(any())).thenReturn(Optional.of(List.of(ReferenceData
                     .builder()
-                    .description("description")
-                    .codeSetName("code set name")
-                    .standardReferences(List.of(
-                            StandardReference
-                            .builder()
-                            .selectable("N")
-                            .codeValue("C")
-                            .codeDescription("c description")
-                            .standardReferenceListId(3L)
-                            .build()
-                    ))
-                    .build()));
+                    .code("C")
+                    .description("c description")
+                    .active(false)
+                    .build())));
 
             assertThat(referenceDataService.getReferenceDataForSet("code set name")).isNotEmpty();
 
-            verify(referenceDataMasterRepository).findByCodeSetName("code set name");
+            verify(referenceDataRegistry).referenceDataOf("code set name");
         }
         @Test
         void willReturnEmptyWhenSetNotFound() {
-            when(referenceDataMasterRepository.findByCodeSetName(any())).thenReturn(Optional.empty());
+            when(referenceDataRegistry.referenceDataOf(any())).thenReturn(Optional.empty());
 
             assertThat(referenceDataService.getReferenceDataForSet("code set name")).isEmpty();
         }
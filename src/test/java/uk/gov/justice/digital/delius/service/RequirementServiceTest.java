@@ -34,6 +34,8 @@ import java.util.Optional;
 import static java.time.LocalDate.now;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,8 +54,6 @@ public class RequirementServiceTest {
     @Mock
     private Event event;
     @Mock
-    private Event badEvent;
-    @Mock
     private Disposal disposal;
     @Mock
     private Custody custody;
@@ -67,13 +67,12 @@ public class RequirementServiceTest {
             requirementService = new RequirementService(offenderRepository, eventRepository);
 
             when(offenderRepository.getOffenderIdFrom(CRN)).thenReturn(Optional.of(OFFENDER_ID));
-            when(eventRepository.findByOffenderId(OFFENDER_ID)).thenReturn(Collections.singletonList(event));
             when(event.getDisposal()).thenReturn(disposal);
-            when(event.getEventId()).thenReturn(CONVICTION_ID);
         }
 
         @Test
         public void whenGetLicenceConditionsByConvictionId_thenReturnLicenceConditions() {
+            when(eventRepository.findWithLicenceConditionsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             var commencementDate = LocalDate.of(2020, 9, 18);
             var startDate = LocalDate.of(2020, 9, 19);
             var terminatedDate = LocalDate.of(2020, 9, 20);
@@ -116,19 +115,21 @@ public class RequirementServiceTest {
         }
 
         @Test
-        public void givenMultipleEventsReturnedForOffender_whenGetLicenceConditionsByConvictionId_thenFilterByConvictionId() {
+        public void whenGetLicenceConditionsByConvictionId_thenOnlyThatConvictionIsLoaded() {
+            when(eventRepository.findWithLicenceConditionsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getLicenceConditions()).thenReturn(Collections.singletonList(LicenceCondition.builder()
                 .commencementNotes("Commencement notes")
                 .build()));
-            when(eventRepository.findByOffenderId(OFFENDER_ID)).thenReturn(Arrays.asList(event, badEvent));
 
             LicenceConditions requirements = requirementService.getLicenceConditionsByConvictionId(CRN, CONVICTION_ID);
             assertThat(requirements.getLicenceConditions()).hasSize(1);
             assertThat(requirements.getLicenceConditions().get(0).getCommencementNotes()).isEqualTo("Commencement notes");
+            verify(eventRepository, never()).findByOffenderId(OFFENDER_ID);
         }
 
         @Test
         public void givenNoDisposalForConviction_whenGetLicenceConditionsByConvictionId_thenReturnEmptyList() {
+            when(eventRepository.findWithLicenceConditionsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(event.getDisposal()).thenReturn(null);
 
             LicenceConditions requirements = requirementService.getLicenceConditionsByConvictionId(CRN, CONVICTION_ID);
@@ -137,6 +138,7 @@ public class RequirementServiceTest {
 
         @Test
         public void givenNoLicenceConditionsForConviction_whenGetLicenceConditionsByConvictionId_thenReturnEmptyList() {
+            when(eventRepository.findWithLicenceConditionsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getLicenceConditions()).thenReturn(null);
 
             var requirements = requirementService.getLicenceConditionsByConvictionId(CRN, CONVICTION_ID);
@@ -145,6 +147,7 @@ public class RequirementServiceTest {
 
         @Test
         public void whenGetPssRequirementsByConvictionId_thenReturnPssRequirements() {
+            when(eventRepository.findWithPssRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getCustody()).thenReturn(custody);
             when(custody.getPssRequirements()).thenReturn(Collections.singletonList(PssRequirement.builder()
                 .pssRequirementId(88L)
@@ -170,7 +173,8 @@ public class RequirementServiceTest {
         }
 
         @Test
-        public void givenMultipleEventsReturnedForOffender_whenGetPssRequirementsByConvictionId_thenFilterByConvictionId() {
+        public void whenGetPssRequirementsByConvictionId_thenOnlyThatConvictionIsLoaded() {
+            when(eventRepository.findWithPssRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getCustody()).thenReturn(custody);
             when(custody.getPssRequirements()).thenReturn(Collections.singletonList(PssRequirement.builder()
                 .pssRequirementTypeMainCategory(PssRequirementTypeMainCategory.builder()
@@ -179,17 +183,18 @@ public class RequirementServiceTest {
                     .build())
                 .activeFlag(0L)
                 .build()));
-            when(eventRepository.findByOffenderId(OFFENDER_ID)).thenReturn(Arrays.asList(event, badEvent));
 
             PssRequirements requirements = requirementService.getPssRequirementsByConvictionId(CRN, CONVICTION_ID);
             assertThat(requirements.getPssRequirements()).hasSize(1);
             assertThat(requirements.getPssRequirements().get(0).getType().getDescription()).isEqualTo("Standard 7 Conditions");
             assertThat(requirements.getPssRequirements().get(0).getType().getCode()).isEqualTo("A");
             assertThat(requirements.getPssRequirements().get(0).getActive()).isEqualTo(false);
+            verify(eventRepository, never()).findByOffenderId(OFFENDER_ID);
         }
 
         @Test
         public void givenNoDisposalForConviction_whenGetPssRequirementsByConvictionId_thenReturnEmptyList() {
+            when(eventRepository.findWithPssRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(event.getDisposal()).thenReturn(null);
 
             var requirements = requirementService.getPssRequirementsByConvictionId(CRN, CONVICTION_ID);
@@ -198,6 +203,7 @@ public class RequirementServiceTest {
 
         @Test
         public void givenNoCustodyForConviction_whenGetPssRequirementsByConvictionId_thenReturnEmptyList() {
+            when(eventRepository.findWithPssRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getCustody()).thenReturn(custody);
 
             var requirements = requirementService.getPssRequirementsByConvictionId(CRN, CONVICTION_ID);
@@ -206,6 +212,7 @@ public class RequirementServiceTest {
 
         @Test
         public void givenNoPssRequirementsForConviction_whenGetPssRequirementsByConvictionId_thenReturnEmptyList() {
+            when(eventRepository.findWithPssRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getCustody()).thenReturn(custody);
             when(custody.getPssRequirements()).thenReturn(null);
 
@@ -215,6 +222,7 @@ public class RequirementServiceTest {
 
         @Test
         public void whenGetRequirementsByConvictionId_thenReturnRequirements() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getRequirements()).thenReturn(Collections.singletonList(Requirement
                 .builder()
                 .requirementId(99L)
@@ -226,6 +234,7 @@ public class RequirementServiceTest {
 
         @Test
         public void whenGetReferralRequirementByConvictionId_thenReturnRequirement() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getRequirements()).thenReturn(Collections.singletonList(Requirement
                 .builder()
                 .requirementId(99L)
@@ -239,6 +248,7 @@ public class RequirementServiceTest {
 
         @Test
         public void whenGetReferralRequirementByConvictionId_AndRequirementNotMatchingCategory_thenNoMatch() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getRequirements()).thenReturn(Collections.singletonList(Requirement
                 .builder()
                 .requirementId(99L)
@@ -252,6 +262,7 @@ public class RequirementServiceTest {
 
         @Test
         public void whenGetReferralRequirementByConvictionId_AndRequirementNotActive_thenNoMatch() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getRequirements()).thenReturn(Collections.singletonList(Requirement
                 .builder()
                 .requirementId(99L)
@@ -264,6 +275,7 @@ public class RequirementServiceTest {
 
         @Test
         public void whenGetReferralRequirementByConvictionId_AndRequirementSoftDeleted_thenNoMatch() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getRequirements()).thenReturn(Collections.singletonList(Requirement
                 .builder()
                 .requirementId(99L)
@@ -277,6 +289,7 @@ public class RequirementServiceTest {
 
         @Test
         public void whenGetReferralRequirementByConvictionId_AndMultipleRequirementsExist_thenSelectLatest() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             LocalDateTime now = LocalDateTime.now();
             when(disposal.getRequirements()).thenReturn(Arrays.asList(
                 Requirement.builder().requirementId(99L).activeFlag(true).softDeleted(false)
@@ -296,28 +309,30 @@ public class RequirementServiceTest {
 
         @Test
         public void whenGetReferralRequirementByConvictionId_AndNoRequirementsExist_thenReturnEmptyOptional() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getRequirements()).thenReturn(Collections.emptyList());
 
             assertThat(requirementService.getActiveRequirement(CRN, CONVICTION_ID, REHABILITATION_ACTIVITY_REQUIREMENT_TYPE)).isEmpty();
         }
 
         @Test
-        public void givenMultipleEventsReturnedForOffender_whenGetRequirementsByConvictionId_thenFilterByConvictionId() {
+        public void whenGetRequirementsByConvictionId_thenOnlyThatConvictionIsLoaded() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getRequirements()).thenReturn(Collections.singletonList(Requirement
                 .builder()
                 .requirementId(99L)
                 .build()));
-            when(eventRepository.findByOffenderId(OFFENDER_ID)).thenReturn(Arrays.asList(event, badEvent));
 
             var requirements = requirementService.getRequirementsByConvictionId(CRN, CONVICTION_ID);
             assertThat(requirements.getRequirements()).hasSize(1);
             assertThat(requirements.getRequirements().get(0).getRequirementId()).isEqualTo(99L);
+            verify(eventRepository, never()).findByOffenderId(OFFENDER_ID);
         }
 
         @Test
         public void givenNoDisposalForConviction_whenGetRequirementsByConvictionId_thenReturnEmptyList() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(event.getDisposal()).thenReturn(null);
-            when(eventRepository.findByOffenderId(OFFENDER_ID)).thenReturn(Arrays.asList(event, badEvent));
 
             var requirements = requirementService.getRequirementsByConvictionId(CRN, CONVICTION_ID);
             assertThat(requirements.getRequirements()).isEmpty();
@@ -325,14 +340,59 @@ public class RequirementServiceTest {
 
         @Test
         public void givenRequirementsForConviction_whenGetRequirementsByConvictionId_thenReturnEmptyList() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.of(event));
             when(disposal.getRequirements()).thenReturn(null);
-            when(eventRepository.findByOffenderId(OFFENDER_ID)).thenReturn(Arrays.asList(event, badEvent));
 
             var requirements = requirementService.getRequirementsByConvictionId(CRN, CONVICTION_ID);
             assertThat(requirements.getRequirements()).isEmpty();
         }
     }
 
+    @Nested
+    class ConvictionDoesNotExistTests {
+        @BeforeEach
+        public void setUp() {
+            requirementService = new RequirementService(offenderRepository, eventRepository);
+            when(offenderRepository.getOffenderIdFrom(CRN)).thenReturn(Optional.of(OFFENDER_ID));
+        }
+
+        @Test
+        public void givenConvictionDoesNotExistForOffender_whenGetLicenceConditionsByConvictionId_thenThrowException() {
+            when(eventRepository.findWithLicenceConditionsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.empty());
+
+            assertThatExceptionOfType(NotFoundException.class)
+                .isThrownBy(() -> requirementService.getLicenceConditionsByConvictionId(CRN, CONVICTION_ID))
+                .withMessage("Conviction with convictionId '987654321' not found");
+        }
+
+        @Test
+        public void givenConvictionDoesNotExistForOffender_whenGetRequirementsByConvictionId_thenThrowException() {
+            when(eventRepository.findWithRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.empty());
+
+            assertThatExceptionOfType(NotFoundException.class)
+                .isThrownBy(() -> requirementService.getRequirementsByConvictionId(CRN, CONVICTION_ID))
+                .withMessage("Conviction with convictionId '987654321' not found");
+        }
+
+        @Test
+        public void givenConvictionDoesNotExistForOffender_whenGetPssRequirementsByConvictionId_thenThrowException() {
+            when(eventRepository.findWithPssRequirementsByEventIdAndOffenderId(CONVICTION_ID, OFFENDER_ID)).thenReturn(Optional.empty());
+
+            assertThatExceptionOfType(NotFoundException.class)
+                .isThrownBy(() -> requirementService.getPssRequirementsByConvictionId(CRN, CONVICTION_ID))
+                .withMessage("Conviction with convictionId '987654321' not found");
+        }
+
+        @Test
+        public void givenActiveConvictionDoesNotExistForOffender_whenGetActiveRequirementsByConvictionId_thenThrowException() {
+            when(eventRepository.findWithRequirementsByOffenderIdAndEventIdAndActiveFlagTrue(OFFENDER_ID, CONVICTION_ID)).thenReturn(Optional.empty());
+
+            assertThatExceptionOfType(NotFoundException.class)
+                .isThrownBy(() -> requirementService.getActiveRequirementsByConvictionId(CRN, CONVICTION_ID))
+                .withMessage("Active conviction with convictionId '987654321' not found");
+        }
+    }
+
     @Nested class OffenderDoesNotExistTests {
 
         @BeforeEach
@@ -26,15 +26,19 @@ import uk.gov.justice.digital.delius.jpa.standard.repository.BusinessInteraction
 import uk.gov.justice.digital.delius.jpa.standard.repository.ProbationAreaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.SpgNotificationHelperRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.SpgNotificationRepository;
-import uk.gov.justice.digital.delius.jpa.standard.repository.StandardReferenceRepository;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.digital.delius.util.EntityHelper.aCustodyEvent;
@@ -48,7 +52,7 @@ public class SpgNotificationServiceTest {
     @Mock
     private BusinessInteractionXmlMapRepository businessInteractionXmlMapRepository;
     @Mock
-    private StandardReferenceRepository standardReferenceRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
     @Mock
     private ProbationAreaRepository probationAreaRepository;
     @Mock
@@ -64,25 +68,32 @@ public class SpgNotificationServiceTest {
 
     @BeforeEach
     public void before() {
-        when(businessInteractionRepository.findByBusinessInteractionCode(any())).thenAnswer(
-                params -> Optional.of(
-                        BusinessInteraction
-                                .builder()
-                                .businessInteractionCode(params.getArguments()[0].toString()) // echo back the code looked for
-                                .build()));
+        final var businessInteractions = new HashMap<Long, BusinessInteraction>();
+        when(businessInteractionRepository.findByBusinessInteractionCode(any())).thenAnswer(params -> {
+            final var businessInteraction = BusinessInteraction
+                    .builder()
+                    .businessInteractionId(businessInteractions.size() + 1L)
+                    .businessInteractionCode(params.getArguments()[0].toString()) // echo back the code looked for
+                    .build();
+            businessInteractions.put(businessInteraction.getBusinessInteractionId(), businessInteraction);
+            return Optional.of(businessInteraction);
+        });
+        when(businessInteractionRepository.getById(any())).thenAnswer(params -> businessInteractions.get(params.getArgument(0, Long.class)));
         when(businessInteractionXmlMapRepository.findByBusinessInteractionId(any())).thenReturn(Optional.of(BusinessInteractionXmlMap
                 .builder()
                 .dataUpdateMode("I")
                 .build()));
-        when(standardReferenceRepository.findByCodeAndCodeSetName(any(), any())).thenReturn(Optional.of(StandardReference
+        when(referenceDataRegistry.findByCodeAndCodeSetName(any(), any())).thenReturn(Optional.of(StandardReference
                 .builder()
                 .standardReferenceListId(88L)
                 .build()));
-        when(probationAreaRepository.findByCode(any())).thenReturn(Optional.of(ProbationArea.builder().build()));
+        when(probationAreaRepository.findByCode(any())).thenReturn(Optional.of(ProbationArea.builder().probationAreaId(1500001001L).code("N00").build()));
+        when(probationAreaRepository.getById(1500001001L)).thenReturn(ProbationArea.builder().probationAreaId(1500001001L).code("N00").build());
         when(spgNotificationHelperRepository.getInterestedCRCs(any())).thenReturn(ImmutableList.of());
-        when(spgNotificationHelperRepository.getNextControlSequence(any())).thenReturn(1L);
+        when(spgNotificationHelperRepository.getNextControlSequences(any(), anyInt())).thenAnswer(
+                params -> LongStream.rangeClosed(1, params.getArgument(1, Integer.class)).boxed().collect(toList()));
 
-        spgNotificationService = new SpgNotificationService(businessInteractionRepository, businessInteractionXmlMapRepository, standardReferenceRepository, probationAreaRepository, spgNotificationRepository, spgNotificationHelperRepository);
+        spgNotificationService = new SpgNotificationService(businessInteractionRepository, businessInteractionXmlMapRepository, referenceDataRegistry, probationAreaRepository, spgNotificationRepository, spgNotificationHelperRepository);
     }
 
     @Test
@@ -265,6 +276,58 @@ public class SpgNotificationServiceTest {
     }
 
 
+    @Test
+    public void newCourtCaseNotificationsAreSavedTogetherWithAControlReferenceReservedForEach() {
+        when(spgNotificationHelperRepository.getInterestedCRCs(any())).thenReturn(ImmutableList.of(
+                ProbationArea
+                        .builder()
+                        .code("AA")
+                        .build(),
+                ProbationArea
+                        .builder()
+                        .code("AB")
+                        .build()));
+
+        spgNotificationService.notifyNewCourtCaseCreated(Event
+                .builder()
+                .offenderId(99L)
+                .courtAppearances(ImmutableList.of(
+                        CourtAppearance.builder().courtAppearanceId(20L).build(),
+                        CourtAppearance.builder().courtAppearanceId(21L).build()
+                ))
+                .build());
+
+        verify(spgNotificationHelperRepository).getInterestedCRCs("99");
+        verify(spgNotificationHelperRepository).getNextControlSequences(any(), eq(8));
+        verify(spgNotificationRepository).saveAll(spgNotificationsCaptor.capture());
+
+        assertThat(spgNotificationsCaptor.getValue())
+                .extracting(SpgNotification::getControlReference)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+    }
+
+    @Test
+    public void staticLookupsAreOnlyMadeOnceForRepeatedNotifications() {
+        when(spgNotificationHelperRepository.getInterestedCRCs(any())).thenReturn(ImmutableList.of(ProbationArea
+                .builder()
+                .code("AA")
+                .build()));
+
+        val event = aCustodyEvent(99L, ImmutableList.of(aKeyDate(88L, "POM1")));
+        spgNotificationService.notifyUpdateOfCustodyKeyDate("POM1", event);
+        spgNotificationService.notifyUpdateOfCustodyKeyDate("POM1", event);
+        spgNotificationService.notifyUpdateOfCustodyKeyDate("POM1", event);
+
+        verify(probationAreaRepository).findByCode("N00");
+        verify(probationAreaRepository, times(3)).getById(1500001001L);
+        verify(businessInteractionRepository).findByBusinessInteractionCode("SPOBI011");
+        verify(businessInteractionRepository, times(3)).getById(1L);
+        verify(businessInteractionXmlMapRepository).findByBusinessInteractionId(any());
+        verify(referenceDataRegistry).findByCodeAndCodeSetName("INS", "SPG MESSAGE CONTEXT");
+        verify(spgNotificationHelperRepository, times(3)).getNextControlSequences(any(), eq(1));
+        assertThat(findFor(SpgNotificationService.NotificationEvents.UPDATE_CUSTODY_KEY_DATE.getNotificationCode())).hasSize(3);
+    }
+
     @Test
     @MockitoSettings(strictness = Strictness.LENIENT)
     public void withNoInterestedCRCsNothingInsertedForNewCustodyKeyDateNotification() {
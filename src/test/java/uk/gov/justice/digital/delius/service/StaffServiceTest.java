@@ -10,21 +10,31 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import uk.gov.justice.digital.delius.data.api.ContactableHuman;
+import uk.gov.justice.digital.delius.data.api.ManagedOffender;
 import uk.gov.justice.digital.delius.data.api.StaffDetails;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Staff;
+import uk.gov.justice.digital.delius.jpa.standard.projection.StaffKeys;
 import uk.gov.justice.digital.delius.jpa.standard.repository.StaffHelperRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.StaffRepository;
 import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
 import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.never;
@@ -48,6 +58,12 @@ public class StaffServiceTest {
     @Mock
     private StaffHelperRepository staffHelperRepository;
 
+    @Mock
+    private CaseloadService caseloadService;
+
+    @Mock
+    private StaffKeys staffKeys;
+
     @Captor
     private ArgumentCaptor<Staff> staffCaptor;
 
@@ -56,7 +72,52 @@ public class StaffServiceTest {
         staffService = new StaffService(
                 staffRepository,
                 ldapRepository,
-                staffHelperRepository);
+                staffHelperRepository,
+                caseloadService);
+    }
+
+    @Nested
+    class ManagedOffenders {
+        @Test
+        @DisplayName("caseload is read for the staff member with the officer code")
+        void caseloadIsReadForStaffWithOfficerCode() {
+            final var managedOffenders = List.of(ManagedOffender.builder().offenderId(99L).build());
+            when(staffRepository.findKeysByOfficerCode("N01A001")).thenReturn(Optional.of(staffKeys));
+            when(caseloadService.getManagedOffenders(staffKeys, true)).thenReturn(managedOffenders);
+
+            assertThat(staffService.getManagedOffendersByStaffCode("N01A001", true)).hasValue(managedOffenders);
+        }
+
+        @Test
+        @DisplayName("caseload is not read when there is no staff member with the identifier")
+        void caseloadIsNotReadWhenStaffNotFound() {
+            when(staffRepository.findKeysByStaffId(1L)).thenReturn(Optional.empty());
+
+            assertThat(staffService.getManagedOffendersByStaffIdentifier(1L, false)).isNotPresent();
+            verify(caseloadService, never()).getManagedOffenders(any(), anyBoolean());
+        }
+
+        @Test
+        @DisplayName("a page of the caseload is read for the staff member with the identifier")
+        void pageOfCaseloadIsReadForStaffWithIdentifier() {
+            final var pageable = PageRequest.of(1, 10);
+            final var page = new PageImpl<>(List.of(ManagedOffender.builder().offenderId(99L).build()), pageable, 11);
+            when(staffRepository.findKeysByStaffId(10L)).thenReturn(Optional.of(staffKeys));
+            when(caseloadService.getManagedOffenders(staffKeys, false, pageable)).thenReturn(page);
+
+            assertThat(staffService.getManagedOffendersByStaffIdentifier(10L, false, pageable)).hasValue(page);
+        }
+
+        @Test
+        @DisplayName("a page of the caseload is read for the staff member with the officer code")
+        void pageOfCaseloadIsReadForStaffWithOfficerCode() {
+            final var pageable = PageRequest.of(0, 10);
+            final var page = new PageImpl<>(List.of(ManagedOffender.builder().offenderId(99L).build()), pageable, 1);
+            when(staffRepository.findKeysByOfficerCode("N01A001")).thenReturn(Optional.of(staffKeys));
+            when(caseloadService.getManagedOffenders(staffKeys, true, pageable)).thenReturn(page);
+
+            assertThat(staffService.getManagedOffendersByStaffCode("N01A001", true, pageable)).hasValue(page);
+        }
     }
 
     @Test
@@ -212,8 +273,8 @@ public class StaffServiceTest {
 
         var frazierNDelius = NDeliusUser.builder().telephoneNumber("111 222").mail("joefrazier@service.com").build();
         var foremanNDelius = NDeliusUser.builder().telephoneNumber("333 444").mail("georgeforeman@service.com").build();
-        when(ldapRepository.getDeliusUserNoRoles("joefrazier")).thenReturn(Optional.of(frazierNDelius));
-        when(ldapRepository.getDeliusUserNoRoles("georgeforeman")).thenReturn(Optional.of(foremanNDelius));
+        when(ldapRepository.getDeliusUsersNoRoles(argThat(usernamesRequested -> Set.copyOf(usernamesRequested).equals(usernames))))
+                .thenReturn(Map.of("joefrazier", frazierNDelius, "georgeforeman", foremanNDelius));
 
         List<StaffDetails> staffDetailsList = staffService.getStaffDetailsByUsernames(usernames);
 
@@ -225,6 +286,50 @@ public class StaffServiceTest {
         assertThat(foremanUserDetails.getEmail()).isEqualTo("georgeforeman@service.com");
         assertThat(frazierUserDetails.getUsername()).isEqualTo("joefrazier");
         assertThat(foremanUserDetails.getUsername()).isEqualTo("georgeforeman");
+        verify(ldapRepository, never()).getDeliusUserNoRoles(any());
+    }
+
+    @Test
+    public void staffNotFoundInLdapHaveNoContactDetails_getStaffDetailsByUsernames() {
+        when(staffRepository.findByUsernames(any()))
+                .thenReturn(ImmutableList.of(aStaff().toBuilder().user(aUser().toBuilder().distinguishedName("joefrazier").build()).build()));
+        when(ldapRepository.getDeliusUsersNoRoles(any())).thenReturn(Map.of());
+
+        assertThat(staffService.getStaffDetailsByUsernames(Set.of("joefrazier")))
+                .singleElement()
+                .satisfies(staffDetails -> {
+                    assertThat(staffDetails.getEmail()).isNull();
+                    assertThat(staffDetails.getTelephoneNumber()).isNull();
+                });
+    }
+
+    @Test
+    public void willReadContactDetailsFromLdapOnly_getContactDetailsByUsernames() {
+        var frazierNDelius = NDeliusUser.builder().telephoneNumber("111 222").mail("joefrazier@service.com").build();
+        when(ldapRepository.getDeliusUsersNoRolesAsync(Set.of("joefrazier"))).thenReturn(CompletableFuture.completedFuture(Map.of("joefrazier", frazierNDelius)));
+
+        assertThat(staffService.getContactDetailsByUsernames(Set.of("joefrazier"))).containsEntry("joefrazier", frazierNDelius);
+        verify(staffRepository, never()).findByUsernames(any());
+    }
+
+    @Test
+    public void willReturnNoContactDetailsWhenLdapIsTooSlow_getContactDetailsByUsernames() {
+        when(ldapRepository.getDeliusUsersNoRolesAsync(Set.of("joefrazier"))).thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        assertThat(staffService.getContactDetailsByUsernames(Set.of("joefrazier"))).isEmpty();
+    }
+
+    @Test
+    public void willReturnNoContactDetailsWhenTheLdapLookupPoolIsFull_getContactDetailsByUsernames() {
+        when(ldapRepository.getDeliusUsersNoRolesAsync(Set.of("joefrazier"))).thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException()));
+
+        assertThat(staffService.getContactDetailsByUsernames(Set.of("joefrazier"))).isEmpty();
+    }
+
+    @Test
+    public void willNotSearchLdapWhenThereAreNoUsernames_getContactDetailsByUsernames() {
+        assertThat(staffService.getContactDetailsByUsernames(Set.of())).isEmpty();
+        verify(ldapRepository, never()).getDeliusUsersNoRolesAsync(any());
     }
 
     @Test
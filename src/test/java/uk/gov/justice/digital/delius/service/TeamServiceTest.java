@@ -57,6 +57,8 @@ public class TeamServiceTest {
     @Mock
     private TelemetryClient telemetryClient;
     @Mock
+    private ProbationAreaTeamRegistry probationAreaTeamRegistry;
+    @Mock
     private StaffService staffService;
     @Captor
     private ArgumentCaptor<StaffTeam> staffTeamArgumentCaptor;
@@ -73,7 +75,7 @@ public class TeamServiceTest {
 
     @BeforeEach
     public void setup() {
-        teamService = new TeamService(teamRepository, localDeliveryUnitRepository, districtRepository, boroughRepository, staffTeamRepository, probationAreaRepository, telemetryClient, staffService);
+        teamService = new TeamService(teamRepository, localDeliveryUnitRepository, districtRepository, boroughRepository, staffTeamRepository, probationAreaRepository, telemetryClient, staffService, probationAreaTeamRegistry);
     }
 
     @Test
@@ -141,6 +143,24 @@ public class TeamServiceTest {
         verify(telemetryClient).trackEvent(eq("POMTeamCreated"), eq(Map.of("probationArea", "N01", "code", "N01POM")), isNull());
     }
 
+    @Test
+    public void cachedTeamsInAreaWillBeEvictedWhenTeamCreated() {
+        when(teamRepository.findByCode(any())).thenReturn(Optional.empty());
+        when(districtRepository.findByCode(any())).thenReturn(Optional.of(aDistrict()));
+        when(localDeliveryUnitRepository.findByCode(any())).thenReturn(Optional.of(aLocalDeliveryUnit()));
+
+        final var probationArea = aProbationArea()
+                .toBuilder()
+                .probationAreaId(99L)
+                .code("N01")
+                .teams(new ArrayList<>())
+                .build();
+
+        teamService.findOrCreatePrisonOffenderManagerTeamInArea(probationArea);
+
+        verify(probationAreaTeamRegistry).evict(99L);
+    }
+
     @Test
     public void findOrCreatePrisonOffenderManagerTeamInAreaWillCreateDistrictBoroughAndLDUWhenTheyAreNotFound() {
         when(teamRepository.findByCode(any())).thenReturn(Optional.empty());
@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.service;
 
+import com.google.common.collect.Iterables;
 import com.microsoft.applicationinsights.TelemetryClient;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -9,20 +10,32 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
+import uk.gov.justice.digital.delius.data.api.TierUpdate;
+import uk.gov.justice.digital.delius.data.api.TierUpdateResult;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderManagerAreaKeys;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ManagementTierRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.StaffRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.TeamRepository;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.AssertionsForClassTypes.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.digital.delius.util.EntityHelper.*;
@@ -208,5 +221,114 @@ public class TierServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("updateTiers")
+    class UpdateTiers {
+        @Test
+        @DisplayName("looks up reference data, team and staff once for all updates in an area")
+        void looksUpReferenceDataOnce() {
+            when(referenceDataService.getAtsTierChangeReason()).thenReturn(Optional.of(new StandardReference()));
+            when(offenderRepository.findOffenderManagerAreaKeysByCrnIn(List.of("X000001", "X000002")))
+                .thenReturn(List.of(offenderManagerAreaKeys(1L, "X000001", "N02"), offenderManagerAreaKeys(2L, "X000002", "N02")));
+            when(referenceDataService.getTier("UA1")).thenReturn(Optional.of(new StandardReference()));
+            when(staffRepository.findByOfficerCode("N02UTSO")).thenReturn(Optional.of(aStaff()));
+            when(teamRepository.findByCode("N02UTS")).thenReturn(Optional.of(aTeam()));
+
+            final var results = service.updateTiers(List.of(new TierUpdate("X000001", "A1"), new TierUpdate("X000002", "A1")));
+
+            assertThat(results).extracting(TierUpdateResult::isUpdated).containsExactly(true, true);
+            verify(referenceDataService, times(1)).getTier("UA1");
+            verify(staffRepository, times(1)).findByOfficerCode("N02UTSO");
+            verify(teamRepository, times(1)).findByCode("N02UTS");
+            verify(managementTierRepository).saveAll(argThat(managementTiers -> Iterables.size(managementTiers) == 2));
+            verify(contactService).addContactsForTierUpdates(argThat(contacts -> contacts.size() == 2), any(), any());
+            verify(spgNotificationService).notifyUpdateOfOffenders(List.of(1L, 2L));
+        }
+
+        @Test
+        @DisplayName("reports each failed update on its own and writes the rest")
+        void reportsFailuresOnTheirOwn() {
+            when(referenceDataService.getAtsTierChangeReason()).thenReturn(Optional.of(new StandardReference()));
+            when(offenderRepository.findOffenderManagerAreaKeysByCrnIn(List.of("X000001", "X000002", "X000003")))
+                .thenReturn(List.of(offenderManagerAreaKeys(1L, "X000001", "N02"), offenderManagerAreaKeys(3L, "X000003", null)));
+            when(referenceDataService.getTier("UA1")).thenReturn(Optional.of(new StandardReference()));
+            when(staffRepository.findByOfficerCode("N02UTSO")).thenReturn(Optional.of(aStaff()));
+            when(teamRepository.findByCode("N02UTS")).thenReturn(Optional.of(aTeam()));
+
+            final var results = service.updateTiers(List.of(new TierUpdate("X000001", "A1"), new TierUpdate("X000002", "A1"), new TierUpdate("X000003", "A1")));
+
+            assertThat(results).extracting(TierUpdateResult::getCrn, TierUpdateResult::isUpdated, TierUpdateResult::getFailureReason).containsExactly(
+                tuple("X000001", true, null),
+                tuple("X000002", false, "Offender with CRN X000002 not found"),
+                tuple("X000003", false, "Could not find active community manager for crn X000003"));
+            verify(telemetryClient).trackEvent("TierUpdateFailureOffenderNotFound", Map.of("crn", "X000002", "tier", "UA1"), null);
+            verify(telemetryClient).trackEvent("TierUpdateFailureActiveCommunityOffenderManagerNotFound", Map.of("crn", "X000003", "tier", "UA1"), null);
+            verify(spgNotificationService).notifyUpdateOfOffenders(List.of(1L));
+        }
+
+        @Test
+        @DisplayName("applies only the last update given for an offender")
+        void appliesOnlyTheLastUpdateOfAnOffender() {
+            when(referenceDataService.getAtsTierChangeReason()).thenReturn(Optional.of(new StandardReference()));
+            when(offenderRepository.findOffenderManagerAreaKeysByCrnIn(List.of("X000001")))
+                .thenReturn(List.of(offenderManagerAreaKeys(1L, "X000001", "N02")));
+            when(referenceDataService.getTier("UB2")).thenReturn(Optional.of(new StandardReference()));
+            when(staffRepository.findByOfficerCode("N02UTSO")).thenReturn(Optional.of(aStaff()));
+            when(teamRepository.findByCode("N02UTS")).thenReturn(Optional.of(aTeam()));
+
+            final var results = service.updateTiers(List.of(new TierUpdate("X000001", "A1"), new TierUpdate("X000001", "B2"), new TierUpdate("X000001", "B2")));
+
+            assertThat(results).extracting(TierUpdateResult::getTier, TierUpdateResult::isUpdated, TierUpdateResult::getFailureReason).containsExactly(
+                tuple("A1", false, "Superseded by a later update of the tier of CRN X000001"),
+                tuple("B2", false, "Superseded by a later update of the tier of CRN X000001"),
+                tuple("B2", true, null));
+            verify(referenceDataService, never()).getTier("UA1");
+            verify(managementTierRepository).saveAll(argThat(managementTiers -> Iterables.size(managementTiers) == 1));
+            verify(contactService).addContactsForTierUpdates(argThat(contacts -> contacts.size() == 1), any(), any());
+            verify(spgNotificationService).notifyUpdateOfOffenders(List.of(1L));
+        }
 
+        @Test
+        @DisplayName("updates an offender with more than one community offender manager in the area of the most recently allocated")
+        void updatesInTheAreaOfTheMostRecentlyAllocatedOffenderManager() {
+            when(referenceDataService.getAtsTierChangeReason()).thenReturn(Optional.of(new StandardReference()));
+            when(offenderRepository.findOffenderManagerAreaKeysByCrnIn(List.of("X000001")))
+                .thenReturn(List.of(offenderManagerAreaKeys(1L, "X000001", "N03"), offenderManagerAreaKeys(1L, "X000001", "N02")));
+            when(referenceDataService.getTier("UA1")).thenReturn(Optional.of(new StandardReference()));
+            when(staffRepository.findByOfficerCode("N03UTSO")).thenReturn(Optional.of(aStaff()));
+            when(teamRepository.findByCode("N03UTS")).thenReturn(Optional.of(aTeam()));
+
+            final var results = service.updateTiers(List.of(new TierUpdate("X000001", "A1")));
+
+            assertThat(results).extracting(TierUpdateResult::isUpdated).containsExactly(true);
+            verify(staffRepository, never()).findByOfficerCode("N02UTSO");
+        }
+
+        @Test
+        @DisplayName("rejects too many updates in one request")
+        void rejectsTooManyUpdates() {
+            final var tierUpdates = Collections.nCopies(TierService.MAX_BULK_TIER_UPDATES + 1, new TierUpdate("X000001", "A1"));
+
+            assertThatThrownBy(() -> service.updateTiers(tierUpdates)).isInstanceOf(BadRequestException.class);
+        }
+
+        private OffenderManagerAreaKeys offenderManagerAreaKeys(Long offenderId, String crn, String probationAreaCode) {
+            return new OffenderManagerAreaKeys() {
+                @Override
+                public Long getOffenderId() {
+                    return offenderId;
+                }
+
+                @Override
+                public String getCrn() {
+                    return crn;
+                }
+
+                @Override
+                public String getProbationAreaCode() {
+                    return probationAreaCode;
+                }
+            };
+        }
+    }
 }
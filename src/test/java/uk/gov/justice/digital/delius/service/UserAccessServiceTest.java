@@ -8,16 +8,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import uk.gov.justice.digital.delius.data.api.AccessLimitation;
-import uk.gov.justice.digital.delius.data.api.OffenderDetail;
 import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
+import uk.gov.justice.digital.delius.jpa.standard.projection.OffenderAccess;
 
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
-import static org.mockito.Mockito.atMost;
-import static org.mockito.Mockito.atMostOnce;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -35,19 +33,17 @@ class UserAccessServiceTest {
     private UserAccessService userAccessServiceToggleOff;
 
     @Mock
-    private UserService userService;
-    @Mock
-    private OffenderService offenderService;
+    private AccessLimitationService accessLimitationService;
     @Mock
     private CurrentUserSupplier currentUserSupplier;
     @Mock
-    private OffenderDetail offender;
+    private OffenderAccess offender;
 
     @BeforeEach
     public void setUp(){
-        userAccessService = new UserAccessService(userService, offenderService, currentUserSupplier,
+        userAccessService = new UserAccessService(accessLimitationService, currentUserSupplier,
             Set.of(SCOPE_IGNORE_EXCLUSIONS), Set.of(SCOPE_IGNORE_RESTRICTIONS));
-        userAccessServiceToggleOff = new UserAccessService(userService, offenderService, currentUserSupplier,
+        userAccessServiceToggleOff = new UserAccessService(accessLimitationService, currentUserSupplier,
             Set.of(SCOPE_IGNORE_EXCLUSIONS), Set.of(SCOPE_IGNORE_RESTRICTIONS));
     }
 
@@ -56,13 +52,13 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(false, RESTRICTION_MESSAGE, false, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
-        when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
+        when(accessLimitationService.offenderAccessOf(CRN)).thenReturn(Optional.of(offender));
+        when(accessLimitationService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         userAccessService.checkExclusionsAndRestrictions(CRN, Collections.emptySet());
 
-        verify(offenderService, atMost(2)).getOffenderByCrn(CRN);
-        verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
+        verify(accessLimitationService).offenderAccessOf(CRN);
+        verifyNoMoreInteractions(accessLimitationService, currentUserSupplier, offender);
     }
 
     @Test
@@ -70,15 +66,15 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(false, RESTRICTION_MESSAGE, true, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
-        when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
+        when(accessLimitationService.offenderAccessOf(CRN)).thenReturn(Optional.of(offender));
+        when(accessLimitationService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         assertThatExceptionOfType(AccessDeniedException.class)
             .isThrownBy(() -> userAccessService.checkExclusionsAndRestrictions(CRN, Collections.emptySet()))
             .withMessage(EXCLUSION_MESSAGE);
 
-        verify(offenderService, atMostOnce()).getOffenderByCrn(CRN);
-        verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
+        verify(accessLimitationService).offenderAccessOf(CRN);
+        verifyNoMoreInteractions(accessLimitationService, currentUserSupplier, offender);
     }
 
     @Test
@@ -86,20 +82,20 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(false, RESTRICTION_MESSAGE, true, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
-        when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
+        when(accessLimitationService.offenderAccessOf(CRN)).thenReturn(Optional.of(offender));
+        when(accessLimitationService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         userAccessService.checkExclusionsAndRestrictions(CRN, Set.of(new SimpleGrantedAuthority(SCOPE_IGNORE_EXCLUSIONS)));
 
-        verify(offenderService, atMostOnce()).getOffenderByCrn(CRN);
-        verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
+        verify(accessLimitationService).offenderAccessOf(CRN);
+        verifyNoMoreInteractions(accessLimitationService, currentUserSupplier, offender);
     }
 
     @Test
     public void givenOffenderIsRestricted_andNoUser_thenAccessDenied(){
         when(currentUserSupplier.username()).thenReturn(Optional.empty());
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
-        when(offender.getCurrentRestriction()).thenReturn(true);
+        when(accessLimitationService.offenderAccessOf(CRN)).thenReturn(Optional.of(offender));
+        when(offender.isCurrentRestriction()).thenReturn(true);
         when(offender.getRestrictionMessage()).thenReturn(RESTRICTION_MESSAGE);
         when(offender.getExclusionMessage()).thenReturn(EXCLUSION_MESSAGE);
 
@@ -107,8 +103,8 @@ class UserAccessServiceTest {
             .isThrownBy(() -> userAccessService.checkExclusionsAndRestrictions(CRN, Collections.emptySet()))
             .withMessage(RESTRICTION_MESSAGE);
 
-        verify(offenderService, atMostOnce()).getOffenderByCrn(CRN);
-        verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
+        verify(accessLimitationService).offenderAccessOf(CRN);
+        verifyNoMoreInteractions(accessLimitationService, currentUserSupplier, offender);
     }
 
     @Test
@@ -116,15 +112,15 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(true, RESTRICTION_MESSAGE, false, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
-        when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
+        when(accessLimitationService.offenderAccessOf(CRN)).thenReturn(Optional.of(offender));
+        when(accessLimitationService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         assertThatExceptionOfType(AccessDeniedException.class)
             .isThrownBy(() -> userAccessService.checkExclusionsAndRestrictions(CRN, Collections.emptySet()))
             .withMessage(RESTRICTION_MESSAGE);
 
-        verify(offenderService, atMost(2)).getOffenderByCrn(CRN);
-        verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
+        verify(accessLimitationService).offenderAccessOf(CRN);
+        verifyNoMoreInteractions(accessLimitationService, currentUserSupplier, offender);
     }
 
     @Test
@@ -132,13 +128,13 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(true, RESTRICTION_MESSAGE, false, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
-        when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
+        when(accessLimitationService.offenderAccessOf(CRN)).thenReturn(Optional.of(offender));
+        when(accessLimitationService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         userAccessService.checkExclusionsAndRestrictions(CRN, Set.of(new SimpleGrantedAuthority(SCOPE_IGNORE_RESTRICTIONS)));
 
-        verify(offenderService, atMostOnce()).getOffenderByCrn(CRN);
-        verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
+        verify(accessLimitationService).offenderAccessOf(CRN);
+        verifyNoMoreInteractions(accessLimitationService, currentUserSupplier, offender);
     }
 
     @Test
@@ -146,14 +142,14 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(true, RESTRICTION_MESSAGE, true, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
-        when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
+        when(accessLimitationService.offenderAccessOf(CRN)).thenReturn(Optional.of(offender));
+        when(accessLimitationService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         assertThatExceptionOfType(AccessDeniedException.class)
             .isThrownBy(() -> userAccessService.checkExclusionsAndRestrictions(CRN, Collections.emptySet()))
             .withMessage(EXCLUSION_MESSAGE);
 
-        verify(offenderService, atMostOnce()).getOffenderByCrn(CRN);
-        verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
+        verify(accessLimitationService).offenderAccessOf(CRN);
+        verifyNoMoreInteractions(accessLimitationService, currentUserSupplier, offender);
     }
 }
@@ -2,24 +2,24 @@ package uk.gov.justice.digital.delius.service;
 
 import com.google.common.collect.ImmutableList;
 import com.microsoft.applicationinsights.TelemetryClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.justice.digital.delius.controller.BadRequestException;
+import uk.gov.justice.digital.delius.data.api.AccessLimitation;
 import uk.gov.justice.digital.delius.data.api.OffenderDetail;
 import uk.gov.justice.digital.delius.data.api.UserDetails;
 import uk.gov.justice.digital.delius.data.api.UserRole;
-import uk.gov.justice.digital.delius.jpa.national.entity.Exclusion;
-import uk.gov.justice.digital.delius.jpa.national.entity.Restriction;
 import uk.gov.justice.digital.delius.jpa.national.entity.User;
 import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
 import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusRole;
 import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
 import uk.gov.justice.digital.delius.service.wrapper.UserRepositoryWrapper;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +30,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -45,276 +46,43 @@ public class UserServiceTest {
     @Mock
     private TelemetryClient telemetryClient;
 
+    @Mock
+    private AccessLimitationService accessLimitationService;
+
     private UserService userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserService(userRepositoryWrapper, ldapRepository, telemetryClient);
-    }
-
-    @Test
-    public void exclusionListNotCheckedWhenNotExcludedForAnyone() {
-        userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(false)
-                .currentRestriction(false)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .build());
-
-        verify(userRepositoryWrapper, never()).getUser(Mockito.any());
-    }
-
-
-    @Test
-    public void exclusionUnsetWhenNotExcludedForAnyone() {
-        final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(false)
-                .currentRestriction(false)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .build());
-
-        assertThat(accessLimitation.isUserExcluded()).isFalse();
-    }
-
-    @Test
-    public void excludedMessageUnsetWhenNotExcludedForAnyone() {
-        final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(false)
-                .currentRestriction(false)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .build());
-
-        assertThat(accessLimitation.getExclusionMessage()).isNull();
-    }
-
-    @Test
-    public void exclusionListCheckedWhenExcludedForSomeone() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
-                .builder()
-                .exclusions(ImmutableList.of(Exclusion
-                        .builder()
-                        .offenderId(2L)
-                        .build()))
-                .build());
-        userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(true)
-                .currentRestriction(false)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .offenderId(1L)
-                .build());
-
-        verify(userRepositoryWrapper).getUser("Micky");
-    }
-
-    @Test
-    public void exclusionUnsetWhenUserNotInExclusionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
-                .builder()
-                .exclusions(ImmutableList.of(Exclusion
-                        .builder()
-                        .offenderId(2L)
-                        .build()))
-                .build());
-        final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(true)
-                .currentRestriction(false)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .offenderId(1L)
-                .build());
-
-        assertThat(accessLimitation.isUserExcluded()).isFalse();
+        userService = new UserService(userRepositoryWrapper, ldapRepository, new DeliusUserCache(ldapRepository, new SimpleMeterRegistry(), Duration.ofMinutes(5), 100), telemetryClient, accessLimitationService);
     }
 
     @Test
-    public void exclusionSetWhenUserIsInExclusionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
-                .builder()
-                .exclusions(ImmutableList.of(Exclusion
-                        .builder()
-                        .offenderId(1L)
-                        .build()))
-                .build());
-        final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(true)
-                .currentRestriction(false)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .offenderId(1L)
-                .build());
+    public void accessLimitationIsDecidedByTheCachedAccessLimitationService() {
+        final var offenderDetail = OffenderDetail.builder().offenderId(1L).currentExclusion(true).currentRestriction(false).build();
+        final var accessLimitation = AccessLimitation.builder().userExcluded(true).build();
+        when(accessLimitationService.accessLimitationOf("Micky", offenderDetail)).thenReturn(accessLimitation);
 
-        assertThat(accessLimitation.isUserExcluded()).isTrue();
+        assertThat(userService.accessLimitationOf("Micky", offenderDetail)).isSameAs(accessLimitation);
+        verifyNoInteractions(userRepositoryWrapper);
     }
 
     @Test
-    public void exclusionMessageReturnedWhenUserIsInExclusionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
-                .builder()
-                .exclusions(ImmutableList.of(Exclusion
-                        .builder()
-                        .offenderId(1L)
-                        .build()))
-                .build());
-        final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(true)
-                .currentRestriction(false)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .offenderId(1L)
-                .build());
-
-        assertThat(accessLimitation.getExclusionMessage()).isEqualTo("How dare you - you are excluded");
-    }
-
-
-    @Test
-    public void restrictionListNotCheckedWhenNotRestrictedToAnyone() {
-        userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(false)
-                .currentRestriction(false)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .build());
-
-        verify(userRepositoryWrapper, never()).getUser(Mockito.any());
-    }
-
-
-    @Test
-    public void restrictionUnsetWhenNotRestrictedToAnyone() {
-        final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(false)
-                .currentRestriction(false)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .build());
-
-        assertThat(accessLimitation.isUserRestricted()).isFalse();
-    }
-
-    @Test
-    public void restrictedMessageUnsetWhenNotRestrictedToAnyone() {
-        final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(false)
-                .currentRestriction(false)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .build());
-
-        assertThat(accessLimitation.getRestrictionMessage()).isNull();
-    }
-
-    @Test
-    public void restrictedListCheckedWhenRestrictedToSomeone() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
-                .builder()
-                .restrictions(ImmutableList.of(Restriction
-                        .builder()
-                        .offenderId(1L)
-                        .build()))
-                .build());
-        userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(false)
-                .currentRestriction(true)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .offenderId(1L)
-                .build());
-
-        verify(userRepositoryWrapper).getUser("Micky");
-    }
-
-    @Test
-    public void restrictedUnsetWhenUserInRestrictionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
-                .builder()
-                .restrictions(ImmutableList.of(Restriction
-                        .builder()
-                        .offenderId(1L)
-                        .build()))
-                .build());
-        final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(false)
-                .currentRestriction(true)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .offenderId(1L)
-                .build());
-
-        assertThat(accessLimitation.isUserRestricted()).isFalse();
-    }
-
-    @Test
-    public void restrictedSetWhenUserIsNotInRestrictionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
-                .builder()
-                .restrictions(ImmutableList.of(Restriction
-                        .builder()
-                        .offenderId(2L)
-                        .build()))
-                .build());
-        final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
-                .builder()
-                .currentExclusion(false)
-                .currentRestriction(true)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .offenderId(1L)
-                .build());
-
-        assertThat(accessLimitation.isUserRestricted()).isTrue();
-    }
-
-    @Test
-    public void restrictedMessageReturnedWhenUserIsNotInRestrictionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
-                .builder()
-                .restrictions(ImmutableList.of(Restriction
-                        .builder()
-                        .offenderId(2L)
-                        .build()))
-                .build());
-        final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
+    public void userDetailsMappedFromLdapRepository() {
+        final var ldapUser = NDeliusUser
                 .builder()
-                .currentExclusion(false)
-                .currentRestriction(true)
-                .exclusionMessage("How dare you - you are excluded")
-                .restrictionMessage("How dare you - you are restricted")
-                .offenderId(1L)
+                .givenname("John")
+                .sn("Bean")
+                .mail("john.bean@justice.gov.uk")
+                .build();
+        when(ldapRepository.getDeliusUserNoRoles(anyString())).thenReturn(Optional.of(ldapUser));
+        when(ldapRepository.mapRolesForUser(ldapUser)).thenReturn(ldapUser
+                .toBuilder()
+                .roles(ImmutableList.of(
+                        NDeliusRole
+                                .builder()
+                                .cn("ROLE1")
+                                .build()))
                 .build());
-
-        assertThat(accessLimitation.getRestrictionMessage()).isEqualTo("How dare you - you are restricted");
-    }
-
-    @Test
-    public void userDetailsMappedFromLdapRepository() {
-        when(ldapRepository.getDeliusUser(anyString())).thenReturn(
-                Optional.of(NDeliusUser
-                        .builder()
-                        .givenname("John")
-                        .sn("Bean")
-                        .mail("john.bean@justice.gov.uk")
-                        .roles(ImmutableList.of(
-                                NDeliusRole
-                                        .builder()
-                                        .cn("ROLE1")
-                                        .build()))
-                        .build()));
         when(userRepositoryWrapper.getUser(any())).thenReturn(User.builder().userId(12345L).build());
 
         final var userDetails = userService.getUserDetails("john.bean");
@@ -333,7 +101,7 @@ public class UserServiceTest {
 
     @Test
     public void userDetailsMayBeAbsentFromLdapRepository() {
-        when(ldapRepository.getDeliusUser("john.bean")).thenReturn(Optional.empty());
+        when(ldapRepository.getDeliusUserNoRoles("john.bean")).thenReturn(Optional.empty());
         final var userDetails = userService.getUserDetails("john.bean");
 
         assertThat(userDetails.isPresent()).isFalse();
@@ -341,7 +109,7 @@ public class UserServiceTest {
 
     @Test
     public void userDetailsAbsentFromLdapRepositoryDoesNotCallOracle() {
-        when(ldapRepository.getDeliusUser("john.bean")).thenReturn(Optional.empty());
+        when(ldapRepository.getDeliusUserNoRoles("john.bean")).thenReturn(Optional.empty());
         final var userDetails = userService.getUserDetails("john.bean");
 
         assertThat(userDetails.isPresent()).isFalse();
@@ -435,6 +203,51 @@ public class UserServiceTest {
 
     }
 
+    @Test
+    public void roleCatalogueIsOnlyReadOnce() {
+        when(ldapRepository.getAllRoles()).thenReturn(List.of("CWBT001", "UWBT060"));
+
+        userService.addRole("john.bean", "UWBT060");
+        userService.addRole("al.green", "CWBT001");
+
+        verify(ldapRepository, times(1)).getAllRoles();
+    }
+
+    @Test
+    public void addingRoleRereadsTheUsersRoles() {
+        final var ldapUser = NDeliusUser.builder().cn("john.bean").build();
+        when(ldapRepository.getDeliusUserNoRoles("john.bean")).thenReturn(Optional.of(ldapUser));
+        when(ldapRepository.mapRolesForUser(ldapUser))
+                .thenReturn(ldapUser.toBuilder().roles(List.of(NDeliusRole.builder().cn("CWBT001").build())).build())
+                .thenReturn(ldapUser.toBuilder().roles(List.of(NDeliusRole.builder().cn("CWBT001").build(), NDeliusRole.builder().cn("UWBT060").build())).build());
+        when(ldapRepository.getAllRoles()).thenReturn(List.of("CWBT001", "UWBT060"));
+        when(userRepositoryWrapper.getUser("john.bean")).thenReturn(User.builder().userId(12345L).build());
+
+        assertThat(userService.getUserDetails("john.bean")).get().extracting(UserDetails::getRoles).asList().hasSize(1);
+        assertThat(userService.getUserDetails("john.bean")).get().extracting(UserDetails::getRoles).asList().hasSize(1);
+
+        userService.addRole("john.bean", "UWBT060");
+
+        assertThat(userService.getUserDetails("john.bean")).get().extracting(UserDetails::getRoles).asList().hasSize(2);
+        verify(ldapRepository, times(1)).getDeliusUserNoRoles("john.bean");
+        verify(ldapRepository, times(2)).mapRolesForUser(ldapUser);
+    }
+
+    @Test
+    public void changingPasswordRereadsTheUser() {
+        final var ldapUser = NDeliusUser.builder().cn("john.bean").roles(List.of()).build();
+        when(ldapRepository.getDeliusUserNoRoles("john.bean")).thenReturn(Optional.of(ldapUser));
+        when(ldapRepository.mapRolesForUser(ldapUser)).thenReturn(ldapUser);
+        when(ldapRepository.changePassword("john.bean", "secret")).thenReturn(true);
+        when(userRepositoryWrapper.getUser("john.bean")).thenReturn(User.builder().userId(12345L).build());
+
+        userService.getUserDetails("john.bean");
+        assertThat(userService.changePassword("john.bean", "secret")).isTrue();
+        userService.getUserDetails("john.bean");
+
+        verify(ldapRepository, times(2)).getDeliusUserNoRoles("john.bean");
+    }
+
     @Test
     public void cannotAddRoleThatDoesNotExistToUser() {
         when(ldapRepository.getAllRoles()).thenReturn(List.of("CWBT001"));
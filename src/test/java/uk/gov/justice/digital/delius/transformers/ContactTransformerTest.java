@@ -13,6 +13,7 @@ import uk.gov.justice.digital.delius.data.api.ContactSummary;
 import uk.gov.justice.digital.delius.jpa.standard.entity.LicenceCondition;
 import uk.gov.justice.digital.delius.jpa.standard.entity.LicenceConditionTypeMainCat;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
+import uk.gov.justice.digital.delius.jpa.standard.projection.ContactListing;
 import uk.gov.justice.digital.delius.util.EntityHelper;
 import uk.gov.justice.digital.delius.utils.DateConverter;
 
@@ -169,4 +170,97 @@ class ContactTransformerTest {
             .hasFieldOrPropertyWithValue("rarActivity", true);
 
     }
+
+    @Test
+    public void contactSummaryFromContactListingHandlesNulls() {
+        final var listing = ContactListing.builder()
+            .contactId(1L)
+            .contactDate(LocalDate.of(2021, 6, 1))
+            .contactTypeCode("CT1")
+            .contactTypeAttendanceContact(false)
+            .build();
+
+        final var observed = ContactTransformer.contactSummaryOf(listing);
+        final var expectedDate = DateConverter.toOffsetDateTime(LocalDateTime.of(listing.getContactDate(), LocalTime.MIDNIGHT));
+        assertThat(observed)
+            .isNotNull()
+            .hasFieldOrPropertyWithValue("contactStart", expectedDate)
+            .hasFieldOrPropertyWithValue("contactEnd", expectedDate)
+            .hasFieldOrPropertyWithValue("officeLocation", null)
+            .hasFieldOrPropertyWithValue("notes", null)
+            .hasFieldOrPropertyWithValue("provider", null)
+            .hasFieldOrPropertyWithValue("team", null)
+            .hasFieldOrPropertyWithValue("staff", null)
+            .hasFieldOrPropertyWithValue("sensitive", null)
+            .hasFieldOrPropertyWithValue("outcome", null)
+            .hasFieldOrPropertyWithValue("rarActivity", false);
+    }
+
+    @Test
+    public void contactSummaryFromContactListing() {
+        final var listing = ContactListing.builder()
+            .contactId(1L)
+            .contactDate(LocalDate.of(2021, 6, 1))
+            .contactStartTime(LocalTime.of(12, 0))
+            .contactEndTime(LocalTime.of(13, 0))
+            .contactTypeCode("CT1")
+            .contactTypeDescription("Some contact type")
+            .contactTypeShortDescription("Some contact type short description")
+            .contactTypeAttendanceContact(true)
+            .officeLocationId(10L)
+            .officeLocationCode("OL1")
+            .officeLocationDescription("Some office location")
+            .officeLocationPostcode("BS2 8NB")
+            .notes("Some notes")
+            .probationAreaId(11L)
+            .probationAreaCode("PA1")
+            .probationAreaDescription("Some probation area")
+            .teamId(12L)
+            .teamCode("T1")
+            .teamDescription("Some team")
+            .staffId(13L)
+            .staffOfficerCode("S1")
+            .staffForename("FN1")
+            .staffForname2("FN2")
+            .staffSurname("SN")
+            .sensitive("Y")
+            .contactOutcomeTypeId(14L)
+            .contactOutcomeTypeCode("O1")
+            .contactOutcomeTypeDescription("Some outcome")
+            .attended("Y")
+            .complied("N")
+            .hoursCredited(123.456)
+            .rarActivity("Y")
+            .build();
+
+        final var observed = ContactTransformer.contactSummaryOf(listing);
+        final var date = LocalDate.of(2021, 6, 1);
+        assertThat(observed)
+            .isNotNull()
+            .hasFieldOrPropertyWithValue("contactId", 1L)
+            .hasFieldOrPropertyWithValue("contactStart", OffsetDateTime.of(date, LocalTime.of(12, 0), ZoneOffset.ofHours(1)))
+            .hasFieldOrPropertyWithValue("contactEnd", OffsetDateTime.of(date, LocalTime.of(13, 0), ZoneOffset.ofHours(1)))
+            .hasFieldOrPropertyWithValue("type.code", "CT1")
+            .hasFieldOrPropertyWithValue("type.description", "Some contact type")
+            .hasFieldOrPropertyWithValue("type.shortDescription", "Some contact type short description")
+            .hasFieldOrPropertyWithValue("type.appointment", true)
+            .hasFieldOrPropertyWithValue("officeLocation.code", "OL1")
+            .hasFieldOrPropertyWithValue("officeLocation.description", "Some office location")
+            .hasFieldOrPropertyWithValue("officeLocation.postcode", "BS2 8NB")
+            .hasFieldOrPropertyWithValue("notes", "Some notes")
+            .hasFieldOrPropertyWithValue("provider.code", "PA1")
+            .hasFieldOrPropertyWithValue("provider.description", "Some probation area")
+            .hasFieldOrPropertyWithValue("team.code", "T1")
+            .hasFieldOrPropertyWithValue("team.description", "Some team")
+            .hasFieldOrPropertyWithValue("staff.code", "S1")
+            .hasFieldOrPropertyWithValue("staff.forenames", "FN1 FN2")
+            .hasFieldOrPropertyWithValue("staff.surname", "SN")
+            .hasFieldOrPropertyWithValue("sensitive", true)
+            .hasFieldOrPropertyWithValue("outcome.code", "O1")
+            .hasFieldOrPropertyWithValue("outcome.description", "Some outcome")
+            .hasFieldOrPropertyWithValue("outcome.attended", true)
+            .hasFieldOrPropertyWithValue("outcome.complied", false)
+            .hasFieldOrPropertyWithValue("outcome.hoursCredited", 123.456)
+            .hasFieldOrPropertyWithValue("rarActivity", true);
+    }
 }
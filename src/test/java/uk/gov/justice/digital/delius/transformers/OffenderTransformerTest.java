@@ -204,26 +204,6 @@ public class OffenderTransformerTest {
 
     }
 
-    @Test
-    public void currentlyManagedOffenders() {
-
-        // Get currently managed offenders for this officer
-        assertThat(OffenderTransformer.managedOffenderOf(anOfficerWithOffenderManagers(), true)
-                .get(0))
-                .hasFieldOrPropertyWithValue("nomsNumber", "A1111")
-                .hasFieldOrPropertyWithValue("offenderSurname", "SMITH")
-                .hasFieldOrPropertyWithValue("staffCode", "AAAA")
-                .hasFieldOrPropertyWithValue("staffIdentifier", 3L);
-    }
-
-    @Test
-    public void allManagedOffenders() {
-
-        // Get current and past managed offenders for this officer
-        assertThat(new ArrayList<>(OffenderTransformer.managedOffenderOf(anOfficerWithOffenderManagers(), false)))
-                .hasSize(2);
-    }
-
     @Test
     public void currentResponsibleOfficer() {
 
@@ -365,18 +345,6 @@ public class OffenderTransformerTest {
                 .build();
     }
 
-    private Staff anOfficerWithOffenderManagers() {
-        return Staff
-                .builder()
-                .staffId(3L)
-                .officerCode("AAAA")
-                .surname("Officer")
-                .forename("First")
-                .forname2("First2")
-                .offenderManagers(aListOfOffenderManagers())
-                .build();
-    }
-
     private Staff anOfficerWithoutOffenderManagers() {
         return Staff.builder()
                 .staffId(3L)
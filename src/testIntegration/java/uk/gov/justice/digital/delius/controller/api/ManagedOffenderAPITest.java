@@ -22,6 +22,7 @@ import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("dev-seed")
@@ -125,6 +126,36 @@ public class ManagedOffenderAPITest {
         assertThat(mos).hasSize(5).extracting(ManagedOffender::getNomsNumber).contains("G3232VA").doesNotContain("G3333VA");
     }
 
+    @Test
+    public void getPageOfManagedOffendersForOfficer() {
+
+        final var nomsNumbers =
+                given()
+                        .header("Authorization", aValidToken())
+                        .when()
+                        .get("/staff/staffCode/SH0008/managedOffenders/paged?page=1&size=2&sort=crnNumber,asc")
+                        .then()
+                        .statusCode(200)
+                        .body("totalElements", equalTo(5))
+                        .body("totalPages", equalTo(3))
+                        .extract()
+                        .jsonPath()
+                        .getList("content.nomsNumber", String.class);
+
+        assertThat(nomsNumbers).hasSize(2);
+    }
+
+    @Test
+    public void getPageOfManagedOffendersForInvalidOfficerNotFound() {
+
+        given()
+            .header("Authorization", aValidToken())
+            .when()
+            .get("/staff/staffCode/SH9999/managedOffenders/paged")
+            .then()
+            .statusCode(404);
+    }
+
     @Test
     public void getUnassignedOfficerEmptyList() {
 
@@ -49,6 +49,83 @@ public class CourtAppearancesAPITest extends IntegrationTestBase {
             assertThat(result.getCourtAppearances()).extracting("offenderId").containsExactly(2500343964L, 2500343964L);
         }
 
+        @Test
+        public void canGetCourtAppearancesUpToAndIncludingToDate() {
+            var result = given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("fromDate", "2019-09-04")
+                .param("toDate", "2019-09-15")
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(CourtAppearanceMinimalWrapper.class);
+            assertThat(result.getCourtAppearances()).extracting("courtAppearanceId").containsExactly(2500316926L);
+        }
+
+        @Test
+        public void canReadCourtAppearancesInPages() {
+            var firstPage = given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("fromDate", "2019-09-04")
+                .param("size", 1)
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(CourtAppearanceMinimalWrapper.class);
+            assertThat(firstPage.getCourtAppearances()).extracting("courtAppearanceId").containsExactly(2500316926L);
+
+            var last = firstPage.getCourtAppearances().get(0);
+            var secondPage = given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("fromDate", "2019-09-04")
+                .param("size", 1)
+                .param("afterAppearanceDate", last.getAppearanceDate().toString())
+                .param("afterCourtAppearanceId", last.getCourtAppearanceId())
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(CourtAppearanceMinimalWrapper.class);
+            assertThat(secondPage.getCourtAppearances()).extracting("courtAppearanceId").containsExactly(2500319107L);
+        }
+
+        @Test
+        public void toDateMustNotBeBeforeFromDate() {
+            given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("fromDate", "2019-09-04")
+                .param("toDate", "2019-09-03")
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(400);
+        }
+
+        @Test
+        public void afterCourtAppearanceIdIsNeededWithAfterAppearanceDate() {
+            given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("fromDate", "2019-09-04")
+                .param("afterAppearanceDate", "2019-09-04T00:00:00")
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(400);
+        }
+
         @Test
         public void canGetCourtAppearancesNoResults() {
             var result = given()
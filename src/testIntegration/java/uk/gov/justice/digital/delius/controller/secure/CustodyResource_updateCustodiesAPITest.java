@@ -0,0 +1,85 @@
+package uk.gov.justice.digital.delius.controller.secure;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpStatus;
+import uk.gov.justice.digital.delius.FlywayRestoreExtension;
+import uk.gov.justice.digital.delius.data.api.CustodyUpdate;
+import uk.gov.justice.digital.delius.data.api.CustodyUpdateResult;
+import uk.gov.justice.digital.delius.data.api.OffenderRecalledNotification;
+import uk.gov.justice.digital.delius.data.api.UpdateCustody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(FlywayRestoreExtension.class)
+public class CustodyResource_updateCustodiesAPITest extends IntegrationTestBase {
+
+    @SpyBean
+    private TelemetryClient telemetryClient;
+
+    @Test
+    @DisplayName("Will return 403 without the correct role")
+    public void mustHaveUpdateRole() {
+        given()
+            .auth().oauth2(tokenWithRoleCommunity())
+            .contentType("application/json")
+            .body(List.of(aRecall("G9542VP")))
+            .when()
+            .post("/offenders/custody")
+            .then()
+            .statusCode(HttpStatus.FORBIDDEN.value());
+    }
+
+    @Test
+    @DisplayName("Applies each change on its own, in order for each offender")
+    public void appliesEachChange() {
+        final var results = given()
+            .auth().oauth2(tokenWithRoleCommunityAndCustodyUpdate())
+            .contentType("application/json")
+            .body(List.of(
+                CustodyUpdate.builder()
+                    .nomsNumber("G9542VP")
+                    .bookingNumber("V74111")
+                    .prisonLocation(UpdateCustody.builder().nomsPrisonInstitutionCode("MDI").build())
+                    .build(),
+                aRecall("g4106un"),
+                aRecall("X1235YZ"),
+                aRecall("G9542VP")))
+            .when()
+            .post("/offenders/custody")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .extract()
+            .body()
+            .as(CustodyUpdateResult[].class);
+
+        assertThat(results).extracting(CustodyUpdateResult::getNomsNumber).containsExactly("G9542VP", "g4106un", "X1235YZ", "G9542VP");
+        assertThat(results).extracting(CustodyUpdateResult::isSucceeded).containsExactly(true, false, false, true);
+        assertThat(results[1].getFailureReason()).isEqualTo("Expected offender 12 to have a single custody related event but found 0 events");
+        assertThat(results[2].getFailureReason()).isEqualTo("Offender with nomsNumber X1235YZ not found");
+        assertThat(results[3].getCustody().getInstitution().getNomsPrisonInstitutionCode()).isEqualTo("MDI");
+
+        verify(telemetryClient).trackEvent(eq("P2PTransferPrisonUpdated"), any(), isNull());
+        verify(telemetryClient).trackEvent(eq("P2POffenderRecalledNoSingleConviction"), any(), isNull());
+        verify(telemetryClient).trackEvent(eq("P2POffenderRecalled"), any(), isNull());
+        verify(telemetryClient).trackEvent(eq("P2PBulkCustodyUpdateSuccess"), any(), isNull());
+    }
+
+    private static CustodyUpdate aRecall(String nomsNumber) {
+        return CustodyUpdate.builder()
+            .nomsNumber(nomsNumber)
+            .recall(OffenderRecalledNotification.builder().nomsPrisonInstitutionCode("MDI").recallDate(LocalDate.of(2020, 12, 22)).build())
+            .build();
+    }
+}
@@ -0,0 +1,88 @@
+package uk.gov.justice.digital.delius.controller.secure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import uk.gov.justice.digital.delius.data.api.Contact;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffenderExportResource_exportContactsAPITest extends IntegrationTestBase {
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Must have COMMUNITY_API role")
+    void mustHaveCommunityRole() {
+        given()
+                .auth()
+                .oauth2(createJwt("ROLE_BANANAS"))
+                .when()
+                .get("/offenders/crn/X320741/contacts/export")
+                .then()
+                .statusCode(403);
+    }
+
+    @Test
+    @DisplayName("Will stream all contacts for the offender in the order they were created")
+    void willStreamAllContactsInCreatedOrder() {
+        final var contacts = export("/offenders/crn/X320741/contacts/export");
+
+        assertThat(contacts).extracting(Contact::getContactId).contains(2502743375L);
+        assertThat(contacts).extracting(Contact::getCreatedDateTime).isSorted();
+    }
+
+    @Test
+    @DisplayName("Will stream the same contacts by NOMS number")
+    void willStreamTheSameContactsByNomsNumber() {
+        assertThat(export("/offenders/nomsNumber/G9542VP/contacts/export"))
+                .isEqualTo(export("/offenders/crn/X320741/contacts/export"));
+    }
+
+    @Test
+    @DisplayName("Applies the contact type filter")
+    void appliesTheContactTypeFilter() {
+        assertThat(export("/offenders/crn/X320741/contacts/export?contactTypes=ERGN"))
+                .isNotEmpty()
+                .allSatisfy(contact -> assertThat(contact.getContactType().getCode()).isEqualTo("ERGN"));
+    }
+
+    @Test
+    @DisplayName("Offender must exist")
+    void offenderMustExist() {
+        given()
+                .auth()
+                .oauth2(tokenWithRoleCommunity())
+                .when()
+                .get("/offenders/crn/NOTFOUND/contacts/export")
+                .then()
+                .statusCode(404);
+    }
+
+    private List<Contact> export(String path) {
+        final var body = given()
+                .auth()
+                .oauth2(tokenWithRoleCommunity())
+                .when()
+                .get(path)
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+
+        return body.lines().map(this::contactOf).collect(toList());
+    }
+
+    private Contact contactOf(String line) {
+        try {
+            return objectMapper.readValue(line, Contact.class);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package uk.gov.justice.digital.delius.controller.secure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiers;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffenderExportResource_exportPrimaryIdentifiersAPITest extends IntegrationTestBase {
+    private static final int TOTAL_NUMBER_NON_DELETED_OF_OFFENDERS = 30;
+    private static final int NUMBER_OF_DELETED_RECORDS = 2;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Must have COMMUNITY_API role")
+    void mustHaveCommunityRole() {
+        given()
+                .auth()
+                .oauth2(createJwt("ROLE_BANANAS"))
+                .when()
+                .get("/offenders/primaryIdentifiers/export")
+                .then()
+                .statusCode(403);
+    }
+
+    @Test
+    @DisplayName("Will stream all offenders in offenderId order")
+    void willStreamAllOffendersInOffenderIdOrder() {
+        final var offenders = export("0", false);
+
+        assertThat(offenders).hasSize(TOTAL_NUMBER_NON_DELETED_OF_OFFENDERS);
+        assertThat(offenders).extracting(PrimaryIdentifiers::getOffenderId).isSorted();
+        assertThat(offenders).contains(PrimaryIdentifiers.builder().offenderId(2500343964L).crn("X320741").build());
+    }
+
+    @Test
+    @DisplayName("Can resume from the last offenderId received")
+    void canResumeFromTheLastOffenderIdReceived() {
+        final var offenders = export("0", false);
+        final var cursor = offenders.get(9).getOffenderId();
+
+        assertThat(export(String.valueOf(cursor), false)).isEqualTo(offenders.subList(10, offenders.size()));
+    }
+
+    @Test
+    @DisplayName("Applies the offender filter")
+    void appliesTheOffenderFilter() {
+        assertThat(export("0", true)).hasSize(TOTAL_NUMBER_NON_DELETED_OF_OFFENDERS + NUMBER_OF_DELETED_RECORDS);
+    }
+
+    @Test
+    @DisplayName("Will reject a negative offenderId to resume from")
+    void willRejectANegativeOffenderIdToResumeFrom() {
+        given()
+                .auth()
+                .oauth2(tokenWithRoleCommunity())
+                .param("after", "-1")
+                .when()
+                .get("/offenders/primaryIdentifiers/export")
+                .then()
+                .statusCode(400);
+    }
+
+    private List<PrimaryIdentifiers> export(String after, boolean includeDeleted) {
+        final var body = given()
+                .auth()
+                .oauth2(tokenWithRoleCommunity())
+                .param("after", after)
+                .param("includeDeleted", includeDeleted)
+                .when()
+                .get("/offenders/primaryIdentifiers/export")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+
+        return body.lines().map(this::primaryIdentifiersOf).collect(toList());
+    }
+
+    private PrimaryIdentifiers primaryIdentifiersOf(String line) {
+        try {
+            return objectMapper.readValue(line, PrimaryIdentifiers.class);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
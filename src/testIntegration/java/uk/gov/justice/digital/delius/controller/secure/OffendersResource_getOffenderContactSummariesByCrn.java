@@ -21,7 +21,7 @@ public class OffendersResource_getOffenderContactSummariesByCrn extends Integrat
         given()
             .auth().oauth2(tokenWithRoleCommunity())
             .when()
-            .get("/offenders/crn/X320741/contact-summary?page=0&pageSize=10")
+            .get("/offenders/crn/X320741/contact-summary?page=0&pageSize=10&includeNotes=true")
             .then()
             .assertThat()
             .statusCode(HttpStatus.OK.value())
@@ -94,6 +94,22 @@ public class OffendersResource_getOffenderContactSummariesByCrn extends Integrat
             .body("", appointment, notNullValue());
     }
 
+    @Test
+    public void gettingOffenderContactSummariesByCrnLeavesOutNotesByDefault() {
+        given()
+            .auth().oauth2(tokenWithRoleCommunity())
+            .when()
+            .get("/offenders/crn/X320741/contact-summary?page=0&pageSize=10")
+            .then()
+            .assertThat()
+            .statusCode(HttpStatus.OK.value())
+            .body("content.size()", equalTo(10))
+            .body("content.findAll { it.notes != null }.size()", equalTo(0))
+            .root("content.find { it.contactId == %d }")
+            .body("type.code", registration, equalTo("ERGN"))
+            .body("staff.code", registration, equalTo("N02AAMU"));
+    }
+
     @Test
     public void gettingOffenderContactSummariesByCrnDefaultsToFirstPage() {
         given()
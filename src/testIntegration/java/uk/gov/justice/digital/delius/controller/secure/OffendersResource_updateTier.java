@@ -5,6 +5,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import uk.gov.justice.digital.delius.FlywayRestoreExtension;
 import uk.gov.justice.digital.delius.data.api.Contact;
+import uk.gov.justice.digital.delius.data.api.TierUpdate;
+import uk.gov.justice.digital.delius.data.api.TierUpdateResult;
 import uk.gov.justice.digital.delius.jpa.filters.ContactFilter;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ManagementTier;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ManagementTierRepository;
@@ -16,6 +18,7 @@ import java.util.Optional;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.hamcrest.Matchers.equalTo;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -109,5 +112,39 @@ public class OffendersResource_updateTier extends IntegrationTestBase {
         assertThat(updatedContacts.stream().anyMatch(c -> c.getNotes().contains("NOTFOUND"))).isFalse();
     }
 
+    @Test
+    public void updatesTiersInBulkReportingEachResult() {
+        final var results = given()
+            .auth()
+            .oauth2(tokenWithRoleManagementTierUpdate())
+            .contentType(APPLICATION_JSON_VALUE)
+            .body(List.of(new TierUpdate("X320741", "B1"), new TierUpdate("XNOTFOUND", "B1")))
+            .when()
+            .post("/offenders/tiers")
+            .then()
+            .statusCode(200)
+            .extract()
+            .body()
+            .as(TierUpdateResult[].class);
+
+        assertThat(results).extracting(TierUpdateResult::getCrn, TierUpdateResult::isUpdated).containsExactly(
+            tuple("X320741", true),
+            tuple("XNOTFOUND", false));
+
+        List<Contact> updatedContacts = contactService.contactsFor(2500343964L, contactFilter);
+        assertThat(updatedContacts.stream().anyMatch(c ->  c.getNotes().contains("Tier: B-1"))).isTrue();
+    }
 
+    @Test
+    public void updateTiersFails_wrongRole_returnsForbidden() {
+        given()
+            .auth()
+            .oauth2(tokenWithRoleCommunity())
+            .contentType(APPLICATION_JSON_VALUE)
+            .body(List.of(new TierUpdate("X320741", "B1")))
+            .when()
+            .post("/offenders/tiers")
+            .then()
+            .statusCode(403);
+    }
 }
@@ -4,10 +4,14 @@ import org.junit.jupiter.api.Test;
 import uk.gov.justice.digital.delius.data.api.ManagedOffender;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 public class StaffResource_ManagedOffendersAPITest extends IntegrationTestBase {
@@ -104,5 +108,60 @@ public class StaffResource_ManagedOffendersAPITest extends IntegrationTestBase {
         assertThat(mos).isEmpty();
     }
 
+    @Test
+    public void getPageOfManagedOffendersForOfficer() {
+        given()
+                .auth()
+                .oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .when()
+                .get("/staff/staffIdentifier/18/managedOffenders/paged?page=1&size=2&sort=nomsNumber,asc")
+                .then()
+                .statusCode(200)
+                .body("totalElements", equalTo(5))
+                .body("totalPages", equalTo(3))
+                .body("content", hasSize(2))
+                .body("content.staffIdentifier", everyItem(equalTo(18)));
+    }
+
+    @Test
+    public void pagesOfManagedOffendersAreInTheRequestedOrder() {
+        final var nomsNumbers = given()
+                .auth()
+                .oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .when()
+                .get("/staff/staffIdentifier/18/managedOffenders/paged?size=10&sort=nomsNumber,desc")
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath()
+                .getList("content.nomsNumber", String.class);
+
+        assertThat(nomsNumbers).hasSize(5).contains("G3232VA").isSortedAccordingTo(Comparator.nullsLast(Comparator.<String>reverseOrder()));
+    }
 
+    @Test
+    public void getPageOfManagedOffendersWithUnknownSortIsBadRequest() {
+        given()
+                .auth()
+                .oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .when()
+                .get("/staff/staffIdentifier/18/managedOffenders/paged?sort=bananas")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    public void getPageOfManagedOffendersForInvalidOfficerNotFound() {
+        given()
+                .auth()
+                .oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .when()
+                .get("/staff/staffIdentifier/9999/managedOffenders/paged")
+                .then()
+                .statusCode(404);
+    }
 }
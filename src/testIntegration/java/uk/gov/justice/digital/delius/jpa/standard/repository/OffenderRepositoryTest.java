@@ -0,0 +1,40 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("dev-seed")
+@Transactional
+public class OffenderRepositoryTest {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    private OffenderRepository offenderRepository;
+
+    @Test
+    public void findsOffenderByNomsNumberIgnoringCase() {
+        assertThat(offenderRepository.findByNomsNumber("g9542vp")).get().extracting(Offender::getCrn).isEqualTo("X320741");
+        assertThat(offenderRepository.findKeysByNomsNumber("g9542vp")).isPresent();
+        assertThat(offenderRepository.findAllByNomsNumber("G9542VP")).hasSize(1);
+    }
+
+    @Test
+    public void findsManyOffendersByNomsNumberInOneGo() {
+        final var offenders = offenderRepository.findAllByNomsNumberIn(List.of("g9542vp", "G9542VP", "A9999ZZ"));
+
+        assertThat(offenders).containsOnlyKeys("G9542VP");
+        assertThat(offenders.get("G9542VP")).extracting(Offender::getCrn).containsExactly("X320741");
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.ldap.NameNotFoundException;
 import org.springframework.test.annotation.DirtiesContext;
 import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusRole;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
@@ -58,6 +60,24 @@ public class LdapRepositoryTest {
         assertThat(deliusUser.getRoles()).isNull();
     }
 
+    @Test
+    public void shouldReturnContactDetailsForManyUsersAtOnce() {
+        var deliusUsers = ldapRepository.getDeliusUsersNoRoles(List.of("JimSnowLdap", "bernard.beaks", "SheilaHancockNPS", "NotInLdap"));
+
+        assertThat(deliusUsers).containsOnlyKeys("JimSnowLdap", "bernard.beaks", "SheilaHancockNPS");
+        assertThat(deliusUsers.get("JimSnowLdap").getTelephoneNumber()).isEqualTo("01512112121");
+        assertThat(deliusUsers.get("JimSnowLdap").getMail()).isEqualTo("jim.snow@justice.gov.uk");
+        assertThat(deliusUsers.get("bernard.beaks").getMail()).isEqualTo("bernard.beaks@justice.gov.uk");
+        assertThat(deliusUsers.get("bernard.beaks").getTelephoneNumber()).isNull();
+    }
+
+    @Test
+    public void shouldMatchUsernamesIgnoringCaseWhenLookingUpManyUsers() {
+        var deliusUsers = ldapRepository.getDeliusUsersNoRoles(List.of("JIMSNOWLDAP"));
+
+        assertThat(deliusUsers.get("JimSnowLdap").getMail()).isEqualTo("jim.snow@justice.gov.uk");
+    }
+
     @Test
     @DirtiesContext(methodMode = AFTER_METHOD)
     public void shouldBeAbleToAddARole() {
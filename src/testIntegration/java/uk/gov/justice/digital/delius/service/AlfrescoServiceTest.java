@@ -8,10 +8,13 @@ import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebCl
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import uk.gov.justice.digital.delius.config.AlfrescoConfig;
 import uk.gov.justice.digital.delius.controller.wiremock.AlfrescoExtension;
 import uk.gov.justice.digital.delius.controller.wiremock.AlfrescoMockServer;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,8 +46,28 @@ public class AlfrescoServiceTest {
         final var response = alfrescoService.getDocument("123", "T1234");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody().contentLength()).isEqualTo(3);
+        assertThat(bodyOf(response)).isEqualTo(new byte[]{'a', 'b', 'c'});
         assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).isEqualTo("attachment; filename=\"document.pdf\"");
     }
 
+    @Test
+    public void shouldPassRangeRequestThroughToAlfresco() throws IOException {
+        AlfrescoExtension.alfrescoMockServer.stubDetailsSuccess("123", "T1234", "document.pdf");
+        AlfrescoExtension.alfrescoMockServer.stubFetchDocumentRange("123", "bytes=1-2", "bytes 1-2/3", new byte[]{'b', 'c'});
+        final var requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=1-2");
+
+        final var response = alfrescoService.getDocument("123", "T1234", requestHeaders);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 1-2/3");
+        assertThat(bodyOf(response)).isEqualTo(new byte[]{'b', 'c'});
+    }
+
+    private static byte[] bodyOf(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        final var outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
 }
@@ -328,4 +328,96 @@ class OffenderDeltaServiceTest {
 
         assertThat(offenderDeltaService.lockNextFailedUpdate()).isEmpty();
     }
+
+    @Test
+    @DisplayName("Will lease new updates oldest first up to the maximum requested")
+    void leaseNextUpdates_leasesOldestUpToMax() {
+        final var oldest = OffenderDeltaHelper.anOffenderDelta(10L, LocalDateTime.now().minusMinutes(3), "CREATED").toBuilder().sourceRecordId(1L).build();
+        final var next = OffenderDeltaHelper.anOffenderDelta(11L, LocalDateTime.now().minusMinutes(2), "CREATED").toBuilder().sourceRecordId(2L).build();
+        final var newest = OffenderDeltaHelper.anOffenderDelta(12L, LocalDateTime.now().minusMinutes(1), "CREATED").toBuilder().sourceRecordId(3L).build();
+        OffenderDeltaHelper.insert(List.of(newest, oldest, next), jdbcTemplate);
+
+        final var offenderUpdates = offenderDeltaService.leaseNextUpdates(2, 600);
+
+        assertThat(offenderUpdates).extracting("offenderDeltaId").containsExactly(10L, 11L);
+        assertThat(offenderUpdates).extracting("status").containsOnly("INPROGRESS");
+        assertThat(offenderDeltaService.leaseNextUpdates(2, 600)).extracting("offenderDeltaId").containsExactly(12L);
+    }
+
+    @Test
+    @DisplayName("Will only lease one of any duplicate updates and delete the rest")
+    void leaseNextUpdates_willDeleteDuplicates() {
+        final LocalDateTime lastUpdatedDateTime = LocalDateTime.now().minusMinutes(1);
+        final var leadRecord = OffenderDeltaHelper.anOffenderDelta(10L, lastUpdatedDateTime.minusSeconds(10), "CREATED");
+        final var duplicate = OffenderDeltaHelper.anOffenderDelta(11L, lastUpdatedDateTime, "CREATED");
+        OffenderDeltaHelper.insert(List.of(leadRecord, duplicate), jdbcTemplate);
+
+        assertThat(offenderDeltaService.leaseNextUpdates(10, 600)).extracting("offenderDeltaId").containsExactly(10L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM OFFENDER_DELTA", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Will delete duplicates of a leased update that are not in the batch")
+    void leaseNextUpdates_willDeleteDuplicatesOutsideTheBatch() {
+        final LocalDateTime lastUpdatedDateTime = LocalDateTime.now().minusMinutes(1);
+        final var leadRecord = OffenderDeltaHelper.anOffenderDelta(10L, lastUpdatedDateTime.minusSeconds(10), "CREATED");
+        final var other = OffenderDeltaHelper.anOffenderDelta(11L, lastUpdatedDateTime.minusSeconds(5), "CREATED").toBuilder().sourceRecordId(99L).build();
+        final var duplicate = OffenderDeltaHelper.anOffenderDelta(12L, lastUpdatedDateTime, "CREATED");
+        OffenderDeltaHelper.insert(List.of(leadRecord, other, duplicate), jdbcTemplate);
+
+        assertThat(offenderDeltaService.leaseNextUpdates(1, 600)).extracting("offenderDeltaId").containsExactly(10L);
+        assertThat(jdbcTemplate.queryForList("SELECT OFFENDER_DELTA_ID FROM OFFENDER_DELTA ORDER BY OFFENDER_DELTA_ID", Long.class)).containsExactly(10L, 11L);
+    }
+
+    @Test
+    @DisplayName("Will top up the batch with failed updates")
+    void leaseNextUpdates_topsUpWithFailedUpdates() {
+        final var newDelta = OffenderDeltaHelper.anOffenderDelta(10L, LocalDateTime.now().minusMinutes(1), "CREATED").toBuilder().sourceRecordId(1L).build();
+        final var failedDelta = OffenderDeltaHelper.anOffenderDelta(11L, LocalDateTime.now().minusMinutes(IN_PROGRESS_IS_FAILED_AFTER_MINUTES + 1), "INPROGRESS").toBuilder().sourceRecordId(2L).build();
+        OffenderDeltaHelper.insert(List.of(newDelta, failedDelta), jdbcTemplate);
+
+        final var offenderUpdates = offenderDeltaService.leaseNextUpdates(10, 600);
+
+        assertThat(offenderUpdates).extracting("offenderDeltaId").containsExactly(10L, 11L);
+        assertThat(offenderUpdates).extracting("failedUpdate").containsExactly(false, true);
+    }
+
+    @Test
+    @DisplayName("Leased updates are available again as failed updates once the lease has expired")
+    void leaseNextUpdates_expiredLeaseIsAvailableAgain() throws InterruptedException {
+        final var delta = OffenderDeltaHelper.anOffenderDelta(10L, LocalDateTime.now().minusMinutes(1), "CREATED");
+        OffenderDeltaHelper.insert(List.of(delta), jdbcTemplate);
+
+        assertThat(offenderDeltaService.leaseNextUpdates(10, 1)).hasSize(1);
+        Thread.sleep(2000);
+
+        assertThat(offenderDeltaService.leaseNextUpdates(10, 1)).extracting("failedUpdate").containsExactly(true);
+    }
+
+    @Test
+    @DisplayName("Can delete and mark as failed updates in bulk")
+    void deleteDeltasAndMarkAllAsFailed() {
+        final var processed = OffenderDeltaHelper.anOffenderDelta(10L, LocalDateTime.now().minusMinutes(1), "INPROGRESS");
+        final var failed = OffenderDeltaHelper.anOffenderDelta(11L, LocalDateTime.now().minusMinutes(1), "INPROGRESS");
+        OffenderDeltaHelper.insert(List.of(processed, failed), jdbcTemplate);
+
+        offenderDeltaService.deleteDeltas(List.of(10L));
+        offenderDeltaService.markAllAsFailed(List.of(11L));
+
+        assertThat(jdbcTemplate.queryForList("SELECT STATUS FROM OFFENDER_DELTA", String.class)).containsExactly("FAILED");
+    }
+
+    @Test
+    @DisplayName("Will page through deltas in offender delta ID order")
+    void findAll_pagesThroughDeltasAfterCursor() {
+        OffenderDeltaHelper.insert(OffenderDeltaHelper.someDeltas(LocalDateTime.now(), 5L), jdbcTemplate);
+
+        final var firstPage = offenderDeltaService.findAll(0, 3);
+        assertThat(firstPage).extracting("offenderDeltaId").containsExactly(1001L, 1002L, 1003L);
+
+        final var secondPage = offenderDeltaService.findAll(firstPage.get(2).getOffenderDeltaId(), 3);
+        assertThat(secondPage).extracting("offenderDeltaId").containsExactly(1004L, 1005L);
+
+        assertThat(offenderDeltaService.findAll(1005L, 3)).isEmpty();
+    }
 }
@@ -0,0 +1,33 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("dev-seed")
+class ReferenceDataRegistryPreloadTest {
+
+    @SpyBean
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Test
+    @DisplayName("The configured reference data sets are loaded at start up")
+    void configuredCodeSetsArePreloaded() {
+        verify(referenceDataRegistry).preload(List.of(
+                "ADDITIONAL IDENTIFIER TYPE",
+                "CUSTODY EVENT TYPE",
+                "THROUGHCARE STATUS",
+                "THROUGHCARE DATE TYPE",
+                "TIER",
+                "SPG MESSAGE CONTEXT"));
+        assertThat(referenceDataRegistry.referenceDataOf("TIER")).get().asList().isNotEmpty();
+    }
+}